@@ -0,0 +1,96 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.ops.Add;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the different addition paths, in particular same-sign and opposite-sign addition with different
+ * exponents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AddBenchmark {
+
+	public static enum Operands {
+		SameExponentSameSign(true, true),
+		SameExponentOppositeSign(true, false),
+		DifferentExponentSameSign(false, true),
+		DifferentExponentOppositeSign(false, false);
+
+		private final boolean sameExponent;
+		private final boolean sameSign;
+
+		private Operands(final boolean sameExponent, final boolean sameSign) {
+			this.sameExponent = sameExponent;
+			this.sameSign = sameSign;
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		@Param
+		public Operands operands;
+
+		public final long[] a = new long[RandomValues.N];
+		public final long[] b = new long[RandomValues.N];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				final boolean negative = rnd.nextBoolean();
+				final int expA = -rnd.nextInt(8);
+				final int expB = operands.sameExponent ? expA : -rnd.nextInt(8);
+				final int expB2 = !operands.sameExponent && expB == expA ? expA - 1 : expB;
+				a[i] = RandomValues.decimal64(negative, expA, RandomValues.coefficient(rnd));
+				b[i] = RandomValues.decimal64(operands.sameSign ? negative : !negative, expB2, RandomValues.coefficient(rnd));
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void add(final Values values, final Blackhole blackhole) {
+		final long[] a = values.a;
+		final long[] b = values.b;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Add.add(a[i], b[i], Attributes.DEFAULT));
+		}
+	}
+}
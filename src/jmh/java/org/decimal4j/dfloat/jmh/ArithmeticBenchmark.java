@@ -0,0 +1,112 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.api.FloatArithmetic;
+import org.decimal4j.dfloat.api.FloatArithmetics;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares arithmetic operations at a monomorphic call site with the same operations after all rounding directions
+ * have been run through the operations, so that their type profiles are polluted as in a service using several
+ * rounding directions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArithmeticBenchmark {
+
+	public static enum Profile {
+		Monomorphic,
+		Mixed
+	}
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		@Param
+		public Profile profile;
+
+		@Param({"NearestTiesToEven", "TowardPositive"})
+		public RoundingDirection roundingDirection;
+
+		public final long[] a = new long[RandomValues.N];
+		public final long[] b = new long[RandomValues.N];
+		public FloatArithmetic floatArithmetic;
+		public long warmupResult;
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				a[i] = RandomValues.decimal64(rnd.nextBoolean(), -rnd.nextInt(8), RandomValues.coefficient(rnd));
+				b[i] = RandomValues.decimal64(rnd.nextBoolean(), -rnd.nextInt(8), RandomValues.coefficient(rnd));
+			}
+			floatArithmetic = FloatArithmetics.forRoundingDirection(roundingDirection);
+			if (profile == Profile.Mixed) {
+				for (int k = 0; k < 100; k++) {
+					for (final RoundingDirection rd : RoundingDirection.values()) {
+						final FloatArithmetic f = FloatArithmetics.forRoundingDirection(rd);
+						for (int i = 0; i < RandomValues.N; i++) {
+							warmupResult ^= f.add(a[i], b[i]) ^ f.multiply(a[i], b[i]);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void add(final Values values, final Blackhole blackhole) {
+		final FloatArithmetic f = values.floatArithmetic;
+		final long[] a = values.a;
+		final long[] b = values.b;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(f.add(a[i], b[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void multiply(final Values values, final Blackhole blackhole) {
+		final FloatArithmetic f = values.floatArithmetic;
+		final long[] a = values.a;
+		final long[] b = values.b;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(f.multiply(a[i], b[i]));
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.encode.Decimal64Bid;
+import org.decimal4j.dfloat.ops.Add;
+import org.decimal4j.dfloat.ops.Bid;
+import org.decimal4j.dfloat.ops.Compare;
+import org.decimal4j.dfloat.ops.Mul;
+import org.decimal4j.dfloat.ops.Sub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the DPD and the BID encoding of Decimal64 values for add, subtract, multiply, compare and
+ * classification, operating on the same values in both encodings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BidBenchmark {
+
+	public static enum Operands {
+		/** Prices with 2 to 4 decimals and up to 8 digits */
+		Prices(8, 2),
+		/** 16 digit coefficients with exponents up to 20 apart */
+		FullPrecision(16, 20);
+
+		private final int digits;
+		private final int exponentRange;
+
+		private Operands(final int digits, final int exponentRange) {
+			this.digits = digits;
+			this.exponentRange = exponentRange;
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		@Param
+		public Operands operands;
+
+		public final long[] dpdA = new long[RandomValues.N];
+		public final long[] dpdB = new long[RandomValues.N];
+		public final long[] bidA = new long[RandomValues.N];
+		public final long[] bidB = new long[RandomValues.N];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				dpdA[i] = random(rnd);
+				dpdB[i] = random(rnd);
+				bidA[i] = Decimal64Bid.fromDpd(dpdA[i]);
+				bidB[i] = Decimal64Bid.fromDpd(dpdB[i]);
+			}
+		}
+
+		private long random(final Random rnd) {
+			final int exp = -2 - rnd.nextInt(operands.exponentRange + 1);
+			final long coeff = RandomValues.coefficient(rnd, 1 + rnd.nextInt(operands.digits));
+			return RandomValues.decimal64(rnd.nextBoolean(), exp, coeff);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void dpdAdd(final Values values, final Blackhole blackhole) {
+		final long[] a = values.dpdA;
+		final long[] b = values.dpdB;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Add.add(a[i], b[i], Attributes.DEFAULT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void bidAdd(final Values values, final Blackhole blackhole) {
+		final long[] a = values.bidA;
+		final long[] b = values.bidB;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Bid.add(a[i], b[i], Attributes.DEFAULT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void dpdSubtract(final Values values, final Blackhole blackhole) {
+		final long[] a = values.dpdA;
+		final long[] b = values.dpdB;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Sub.subtract(a[i], b[i], Attributes.DEFAULT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void bidSubtract(final Values values, final Blackhole blackhole) {
+		final long[] a = values.bidA;
+		final long[] b = values.bidB;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Bid.subtract(a[i], b[i], Attributes.DEFAULT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void dpdMultiply(final Values values, final Blackhole blackhole) {
+		final long[] a = values.dpdA;
+		final long[] b = values.dpdB;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Mul.multiply(a[i], b[i], Attributes.DEFAULT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void bidMultiply(final Values values, final Blackhole blackhole) {
+		final long[] a = values.bidA;
+		final long[] b = values.bidB;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Bid.multiply(a[i], b[i], Attributes.DEFAULT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void dpdCompare(final Values values, final Blackhole blackhole) {
+		final long[] a = values.dpdA;
+		final long[] b = values.dpdB;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Compare.compare(a[i], b[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void bidCompare(final Values values, final Blackhole blackhole) {
+		final long[] a = values.bidA;
+		final long[] b = values.bidB;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Bid.compare(a[i], b[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void dpdIsZero(final Values values, final Blackhole blackhole) {
+		final long[] a = values.dpdA;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Decimal64.isZero(a[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void bidIsZero(final Values values, final Blackhole blackhole) {
+		final long[] a = values.bidA;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Decimal64Bid.isZero(a[i]));
+		}
+	}
+}
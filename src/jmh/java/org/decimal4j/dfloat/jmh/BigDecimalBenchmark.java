@@ -0,0 +1,127 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.ops.BigConvert;
+import org.decimal4j.dfloat.ops.Format;
+import org.decimal4j.dfloat.ops.Parse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the direct conversion between Decimal64 and {@link BigDecimal} with the round trip through strings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BigDecimalBenchmark {
+
+	public static enum Operands {
+		/** 1 to 16 digits with up to 8 fraction digits, exact in both directions */
+		Digits16,
+		/** 17 to 34 digits, rounded when converted to Decimal64 */
+		Digits34
+	}
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		@Param
+		public Operands operands;
+
+		public final BigDecimal[] bigDecimals = new BigDecimal[RandomValues.N];
+		public final long[] decimal64s = new long[RandomValues.N];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				final boolean negative = rnd.nextBoolean();
+				final int scale = rnd.nextInt(9);
+				BigInteger unscaled = BigInteger.valueOf(RandomValues.coefficient(rnd, 1 + rnd.nextInt(16)));
+				if (operands == Operands.Digits34) {
+					unscaled = unscaled.multiply(BigInteger.TEN.pow(18)).add(BigInteger.valueOf(RandomValues.coefficient(rnd, 18)));
+				}
+				bigDecimals[i] = new BigDecimal(negative ? unscaled.negate() : unscaled, scale);
+				decimal64s[i] = BigConvert.fromBigDecimal(bigDecimals[i]);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void fromBigDecimal(final Values values, final Blackhole blackhole) {
+		final BigDecimal[] v = values.bigDecimals;
+		for (int i = 0; i < v.length; i++) {
+			blackhole.consume(BigConvert.fromBigDecimal(v[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void fromBigDecimalViaString(final Values values, final Blackhole blackhole) {
+		final BigDecimal[] v = values.bigDecimals;
+		for (int i = 0; i < v.length; i++) {
+			blackhole.consume(Parse.parse(v[i].toPlainString()));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void toBigDecimal(final Values values, final Blackhole blackhole) {
+		final long[] v = values.decimal64s;
+		for (int i = 0; i < v.length; i++) {
+			blackhole.consume(BigConvert.toBigDecimal(v[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void toBigDecimalWithScale(final Values values, final Blackhole blackhole) {
+		final long[] v = values.decimal64s;
+		for (int i = 0; i < v.length; i++) {
+			blackhole.consume(BigConvert.toBigDecimal(v[i], 4));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void toBigDecimalViaString(final Values values, final Blackhole blackhole) {
+		final long[] v = values.decimal64s;
+		for (int i = 0; i < v.length; i++) {
+			blackhole.consume(new BigDecimal(Format.toScientificString(v[i])));
+		}
+	}
+}
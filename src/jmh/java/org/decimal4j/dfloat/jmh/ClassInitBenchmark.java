@@ -0,0 +1,86 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.dpd.Digit;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.dpd.Shift;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures class initialisation and first call latency of the DPD lookup table classes. Every fork runs a single
+ * invocation in a fresh JVM, so the table classes are not yet initialised when the measured call is made; the class
+ * loader is already warm from the JMH harness. Run with -Djmh.include=ClassInitBenchmark and compare the median of
+ * the forks.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(21)
+public class ClassInitBenchmark {
+
+	@Benchmark
+	public Class<?> decletInit() throws ClassNotFoundException {
+		return Class.forName("org.decimal4j.dfloat.dpd.Declet");
+	}
+
+	@Benchmark
+	public Class<?> digitInit() throws ClassNotFoundException {
+		return Class.forName("org.decimal4j.dfloat.dpd.Digit");
+	}
+
+	@Benchmark
+	public Class<?> shiftInit() throws ClassNotFoundException {
+		return Class.forName("org.decimal4j.dfloat.dpd.Shift");
+	}
+
+	@Benchmark
+	public Class<?> decNumInit() throws ClassNotFoundException {
+		return Class.forName("org.decimal4j.dfloat.encode.other.DecNum");
+	}
+
+	@Benchmark
+	public long longToDpd() {
+		return Dpd.longToDpd(123456789012345L);
+	}
+
+	@Benchmark
+	public String dpdToString() {
+		return Digit.dpdToString(0x123456789L);
+	}
+
+	@Benchmark
+	public long shiftRight() {
+		return Shift.shiftRight(3, 0x123456789L);
+	}
+}
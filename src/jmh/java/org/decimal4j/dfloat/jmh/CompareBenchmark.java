@@ -0,0 +1,116 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.ops.Compare;
+import org.decimal4j.dfloat.ops.Pow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts an array of prices with mixed cohorts such as 1.5 and 1.50, comparing a primitive sort of
+ * Decimal64 values using {@link Compare#compare(long, long)} with {@link Arrays#sort(Object[])} of
+ * {@link BigDecimal} values. The time is reported per sorted element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompareBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		public final long[] prices = new long[RandomValues.N];
+		public final BigDecimal[] bigPrices = new BigDecimal[RandomValues.N];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				//price with 2 decimals, represented with 1 to 4 decimals
+				final long cents = 1 + rnd.nextInt(1000000);
+				final int decimals = 1 + rnd.nextInt(4);
+				final long coeff = decimals >= 2 ? cents * Pow.pow10(decimals - 2) : cents / 10;
+				prices[i] = RandomValues.decimal64(false, -decimals, coeff);
+				bigPrices[i] = RandomValues.bigDecimal(false, -decimals, coeff);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public long[] sort(final Values values) {
+		final long[] prices = values.prices.clone();
+		sort(prices, 0, prices.length - 1);
+		return prices;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public BigDecimal[] bigDecimalSort(final Values values) {
+		final BigDecimal[] prices = values.bigPrices.clone();
+		Arrays.sort(prices);
+		return prices;
+	}
+
+	//quicksort with insertion sort for small ranges
+	private static void sort(final long[] a, int from, final int to) {
+		while (to - from > 16) {
+			final long pivot = a[(from + to) >>> 1];
+			int i = from;
+			int j = to;
+			while (i <= j) {
+				while (Compare.compare(a[i], pivot) < 0) i++;
+				while (Compare.compare(a[j], pivot) > 0) j--;
+				if (i <= j) {
+					final long t = a[i];
+					a[i] = a[j];
+					a[j] = t;
+					i++;
+					j--;
+				}
+			}
+			sort(a, from, j);
+			from = i;
+		}
+		for (int i = from + 1; i <= to; i++) {
+			final long v = a[i];
+			int j = i - 1;
+			while (j >= from && Compare.compare(a[j], v) > 0) {
+				a[j + 1] = a[j];
+				j--;
+			}
+			a[j + 1] = v;
+		}
+	}
+}
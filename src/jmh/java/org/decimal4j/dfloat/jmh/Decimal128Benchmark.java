@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.api.MutableDecimal128;
+import org.decimal4j.dfloat.encode.Decimal128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates notionals (price times quantity) of a book into a 34 digit sum, once with a reused
+ * {@link MutableDecimal128} holder and once with {@link BigDecimal}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Decimal128Benchmark {
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		public final long[] prices = new long[RandomValues.N];
+		public final long[] quantities = new long[RandomValues.N];
+		public final BigDecimal[] bigPrices = new BigDecimal[RandomValues.N];
+		public final BigDecimal[] bigQuantities = new BigDecimal[RandomValues.N];
+
+		public final MutableDecimal128 sum = new MutableDecimal128();
+		public final MutableDecimal128 price = new MutableDecimal128();
+		public final MutableDecimal128 quantity = new MutableDecimal128();
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				final long priceCoeff = RandomValues.coefficient(rnd, 8);
+				final long quantityCoeff = RandomValues.coefficient(rnd, 10);
+				final boolean sell = rnd.nextBoolean();
+				prices[i] = RandomValues.decimal64(false, -4, priceCoeff);
+				quantities[i] = RandomValues.decimal64(sell, -2, quantityCoeff);
+				bigPrices[i] = RandomValues.bigDecimal(false, -4, priceCoeff);
+				bigQuantities[i] = RandomValues.bigDecimal(sell, -2, quantityCoeff);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public long decimal128SumOfProducts(final Values values) {
+		final MutableDecimal128 sum = values.sum.set(Decimal128.ZERO_HI, 0);
+		final MutableDecimal128 price = values.price;
+		final MutableDecimal128 quantity = values.quantity;
+		final long[] prices = values.prices;
+		final long[] quantities = values.quantities;
+		for (int i = 0; i < prices.length; i++) {
+			price.setDecimal64(prices[i]);
+			quantity.setDecimal64(quantities[i]);
+			sum.add(price.multiply(quantity));
+		}
+		return sum.getHigh() ^ sum.getLow();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public BigDecimal bigDecimalSumOfProducts(final Values values) {
+		final BigDecimal[] prices = values.bigPrices;
+		final BigDecimal[] quantities = values.bigQuantities;
+		BigDecimal sum = BigDecimal.ZERO;
+		for (int i = 0; i < prices.length; i++) {
+			sum = sum.add(prices[i].multiply(quantities[i]));
+		}
+		return sum;
+	}
+}
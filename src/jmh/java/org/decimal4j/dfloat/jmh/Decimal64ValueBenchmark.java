@@ -0,0 +1,112 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.api.Decimal64Value;
+import org.decimal4j.dfloat.ops.Unscaled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxes prices between 0.01 and 100.00 with two decimals, as {@link Decimal64Value} served from the cache and as
+ * {@link Long} holding the raw encoding which always allocates. The map lookups use keys of a different cohort
+ * than the map entries, which only {@link Decimal64Value} finds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Decimal64ValueBenchmark {
+
+	public static final int LENGTH = 1024;
+
+	@State(Scope.Thread)
+	public static class Values {
+		public final long[] unscaled = new long[LENGTH];
+		public final long[] dFloats = new long[LENGTH];
+		public final long[] cohorts = new long[LENGTH];
+		public final Map<Decimal64Value, Integer> map = new HashMap<Decimal64Value, Integer>();
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < LENGTH; i++) {
+				unscaled[i] = 1 + rnd.nextInt(10000);
+				dFloats[i] = Unscaled.fromUnscaled(unscaled[i], 2);
+				cohorts[i] = Unscaled.fromUnscaled(unscaled[i] * 10, 3);
+				map.put(Decimal64Value.valueOf(dFloats[i]), i);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public Object[] fromUnscaled(final Values values) {
+		final Object[] result = new Object[LENGTH];
+		for (int i = 0; i < LENGTH; i++) {
+			result[i] = Decimal64Value.fromUnscaled(values.unscaled[i], 2);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public Object[] valueOf(final Values values) {
+		final Object[] result = new Object[LENGTH];
+		for (int i = 0; i < LENGTH; i++) {
+			result[i] = Decimal64Value.valueOf(values.dFloats[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public Object[] boxLong(final Values values) {
+		final Object[] result = new Object[LENGTH];
+		for (int i = 0; i < LENGTH; i++) {
+			result[i] = Long.valueOf(values.dFloats[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public int mapLookup(final Values values) {
+		int result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			final Integer index = values.map.get(Decimal64Value.valueOf(values.cohorts[i]));
+			result += index == null ? -1 : index;
+		}
+		return result;
+	}
+}
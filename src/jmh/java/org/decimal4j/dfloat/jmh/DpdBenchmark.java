@@ -0,0 +1,164 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.dpd.DpdSwar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the table based 15 digit DPD arithmetic in {@link Dpd} with the {@link DpdSwar} backend. Run with default
+ * system properties so that {@link Dpd} uses the lookup tables.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DpdBenchmark {
+
+	public static final int LENGTH = 1024;
+
+	@State(Scope.Thread)
+	public static class Values {
+		public final long[] a = new long[LENGTH];
+		public final long[] b = new long[LENGTH];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < LENGTH; i++) {
+				a[i] = Dpd.longToDpd(RandomValues.coefficient(rnd, 15));
+				b[i] = Dpd.longToDpd(RandomValues.coefficient(rnd, 15));
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long addTable(final Values values) {
+		long result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= Dpd.add(values.a[i], values.b[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long addSwar(final Values values) {
+		long result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= DpdSwar.add(values.a[i], values.b[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long subTable(final Values values) {
+		long result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= Dpd.sub(values.a[i], values.b[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long subSwar(final Values values) {
+		long result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= DpdSwar.sub(values.a[i], values.b[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long incTable(final Values values) {
+		long result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= Dpd.inc(values.a[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long incSwar(final Values values) {
+		long result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= DpdSwar.inc(values.a[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long decTable(final Values values) {
+		long result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= Dpd.dec(values.a[i], 999);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long decSwar(final Values values) {
+		long result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= DpdSwar.dec(values.a[i], 999);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public int compareTable(final Values values) {
+		int result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result += Dpd.compare(values.a[i], values.b[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public int compareSwar(final Values values) {
+		int result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result += DpdSwar.compare(values.a[i], values.b[i]);
+		}
+		return result;
+	}
+}
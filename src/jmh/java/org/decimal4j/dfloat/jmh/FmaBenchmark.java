@@ -0,0 +1,87 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.ops.Add;
+import org.decimal4j.dfloat.ops.Fma;
+import org.decimal4j.dfloat.ops.Mul;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares accumulation of a sum of products with fused multiply-add and with separate multiply and add.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FmaBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		public final long[] qty = new long[RandomValues.N];
+		public final long[] price = new long[RandomValues.N];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				qty[i] = RandomValues.decimal64(rnd.nextBoolean(), 0, RandomValues.coefficient(rnd, 1 + rnd.nextInt(6)));
+				price[i] = RandomValues.decimal64(false, -4, RandomValues.coefficient(rnd, 1 + rnd.nextInt(8)));
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public long fma(final Values values) {
+		final long[] qty = values.qty;
+		final long[] price = values.price;
+		long sum = RandomValues.decimal64(false, -4, 0);
+		for (int i = 0; i < qty.length; i++) {
+			sum = Fma.fma(qty[i], price[i], sum, Attributes.DEFAULT);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public long multiplyAdd(final Values values) {
+		final long[] qty = values.qty;
+		final long[] price = values.price;
+		long sum = RandomValues.decimal64(false, -4, 0);
+		for (int i = 0; i < qty.length; i++) {
+			sum = Add.add(Mul.multiply(qty[i], price[i], Attributes.DEFAULT), sum, Attributes.DEFAULT);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.ops.FromBinary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the conversion of double values to Decimal64 with {@link BigDecimal#valueOf(double)} which goes through
+ * {@link Double#toString(double)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FromDoubleBenchmark {
+
+	public static enum Operands {
+		/** Prices with up to 8 digits and up to 4 fraction digits */
+		Price,
+		/** Doubles with random bits, mostly needing 16 or 17 digits */
+		RandomBits
+	}
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		@Param
+		public Operands operands;
+
+		public final double[] values = new double[RandomValues.N];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				double value;
+				if (operands == Operands.Price) {
+					value = RandomValues.coefficient(rnd, 1 + rnd.nextInt(8)) / Math.pow(10, rnd.nextInt(5));
+				} else {
+					do {
+						value = Double.longBitsToDouble(rnd.nextLong());
+					} while (Double.isNaN(value) || Double.isInfinite(value));
+				}
+				values[i] = rnd.nextBoolean() ? value : -value;
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void fromDouble(final Values values, final Blackhole blackhole) {
+		final double[] v = values.values;
+		for (int i = 0; i < v.length; i++) {
+			blackhole.consume(FromBinary.fromDouble(v[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void fromDoubleExact(final Values values, final Blackhole blackhole) {
+		final double[] v = values.values;
+		for (int i = 0; i < v.length; i++) {
+			blackhole.consume(FromBinary.fromDoubleExact(v[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void bigDecimalValueOf(final Values values, final Blackhole blackhole) {
+		final double[] v = values.values;
+		for (int i = 0; i < v.length; i++) {
+			blackhole.consume(BigDecimal.valueOf(v[i]));
+		}
+	}
+}
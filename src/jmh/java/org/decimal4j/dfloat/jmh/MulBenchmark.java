@@ -0,0 +1,127 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.ops.Mul;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares multiplication of Decimal64 values with {@link BigDecimal#multiply(BigDecimal, MathContext)} using
+ * {@link MathContext#DECIMAL64}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MulBenchmark {
+
+	public static enum Operands {
+		/** Quantity with up to 6 digits times price with up to 8 digits, exact product*/
+		Notional(6, 8),
+		/** Two 8 digit coefficients, exact product with up to 16 digits*/
+		HalfPrecision(8, 8),
+		/** Two 16 digit coefficients, product rounded to 16 digits*/
+		FullPrecision(16, 16);
+
+		private final int digitsA;
+		private final int digitsB;
+
+		private Operands(final int digitsA, final int digitsB) {
+			this.digitsA = digitsA;
+			this.digitsB = digitsB;
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		@Param
+		public Operands operands;
+
+		public final long[] a = new long[RandomValues.N];
+		public final long[] b = new long[RandomValues.N];
+		public final long[] l = new long[RandomValues.N];
+		public final BigDecimal[] bigA = new BigDecimal[RandomValues.N];
+		public final BigDecimal[] bigB = new BigDecimal[RandomValues.N];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				final boolean negative = rnd.nextBoolean();
+				final int expA = -rnd.nextInt(3);
+				final int expB = -rnd.nextInt(operands.digitsB);
+				final long coeffA = RandomValues.coefficient(rnd, 1 + rnd.nextInt(operands.digitsA));
+				final long coeffB = RandomValues.coefficient(rnd, operands.digitsB);
+				a[i] = RandomValues.decimal64(negative, expA, coeffA);
+				b[i] = RandomValues.decimal64(false, expB, coeffB);
+				l[i] = coeffB;
+				bigA[i] = RandomValues.bigDecimal(negative, expA, coeffA);
+				bigB[i] = RandomValues.bigDecimal(false, expB, coeffB);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void multiply(final Values values, final Blackhole blackhole) {
+		final long[] a = values.a;
+		final long[] b = values.b;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Mul.multiply(a[i], b[i], Attributes.DEFAULT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void multiplyByLong(final Values values, final Blackhole blackhole) {
+		final long[] a = values.a;
+		final long[] l = values.l;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Mul.multiplyByLong(a[i], l[i], Attributes.DEFAULT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void bigDecimalMultiply(final Values values, final Blackhole blackhole) {
+		final BigDecimal[] a = values.bigA;
+		final BigDecimal[] b = values.bigB;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(a[i].multiply(b[i], MathContext.DECIMAL64));
+		}
+	}
+}
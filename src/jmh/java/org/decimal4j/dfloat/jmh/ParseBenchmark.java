@@ -0,0 +1,140 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.ops.Parse;
+import org.decimal4j.dfloat.ops.ParseAscii;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses comma separated decimals with 1 to 16 digits and up to 8 fraction digits, the way they appear in wire
+ * protocols. {@link ParseAscii} tokenizes the raw bytes directly while {@link Parse}, {@link Double#parseDouble(String)}
+ * and {@link BigDecimal#BigDecimal(String)} get the numbers as pre-built strings and hence do not pay for decoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParseBenchmark {
+
+	public static final int LENGTH = 1024;
+
+	@State(Scope.Thread)
+	public static class Values {
+		public final String[] strings = new String[LENGTH];
+		public final long[] result = new long[LENGTH];
+		public byte[] bytes;
+		public ByteBuffer heap;
+		public ByteBuffer direct;
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			final StringBuilder text = new StringBuilder();
+			for (int i = 0; i < LENGTH; i++) {
+				final long coefficient = RandomValues.coefficient(rnd, 1 + rnd.nextInt(16));
+				strings[i] = BigDecimal.valueOf(rnd.nextBoolean() ? coefficient : -coefficient, rnd.nextInt(9)).toPlainString();
+				text.append(strings[i]).append(',');
+			}
+			bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+			heap = ByteBuffer.wrap(bytes);
+			direct = ByteBuffer.allocateDirect(bytes.length);
+			direct.put(bytes).flip();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long parseCharSequence(final Values values) {
+		long result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= Parse.parse(values.strings[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long[] parseBytes(final Values values) {
+		final byte[] bytes = values.bytes;
+		int offset = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			offset += ParseAscii.parse(bytes, offset, bytes.length - offset, values.result, i) + 1;
+		}
+		return values.result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long parseHeapBuffer(final Values values) {
+		return parseBuffer(values.heap);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long parseDirectBuffer(final Values values) {
+		return parseBuffer(values.direct);
+	}
+
+	private static long parseBuffer(final ByteBuffer buffer) {
+		long result = 0;
+		buffer.rewind();
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= ParseAscii.parse(buffer);
+			buffer.get();
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public double parseDouble(final Values values) {
+		double result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result += Double.parseDouble(values.strings[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public int parseBigDecimal(final Values values) {
+		int result = 0;
+		for (int i = 0; i < LENGTH; i++) {
+			result ^= new BigDecimal(values.strings[i]).scale();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.dpd.Declet;
+import org.decimal4j.dfloat.encode.Decimal64;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Random operand values for benchmarks.
+ */
+public final class RandomValues {
+
+	/** Number of operands per benchmark invocation*/
+	public static final int N = 1000;
+
+	private RandomValues() {
+		throw new RuntimeException("No RandomValues for you!");
+	}
+
+	/**
+	 * Returns a random coefficient with 1 to 16 digits.
+	 *
+	 * @param rnd the random generator
+	 * @return a coefficient between 0 and 10^16-1
+	 */
+	public static long coefficient(final Random rnd) {
+		return coefficient(rnd, 1 + rnd.nextInt(Decimal64.MAX_PRECISION));
+	}
+
+	/**
+	 * Returns a random coefficient with the given number of digits.
+	 *
+	 * @param rnd the random generator
+	 * @param digits the number of digits, 1 to 16
+	 * @return a coefficient between 10^(digits-1) and 10^digits-1, or zero if digits is 1
+	 */
+	public static long coefficient(final Random rnd, final int digits) {
+		long pow10 = 1;
+		for (int i = 0; i < digits; i++) {
+			pow10 *= 10;
+		}
+		return pow10 / 10 + (rnd.nextLong() & Long.MAX_VALUE) % (pow10 - pow10 / 10);
+	}
+
+	/**
+	 * Returns a finite Decimal64 value encoded with DPD.
+	 *
+	 * @param negative true for a negative value
+	 * @param exp the exponent
+	 * @param coefficient the coefficient, 0 to 10^16-1
+	 * @return the DPD encoded value
+	 */
+	public static long decimal64(final boolean negative, final int exp, final long coefficient) {
+		final long dpd = ((long) Declet.intToDpd((int) ((coefficient / 1000000000000L) % 1000))) << 40 |
+				((long) Declet.intToDpd((int) ((coefficient / 1000000000) % 1000)) << 30) |
+				Declet.intToDpd((int) ((coefficient / 1000000) % 1000)) << 20 |
+				Declet.intToDpd((int) ((coefficient / 1000) % 1000)) << 10 |
+				Declet.intToDpd((int) (coefficient % 1000));
+		return Decimal64.encode(negative ? Decimal64.SIGN_BIT_MASK : 0, exp, (int) (coefficient / 1000000000000000L), dpd);
+	}
+
+	/**
+	 * Returns a random finite Decimal64 value.
+	 *
+	 * @param rnd the random generator
+	 * @param minExp the minimum exponent (inclusive)
+	 * @param maxExp the maximum exponent (inclusive)
+	 * @return the DPD encoded value
+	 */
+	public static long decimal64(final Random rnd, final int minExp, final int maxExp) {
+		return decimal64(rnd.nextBoolean(), minExp + rnd.nextInt(maxExp - minExp + 1), coefficient(rnd));
+	}
+
+	/**
+	 * Returns the given value as big decimal.
+	 *
+	 * @param negative true for a negative value
+	 * @param exp the exponent
+	 * @param coefficient the coefficient
+	 * @return the big decimal value
+	 */
+	public static BigDecimal bigDecimal(final boolean negative, final int exp, final long coefficient) {
+		return BigDecimal.valueOf(negative ? -coefficient : coefficient, -exp);
+	}
+}
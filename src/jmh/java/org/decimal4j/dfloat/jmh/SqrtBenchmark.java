@@ -0,0 +1,113 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.ops.Sqrt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the square root of Decimal64 values with a Newton iteration on {@link BigDecimal} using
+ * {@link MathContext#DECIMAL64}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SqrtBenchmark {
+
+	private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		public final long[] a = new long[RandomValues.N];
+		public final BigDecimal[] bigA = new BigDecimal[RandomValues.N];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				final int exp = -rnd.nextInt(20);
+				final long coeff = RandomValues.coefficient(rnd);
+				a[i] = RandomValues.decimal64(false, exp, coeff);
+				bigA[i] = RandomValues.bigDecimal(false, exp, coeff);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void sqrt(final Values values, final Blackhole blackhole) {
+		final long[] a = values.a;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(Sqrt.sqrt(a[i], Attributes.DEFAULT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void bigDecimalSqrt(final Values values, final Blackhole blackhole) {
+		final BigDecimal[] a = values.bigA;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(sqrt(a[i], MathContext.DECIMAL64));
+		}
+	}
+
+	//BigDecimal.sqrt(MathContext) is only available from Java 9
+	private static BigDecimal sqrt(final BigDecimal a, final MathContext mc) {
+		if (a.signum() == 0) {
+			return a;
+		}
+		final MathContext work = new MathContext(mc.getPrecision() + 2);
+		//after the first step the iterates decrease towards the root, stop when they no longer do
+		BigDecimal x = newton(a, new BigDecimal(Math.sqrt(a.doubleValue()), work), work);
+		for (BigDecimal next = newton(a, x, work); next.compareTo(x) < 0; next = newton(a, x, work)) {
+			x = next;
+		}
+		//x is within an ulp of the root at working precision, round exactly from below the root
+		BigDecimal y = x.subtract(x.ulp()).round(new MathContext(mc.getPrecision(), RoundingMode.DOWN));
+		for (BigDecimal up = y.add(y.ulp()); up.multiply(up).compareTo(a) <= 0; up = y.add(y.ulp())) {
+			y = up;
+		}
+		final BigDecimal mid = y.add(y.ulp().divide(TWO));
+		final int cmp = mid.multiply(mid).compareTo(a);
+		return (cmp < 0 ? y.add(y.ulp()) : cmp == 0 ? mid : y).round(mc);
+	}
+
+	private static BigDecimal newton(final BigDecimal a, final BigDecimal x, final MathContext mc) {
+		return x.add(a.divide(x, mc), mc).divide(TWO, mc);
+	}
+}
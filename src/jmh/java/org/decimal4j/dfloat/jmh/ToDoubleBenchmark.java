@@ -0,0 +1,110 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.ops.ToBinary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the conversion of Decimal64 values to double with {@link BigDecimal#doubleValue()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ToDoubleBenchmark {
+
+	public static enum Operands {
+		/** Prices with up to 8 digits and up to 4 fraction digits */
+		Price,
+		/** Values with 16 digits and exponents from -300 to 280 */
+		FullRange
+	}
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		@Param
+		public Operands operands;
+
+		public final long[] a = new long[RandomValues.N];
+		public final BigDecimal[] bigA = new BigDecimal[RandomValues.N];
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				final boolean negative = rnd.nextBoolean();
+				final long coeff;
+				final int exp;
+				if (operands == Operands.Price) {
+					coeff = RandomValues.coefficient(rnd, 1 + rnd.nextInt(8));
+					exp = -rnd.nextInt(5);
+				} else {
+					coeff = RandomValues.coefficient(rnd, 16);
+					exp = rnd.nextInt(581) - 300;
+				}
+				a[i] = RandomValues.decimal64(negative, exp, coeff);
+				bigA[i] = RandomValues.bigDecimal(negative, exp, coeff);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void toDouble(final Values values, final Blackhole blackhole) {
+		final long[] a = values.a;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(ToBinary.toDouble(a[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void toFloat(final Values values, final Blackhole blackhole) {
+		final long[] a = values.a;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(ToBinary.toFloat(a[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void bigDecimalDoubleValue(final Values values, final Blackhole blackhole) {
+		final BigDecimal[] a = values.bigA;
+		for (int i = 0; i < a.length; i++) {
+			blackhole.consume(a[i].doubleValue());
+		}
+	}
+}
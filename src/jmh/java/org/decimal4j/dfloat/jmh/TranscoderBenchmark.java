@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.encode.Decimal64Bid;
+import org.decimal4j.dfloat.encode.Decimal64Transcoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of bulk DPD to BID conversion and back in values per second, single threaded, for
+ * long arrays and little endian direct byte buffers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TranscoderBenchmark {
+
+	public static final int LENGTH = 1 << 16;
+
+	@State(Scope.Thread)
+	public static class Values {
+		public final long[] dpd = new long[LENGTH];
+		public final long[] bid = new long[LENGTH];
+		public final long[] target = new long[LENGTH];
+		public ByteBuffer dpdBuffer;
+		public ByteBuffer bidBuffer;
+		public ByteBuffer targetBuffer;
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			dpdBuffer = ByteBuffer.allocateDirect(LENGTH * 8).order(ByteOrder.LITTLE_ENDIAN);
+			bidBuffer = ByteBuffer.allocateDirect(LENGTH * 8).order(ByteOrder.LITTLE_ENDIAN);
+			targetBuffer = ByteBuffer.allocateDirect(LENGTH * 8).order(ByteOrder.LITTLE_ENDIAN);
+			for (int i = 0; i < LENGTH; i++) {
+				dpd[i] = RandomValues.decimal64(rnd, -20, 5);
+				bid[i] = Decimal64Bid.fromDpd(dpd[i]);
+				dpdBuffer.putLong(dpd[i]);
+				bidBuffer.putLong(bid[i]);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long[] dpdToBidArray(final Values values) {
+		Decimal64Transcoder.dpdToBid(values.dpd, 0, values.target, 0, LENGTH);
+		return values.target;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public long[] bidToDpdArray(final Values values) {
+		Decimal64Transcoder.bidToDpd(values.bid, 0, values.target, 0, LENGTH);
+		return values.target;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public ByteBuffer dpdToBidBuffer(final Values values) {
+		values.dpdBuffer.clear();
+		values.targetBuffer.clear();
+		Decimal64Transcoder.dpdToBid(values.dpdBuffer, values.targetBuffer);
+		return values.targetBuffer;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LENGTH)
+	public ByteBuffer bidToDpdBuffer(final Values values) {
+		values.bidBuffer.clear();
+		values.targetBuffer.clear();
+		Decimal64Transcoder.bidToDpd(values.bidBuffer, values.targetBuffer);
+		return values.targetBuffer;
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.ops.Add;
+import org.decimal4j.dfloat.ops.Fma;
+import org.decimal4j.dfloat.ops.Mul;
+import org.decimal4j.dfloat.ops.Sub;
+import org.decimal4j.dfloat.ops.UnpackedDecimal64;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates a formula of 7 steps with add, multiply, fma and subtract, once with DPD encoded intermediate
+ * results and once with an {@link UnpackedDecimal64} accumulator that is packed only for the final result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UnpackedBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		public final long[] a = new long[RandomValues.N];
+		public final long[] b = new long[RandomValues.N];
+		public final long[] c = new long[RandomValues.N];
+		public final UnpackedDecimal64 accumulator = new UnpackedDecimal64();
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			for (int i = 0; i < RandomValues.N; i++) {
+				a[i] = RandomValues.decimal64(false, -2, RandomValues.coefficient(rnd, 6));
+				b[i] = RandomValues.decimal64(rnd.nextBoolean(), -4, RandomValues.coefficient(rnd, 5));
+				c[i] = RandomValues.decimal64(false, -3, RandomValues.coefficient(rnd, 7));
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void packed(final Values values, final Blackhole blackhole) {
+		final long[] a = values.a;
+		final long[] b = values.b;
+		final long[] c = values.c;
+		for (int i = 0; i < a.length; i++) {
+			long x = Add.add(a[i], b[i]);
+			x = Mul.multiply(x, c[i]);
+			x = Fma.fma(a[i], b[i], x);
+			x = Sub.subtract(x, c[i]);
+			x = Mul.multiply(x, b[i]);
+			x = Add.add(x, a[i]);
+			x = Fma.fma(c[i], c[i], x);
+			blackhole.consume(x);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RandomValues.N)
+	public void unpacked(final Values values, final Blackhole blackhole) {
+		final long[] a = values.a;
+		final long[] b = values.b;
+		final long[] c = values.c;
+		final UnpackedDecimal64 x = values.accumulator;
+		for (int i = 0; i < a.length; i++) {
+			x.set(a[i]).add(b[i]).multiply(c[i]).fma(a[i], b[i]).subtract(c[i]).multiply(b[i]).add(a[i]).fma(c[i], c[i]);
+			blackhole.consume(x.pack());
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.jmh;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.ops.Unscaled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts columns of fixed-point values with scale 4 to Decimal64 and back, with the bulk conversion and with a
+ * loop over the scalar conversion. The large column of 100M elements needs about 2.4GB of heap for the three arrays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = "-Xmx4g")
+public class UnscaledBenchmark {
+
+	public static final int SCALE = 4;
+
+	@State(Scope.Benchmark)
+	public static class Values {
+		@Param({"1000000", "100000000"})
+		public int length;
+
+		public long[] unscaled;
+		public long[] dFloats;
+		public long[] result;
+
+		@Setup
+		public void init() {
+			final Random rnd = new Random(123);
+			unscaled = new long[length];
+			dFloats = new long[length];
+			result = new long[length];
+			for (int i = 0; i < length; i++) {
+				final long coefficient = RandomValues.coefficient(rnd, 1 + rnd.nextInt(12));
+				unscaled[i] = rnd.nextBoolean() ? coefficient : -coefficient;
+			}
+			Unscaled.fromUnscaled(unscaled, dFloats, SCALE);
+		}
+	}
+
+	@Benchmark
+	public long[] fromUnscaledBulk(final Values values) {
+		Unscaled.fromUnscaled(values.unscaled, values.result, SCALE);
+		return values.result;
+	}
+
+	@Benchmark
+	public long[] fromUnscaledScalar(final Values values) {
+		final long[] src = values.unscaled;
+		final long[] dst = values.result;
+		for (int i = 0; i < src.length; i++) {
+			dst[i] = Unscaled.fromUnscaled(src[i], SCALE, Attributes.DEFAULT);
+		}
+		return dst;
+	}
+
+	@Benchmark
+	public long[] toUnscaledBulk(final Values values) {
+		Unscaled.toUnscaled(values.dFloats, values.result, SCALE);
+		return values.result;
+	}
+
+	@Benchmark
+	public long[] toUnscaledScalar(final Values values) {
+		final long[] src = values.dFloats;
+		final long[] dst = values.result;
+		for (int i = 0; i < src.length; i++) {
+			dst[i] = Unscaled.toUnscaled(src[i], SCALE, Attributes.DEFAULT);
+		}
+		return dst;
+	}
+}
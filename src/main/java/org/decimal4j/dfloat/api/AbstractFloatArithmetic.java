@@ -24,6 +24,23 @@
 package org.decimal4j.dfloat.api;
 
 import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.ops.Add;
+import org.decimal4j.dfloat.ops.BigConvert;
+import org.decimal4j.dfloat.ops.Compare;
+import org.decimal4j.dfloat.ops.Div;
+import org.decimal4j.dfloat.ops.Fma;
+import org.decimal4j.dfloat.ops.Format;
+import org.decimal4j.dfloat.ops.FromBinary;
+import org.decimal4j.dfloat.ops.Integral;
+import org.decimal4j.dfloat.ops.Mul;
+import org.decimal4j.dfloat.ops.Parse;
+import org.decimal4j.dfloat.ops.Pow;
+import org.decimal4j.dfloat.ops.Quantum;
+import org.decimal4j.dfloat.ops.Sign;
+import org.decimal4j.dfloat.ops.Sqrt;
+import org.decimal4j.dfloat.ops.Sub;
+import org.decimal4j.dfloat.ops.ToBinary;
+import org.decimal4j.dfloat.ops.Unscaled;
 
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -33,205 +50,182 @@ public class AbstractFloatArithmetic implements FloatArithmetic {
 
 	@Override
 	public Attributes getAttributes() {
-		return null;
+		return Attributes.DEFAULT;
 	}
 
 	@Override
 	public int signum(long dFloat) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Sign.sign(dFloat);
 	}
 
 	@Override
 	public int compare(long dFloat1, long dFloat2) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Compare.compare(dFloat1, dFloat2);
 	}
 
 	@Override
 	public long add(long dFloat1, long dFloat2) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Add.add(dFloat1, dFloat2, getAttributes());
 	}
 
 	@Override
 	public long addLong(long dFloat, long lValue) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Add.addLong(dFloat, lValue, getAttributes());
 	}
 
 	@Override
 	public long subtract(long dFloatMinuend, long dFloatSubtrahend) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Sub.subtract(dFloatMinuend, dFloatSubtrahend, getAttributes());
 	}
 
 	@Override
 	public long subtractLong(long dFloat, long lValue) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Sub.subtractLong(dFloat, lValue, getAttributes());
 	}
 
 	@Override
 	public long multiply(long dFloat1, long dFloat2) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Mul.multiply(dFloat1, dFloat2, getAttributes());
 	}
 
 	@Override
 	public long multiplyByLong(long dFloat, long lValue) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Mul.multiplyByLong(dFloat, lValue, getAttributes());
 	}
 
 	@Override
 	public long multiplyByPowerOf10(long dFloat, int n) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Pow.scale10(dFloat, n, getAttributes());
+	}
+
+	@Override
+	public long fma(long dFloat1, long dFloat2, long dFloatAddend) {
+		return Fma.fma(dFloat1, dFloat2, dFloatAddend, getAttributes());
 	}
 
 	@Override
 	public long divide(long dFloatDividend, long dFloatDivisor) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Div.divide(dFloatDividend, dFloatDivisor, getAttributes());
 	}
 
 	@Override
 	public long divideByLong(long dFloatDividend, long lDivisor) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Div.divideByLong(dFloatDividend, lDivisor, getAttributes());
 	}
 
 	@Override
 	public long divideByPowerOf10(long dFloat, int n) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Div.divideByPowerOf10(dFloat, n, getAttributes());
 	}
 
 	@Override
 	public long abs(long dFloat) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Sign.clearSign(dFloat);
 	}
 
 	@Override
 	public long negate(long dFloat) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Sign.flipSign(dFloat);
 	}
 
 	@Override
 	public long invert(long dFloat) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Div.invert(dFloat, getAttributes());
 	}
 
 	@Override
 	public long sqrt(long dFloat) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Sqrt.sqrt(dFloat, getAttributes());
 	}
 
 	@Override
 	public long pow(long dFloatBase, int exponent) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Pow.pow(dFloatBase, exponent, getAttributes());
 	}
 
 	@Override
 	public long round(long dFloat, int precision) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Quantum.round(dFloat, precision, getAttributes());
 	}
 
 	@Override
 	public long fromLong(long value) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Unscaled.fromUnscaled(value, 0, getAttributes());
 	}
 
 	@Override
 	public long fromFloat(float value) {
-		// TODO Auto-generated method stub
-		return 0;
+		return FromBinary.fromFloat(value);
 	}
 
 	@Override
 	public long fromDouble(double value) {
-		// TODO Auto-generated method stub
-		return 0;
+		return FromBinary.fromDouble(value, getAttributes());
 	}
 
 	@Override
 	public long fromBigInteger(BigInteger value) {
-		// TODO Auto-generated method stub
-		return 0;
+		return BigConvert.fromBigInteger(value, getAttributes());
 	}
 
 	@Override
 	public long fromBigDecimal(BigDecimal value) {
-		// TODO Auto-generated method stub
-		return 0;
+		return BigConvert.fromBigDecimal(value, getAttributes());
 	}
 
 	@Override
 	public long fromUnscaled(long unscaledValue, int scale) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Unscaled.fromUnscaled(unscaledValue, scale, getAttributes());
 	}
 
 	@Override
 	public long parse(String value) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Parse.parse(value, getAttributes());
 	}
 
 	@Override
 	public long parse(CharSequence value, int start, int end) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Parse.parse(value, start, end, getAttributes());
 	}
 
 	@Override
 	public long toLong(long dFloat) {
-		// TODO Auto-generated method stub
-		return 0;
+		return Integral.convertToInteger(dFloat, getAttributes());
 	}
 
 	@Override
 	public float toFloat(long dFloat) {
-		// TODO Auto-generated method stub
-		return 0;
+		return ToBinary.toFloat(dFloat, getAttributes());
 	}
 
 	@Override
 	public double toDouble(long dFloat) {
-		// TODO Auto-generated method stub
-		return 0;
+		return ToBinary.toDouble(dFloat, getAttributes());
 	}
 
 	@Override
 	public BigDecimal toBigDecimal(long dFloat) {
-		// TODO Auto-generated method stub
-		return null;
+		return BigConvert.toBigDecimal(dFloat, getAttributes());
 	}
 
 	@Override
 	public BigDecimal toBigDecimal(long dFloat, int scale) {
-		// TODO Auto-generated method stub
-		return null;
+		return BigConvert.toBigDecimal(dFloat, scale, getAttributes());
+	}
+
+	@Override
+	public long toUnscaled(long dFloat, int scale) {
+		return Unscaled.toUnscaled(dFloat, scale, getAttributes());
 	}
 
 	@Override
 	public String toString(long dFloat) {
-		// TODO Auto-generated method stub
-		return null;
+		return Format.toScientificString(dFloat);
 	}
 
 	@Override
 	public void toString(long dFloat, Appendable appendable) throws IOException {
-		// TODO Auto-generated method stub
-
+		Format.toScientificString(dFloat, appendable);
 	}
 
 }
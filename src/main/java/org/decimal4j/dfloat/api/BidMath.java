@@ -0,0 +1,128 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.api;
+
+import org.decimal4j.dfloat.encode.Decimal64Bid;
+import org.decimal4j.dfloat.ops.Bid;
+import org.decimal4j.dfloat.ops.Sign;
+
+/**
+ * Math operations on 64 bit decimal float values in {@link Decimal64Bid BID} encoding, the counterpart of
+ * {@link FloatMath} for DPD encoded values. Use {@link #fromDpd(long)} and {@link #toDpd(long)} to convert
+ * between the two encodings.
+ */
+public final class BidMath {
+
+	public static final long ZERO 			= Decimal64Bid.ZERO;
+	public static final long ONE  			= Decimal64Bid.ZERO + 1;
+	public static final long TEN			= Decimal64Bid.ZERO + 10;
+
+	public static final long MIN_NORMAL = Decimal64Bid.MIN_NORMAL;
+	public static final long MAX_NORMAL = Decimal64Bid.MAX_NORMAL;
+
+	public static long fromDpd(final long dpd) {
+		return Decimal64Bid.fromDpd(dpd);
+	}
+
+	public static long toDpd(final long bid) {
+		return Decimal64Bid.toDpd(bid);
+	}
+
+	public static long copySign(final long a, final long b) {
+		return Sign.copySign(a, b);
+	}
+	public static long abs(final long a) {
+		return Sign.clearSign(a);
+	}
+	public static long negate(final long a) {
+		return Sign.flipSign(a);
+	}
+	public static long add(final long a, final long b) {
+		return Bid.add(a, b);
+	}
+
+	public static long subtract(final long a, final long b) {
+		return Bid.subtract(a, b);
+	}
+
+	public static long multiply(final long a, final long b) {
+		return Bid.multiply(a, b);
+	}
+
+	public static int compare(final long a, final long b) {
+		return Bid.compare(a, b);
+	}
+
+	public static boolean isInfinite(final long a) {
+		return Decimal64Bid.isInfinite(a);
+	}
+
+	public static boolean isFinite(final long a) {
+		return Decimal64Bid.isFinite(a);
+	}
+
+	public static final boolean isNormal(final long a) {
+		return Decimal64Bid.isNormal(a);
+	}
+
+	public static final boolean isSubnormal(final long a) {
+		return Decimal64Bid.isSubnormal(a);
+	}
+
+	public static final boolean isCanonical(final long a) {
+		return Decimal64Bid.isCanonical(a);
+	}
+
+	public static boolean isZero(final long a) {
+		return Decimal64Bid.isZero(a);
+	}
+
+	public static boolean isPositive(final long a) {
+		return !isNaN(a) & !isSignMinus(a) & !isZero(a);
+	}
+
+	public static boolean isNegative(final long a) {
+		return !isNaN(a) & isSignMinus(a) & !isZero(a);
+	}
+
+	public static boolean isSignMinus(final long a) {
+		return Sign.isSignMinus(a);
+	}
+
+	public static boolean isNaN(final long a) {
+		return Decimal64Bid.isNaN(a);
+	}
+
+	public static boolean isSignalingNaN(final long a) {
+		return Decimal64Bid.isSignalingNaN(a);
+	}
+
+	public static boolean isQuietNaN(final long a) {
+		return Decimal64Bid.isQuietNaN(a);
+	}
+
+	private BidMath() {
+		throw new RuntimeException("No BidMath for you!");
+	}
+}
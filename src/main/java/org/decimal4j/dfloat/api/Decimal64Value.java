@@ -0,0 +1,240 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.api;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Declet;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.ops.Compare;
+import org.decimal4j.dfloat.ops.Format;
+import org.decimal4j.dfloat.ops.Integral;
+import org.decimal4j.dfloat.ops.Parse;
+import org.decimal4j.dfloat.ops.Quantum;
+import org.decimal4j.dfloat.ops.Sign;
+import org.decimal4j.dfloat.ops.ToBinary;
+import org.decimal4j.dfloat.ops.Unscaled;
+
+/**
+ * Immutable object holding a {@link Decimal64} value, for collections and generic APIs that need objects instead
+ * of raw longs. Equality is numeric: members of the same cohort such as 1.5 and 1.50 as well as zeros of either
+ * sign are equal and have the same hash code, all NaN values are equal to each other. The natural order is
+ * {@link Compare#compare(long, long)} and hence consistent with equals.
+ * <p>
+ * The factory methods return shared instances without allocation for the integers 0 to 1000 and for the values
+ * 0.00 to 100.00 with two decimals.
+ */
+public final class Decimal64Value extends Number implements Comparable<Decimal64Value> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int MAX_INTEGER = 1000;
+	private static final int MAX_CENTS = 10000;
+
+	//positive zero with exponent 0 and -2: cached values differ from these only in the two lowest declets
+	private static final long INTEGER_ZERO = Decimal64.zero(0, 0);
+	private static final long CENTS_ZERO = Decimal64.zero(0, -2);
+	private static final long LOW_DECLETS_MASK = (1L << 20) - 1;
+
+	private static final int NAN_HASH_CODE = 0x7ff80000;
+
+	private static final Decimal64Value[] INTEGERS = new Decimal64Value[MAX_INTEGER + 1];
+	private static final Decimal64Value[] CENTS = new Decimal64Value[MAX_CENTS + 1];
+	static {
+		for (int i = 0; i <= MAX_INTEGER; i++) {
+			INTEGERS[i] = new Decimal64Value(Decimal64.encodeCoefficient(0, 0, i));
+		}
+		for (int i = 0; i <= MAX_CENTS; i++) {
+			CENTS[i] = new Decimal64Value(Decimal64.encodeCoefficient(0, -2, i));
+		}
+	}
+
+	public static final Decimal64Value ZERO = INTEGERS[0];
+	public static final Decimal64Value ONE = INTEGERS[1];
+	public static final Decimal64Value TEN = INTEGERS[10];
+	public static final Decimal64Value NAN = new Decimal64Value(Decimal64.NAN);
+
+	private final long value;
+
+	private Decimal64Value(final long value) {
+		this.value = value;
+	}
+
+	/**
+	 * Returns an object holding the given decimal float value, the shared instance if the value is cached.
+	 *
+	 * @param dFloat the decimal float value in DPD encoding
+	 * @return the value object
+	 */
+	public static Decimal64Value valueOf(final long dFloat) {
+		final long high = dFloat & ~LOW_DECLETS_MASK;
+		if (high == INTEGER_ZERO | high == CENTS_ZERO) {
+			final int coefficient = Declet.dpdToInt((int)(dFloat >>> 10) & 0x3ff) * 1000 + Declet.dpdToInt((int)dFloat & 0x3ff);
+			final Decimal64Value cached = high == INTEGER_ZERO ?
+					(coefficient <= MAX_INTEGER ? INTEGERS[coefficient] : null) :
+					(coefficient <= MAX_CENTS ? CENTS[coefficient] : null);
+			//non-canonical declets have the same coefficient but a different encoding
+			if (cached != null && cached.value == dFloat) {
+				return cached;
+			}
+		}
+		return new Decimal64Value(dFloat);
+	}
+
+	/**
+	 * Returns an object holding the given long value with exponent zero, rounded to 16 digits if necessary.
+	 *
+	 * @param value the long value
+	 * @return the value object
+	 */
+	public static Decimal64Value fromLong(final long value) {
+		if (value >= 0 & value <= MAX_INTEGER) {
+			return INTEGERS[(int)value];
+		}
+		return new Decimal64Value(Unscaled.fromUnscaled(value, 0));
+	}
+
+	/**
+	 * Returns an object holding {@code unscaled * 10^-scale} with exponent {@code -scale}, rounded to 16 digits if
+	 * necessary.
+	 *
+	 * @param unscaled the unscaled value
+	 * @param scale the scale, the negated exponent of the result
+	 * @return the value object
+	 */
+	public static Decimal64Value fromUnscaled(final long unscaled, final int scale) {
+		if (scale == 0 & unscaled >= 0 & unscaled <= MAX_INTEGER) {
+			return INTEGERS[(int)unscaled];
+		}
+		if (scale == 2 & unscaled >= 0 & unscaled <= MAX_CENTS) {
+			return CENTS[(int)unscaled];
+		}
+		return new Decimal64Value(Unscaled.fromUnscaled(unscaled, scale));
+	}
+
+	/**
+	 * Returns an object holding the parsed value, rounded to 16 digits if necessary and NaN for invalid strings.
+	 * Accepted are the forms {@code [sign] digits [. [digits]] [exponent]}, {@code [sign] . digits [exponent]},
+	 * {@code [sign] (Inf | Infinity)} and {@code [sign] [s]NaN [digits]} as described in {@link Parse}.
+	 * <p>
+	 * The shared instance is returned for the cached values, the integers 0 to 1000 without fraction digits such as
+	 * {@code "42"} and the values 0.00 to 100.00 with exactly two fraction digits such as {@code "1.50"}. Other
+	 * representations of the same value such as {@code "42.0"} or {@code "1.5"} return a new object.
+	 *
+	 * @param s the characters to parse
+	 * @return the value object
+	 */
+	public static Decimal64Value parse(final CharSequence s) {
+		return valueOf(Parse.parse(s));
+	}
+
+	/**
+	 * Returns the held value.
+	 *
+	 * @return the decimal float value in DPD encoding
+	 */
+	public long toDecimal64() {
+		return value;
+	}
+
+	public boolean isZero() {
+		return Decimal64.isFinite(value) && Decimal64.isZero(value);
+	}
+
+	public boolean isFinite() {
+		return Decimal64.isFinite(value);
+	}
+
+	public boolean isNaN() {
+		return Decimal64.isNaN(value);
+	}
+
+	/**
+	 * Returns the low order 32 bits of {@link #longValue()}.
+	 */
+	@Override
+	public int intValue() {
+		return (int)longValue();
+	}
+
+	/**
+	 * Returns the value truncated toward zero, 0 for NaN and {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE} for
+	 * values outside of the long range.
+	 */
+	@Override
+	public long longValue() {
+		return Integral.convertToInteger(value, RoundingDirection.TowardZero);
+	}
+
+	@Override
+	public float floatValue() {
+		return ToBinary.toFloat(value);
+	}
+
+	@Override
+	public double doubleValue() {
+		return ToBinary.toDouble(value);
+	}
+
+	@Override
+	public int compareTo(final Decimal64Value other) {
+		return Compare.compare(value, other.value);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof Decimal64Value) {
+			final long other = ((Decimal64Value)obj).value;
+			return value == other || Compare.compare(value, other) == 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the hash code of the reduced value so that all members of a cohort have the same hash code.
+	 */
+	@Override
+	public int hashCode() {
+		if (Decimal64.isNaN(value)) {
+			return NAN_HASH_CODE;
+		}
+		long reduced = Quantum.reduce(Decimal64.isFinite(value) ? Decimal64.canonicalize(value) : value);
+		if (Decimal64.isFinite(reduced) && Decimal64.isZero(reduced)) {
+			reduced = Sign.clearSign(reduced);
+		}
+		return (int)(reduced ^ (reduced >>> 32));
+	}
+
+	@Override
+	public String toString() {
+		return Format.toScientificString(value);
+	}
+
+	//shared instances also after deserialization
+	private Object readResolve() {
+		return valueOf(value);
+	}
+}
@@ -50,6 +50,8 @@ public interface FloatArithmetic {
 
 	long multiplyByPowerOf10(long dFloat, int n);
 
+	long fma(long dFloat1, long dFloat2, long dFloatAddend);
+
 	long divide(long dFloatDividend, long dFloatDivisor);
 
 	long divideByLong(long dFloatDividend, long lDivisor);
@@ -94,6 +96,8 @@ public interface FloatArithmetic {
 
 	BigDecimal toBigDecimal(long dFloat, int scale);
 
+	long toUnscaled(long dFloat, int scale);
+
 	String toString(long dFloat);
 
 	void toString(long dFloat, Appendable appendable) throws IOException;
@@ -0,0 +1,96 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.api;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+
+import java.util.Objects;
+
+/**
+ * Factory for {@link FloatArithmetic} instances. The arithmetic reads its attributes on every operation, hence
+ * {@link DynamicAttributes} passed to {@link #forAttributes(Attributes)} reflect later changes of the attributes.
+ */
+public final class FloatArithmetics {
+
+	/** Arithmetic with default attributes, rounding to nearest with ties to even and raising flags */
+	public static final FloatArithmetic DEFAULT = new Arithmetic(Attributes.DEFAULT);
+
+	//indexed by RoundingDirection.ordinal()
+	private static final FloatArithmetic[] ROUNDING = initRounding();
+
+	private FloatArithmetics() {
+		throw new RuntimeException("No FloatArithmetics for you!");
+	}
+
+	private static FloatArithmetic[] initRounding() {
+		final RoundingDirection[] roundingDirections = RoundingDirection.values();
+		final FloatArithmetic[] arithmetics = new FloatArithmetic[roundingDirections.length];
+		for (final RoundingDirection roundingDirection : roundingDirections) {
+			arithmetics[roundingDirection.ordinal()] = new Arithmetic(roundingDirection.asAttributes());
+		}
+		return arithmetics;
+	}
+
+	/**
+	 * Returns the arithmetic for the given rounding direction that raises flags with default exception handling.
+	 *
+	 * @param roundingDirection the binary and decimal rounding direction
+	 * @return the shared arithmetic instance for {@link RoundingDirection#asAttributes()}
+	 */
+	public static FloatArithmetic forRoundingDirection(final RoundingDirection roundingDirection) {
+		return ROUNDING[roundingDirection.ordinal()];
+	}
+
+	/**
+	 * Returns an arithmetic for the given attributes. {@link Attributes#DEFAULT} and the attributes of a
+	 * {@link RoundingDirection} are served by shared instances.
+	 *
+	 * @param attributes the attributes for all operations of the returned arithmetic
+	 * @return the arithmetic for the attributes
+	 */
+	public static FloatArithmetic forAttributes(final Attributes attributes) {
+		if (attributes == Attributes.DEFAULT) {
+			return DEFAULT;
+		}
+		for (final FloatArithmetic arithmetic : ROUNDING) {
+			if (arithmetic.getAttributes() == attributes) {
+				return arithmetic;
+			}
+		}
+		return new Arithmetic(attributes);
+	}
+
+	private static final class Arithmetic extends AbstractFloatArithmetic {
+		private final Attributes attributes;
+		Arithmetic(final Attributes attributes) {
+			this.attributes = Objects.requireNonNull(attributes, "attributes is null");
+		}
+		@Override
+		public final Attributes getAttributes() {
+			return attributes;
+		}
+	}
+}
@@ -23,12 +23,32 @@
  */
 package org.decimal4j.dfloat.api;
 
-import javafx.scene.transform.Scale;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
 import org.decimal4j.dfloat.encode.Decimal64;
 import org.decimal4j.dfloat.ops.Add;
+import org.decimal4j.dfloat.ops.BigConvert;
+import org.decimal4j.dfloat.ops.Compare;
+import org.decimal4j.dfloat.ops.Convert;
+import org.decimal4j.dfloat.ops.Div;
+import org.decimal4j.dfloat.ops.Fma;
+import org.decimal4j.dfloat.ops.Format;
+import org.decimal4j.dfloat.ops.FromBinary;
+import org.decimal4j.dfloat.ops.Integral;
+import org.decimal4j.dfloat.ops.Mul;
+import org.decimal4j.dfloat.ops.Next;
+import org.decimal4j.dfloat.ops.Parse;
+import org.decimal4j.dfloat.ops.ParseAscii;
 import org.decimal4j.dfloat.ops.Pow;
+import org.decimal4j.dfloat.ops.Quantum;
 import org.decimal4j.dfloat.ops.Sign;
+import org.decimal4j.dfloat.ops.Sqrt;
 import org.decimal4j.dfloat.ops.Sub;
+import org.decimal4j.dfloat.ops.ToBinary;
+import org.decimal4j.dfloat.ops.Unscaled;
 
 public final class FloatMath {
 
@@ -67,10 +87,283 @@ public final class FloatMath {
 		return Add.add(a, b);
 	}
 
+	public static long addLong(final long a, final long l) {
+		return Add.addLong(a, l);
+	}
+
 	public static long subtract(final long a, final long b) {
 		return Sub.subtract(a, b);
 	}
 
+	public static long subtractLong(final long a, final long l) {
+		return Sub.subtractLong(a, l);
+	}
+
+	public static long multiply(final long a, final long b) {
+		return Mul.multiply(a, b);
+	}
+
+	public static long multiplyByLong(final long a, final long l) {
+		return Mul.multiplyByLong(a, l);
+	}
+
+	/**
+	 * Returns a*b + c computed with a single rounding.
+	 *
+	 * @param a the first factor
+	 * @param b the second factor
+	 * @param c the addend
+	 * @return the fused multiply-add result
+	 */
+	public static long fma(final long a, final long b, final long c) {
+		return Fma.fma(a, b, c);
+	}
+
+	public static long divide(final long a, final long b) {
+		return Div.divide(a, b);
+	}
+
+	public static long divideByLong(final long a, final long l) {
+		return Div.divideByLong(a, l);
+	}
+
+	public static long divideByPowerOf10(final long a, final int n) {
+		return Div.divideByPowerOf10(a, n);
+	}
+
+	public static long invert(final long a) {
+		return Div.invert(a);
+	}
+
+	public static long sqrt(final long a) {
+		return Sqrt.sqrt(a);
+	}
+
+	/**
+	 * Returns x raised to the integral power n; see {@link Pow#pow(long, int, org.decimal4j.dfloat.attribute.Attributes)}
+	 * for the rounding of the result.
+	 *
+	 * @param x the base
+	 * @param n the exponent
+	 * @return x<sup>n</sup>
+	 */
+	public static long pow(final long x, final int n) {
+		return Pow.pow(x, n);
+	}
+
+	public static long quantize(final long x, final long y) {
+		return Quantum.quantize(x, y);
+	}
+
+	public static long round(final long x, final int precision) {
+		return Quantum.round(x, precision);
+	}
+
+	public static boolean sameQuantum(final long x, final long y) {
+		return Quantum.sameQuantum(x, y);
+	}
+
+	public static long reduce(final long x) {
+		return Quantum.reduce(x);
+	}
+
+	public static long roundToIntegral(final long a, final RoundingDirection roundingDirection) {
+		return Integral.roundToIntegral(a, roundingDirection);
+	}
+
+	public static long roundToIntegralExact(final long a) {
+		return Integral.roundToIntegralExact(a);
+	}
+
+	/**
+	 * Returns a rounded to a long value with the given rounding direction; NaN, infinite and out of range
+	 * values signal InvalidOperation.
+	 *
+	 * @param a the value to convert
+	 * @param roundingDirection the rounding direction to apply when dropping fraction digits
+	 * @return a as a long value
+	 */
+	public static long convertToInteger(final long a, final RoundingDirection roundingDirection) {
+		return Integral.convertToInteger(a, roundingDirection);
+	}
+
+	public static long convertToIntegerExact(final long a) {
+		return Integral.convertToIntegerExact(a);
+	}
+
+	public static int compare(final long a, final long b) {
+		return Compare.compare(a, b);
+	}
+
+	public static boolean totalOrder(final long a, final long b) {
+		return Compare.totalOrder(a, b);
+	}
+
+	public static boolean totalOrderMag(final long a, final long b) {
+		return Compare.totalOrderMag(a, b);
+	}
+
+	public static long nextUp(final long a) {
+		return Next.nextUp(a);
+	}
+
+	public static long nextDown(final long a) {
+		return Next.nextDown(a);
+	}
+
+	public static long nextAfter(final long a, final long direction) {
+		return Next.nextAfter(a, direction);
+	}
+
+	public static long ulp(final long a) {
+		return Next.ulp(a);
+	}
+
+	public static long fromDecimal32(final int a) {
+		return Convert.toDecimal64(a);
+	}
+
+	public static int toDecimal32(final long a) {
+		return Convert.toDecimal32(a);
+	}
+
+	public static int toDecimal32(final long a, final RoundingDirection roundingDirection) {
+		return Convert.toDecimal32(a, roundingDirection);
+	}
+
+	/**
+	 * Returns the shortest decimal that converts back to the given double, for instance 0.1 for the double closest
+	 * to 0.1; see {@link FromBinary} for the conversion of the exact binary value.
+	 *
+	 * @param a the value to convert
+	 * @return the decimal float value, rounded to 16 digits if the shortest decimal has 17 digits
+	 */
+	public static long fromDouble(final double a) {
+		return FromBinary.fromDouble(a);
+	}
+
+	public static long fromDouble(final double a, final RoundingDirection roundingDirection) {
+		return FromBinary.fromDouble(a, roundingDirection);
+	}
+
+	public static long fromFloat(final float a) {
+		return FromBinary.fromFloat(a);
+	}
+
+	public static long fromDoubleExact(final double a, final RoundingDirection roundingDirection) {
+		return FromBinary.fromDoubleExact(a, roundingDirection);
+	}
+
+	/**
+	 * Returns the double value closest to the given value, rounded to nearest with ties to even.
+	 *
+	 * @param a the value to convert
+	 * @return the double value
+	 */
+	public static double toDouble(final long a) {
+		return ToBinary.toDouble(a);
+	}
+
+	public static double toDouble(final long a, final RoundingDirection roundingDirection) {
+		return ToBinary.toDouble(a, roundingDirection);
+	}
+
+	public static float toFloat(final long a) {
+		return ToBinary.toFloat(a);
+	}
+
+	/**
+	 * Returns the decimal float with the coefficient and exponent of the given value, rounded to 16 digits if
+	 * necessary; see {@link BigConvert}.
+	 *
+	 * @param a the value to convert
+	 * @return the decimal float value
+	 */
+	public static long fromBigDecimal(final BigDecimal a) {
+		return BigConvert.fromBigDecimal(a);
+	}
+
+	public static long fromBigDecimal(final BigDecimal a, final RoundingDirection roundingDirection) {
+		return BigConvert.fromBigDecimal(a, roundingDirection);
+	}
+
+	public static long fromBigInteger(final BigInteger a) {
+		return BigConvert.fromBigInteger(a);
+	}
+
+	public static BigDecimal toBigDecimal(final long a) {
+		return BigConvert.toBigDecimal(a);
+	}
+
+	public static BigDecimal toBigDecimal(final long a, final int scale, final RoundingDirection roundingDirection) {
+		return BigConvert.toBigDecimal(a, scale, roundingDirection);
+	}
+
+	/**
+	 * Returns the decimal float value {@code unscaled * 10^-scale}, for instance of a decimal4j fixed-point value;
+	 * see {@link Unscaled} for bulk conversion of arrays.
+	 *
+	 * @param unscaled the unscaled value
+	 * @param scale the scale of the unscaled value
+	 * @return the decimal float value, rounded to 16 digits if necessary
+	 */
+	public static long fromUnscaled(final long unscaled, final int scale) {
+		return Unscaled.fromUnscaled(unscaled, scale);
+	}
+
+	public static long toUnscaled(final long a, final int scale) {
+		return Unscaled.toUnscaled(a, scale);
+	}
+
+	public static long toUnscaled(final long a, final int scale, final RoundingDirection roundingDirection) {
+		return Unscaled.toUnscaled(a, scale, roundingDirection);
+	}
+
+	/**
+	 * Parses a decimal string such as "-123.45E-6", "Inf" or "NaN123"; see {@link Parse} for the accepted syntax.
+	 *
+	 * @param s the string to parse
+	 * @return the decimal float value, rounded to 16 digits if necessary
+	 */
+	public static long parse(final CharSequence s) {
+		return Parse.parse(s);
+	}
+
+	public static long parse(final CharSequence s, final int start, final int end) {
+		return Parse.parse(s, start, end);
+	}
+
+	public static long parse(final CharSequence s, final RoundingDirection roundingDirection) {
+		return Parse.parse(s, roundingDirection);
+	}
+
+	public static long parse(final byte[] bytes, final int offset, final int length) {
+		return ParseAscii.parse(bytes, offset, length);
+	}
+
+	public static int parse(final byte[] bytes, final int offset, final int length, final long[] result, final int index) {
+		return ParseAscii.parse(bytes, offset, length, result, index);
+	}
+
+	public static long parse(final ByteBuffer buffer) {
+		return ParseAscii.parse(buffer);
+	}
+
+	/**
+	 * Returns the scientific string of the given value in the format of {@link java.math.BigDecimal#toString()}, the
+	 * {@link Format} methods write the same string to byte arrays, buffers and appendables.
+	 *
+	 * @param a the value to convert
+	 * @return the scientific string, for instance 1.23E+5, -0.0045, Infinity or NaN
+	 */
+	public static String toString(final long a) {
+		return Format.toScientificString(a);
+	}
+
+	public static String toPlainString(final long a) {
+		return Format.toPlainString(a);
+	}
+
 	public static boolean isInfinite(final long a) {
 		return Decimal64.isInfinite(a);
 	}
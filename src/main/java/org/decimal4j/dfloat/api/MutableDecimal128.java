@@ -0,0 +1,128 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.api;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal128;
+import org.decimal4j.dfloat.ops.Quad;
+
+/**
+ * Reusable mutable holder of a {@link Decimal128} value. Arithmetic operations overwrite the held value with
+ * the result and return this holder so that aggregations over many values do not allocate.
+ */
+public final class MutableDecimal128 implements Comparable<MutableDecimal128> {
+
+	private final long[] words = {Decimal128.ZERO_HI, 0};
+
+	public long getHigh() {
+		return words[0];
+	}
+
+	public long getLow() {
+		return words[1];
+	}
+
+	public MutableDecimal128 set(final long hi, final long lo) {
+		words[0] = hi;
+		words[1] = lo;
+		return this;
+	}
+
+	public MutableDecimal128 set(final MutableDecimal128 value) {
+		return set(value.words[0], value.words[1]);
+	}
+
+	public MutableDecimal128 setDecimal64(final long value) {
+		Quad.fromDecimal64(value, words, 0);
+		return this;
+	}
+
+	public long toDecimal64() {
+		return Quad.toDecimal64(words[0], words[1]);
+	}
+
+	public long toDecimal64(final RoundingDirection roundingDirection) {
+		return Quad.toDecimal64(words[0], words[1], roundingDirection);
+	}
+
+	public MutableDecimal128 add(final MutableDecimal128 value) {
+		return add(this, value, Attributes.DEFAULT);
+	}
+
+	public MutableDecimal128 add(final MutableDecimal128 a, final MutableDecimal128 b, final Attributes attributes) {
+		Quad.add(a.words[0], a.words[1], b.words[0], b.words[1], words, 0, attributes);
+		return this;
+	}
+
+	/**
+	 * Adds a decimal 64 value to the held value, for instance to aggregate many values without overflowing 16
+	 * digits.
+	 *
+	 * @param value the decimal 64 value to add
+	 * @return this holder
+	 */
+	public MutableDecimal128 addDecimal64(final long value) {
+		final long hi = words[0];
+		final long lo = words[1];
+		Quad.fromDecimal64(value, words, 0);
+		Quad.add(hi, lo, words[0], words[1], words, 0, Attributes.DEFAULT);
+		return this;
+	}
+
+	public MutableDecimal128 subtract(final MutableDecimal128 value) {
+		return subtract(this, value, Attributes.DEFAULT);
+	}
+
+	public MutableDecimal128 subtract(final MutableDecimal128 a, final MutableDecimal128 b, final Attributes attributes) {
+		Quad.subtract(a.words[0], a.words[1], b.words[0], b.words[1], words, 0, attributes);
+		return this;
+	}
+
+	public MutableDecimal128 multiply(final MutableDecimal128 value) {
+		return multiply(this, value, Attributes.DEFAULT);
+	}
+
+	public MutableDecimal128 multiply(final MutableDecimal128 a, final MutableDecimal128 b, final Attributes attributes) {
+		Quad.multiply(a.words[0], a.words[1], b.words[0], b.words[1], words, 0, attributes);
+		return this;
+	}
+
+	@Override
+	public int compareTo(final MutableDecimal128 other) {
+		return Quad.compare(words[0], words[1], other.words[0], other.words[1]);
+	}
+
+	public boolean isZero() {
+		return Decimal128.isFinite(words[0]) && Decimal128.isZero(words[0], words[1]);
+	}
+
+	public boolean isFinite() {
+		return Decimal128.isFinite(words[0]);
+	}
+
+	public boolean isNaN() {
+		return Decimal128.isNaN(words[0]);
+	}
+}
@@ -106,11 +106,11 @@ public enum RoundingDirection {
     TowardNegative {
         @Override
         public final int getRoundingIncrement(final long signumValue, final int leastSignificantDigit, final Remainder remainder) {
-            return signumValue <= 0 & remainder.isGreaterThanZero() ? 1 : 0;
+            return signumValue < 0 & remainder.isGreaterThanZero() ? 1 : 0;
         }
         @Override
         public final boolean isRoundingIncrementPossible(long signumValue) {
-            return signumValue <= 0;
+            return signumValue < 0;
         }
         @Override
         public final long roundOverflow(long signumValue) {
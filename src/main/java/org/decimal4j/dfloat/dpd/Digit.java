@@ -39,11 +39,6 @@ public final class Digit {
 
 	private static final int[] DIGIT_INDEX_SHIFT = {40, 40, 40, 30, 30, 30, 20, 20, 20, 10, 10, 10, 0, 0, 0};
 	private static final int[] DIGIT_INDEX_MOD3 = {0, 1, 2, 0, 1, 2, 0, 1, 2, 0, 1, 2, 0, 1, 2};
-	private static final ThreadLocal<byte[]> CHARS_THREAD_LOCAL = new ThreadLocal<byte[]>() {
-		protected byte[] initialValue() {
-			return new byte[15];
-		};
-	};
 
 	/**
 	 * Converts 10 DPD bits to an integer value from 0 to 999 and returns the i-th most significant digit of this
@@ -111,38 +106,42 @@ public final class Digit {
 	 * @return the long value between 0 and 999,999,999,999,999.
 	 */
 	public static final String dpdToString(final long dpd) {
-		return new String(dpdToCharsThreadLocal(dpd));
+		return dpdToStringBuilder(dpd, new StringBuilder(15)).toString();
 	}
 
-	private static final byte[] dpdToCharsThreadLocal(final long dpd) {
-		final byte[] chars = CHARS_THREAD_LOCAL.get();
-		final int dpd10to30 = (int) (dpd & 0x3fffffff);
-		//all shifts minus two cause we want to multiply by four
-		final int dpd50 = (int) ((dpd >>> 38) & 0xffc);
-		final int dpd40 = (int) ((dpd >>> 28) & 0xffc);
-		final int dpd30 = (dpd10to30 >>> 18) & 0xffc;
-		final int dpd20 = (dpd10to30 >>> 8) & 0xffc;
-		final int dpd10 = (dpd10to30 << 2) & 0xffc;
-		System.arraycopy(DPD_TO_DIGITS, dpd50 + 1, chars, 0, 3);
-		System.arraycopy(DPD_TO_DIGITS, dpd40 + 1, chars, 3, 3);
-		System.arraycopy(DPD_TO_DIGITS, dpd30 + 1, chars, 6, 3);
-		System.arraycopy(DPD_TO_DIGITS, dpd20 + 1, chars, 9, 3);
-		System.arraycopy(DPD_TO_DIGITS, dpd10 + 1, chars, 12, 3);
-		return chars;
+	/**
+	 * Writes the 15 digits encoded in 50 DPD bits as ASCII characters, including leading zeroes.
+	 *
+	 * @param dpd
+	 *            50 DPD value encoding 15 decimal digits
+	 * @param bytes
+	 *            the target array
+	 * @param offset
+	 *            the index of the first written digit in bytes
+	 * @return the number of written bytes, always 15
+	 */
+	public static final int dpdToBytes(final long dpd, final byte[] bytes, final int offset) {
+		int index = offset;
+		for (int shift = 38; shift >= -2; shift -= 10) {
+			System.arraycopy(DPD_TO_DIGITS, (int)((shift < 0 ? dpd << 2 : dpd >>> shift) & 0xffc) + 1, bytes, index, 3);
+			index += 3;
+		}
+		return 15;
 	}
 
 	public static final StringBuilder dpdToStringBuilder(final long dpd, final StringBuilder stringBuilder) {
-		final byte[] chars = dpdToCharsThreadLocal(dpd);
-		for (int i = 0; i < chars.length; i++) {
-			stringBuilder.append((char)chars[i]);
+		for (int shift = 38; shift >= -2; shift -= 10) {
+			//all shifts minus two cause we want to multiply by four
+			final int index = (int)((shift < 0 ? dpd << 2 : dpd >>> shift) & 0xffc);
+			stringBuilder.append((char)DPD_TO_DIGITS[index + 1]).append((char)DPD_TO_DIGITS[index + 2]).append((char)DPD_TO_DIGITS[index + 3]);
 		}
 		return stringBuilder;
 	}
 
 	public static final Appendable dpdToAppendable(final long dpd, final Appendable appendable) throws IOException {
-		final byte[] chars = dpdToCharsThreadLocal(dpd);
-		for (int i = 0; i < chars.length; i++) {
-			appendable.append((char)chars[i]);
+		for (int shift = 38; shift >= -2; shift -= 10) {
+			final int index = (int)((shift < 0 ? dpd << 2 : dpd >>> shift) & 0xffc);
+			appendable.append((char)DPD_TO_DIGITS[index + 1]).append((char)DPD_TO_DIGITS[index + 2]).append((char)DPD_TO_DIGITS[index + 3]);
 		}
 		return appendable;
 	}
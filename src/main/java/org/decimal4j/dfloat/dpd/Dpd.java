@@ -34,6 +34,16 @@ public class Dpd {
 		throw new RuntimeException("No Dpd for you!");
 	}
 
+	/**
+	 * System property to select the {@link DpdSwar} backend for {@link #add(long, long) add}, {@link #sub(long, long) sub},
+	 * {@link #inc(long, int) inc}, {@link #dec(long, int) dec} and {@link #compare(long, long) compare} instead of the
+	 * default lookup tables, read once when this class is initialised. The SWAR backend performs no memory access and
+	 * can be an advantage for cache-cold workloads where the declet tables miss the L1 cache.
+	 */
+	public static final String SWAR_PROPERTY = "org.decimal4j.dfloat.dpd.swar";
+
+	private static final boolean SWAR = Boolean.getBoolean(SWAR_PROPERTY);
+
 	public static long canonicalize(final long dpd) {
 		return ((long)Declet.canonicalize((int) (dpd & 0x3ff))) |
 				(((long)Declet.canonicalize((int) ((dpd >>> 10) & 0x3ff)) << 10)) |
@@ -50,7 +60,41 @@ public class Dpd {
 				Declet.isCanonical((int) ((dpd >>> 40) & 0x3ff));
 	}
 
+	/**
+	 * Converts a long value from 0 to 999,999,999,999,999 to 50 DPD bits.
+	 *
+	 * @param value
+	 *            the value to convert, 0 to 999,999,999,999,999
+	 * @return 50 DPD bits encoding 15 decimal digits
+	 */
+	public static long longToDpd(final long value) {
+		final long hi = value / 1000000000;
+		final int lo = (int)(value - hi * 1000000000);
+		final int hi6 = (int)hi;
+		return (((long)Declet.intToDpd(hi6 / 1000)) << 40) |
+				(((long)Declet.intToDpd(hi6 % 1000)) << 30) |
+				(((long)Declet.intToDpd(lo / 1000000)) << 20) |
+				(((long)Declet.intToDpd((lo / 1000) % 1000)) << 10) |
+				((long)Declet.intToDpd(lo % 1000));
+	}
+
+	/**
+	 * Converts 50 DPD bits to a long value from 0 to 999,999,999,999,999.
+	 *
+	 * @param dpd
+	 *            50 DPD bits encoding 15 decimal digits; higher bits are ignored
+	 * @return the long value between 0 and 999,999,999,999,999
+	 */
+	public static long dpdToLong(final long dpd) {
+		final int hi = Declet.dpdToInt((int)((dpd >>> 40) & 0x3ff)) * 1000 + Declet.dpdToInt((int)((dpd >>> 30) & 0x3ff));
+		final int lo = Declet.dpdToInt((int)((dpd >>> 20) & 0x3ff)) * 1000000 +
+				Declet.dpdToInt((int)((dpd >>> 10) & 0x3ff)) * 1000 +
+				Declet.dpdToInt((int)(dpd & 0x3ff));
+		return hi * 1000000000L + lo;
+	}
+
 	public static long add(final long dpdA, final long dpdB) {
+		if (SWAR) return DpdSwar.add(dpdA, dpdB);
 		final int sum10 = Declet.add((int)(dpdA & 0x3ff), (int)(dpdB & 0x3ff), 0);
 		final int sum20 = Declet.add((int)((dpdA >>> 10) & 0x3ff), (int)((dpdB >> 10) & 0x3ff), sum10 >>> 10);
 		final int sum30 = Declet.add((int)((dpdA >>> 20) & 0x3ff), (int)((dpdB >> 20) & 0x3ff), sum20 >>> 10);
@@ -69,6 +113,7 @@ public class Dpd {
 
 	//PREDONDITION: inc <= 1000
 	public static long inc(final long dpd, final int inc) {
+		if (SWAR) return DpdSwar.inc(dpd, inc);
 		final long sum10 = Declet.inc((int)(dpd & 0x3ff), inc);
 		if ((sum10 >>> 10) == 0) {
 			return (dpd & 0x0003fffffffffc00L) | (sum10 & 0x3ff);
@@ -99,6 +144,7 @@ public class Dpd {
 
 	//PREDONDITION: dec <= 1000
 	public static long dec(final long dpd, final int dec) {
+		if (SWAR) return DpdSwar.dec(dpd, dec);
 		final long dec10 = Declet.dec((int)(dpd & 0x3ff), dec);
 		if ((dec10 >>> 10) == 0) {
 			return (dpd & 0x0003fffffffffc00L) | (dec10 & 0x3ff);
@@ -124,6 +170,7 @@ public class Dpd {
 	}
 
 	public static long sub(final long dpdA, final long dpdB) {
+		if (SWAR) return DpdSwar.sub(dpdA, dpdB);
 		final int sub10 = Declet.sub((int)(dpdA & 0x3ff), (int)(dpdB & 0x3ff), 0);
 		final int sub20 = Declet.sub((int)((dpdA >>> 10) & 0x3ff), (int)((dpdB >>> 10) & 0x3ff), sub10 >>> 10);
 		final int sub30 = Declet.sub((int)((dpdA >>> 20) & 0x3ff), (int)((dpdB >>> 20) & 0x3ff), sub20 >>> 10);
@@ -137,6 +184,7 @@ public class Dpd {
 	}
 
 	public static int compare(final long dpdA, final long dpdB) {
+		if (SWAR) return DpdSwar.compare(dpdA, dpdB);
 		int cmp;
 		cmp = Declet.compare((int)((dpdA >>> 40) & 0x3ff), (int)((dpdB >>> 40) & 0x3ff));
 		if (cmp != 0) return cmp;
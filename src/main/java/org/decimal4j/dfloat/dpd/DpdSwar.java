@@ -0,0 +1,223 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.dpd;
+
+/**
+ * SWAR (SIMD within a register) variant of the {@link Dpd} arithmetic methods. The 50 DPD bits are decoded into 15
+ * BCD digits held in a single long without any table lookups, the digits are added or subtracted in one go with BCD
+ * carry correction, and the result is encoded back to DPD.
+ * <p>
+ * The methods here return exactly the same values as their {@link Dpd} counterparts, including the carry or borrow
+ * bit 50 and the treatment of non-canonical declets. {@link Dpd} delegates to this class if the system property
+ * {@value Dpd#SWAR_PROPERTY} is set to true when {@link Dpd} is initialised.
+ */
+public final class DpdSwar {
+
+	private DpdSwar() {
+		throw new RuntimeException("No DpdSwar for you!");
+	}
+
+	/** Lowest bit of each 12 bit lane, 5 lanes */
+	private static final long LANE_BIT_0 = 0x0001001001001001L;
+	/** 0x6 in each of the 15 BCD digits */
+	private static final long SIXES = 0x0666666666666666L;
+	/** 0x9 in each of the 15 BCD digits */
+	private static final long NINES = 0x0999999999999999L;
+	/** Lowest bit of each BCD digit starting with digit 1, plus the carry digit 15 */
+	private static final long DIGIT_CARRIES = 0x1111111111111110L;
+
+	/**
+	 * Converts 50 DPD bits to 15 BCD digits.
+	 *
+	 * @param dpd
+	 *            50 DPD bits encoding 15 decimal digits; higher bits are ignored
+	 * @return 60 bits with 15 BCD digits, 4 bits per digit
+	 */
+	public static long dpdToBcd(final long dpd) {
+		//spread the 5 declets into 12 bit lanes
+		final long d = (dpd & 0x3ffL) |
+				((dpd & 0xffc00L) << 2) |
+				((dpd & 0x3ff00000L) << 4) |
+				((dpd & 0xffc0000000L) << 6) |
+				((dpd & 0x3ff0000000000L) << 8);
+		//declet bits pqr stu v wxy, one flag per lane in the lane's lowest bit
+		final long p = (d >>> 9) & LANE_BIT_0;
+		final long q = (d >>> 8) & LANE_BIT_0;
+		final long r = (d >>> 7) & LANE_BIT_0;
+		final long s = (d >>> 6) & LANE_BIT_0;
+		final long t = (d >>> 5) & LANE_BIT_0;
+		final long u = (d >>> 4) & LANE_BIT_0;
+		final long v = (d >>> 3) & LANE_BIT_0;
+		final long w = (d >>> 2) & LANE_BIT_0;
+		final long x = (d >>> 1) & LANE_BIT_0;
+		final long y = d & LANE_BIT_0;
+		final long nv = v ^ LANE_BIT_0;
+		final long nw = w ^ LANE_BIT_0;
+		final long nx = x ^ LANE_BIT_0;
+		final long ns = s ^ LANE_BIT_0;
+		final long nt = t ^ LANE_BIT_0;
+		//8 flags of the 3 digits, see IEEE 754-2008 DPD decoding table
+		final long a = v & w & (nx | ns | t);
+		final long e = v & x & (nw | nt | s);
+		final long i = v & ((nw & nx) | (w & x & (s | t)));
+		//bits 4 and 2 of the digits if not an 8 or 9, selected with lane masks widened to 3 bits
+		final long pq = (p << 2) | (q << 1);
+		final long st = (s << 2) | (t << 1);
+		final long wx = (w << 2) | (x << 1);
+		final long stForDigit1 = v & w & x & ns & t;
+		final long stForDigit0 = v & nw & x;
+		final long digit2 = (a << 3) | r | (widen(a ^ LANE_BIT_0) & pq);
+		final long digit1 = (e << 3) | u | (widen(e ^ LANE_BIT_0) & (
+				(widen(stForDigit1) & pq) | (widen(stForDigit1 ^ LANE_BIT_0) & st)
+		));
+		final long digit0 = (i << 3) | y | (widen(i ^ LANE_BIT_0) & (
+				(widen(nv) & wx) | (widen(stForDigit0) & st) | (widen(v & w) & pq)
+		));
+		return (digit2 << 8) | (digit1 << 4) | digit0;
+	}
+
+	/**
+	 * Converts 15 BCD digits to 50 DPD bits.
+	 *
+	 * @param bcd
+	 *            60 bits with 15 BCD digits, 4 bits per digit; higher bits are ignored
+	 * @return 50 canonical DPD bits encoding the 15 decimal digits
+	 */
+	public static long bcdToDpd(final long bcd) {
+		//digit bits abcd efgh ijkm, one flag per 12 bit lane in the lane's lowest bit
+		final long a = (bcd >>> 11) & LANE_BIT_0;
+		final long b = (bcd >>> 10) & LANE_BIT_0;
+		final long c = (bcd >>> 9) & LANE_BIT_0;
+		final long d = (bcd >>> 8) & LANE_BIT_0;
+		final long e = (bcd >>> 7) & LANE_BIT_0;
+		final long f = (bcd >>> 6) & LANE_BIT_0;
+		final long g = (bcd >>> 5) & LANE_BIT_0;
+		final long h = (bcd >>> 4) & LANE_BIT_0;
+		final long i = (bcd >>> 3) & LANE_BIT_0;
+		final long j = (bcd >>> 2) & LANE_BIT_0;
+		final long k = (bcd >>> 1) & LANE_BIT_0;
+		final long m = bcd & LANE_BIT_0;
+		final long na = a ^ LANE_BIT_0;
+		final long ne = e ^ LANE_BIT_0;
+		final long ni = i ^ LANE_BIT_0;
+		final long v = a | e | i;
+		final long nv = v ^ LANE_BIT_0;
+		final long ai = a & i;
+		final long ei = e & i;
+		//see IEEE 754-2008 DPD encoding table
+		final long fgSel = ne & (ai ^ LANE_BIT_0);
+		final long jkSel = na & e & ni;
+		final long p = (na & b) | (a & ((ni & j) | (ne & i & f)));
+		final long q = (na & c) | (a & ((ni & k) | (ne & i & g)));
+		final long s = (fgSel & f) | (jkSel & j) | ei;
+		final long t = (fgSel & g) | (jkSel & k) | ai;
+		final long w = (nv & j) | a | ei;
+		final long x = (nv & k) | e | ai;
+		final long lanes = (p << 9) | (q << 8) | (d << 7) | (s << 6) | (t << 5) | (h << 4) | (v << 3) | (w << 2) | (x << 1) | m;
+		//collapse the 12 bit lanes into 10 bit declets
+		return (lanes & 0x3ffL) |
+				((lanes >>> 2) & 0xffc00L) |
+				((lanes >>> 4) & 0x3ff00000L) |
+				((lanes >>> 6) & 0xffc0000000L) |
+				((lanes >>> 8) & 0x3ff0000000000L);
+	}
+
+	public static long add(final long dpdA, final long dpdB) {
+		final long sum = bcdAdd(dpdToBcd(dpdA), dpdToBcd(dpdB), 0);
+		return bcdToDpd(sum) | ((sum >>> 60) << 50);
+	}
+
+	public static long inc(final long dpd) {
+		return inc(dpd, 1);
+	}
+
+	//PREDONDITION: inc <= 1000
+	public static long inc(final long dpd, final int inc) {
+		final long bcd = dpdToBcd(dpd);
+		final long sum = bcdAdd(bcd, intToBcd(inc), 0);
+		return reencodeChanged(dpd, bcd, sum) | ((sum >>> 60) << 50);
+	}
+
+	public static long dec(final long dpd) {
+		return dec(dpd, 1);
+	}
+
+	//PREDONDITION: dec <= 1000
+	public static long dec(final long dpd, final int dec) {
+		final long bcd = dpdToBcd(dpd);
+		final long diff = bcdAdd(bcd, NINES - intToBcd(dec), 1);
+		return reencodeChanged(dpd, bcd, diff) | (((diff >>> 60) ^ 1) << 50);
+	}
+
+	public static long sub(final long dpdA, final long dpdB) {
+		//ten's complement: a + (999..9 - b) + 1, the carry out is set if there was no borrow
+		final long diff = bcdAdd(dpdToBcd(dpdA), NINES - dpdToBcd(dpdB), 1);
+		return bcdToDpd(diff) | (((diff >>> 60) ^ 1) << 50);
+	}
+
+	public static int compare(final long dpdA, final long dpdB) {
+		//BCD digits preserve the order, and 60 bits are never negative
+		return Long.compare(dpdToBcd(dpdA), dpdToBcd(dpdB));
+	}
+
+	/**
+	 * Encodes the lowest declet and all declets up to the highest one that differs between bcd and result, and
+	 * keeps the declets above as they are in dpd. This matches {@link Dpd#inc(long, int)} and
+	 * {@link Dpd#dec(long, int)} which only re-encode the declets reached by the carry or borrow, so non-canonical
+	 * declets above them are preserved.
+	 */
+	private static long reencodeChanged(final long dpd, final long bcd, final long result) {
+		//a lane reached by the carry or borrow always changes, the changed lanes are contiguous from lane 0
+		final int lane = (63 - Long.numberOfLeadingZeros((bcd ^ result) & 0x0fffffffffffffffL)) / 12;
+		final long mask = (1L << (10 * (lane + 1))) - 1;
+		return (dpd & ~mask & 0x0003ffffffffffffL) | (bcdToDpd(result) & mask);
+	}
+
+	//extends the flag in the lowest bit of each lane to the 3 lowest bits of the lane
+	private static long widen(final long flags) {
+		return (flags << 3) - flags;
+	}
+
+	/**
+	 * Adds two 15 digit BCD values and a carry in of 0 or 1. The result has the carry out in digit 15.
+	 */
+	private static long bcdAdd(final long bcdA, final long bcdB, final int carryIn) {
+		//pre-add 6 to every digit so that decimal carries become binary carries
+		final long t1 = bcdA + SIXES;
+		final long t2 = t1 + bcdB + carryIn;
+		//binary carries into every digit
+		final long carries = t2 ^ t1 ^ bcdB;
+		//digits that did not produce a carry still have the 6 added, take it off again
+		final long noCarry = ~carries & DIGIT_CARRIES;
+		return t2 - ((noCarry >>> 2) | (noCarry >>> 3));
+	}
+
+	private static long intToBcd(final int value) {
+		//value <= 1000
+		final int hundreds = value / 100;
+		final int rem = value - hundreds * 100;
+		final int tens = rem / 10;
+		return ((hundreds / 10) << 12) | ((hundreds % 10) << 8) | (tens << 4) | (rem - tens * 10);
+	}
+}
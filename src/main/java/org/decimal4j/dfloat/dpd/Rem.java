@@ -49,6 +49,29 @@ public final class Rem {
 		return remainderOfPow10(msd, 15 - n, dpd);
 	}
 
+	/**
+	 * Returns the remainder when dropping the {@code n} least significant digits of the 16 digit coefficient
+	 * {@code |msd|dpd|}, that is, the remainder of the coefficient divided by {@code 10^n} relative to
+	 * {@code 10^n/2}.
+	 *
+	 * @param msd
+	 *            the most significant digit of the coefficient, 0-9
+	 * @param dpd
+	 *            50 DPD bits encoding the 15 least significant digits of the coefficient
+	 * @param n
+	 *            the number of digits to drop, non-negative
+	 * @return the remainder of the dropped digits
+	 */
+	public static final Remainder remainderOfCoefficient(final int msd, final long dpd, final int n) {
+		if (n < 16) {
+			return n == 0 ? Remainder.ZERO : remainderOfPow10(dpd, n);
+		}
+		if (n == 16) {
+			return remainderOfPow10(msd, dpd, 15);
+		}
+		return msd == 0 & Dpd.isZero(dpd) ? Remainder.ZERO : Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+	}
+
 	private static final Remainder remainderOfPow10(final int msd, final int offset, final long dpd) {
 		if (msd > 5) return Remainder.GREATER_THAN_HALF;
 		if (msd > 0 & msd < 5) return Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
@@ -32,20 +32,43 @@ public class Shift {
 		throw new RuntimeException("No Shift for you!");
 	}
 
-	/** 10 bits, 1024 values */
-	private static final short[] DPD_TO_INT_RSH_1 = initRsh1();
-	/** 10 bits, 1024 values */
-	private static final short[] DPD_TO_INT_RSH_2 = initRsh2();
-	/** 10 bits, 1024 values */
-	private static final short[] DPD_TO_INT_LSH_1 = initLsh1();
-	/** 10 bits, 1024 values */
-	private static final short[] DPD_TO_INT_LSH_2 = initLsh2();
+	//tables are held in nested classes so that they are only built when the respective shift is first used
+
+	/** Tables to shift declet pairs right by one digit */
+	private static final class Shift1 {
+		/** 10 bits, 1024 values */
+		private static final short[] DPD_TO_INT_RSH_1 = new short[1024];
+		/** 10 bits, 1024 values */
+		private static final short[] DPD_TO_INT_LSH_2 = new short[1024];
+		static {
+			for (int i = 0; i < 1024; i++) {
+				final int value = Declet.dpdToInt(i);
+				DPD_TO_INT_RSH_1[i] = (short)(value / 10);
+				DPD_TO_INT_LSH_2[i] = (short)(100 * (value % 10));
+			}
+		}
+	}
+
+	/** Tables to shift declet pairs right by two digits, or left by one digit */
+	private static final class Shift2 {
+		/** 10 bits, 1024 values */
+		private static final short[] DPD_TO_INT_RSH_2 = new short[1024];
+		/** 10 bits, 1024 values */
+		private static final short[] DPD_TO_INT_LSH_1 = new short[1024];
+		static {
+			for (int i = 0; i < 1024; i++) {
+				final int value = Declet.dpdToInt(i);
+				DPD_TO_INT_RSH_2[i] = (short)(value / 100);
+				DPD_TO_INT_LSH_1[i] = (short)(10 * (value % 100));
+			}
+		}
+	}
 
 	public static final int shiftRightDeclet(final int dpdHi, final int dpdLo) {
-		return Declet.intToDpd(DPD_TO_INT_LSH_2[dpdHi] + DPD_TO_INT_RSH_1[dpdLo]);
+		return Declet.intToDpd(Shift1.DPD_TO_INT_LSH_2[dpdHi] + Shift1.DPD_TO_INT_RSH_1[dpdLo]);
 	}
 	public static final int shiftLeftDeclet(final int dpdHi, final int dpdLo) {
-		return Declet.intToDpd(DPD_TO_INT_LSH_1[dpdHi] + DPD_TO_INT_RSH_2[dpdLo]);
+		return Declet.intToDpd(Shift2.DPD_TO_INT_LSH_1[dpdHi] + Shift2.DPD_TO_INT_RSH_2[dpdLo]);
 	}
 	public static final long shiftRight(final int msd, final long dpd) {
 		return shiftRight(
@@ -181,7 +204,7 @@ public class Shift {
 				(int)(dpd & 0x3ff));
 	}
 	public static final long shiftLeft(final int dpd50, final int dpd40, final int dpd30, final int dpd20, final int dpd10) {
-		final long msd = DPD_TO_INT_RSH_2[dpd50];
+		final long msd = Shift2.DPD_TO_INT_RSH_2[dpd50];
 		return (msd << 50) | shiftRight2(dpd50, dpd40, dpd30, dpd20, dpd10, 0);
 	}
 	public static final long shiftLeft2(final int dpd50, final int dpd40, final int dpd30, final int dpd20, final int dpd10) {
@@ -258,33 +281,4 @@ public class Shift {
 		//else: n == 15 or n >= 16
 		return n < 16 ? ((long)msd((int)(dpd & 0x3ff))) << 50 : 0;
 	}
-
-	private static final short[] initRsh1() {
-		final short[] rsh = new short[1024];
-		for (int i = 0; i < 1024; i++) {
-			rsh[i] = (short)(10*Digit.decletToIntDigit(i, 0) + Digit.decletToIntDigit(i, 1));
-		}
-		return rsh;
-	}
-	private static final short[] initRsh2() {
-		final short[] rsh = new short[1024];
-		for (int i = 0; i < 1024; i++) {
-			rsh[i] = (short)Digit.decletToIntDigit(i, 0);
-		}
-		return rsh;
-	}
-	private static final short[] initLsh1() {
-		final short[] lsh = new short[1024];
-		for (int i = 0; i < 1024; i++) {
-			lsh[i] = (short)(100*Digit.decletToIntDigit(i, 1) + 10*Digit.decletToIntDigit(i, 2));
-		}
-		return lsh;
-	}
-	private static final short[] initLsh2() {
-		final short[] lsh = new short[1024];
-		for (int i = 0; i < 1024; i++) {
-			lsh[i] = (short)(100*Digit.decletToIntDigit(i, 2));
-		}
-		return lsh;
-	}
 }
@@ -0,0 +1,250 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.encode;
+
+import org.decimal4j.dfloat.dpd.Declet;
+import org.decimal4j.dfloat.dpd.Dpd;
+
+/**
+ * Encoding implementing the IEEE 754-2008 Decimal 128 Interchange format with DPD coefficient, stored in two
+ * longs. The high word holds sign, combination field, 12 exponent continuation bits and the upper 46 bits of
+ * the coefficient continuation; the low word holds the lower 64 bits of the coefficient continuation.
+ * <p>
+ * The 11 declets of the coefficient continuation are split at digit 18: the low word contains declets 0 to 5
+ * and the low 4 bits of declet 6. Coefficients are exchanged as two binary longs, the high 16 digits
+ * {@code coeffHi} and the low 18 digits {@code coeffLo}, each converted with the {@link Dpd} kernels.
+ */
+public class Decimal128 {
+
+	private Decimal128() {
+		throw new RuntimeException("No Decimal128 for you!");
+	}
+
+	public static final int MAX_PRECISION = 34; /* maximum precision (digits) */
+	public static final int MAX_EXPONENT = 6144; /* maximum adjusted exponent */
+	public static final int MIN_EXPONENT = -6143; /* minimum adjusted exponent */
+	public static final int EXPONENT_BIAS = 6176; /* bias for the exponent */
+	public static final int MAX_EXPONENT_NOMINAL = MAX_EXPONENT - (MAX_PRECISION - 1);
+	public static final int MIN_EXPONENT_NOMINAL = MIN_EXPONENT - (MAX_PRECISION - 1);
+	private static final int DECECONL = 12; /* exp. continuation length */
+
+	/* special values and masks apply to the high word and are the same as for Decimal64 */
+	public static final long NAN = Decimal64.NAN;
+	public static final long SNAN = Decimal64.SNAN;
+	public static final long INF = Decimal64.INF;
+	public static final long SIGN_BIT_MASK = Decimal64.SIGN_BIT_MASK;
+
+	public static final long ZERO_HI = 0x2208000000000000L;
+
+	public static final long MIN_NORMAL_HI = 0x0400000000000000L;//10^MIN_EXPONENT
+	public static final long MIN_NORMAL_LO = 0;
+	public static final long MAX_NORMAL_HI = 0x77ffcff3fcff3fcfL;//10^MAX_EXPONENT * (10-10^(1-MAX_PRECISION))
+	public static final long MAX_NORMAL_LO = 0xf3fcff3fcff3fcffL;
+
+	public static final long COEFF_CONT_MASK_HI = 0x00003fffffffffffL;
+	private static final long EXP_CONT_MASK = 0x03ffc00000000000L;
+
+	private static final long TEN_POW_15 = 1000000000000000L;
+
+	// @formatter:off
+	/* combination field lookup tables, see Decimal64 */
+	private static final int[] DECCOMBEXP={
+	  0, 0, 0, 0, 0, 0, 0, 0,
+	  1<<DECECONL, 1<<DECECONL, 1<<DECECONL, 1<<DECECONL,
+	  1<<DECECONL, 1<<DECECONL, 1<<DECECONL, 1<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, 2<<DECECONL, 2<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, 2<<DECECONL, 2<<DECECONL,
+	  0,	       0,	    1<<DECECONL, 1<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, (int)(INF>>>32), (int)(NAN>>>32),
+	  0, 0, 0, 0, 0, 0, 0, 0,
+	  1<<DECECONL, 1<<DECECONL, 1<<DECECONL, 1<<DECECONL,
+	  1<<DECECONL, 1<<DECECONL, 1<<DECECONL, 1<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, 2<<DECECONL, 2<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, 2<<DECECONL, 2<<DECECONL,
+	  0,	       0,	    1<<DECECONL, 1<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, (int)(INF>>>32), (int)(NAN>>>32)};
+
+	private static final int[] DECCOMBMSD = {
+			  0, 1, 2, 3, 4, 5, 6, 7, 0, 1, 2, 3, 4, 5, 6, 7,
+			  0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 8, 9, 8, 9, 0, 0,
+			  0, 1, 2, 3, 4, 5, 6, 7, 0, 1, 2, 3, 4, 5, 6, 7,
+			  0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 8, 9, 8, 9, 0, 0};
+
+	/** DECCOMBFROM is indexed by expTopTwoBits*16 + msd */
+	private static final long[] DECCOMBFROM = {
+			  0x0000000000000000L, 0x0400000000000000L, 0x0800000000000000L, 0x0C00000000000000L, 0x1000000000000000L, 0x1400000000000000L,
+			  0x1800000000000000L, 0x1C00000000000000L, 0x6000000000000000L, 0x6400000000000000L, 0x0000000000000000L, 0x0000000000000000L,
+			  0x0000000000000000L, 0x0000000000000000L, 0x0000000000000000L, 0x0000000000000000L, 0x2000000000000000L, 0x2400000000000000L,
+			  0x2800000000000000L, 0x2C00000000000000L, 0x3000000000000000L, 0x3400000000000000L, 0x3800000000000000L, 0x3C00000000000000L,
+			  0x6800000000000000L, 0x6C00000000000000L, 0x0000000000000000L, 0x0000000000000000L, 0x0000000000000000L, 0x0000000000000000L,
+			  0x0000000000000000L, 0x0000000000000000L, 0x4000000000000000L, 0x4400000000000000L, 0x4800000000000000L, 0x4C00000000000000L,
+			  0x5000000000000000L, 0x5400000000000000L, 0x5800000000000000L, 0x5C00000000000000L, 0x7000000000000000L, 0x7400000000000000L,
+			  0x0000000000000000L, 0x0000000000000000L, 0x0000000000000000L, 0x0000000000000000L, 0x0000000000000000L, 0x0000000000000000L};
+	// @formatter:on
+
+	/**
+	 * Tests for any zero.
+	 * @param hi the high word of the decimal 128 floating point value
+	 * @param lo the low word of the decimal 128 floating point value
+	 * @return true if zero
+	 */
+	public static final boolean isZero(final long hi, final long lo) {
+		return (hi & 0x1c003fffffffffffL) == 0 & lo == 0 & (hi & 0x6000000000000000L) != 0x6000000000000000L;
+	}
+
+	public static final boolean isNaN(final long hi) {
+		return (hi & NAN) == NAN;
+	}
+
+	public static final boolean isQuietNaN(final long hi) {
+		return (hi & SNAN) == NAN;
+	}
+
+	public static final boolean isSignalingNaN(final long hi) {
+		return (hi & SNAN) == SNAN;
+	}
+
+	public static final boolean isInfinite(final long hi) {
+		return (hi & NAN) == INF;
+	}
+
+	public static final boolean isFinite(final long hi) {
+		return (hi & NAN) < INF;
+	}
+
+	public static final boolean isNormal(final long hi, final long lo) {
+		return isFinite(hi) && !isZero(hi, lo) & getAdjustedExponent(hi, lo) >= MIN_EXPONENT;
+	}
+
+	public static final boolean isSubnormal(final long hi, final long lo) {
+		return isFinite(hi) && !isZero(hi, lo) & getAdjustedExponent(hi, lo) < MIN_EXPONENT;
+	}
+
+	public static final boolean isCanonical(final long hi, final long lo) {
+		return Dpd.isCanonical(lo) & Declet.isCanonical((int)((lo >>> 50) & 0x3ff)) & Dpd.isCanonical(getUpperDpd(hi, lo));
+	}
+
+	public static final int getExponentContinuation(final long hi) {
+		return (int)((hi & EXP_CONT_MASK) >>> 46);
+	}
+
+	public static final int getCombinationMSD(final long hi) {
+		return DECCOMBMSD[(int)(hi >>> (26 + 32))];
+	}
+
+	public static final int getExponentBiased(final long hi) {
+		return DECCOMBEXP[(int)(hi >>> (26 + 32))] + getExponentContinuation(hi);
+	}
+
+	public static final int getExponent(final long hi) {
+		return getExponentBiased(hi) - EXPONENT_BIAS;
+	}
+
+	/**
+	 * Returns the high 16 digits of the coefficient of a finite value as binary integer: the MSD and declets 6
+	 * to 10.
+	 * @param hi the high word of the decimal float value in DPD encoding
+	 * @param lo the low word of the decimal float value in DPD encoding
+	 * @return the high digits of the unsigned coefficient, 0 to 10^16-1
+	 */
+	public static final long getCoefficientHi(final long hi, final long lo) {
+		return getCombinationMSD(hi) * TEN_POW_15 + Dpd.dpdToLong(getUpperDpd(hi, lo));
+	}
+
+	/**
+	 * Returns the low 18 digits of the coefficient as binary integer: declets 0 to 5.
+	 * @param lo the low word of the decimal float value in DPD encoding
+	 * @return the low digits of the unsigned coefficient, 0 to 10^18-1
+	 */
+	public static final long getCoefficientLo(final long lo) {
+		return Declet.dpdToInt((int)((lo >>> 50) & 0x3ff)) * TEN_POW_15 + Dpd.dpdToLong(lo);
+	}
+
+	/**
+	 * Returns the high word of a zero value with the given sign and exponent; the low word of a zero is 0.
+	 * @param sign the sign, only the sign bit is used
+	 * @param exp the exponent, MIN_EXPONENT_NOMINAL to MAX_EXPONENT_NOMINAL
+	 * @return the high word of the zero value
+	 */
+	public static final long zero(final long sign, final int exp) {
+		final int expBiased = exp + EXPONENT_BIAS;
+		return (sign & SIGN_BIT_MASK) | DECCOMBFROM[(expBiased >> DECECONL)<<4] | ((((long)expBiased) << 46) & EXP_CONT_MASK);
+	}
+
+	/**
+	 * Encodes the high word of a finite value given the high digits of a binary coefficient.
+	 * @param sign the sign, only the sign bit is used
+	 * @param exp the exponent, MIN_EXPONENT_NOMINAL to MAX_EXPONENT_NOMINAL
+	 * @param coeffHi the high 16 digits of the unsigned coefficient, 0 to 10^16-1
+	 * @return the high word of the decimal float value in DPD encoding
+	 */
+	public static final long encodeHi(final long sign, final int exp, final long coeffHi) {
+		final int expBiased = exp + EXPONENT_BIAS;
+		final int msd = (int)(coeffHi / TEN_POW_15);
+		final long upper = Dpd.longToDpd(coeffHi - msd * TEN_POW_15);
+		return (sign & SIGN_BIT_MASK) | DECCOMBFROM[((expBiased >> DECECONL)<<4) + msd] | ((((long)expBiased) << 46) & EXP_CONT_MASK) | (upper >>> 4);
+	}
+
+	/**
+	 * Encodes the low word of a finite value given a binary coefficient.
+	 * @param coeffHi the high 16 digits of the unsigned coefficient, 0 to 10^16-1
+	 * @param coeffLo the low 18 digits of the unsigned coefficient, 0 to 10^18-1
+	 * @return the low word of the decimal float value in DPD encoding
+	 */
+	public static final long encodeLo(final long coeffHi, final long coeffLo) {
+		final int d5 = (int)(coeffLo / TEN_POW_15);
+		final long upper = Dpd.longToDpd(coeffHi % TEN_POW_15);
+		return (upper << 60) | (((long)Declet.intToDpd(d5)) << 50) | Dpd.longToDpd(coeffLo - d5 * TEN_POW_15);
+	}
+
+	/**
+	 * Returns the high word of a quiet NaN with the sign and the payload of the given NaN; the low word of the
+	 * NaN stays unchanged.
+	 * @param hi the high word of a NaN value
+	 * @return the high word of the quiet NaN
+	 */
+	public static final long quietNaN(final long hi) {
+		return (hi & (SIGN_BIT_MASK | COEFF_CONT_MASK_HI)) | NAN;
+	}
+
+	//declets 6 to 10 as 50 DPD bits
+	private static long getUpperDpd(final long hi, final long lo) {
+		return ((hi & COEFF_CONT_MASK_HI) << 4) | (lo >>> 60);
+	}
+
+	//exponent of the most significant digit
+	private static int getAdjustedExponent(final long hi, final long lo) {
+		final long coeffHi = getCoefficientHi(hi, lo);
+		final int digits = coeffHi != 0 ? 18 + numberOfDigits(coeffHi) : numberOfDigits(getCoefficientLo(lo));
+		return getExponent(hi) + digits - 1;
+	}
+
+	private static int numberOfDigits(final long value) {
+		int digits = 0;
+		for (long v = value; v != 0; v /= 10) {
+			digits++;
+		}
+		return digits;
+	}
+}
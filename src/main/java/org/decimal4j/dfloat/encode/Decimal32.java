@@ -0,0 +1,221 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.encode;
+
+import org.decimal4j.dfloat.dpd.Declet;
+
+/**
+ * Encoding implementing the IEEE 754-2008 Decimal 32 Interchange format with DPD coefficient, packed in an
+ * int. The layout follows {@link Decimal64} with 6 instead of 8 exponent continuation bits and two declets.
+ */
+public class Decimal32 {
+
+	private Decimal32() {
+		throw new RuntimeException("No Decimal32 for you!");
+	}
+
+	public static final int MAX_PRECISION = 7; /* maximum precision (digits) */
+	public static final int MAX_EXPONENT = 96; /* maximum adjusted exponent */
+	public static final int MIN_EXPONENT = -95; /* minimum adjusted exponent */
+	public static final int EXPONENT_BIAS = 101; /* bias for the exponent */
+	public static final int MAX_EXPONENT_NOMINAL = MAX_EXPONENT - (MAX_PRECISION - 1);
+	public static final int MIN_EXPONENT_NOMINAL = MIN_EXPONENT - (MAX_PRECISION - 1);
+	private static final int DECECONL = 6; /* exp. continuation length */
+
+	public static final int NAN = 0x7c000000; /* 0 11111 00 ... NaN */
+	public static final int SNAN = 0x7e000000; /* 0 11111 10 ... sNaN */
+	public static final int INF = 0x78000000; /* 0 11110 00 ... Infinity */
+
+	public static final int SIGN_BIT_MASK = 0x80000000; /* 1 00000 00 ... sign bit */
+
+	public static final int ZERO	= 0x22500000;
+
+	public static final int MIN_NORMAL = 0x04000000;//10^MIN_EXPONENT
+	public static final int MAX_NORMAL = 0x77f3fcff;//10^MAX_EXPONENT * (10-10^(1-MAX_PRECISION))
+
+	public static final int COEFF_CONT_MASK = 0x000fffff;
+	private static final int EXP_CONT_MASK =  0x03f00000;
+
+	// @formatter:off
+	/* combination field lookup tables, see Decimal64 */
+	private static final int[] DECCOMBEXP={
+	  0, 0, 0, 0, 0, 0, 0, 0,
+	  1<<DECECONL, 1<<DECECONL, 1<<DECECONL, 1<<DECECONL,
+	  1<<DECECONL, 1<<DECECONL, 1<<DECECONL, 1<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, 2<<DECECONL, 2<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, 2<<DECECONL, 2<<DECECONL,
+	  0,	       0,	    1<<DECECONL, 1<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, INF, NAN,
+	  0, 0, 0, 0, 0, 0, 0, 0,
+	  1<<DECECONL, 1<<DECECONL, 1<<DECECONL, 1<<DECECONL,
+	  1<<DECECONL, 1<<DECECONL, 1<<DECECONL, 1<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, 2<<DECECONL, 2<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, 2<<DECECONL, 2<<DECECONL,
+	  0,	       0,	    1<<DECECONL, 1<<DECECONL,
+	  2<<DECECONL, 2<<DECECONL, INF, NAN};
+
+	private static final int[] DECCOMBMSD = {
+			  0, 1, 2, 3, 4, 5, 6, 7, 0, 1, 2, 3, 4, 5, 6, 7,
+			  0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 8, 9, 8, 9, 0, 0,
+			  0, 1, 2, 3, 4, 5, 6, 7, 0, 1, 2, 3, 4, 5, 6, 7,
+			  0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 8, 9, 8, 9, 0, 0};
+
+	/** DECCOMBFROM is indexed by expTopTwoBits*16 + msd */
+	private static final int[] DECCOMBFROM = {
+			  0x00000000, 0x04000000, 0x08000000, 0x0C000000, 0x10000000, 0x14000000,
+			  0x18000000, 0x1C000000, 0x60000000, 0x64000000, 0x00000000, 0x00000000,
+			  0x00000000, 0x00000000, 0x00000000, 0x00000000, 0x20000000, 0x24000000,
+			  0x28000000, 0x2C000000, 0x30000000, 0x34000000, 0x38000000, 0x3C000000,
+			  0x68000000, 0x6C000000, 0x00000000, 0x00000000, 0x00000000, 0x00000000,
+			  0x00000000, 0x00000000, 0x40000000, 0x44000000, 0x48000000, 0x4C000000,
+			  0x50000000, 0x54000000, 0x58000000, 0x5C000000, 0x70000000, 0x74000000,
+			  0x00000000, 0x00000000, 0x00000000, 0x00000000, 0x00000000, 0x00000000};
+	// @formatter:on
+
+	/**
+	 * Tests for any zero.
+	 * @param dFloat the decimal 32 floating point value
+	 * @return true if zero
+	 */
+	public static final boolean isZero(final int dFloat) {
+		return (dFloat & 0x1c0fffff) == 0 & (dFloat & 0x60000000) != 0x60000000;
+	}
+
+	public static final boolean isNaN(final int dFloat) {
+		return (dFloat & NAN) == NAN;
+	}
+
+	public static final boolean isQuietNaN(final int dFloat) {
+		return (dFloat & SNAN) == NAN;
+	}
+
+	public static final boolean isSignalingNaN(final int dFloat) {
+		return (dFloat & SNAN) == SNAN;
+	}
+
+	public static final boolean isInfinite(final int dFloat) {
+		return (dFloat & NAN) == INF;
+	}
+
+	public static final boolean isFinite(final int dFloat) {
+		return (dFloat & NAN) < INF;
+	}
+
+	public static final boolean isNormal(final int dFloat) {
+		return isFinite(dFloat) && !isZero(dFloat) & !isTiny(dFloat);
+	}
+
+	public static final boolean isSubnormal(final int dFloat) {
+		return isFinite(dFloat) && !isZero(dFloat) & isTiny(dFloat);
+	}
+
+	public static final boolean isCanonical(final int dFloat) {
+		return Declet.isCanonical(dFloat & 0x3ff) & Declet.isCanonical((dFloat >>> 10) & 0x3ff);
+	}
+
+	public static final int canonicalize(final int dFloat) {
+		return (dFloat & ~COEFF_CONT_MASK) | canonicalDpd(dFloat);
+	}
+
+	public static final int getExponentContinuation(final int dFloat) {
+		return (dFloat & EXP_CONT_MASK) >>> 20;
+	}
+
+	public static final int getCombinationMSD(final int dFloat) {
+		return DECCOMBMSD[dFloat >>> 26];
+	}
+
+	public static final int getExponentBiased(final int dFloat) {
+		return DECCOMBEXP[dFloat >>> 26] + getExponentContinuation(dFloat);
+	}
+
+	public static final int getExponent(final int dFloat) {
+		return getExponentBiased(dFloat) - EXPONENT_BIAS;
+	}
+
+	/**
+	 * Returns the coefficient of a finite value as binary integer.
+	 * @param dFloat the decimal float value in DPD encoding
+	 * @return the unsigned coefficient, 0 to 10^7-1
+	 */
+	public static final int getCoefficient(final int dFloat) {
+		return getCombinationMSD(dFloat) * 1000000 + Declet.dpdToInt((dFloat >>> 10) & 0x3ff) * 1000 + Declet.dpdToInt(dFloat & 0x3ff);
+	}
+
+	public static final int zero(final int sign, final int exp) {
+		final int expBiased = exp + EXPONENT_BIAS;
+		return (sign & SIGN_BIT_MASK) | DECCOMBFROM[(expBiased >> DECECONL)<<4] | ((expBiased << 20) & EXP_CONT_MASK);
+	}
+
+	public static final int encode(final int sign, final int exp, final int msd, final int dpd) {
+		final int expBiased = exp + EXPONENT_BIAS;
+		return (sign & SIGN_BIT_MASK) | DECCOMBFROM[((expBiased >> DECECONL)<<4) + msd] | ((expBiased << 20) & EXP_CONT_MASK) | (dpd & COEFF_CONT_MASK);
+	}
+
+	/**
+	 * Encodes a finite value given a binary coefficient.
+	 * @param sign the sign, only the sign bit is used
+	 * @param exp the exponent, MIN_EXPONENT_NOMINAL to MAX_EXPONENT_NOMINAL
+	 * @param coefficient the unsigned coefficient, 0 to 10^7-1
+	 * @return the decimal float value in DPD encoding
+	 */
+	public static final int encodeCoefficient(final int sign, final int exp, final int coefficient) {
+		final int msd = coefficient / 1000000;
+		final int low = coefficient - msd * 1000000;
+		final int hi = low / 1000;
+		return encode(sign, exp, msd, (Declet.intToDpd(hi) << 10) | Declet.intToDpd(low - hi * 1000));
+	}
+
+	/**
+	 * Converts a Decimal32 value to Decimal64. The conversion is exact; infinities and NaN keep their sign, NaN
+	 * also the signalling bit and the payload. Declets are canonicalized.
+	 *
+	 * @param dFloat the decimal 32 floating point value
+	 * @return the same value as decimal 64 floating point value
+	 */
+	public static final long toDecimal64(final int dFloat) {
+		final long sign = dFloat & SIGN_BIT_MASK;
+		if (isFinite(dFloat)) {
+			final long dpd = (((long)getCombinationMSD(dFloat)) << 20) | canonicalDpd(dFloat);
+			return Decimal64.encode(sign << 32, getExponent(dFloat), 0, dpd);
+		}
+		if (isNaN(dFloat)) {
+			return (sign << 32) | (isSignalingNaN(dFloat) ? Decimal64.SNAN : Decimal64.NAN) | canonicalDpd(dFloat);
+		}
+		return (sign << 32) | Decimal64.INF;
+	}
+
+	//canonical declets of the coefficient continuation
+	private static int canonicalDpd(final int dFloat) {
+		return (Declet.canonicalize((dFloat >>> 10) & 0x3ff) << 10) | Declet.canonicalize(dFloat & 0x3ff);
+	}
+
+	//true if the finite value is less than 10^MIN_EXPONENT in magnitude
+	private static boolean isTiny(final int dFloat) {
+		final int n = MIN_EXPONENT - getExponent(dFloat);
+		return n > 0 && getCoefficient(dFloat) < POW10[n];
+	}
+
+	private static final int[] POW10 = {1, 10, 100, 1000, 10000, 100000, 1000000};
+}
@@ -40,7 +40,7 @@ public class Decimal64 {
 	public static final int EXPONENT_BIAS = 398; /* bias for the exponent */
 	public static final int MAX_EXPONENT_NOMINAL = MAX_EXPONENT - (MAX_PRECISION - 1);
 	public static final int MIN_EXPONENT_NOMINAL = MIN_EXPONENT - (MAX_PRECISION - 1);
-	public static final int MAX_STRING_LENGTH = 23; /* maximum string length */
+	public static final int MAX_STRING_LENGTH = 24; /* maximum string length */
 	private static final int DECECONL = 8; /* exp. continuation length */
 
 	public static final long NAN = 0x7c00000000000000L; /* 0 11111 00 ... NaN */
@@ -51,8 +51,8 @@ public class Decimal64 {
 
 	public static final long ZERO	= 0x2238000000000000L;
 
-	public static final long MIN_NORMAL = 0x043c000000000000L;//10^MIN_EXPONENT
-	public static final long MAX_NORMAL = 0x77ff8d7ea4c67fffL;//10^MAX_EXPONENT * (10-10^(1-MAX_PRECISION))
+	public static final long MIN_NORMAL = 0x0400000000000000L;//10^MIN_EXPONENT
+	public static final long MAX_NORMAL = 0x77fcff3fcff3fcffL;//10^MAX_EXPONENT * (10-10^(1-MAX_PRECISION))
 
 	public static final long COEFF_CONT_MASK = 0x0003ffffffffffffL;
 	private static final long EXP_CONT_MASK =  0x03fc000000000000L;
@@ -188,6 +188,15 @@ public class Decimal64 {
 		return getExponentBiased(dFloat) - EXPONENT_BIAS;
 	}
 
+	/**
+	 * Returns the coefficient of a finite value as binary integer.
+	 * @param dFloat the decimal float value in DPD encoding
+	 * @return the unsigned coefficient, 0 to 10^16-1
+	 */
+	public static final long getCoefficient(final long dFloat) {
+		return getCombinationMSD(dFloat) * 1000000000000000L + Dpd.dpdToLong(dFloat);
+	}
+
 	public static final long zero(final long sign, final int exp) {
 		final int expBiased = exp + EXPONENT_BIAS;
 		return (sign & SIGN_BIT_MASK) | DECCOMBFROM[(expBiased >> DECECONL)<<4] | ((((long)expBiased) << 50) & EXP_CONT_MASK);
@@ -197,6 +206,18 @@ public class Decimal64 {
 		return (sign & SIGN_BIT_MASK) | DECCOMBFROM[((expBiased >> DECECONL)<<4) + msd] | ((((long)expBiased) << 50) & EXP_CONT_MASK) | (dpd & COEFF_CONT_MASK);
 	}
 
+	/**
+	 * Encodes a finite value given a binary coefficient.
+	 * @param sign the sign, only the sign bit is used
+	 * @param exp the exponent, MIN_EXPONENT_NOMINAL to MAX_EXPONENT_NOMINAL
+	 * @param coefficient the unsigned coefficient, 0 to 10^16-1
+	 * @return the decimal float value in DPD encoding
+	 */
+	public static final long encodeCoefficient(final long sign, final int exp, final long coefficient) {
+		final long msd = coefficient / 1000000000000000L;
+		return encode(sign, exp, (int)msd, Dpd.longToDpd(coefficient - msd * 1000000000000000L));
+	}
+
 	/* Macros and masks for the exponent continuation field and MSD   */
     /* Get the exponent continuation from a decFloat *df as an Int    */
 //    #define GETECON(df) ((Int)((DFWORD((df), 0)&0x03ffffff)>>(32-6-DECECONL)))
@@ -228,7 +249,7 @@ public class Decimal64 {
 		for (long i = 1, e=0; i < 10000000000000000L; i*=10,e++) {
 			System.out.println("0x" + Long.toHexString(encode(1, (int)e, 0, 1)) + "L");
 		}
-		System.out.println("MIN_NORMAL=\t" + Long.toHexString(encode(1, MIN_EXPONENT, 1, 0)));
-		System.out.println("MAX_NORMAL=\t" + Long.toHexString(encode(1, MAX_EXPONENT_NOMINAL, 9, 999999999999999L)));
+		System.out.println("MIN_NORMAL=\t" + Long.toHexString(encode(1, MIN_EXPONENT_NOMINAL, 1, 0)));
+		System.out.println("MAX_NORMAL=\t" + Long.toHexString(encode(1, MAX_EXPONENT_NOMINAL, 9, Dpd.longToDpd(999999999999999L))));
 	}
 }
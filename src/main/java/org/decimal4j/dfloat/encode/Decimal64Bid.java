@@ -0,0 +1,209 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.encode;
+
+import org.decimal4j.dfloat.dpd.Dpd;
+
+/**
+ * Encoding implementing the IEEE 754-2008 Decimal 64 Interchange format with Binary Integer Decimal (BID)
+ * coefficient. Sign, infinities and NaN are encoded exactly as in {@link Decimal64}; finite values store the
+ * biased exponent and the coefficient as binary integer:
+ * <pre>
+ * s 00eeeeeeeeee ccc...c (53 bits)     coefficient &lt; 2^53
+ * s 11eeeeeeeeee ccc...c (51 bits)     coefficient = 2^53 + c, only up to 10^16-1 is canonical
+ * </pre>
+ * Coefficients larger than 10^16-1 are non-canonical and are interpreted as zero.
+ */
+public class Decimal64Bid {
+
+	private Decimal64Bid() {
+		throw new RuntimeException("No Decimal64Bid for you!");
+	}
+
+	public static final long NAN = Decimal64.NAN;
+	public static final long SNAN = Decimal64.SNAN;
+	public static final long INF = Decimal64.INF;
+
+	public static final long SIGN_BIT_MASK = Decimal64.SIGN_BIT_MASK;
+
+	public static final long ZERO = 0x31c0000000000000L;
+
+	public static final long MIN_NORMAL = 0x00038d7ea4c68000L;//10^MIN_EXPONENT
+	public static final long MAX_NORMAL = 0x77fb86f26fc0ffffL;//10^MAX_EXPONENT * (10-10^(1-MAX_PRECISION))
+
+	/** Largest canonical coefficient 10^16-1 */
+	public static final long MAX_COEFFICIENT = 9999999999999999L;
+
+	private static final long LARGE_COEFF_MASK = 0x6000000000000000L;
+	private static final long SMALL_COEFF_BITS = 0x001fffffffffffffL;
+	private static final long LARGE_COEFF_BITS = 0x0007ffffffffffffL;
+	private static final long LARGE_COEFF_IMPLICIT = 0x0020000000000000L;
+	private static final long PAYLOAD_MASK = Decimal64.COEFF_CONT_MASK;
+	private static final long MAX_PAYLOAD = 999999999999999L;
+
+	public static final boolean isZero(final long dFloat) {
+		return isFinite(dFloat) & getCoefficient(dFloat) == 0;
+	}
+
+	public static final boolean isNaN(final long dFloat) {
+		return (dFloat & NAN) == NAN;
+	}
+
+	public static final boolean isQuietNaN(final long dFloat) {
+		return (dFloat & SNAN) == NAN;
+	}
+
+	public static final boolean isSignalingNaN(final long dFloat) {
+		return (dFloat & SNAN) == SNAN;
+	}
+
+	public static final boolean isInfinite(final long dFloat) {
+		return (dFloat & NAN) == INF;
+	}
+
+	public static final boolean isFinite(final long dFloat) {
+		return (dFloat & NAN) < INF;
+	}
+
+	public static final boolean isNormal(final long dFloat) {
+		return isFinite(dFloat) && getCoefficient(dFloat) != 0 & !isTiny(dFloat);
+	}
+
+	public static final boolean isSubnormal(final long dFloat) {
+		return isFinite(dFloat) && getCoefficient(dFloat) != 0 & isTiny(dFloat);
+	}
+
+	public static final boolean isCanonical(final long dFloat) {
+		if (isFinite(dFloat)) {
+			return (dFloat & LARGE_COEFF_MASK) != LARGE_COEFF_MASK || getCoefficient(dFloat) != 0;
+		}
+		if (isNaN(dFloat)) {
+			return (dFloat & 0x01fc000000000000L) == 0 & (dFloat & PAYLOAD_MASK) <= MAX_PAYLOAD;
+		}
+		return (dFloat & 0x03ffffffffffffffL) == 0;
+	}
+
+	public static final int getExponentBiased(final long dFloat) {
+		if ((dFloat & LARGE_COEFF_MASK) != LARGE_COEFF_MASK) {
+			return (int)(dFloat >>> 53) & 0x3ff;
+		}
+		return (int)(dFloat >>> 51) & 0x3ff;
+	}
+
+	public static final int getExponent(final long dFloat) {
+		return getExponentBiased(dFloat) - Decimal64.EXPONENT_BIAS;
+	}
+
+	/**
+	 * Returns the coefficient of a finite value; non-canonical coefficients are returned as zero.
+	 * @param dFloat the decimal float value in BID encoding
+	 * @return the unsigned coefficient, 0 to 10^16-1
+	 */
+	public static final long getCoefficient(final long dFloat) {
+		if ((dFloat & LARGE_COEFF_MASK) != LARGE_COEFF_MASK) {
+			return dFloat & SMALL_COEFF_BITS;
+		}
+		final long coefficient = LARGE_COEFF_IMPLICIT | (dFloat & LARGE_COEFF_BITS);
+		return coefficient <= MAX_COEFFICIENT ? coefficient : 0;
+	}
+
+	/**
+	 * Returns the payload of a NaN value; non-canonical payloads are returned as zero.
+	 * @param dFloat the NaN value in BID encoding
+	 * @return the payload, 0 to 10^15-1
+	 */
+	public static final long getPayload(final long dFloat) {
+		final long payload = dFloat & PAYLOAD_MASK;
+		return payload <= MAX_PAYLOAD ? payload : 0;
+	}
+
+	public static final long zero(final long sign, final int exp) {
+		return (sign & SIGN_BIT_MASK) | (((long)(exp + Decimal64.EXPONENT_BIAS)) << 53);
+	}
+
+	/**
+	 * Encodes a finite value.
+	 * @param sign the sign, only the sign bit is used
+	 * @param exp the exponent, MIN_EXPONENT_NOMINAL to MAX_EXPONENT_NOMINAL
+	 * @param coefficient the unsigned coefficient, 0 to 10^16-1
+	 * @return the decimal float value in BID encoding
+	 */
+	public static final long encode(final long sign, final int exp, final long coefficient) {
+		final long expBiased = exp + Decimal64.EXPONENT_BIAS;
+		if (coefficient <= SMALL_COEFF_BITS) {
+			return (sign & SIGN_BIT_MASK) | (expBiased << 53) | coefficient;
+		}
+		return (sign & SIGN_BIT_MASK) | LARGE_COEFF_MASK | (expBiased << 51) | (coefficient & LARGE_COEFF_BITS);
+	}
+
+	/**
+	 * Returns the quiet NaN with sign and canonical payload of the given NaN value.
+	 * @param dFloat the NaN value in BID encoding
+	 * @return the quiet NaN in BID encoding
+	 */
+	public static final long quietNaN(final long dFloat) {
+		return (dFloat & SIGN_BIT_MASK) | NAN | getPayload(dFloat);
+	}
+
+	/**
+	 * Converts a DPD encoded value into BID encoding.
+	 * @param dpd the decimal float value in DPD encoding
+	 * @return the same value in canonical BID encoding
+	 */
+	public static final long fromDpd(final long dpd) {
+		if (Decimal64.isFinite(dpd)) {
+			return encode(dpd, Decimal64.getExponent(dpd), Decimal64.getCoefficient(dpd));
+		}
+		if (Decimal64.isNaN(dpd)) {
+			return (dpd & (SIGN_BIT_MASK | SNAN)) | Dpd.dpdToLong(dpd);
+		}
+		return dpd & (SIGN_BIT_MASK | INF);
+	}
+
+	/**
+	 * Converts a BID encoded value into DPD encoding.
+	 * @param bid the decimal float value in BID encoding
+	 * @return the same value in canonical DPD encoding
+	 */
+	public static final long toDpd(final long bid) {
+		if (isFinite(bid)) {
+			return Decimal64.encodeCoefficient(bid, getExponent(bid), getCoefficient(bid));
+		}
+		if (isNaN(bid)) {
+			return (bid & (SIGN_BIT_MASK | SNAN)) | Dpd.longToDpd(getPayload(bid));
+		}
+		return bid & (SIGN_BIT_MASK | INF);
+	}
+
+	//true if the finite value is less than 10^MIN_EXPONENT in magnitude
+	private static boolean isTiny(final long dFloat) {
+		final int n = Decimal64.MIN_EXPONENT - getExponent(dFloat);
+		return n > 0 && getCoefficient(dFloat) < POW10[n];
+	}
+
+	private static final long[] POW10 = {
+		1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+		100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L
+	};
+}
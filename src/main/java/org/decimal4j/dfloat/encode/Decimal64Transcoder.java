@@ -0,0 +1,223 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.encode;
+
+import org.decimal4j.dfloat.dpd.DpdSwar;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Bulk conversion of Decimal64 values between {@link Decimal64 DPD} and {@link Decimal64Bid BID} encoding. Values
+ * are read from and written to caller supplied arrays or buffers without allocation; the source and target
+ * may be the same array or buffer to convert in place.
+ * <p>
+ * The five declets of a DPD coefficient are decoded independently through table lookup, and BID coefficients
+ * are split into declets by division by constant powers of ten. If the system property {@value #SWAR_PROPERTY}
+ * is set to true, finite values are instead converted declet-parallel: the five declets are decoded to or encoded
+ * from BCD digits with {@link DpdSwar}, and the BCD digits are converted from or to the binary coefficient in
+ * 8, 16 and 32 bit lanes of a single long. The result is the same for both variants; the table lookup is
+ * faster when the tables are in the cache, the declet-parallel conversion performs no memory access.
+ * <p>
+ * Infinities keep their sign, NaN values keep sign, signalling bit and payload. Non-canonical declets are
+ * converted to the canonical BID value, and non-canonical BID coefficients or payloads are converted to zero.
+ */
+public final class Decimal64Transcoder {
+
+	/**
+	 * System property to select the declet-parallel conversion instead of the default lookup tables, read once
+	 * when this class is initialised. It is independent of {@link org.decimal4j.dfloat.dpd.Dpd#SWAR_PROPERTY} for
+	 * the DPD arithmetic.
+	 */
+	public static final String SWAR_PROPERTY = "org.decimal4j.dfloat.encode.swar";
+
+	private static final int BYTES = 8;
+
+	private static final boolean SWAR = Boolean.getBoolean(SWAR_PROPERTY);
+
+	/** Lowest 4 bits of each byte */
+	private static final long BYTE_DIGITS = 0x0f0f0f0f0f0f0f0fL;
+	/** Lowest 8 bits of each 16 bit lane */
+	private static final long LANES_16 = 0x00ff00ff00ff00ffL;
+	/** Lowest 16 bits of each 32 bit lane */
+	private static final long LANES_32 = 0x0000ffff0000ffffL;
+
+	private Decimal64Transcoder() {
+		throw new RuntimeException("No Decimal64Transcoder for you!");
+	}
+
+	/**
+	 * Converts {@code length} DPD encoded values starting at {@code srcOffset} into BID encoded values stored
+	 * in {@code dst} starting at {@code dstOffset}.
+	 *
+	 * @param src the DPD encoded source values
+	 * @param srcOffset the index of the first source value
+	 * @param dst the target array for BID encoded values, can be the same array as src
+	 * @param dstOffset the index of the first target value
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if source or target range is not within the array bounds
+	 */
+	public static void dpdToBid(final long[] src, final int srcOffset, final long[] dst, final int dstOffset, final int length) {
+		checkRange(src.length, srcOffset, length);
+		checkRange(dst.length, dstOffset, length);
+		for (int i = 0; i < length; i++) {
+			dst[dstOffset + i] = toBid(src[srcOffset + i]);
+		}
+	}
+
+	/**
+	 * Converts {@code length} BID encoded values starting at {@code srcOffset} into DPD encoded values stored
+	 * in {@code dst} starting at {@code dstOffset}.
+	 *
+	 * @param src the BID encoded source values
+	 * @param srcOffset the index of the first source value
+	 * @param dst the target array for DPD encoded values, can be the same array as src
+	 * @param dstOffset the index of the first target value
+	 * @param length the number of values to convert
+	 * @throws IndexOutOfBoundsException if source or target range is not within the array bounds
+	 */
+	public static void bidToDpd(final long[] src, final int srcOffset, final long[] dst, final int dstOffset, final int length) {
+		checkRange(src.length, srcOffset, length);
+		checkRange(dst.length, dstOffset, length);
+		for (int i = 0; i < length; i++) {
+			dst[dstOffset + i] = toDpd(src[srcOffset + i]);
+		}
+	}
+
+	/**
+	 * Converts all complete 8 byte values remaining in {@code src} from DPD to BID encoding and writes them to
+	 * {@code dst}, using the byte order of each buffer. The positions of both buffers are advanced by the
+	 * number of bytes read or written; trailing bytes of an incomplete value remain in {@code src}.
+	 *
+	 * @param src the buffer with DPD encoded values
+	 * @param dst the buffer for BID encoded values, can be the same buffer as src
+	 * @return the number of converted values
+	 * @throws BufferOverflowException if dst has insufficient space, in which case no value is converted
+	 */
+	public static int dpdToBid(final ByteBuffer src, final ByteBuffer dst) {
+		final int length = src.remaining() / BYTES;
+		final int srcPos = src.position();
+		final int dstPos = src == dst ? srcPos : checkRemaining(dst, length);
+		for (int i = 0; i < length; i++) {
+			dst.putLong(dstPos + i * BYTES, toBid(src.getLong(srcPos + i * BYTES)));
+		}
+		return advance(src, dst, length);
+	}
+
+	/**
+	 * Converts all complete 8 byte values remaining in {@code src} from BID to DPD encoding and writes them to
+	 * {@code dst}, using the byte order of each buffer. The positions of both buffers are advanced by the
+	 * number of bytes read or written; trailing bytes of an incomplete value remain in {@code src}.
+	 *
+	 * @param src the buffer with BID encoded values
+	 * @param dst the buffer for DPD encoded values, can be the same buffer as src
+	 * @return the number of converted values
+	 * @throws BufferOverflowException if dst has insufficient space, in which case no value is converted
+	 */
+	public static int bidToDpd(final ByteBuffer src, final ByteBuffer dst) {
+		final int length = src.remaining() / BYTES;
+		final int srcPos = src.position();
+		final int dstPos = src == dst ? srcPos : checkRemaining(dst, length);
+		for (int i = 0; i < length; i++) {
+			dst.putLong(dstPos + i * BYTES, toDpd(src.getLong(srcPos + i * BYTES)));
+		}
+		return advance(src, dst, length);
+	}
+
+	private static long toBid(final long dpd) {
+		return SWAR ? swarDpdToBid(dpd) : Decimal64Bid.fromDpd(dpd);
+	}
+
+	private static long toDpd(final long bid) {
+		return SWAR ? swarBidToDpd(bid) : Decimal64Bid.toDpd(bid);
+	}
+
+	/**
+	 * Same as {@link Decimal64Bid#fromDpd(long)}, finite values are converted declet-parallel.
+	 */
+	static long swarDpdToBid(final long dpd) {
+		if (Decimal64.isFinite(dpd)) {
+			//the MSD becomes BCD digit 15 above the 15 digits of the declets
+			final long bcd = DpdSwar.dpdToBcd(dpd) | (((long)Decimal64.getCombinationMSD(dpd)) << 60);
+			return Decimal64Bid.encode(dpd, Decimal64.getExponent(dpd), bcdToLong(bcd));
+		}
+		return Decimal64Bid.fromDpd(dpd);
+	}
+
+	/**
+	 * Same as {@link Decimal64Bid#toDpd(long)}, finite values are converted declet-parallel.
+	 */
+	static long swarBidToDpd(final long bid) {
+		if (Decimal64Bid.isFinite(bid)) {
+			final long coefficient = Decimal64Bid.getCoefficient(bid);
+			final long hi = coefficient / 100000000;
+			final long bcd = (intToBcd(hi) << 32) | intToBcd(coefficient - hi * 100000000);
+			//digit 15 is the MSD, bcdToDpd encodes the 15 digits below
+			return Decimal64.encode(bid, Decimal64Bid.getExponent(bid), (int)(bcd >>> 60), DpdSwar.bcdToDpd(bcd));
+		}
+		return Decimal64Bid.toDpd(bid);
+	}
+
+	//16 BCD digits to binary, every step merges pairs of lanes into lanes of twice the width
+	private static long bcdToLong(final long bcd) {
+		long x = (bcd & BYTE_DIGITS) + ((bcd >>> 4) & BYTE_DIGITS) * 10;
+		x = (x & LANES_16) + ((x >>> 8) & LANES_16) * 100;
+		x = (x & LANES_32) + ((x >>> 16) & LANES_32) * 10000;
+		return (x & 0xffffffffL) + (x >>> 32) * 100000000;
+	}
+
+	//value < 10^8 to 8 BCD digits, every step splits lanes in two with multiplication by a rounded-up reciprocal
+	private static long intToBcd(final long value) {
+		final long hi = (value * 109951163) >>> 40;//value / 10^4
+		long x = (hi << 32) | (value - hi * 10000);
+		long q = ((x * 10486) >>> 20) & 0x0000007f0000007fL;//lane / 100
+		x = (q << 16) | (x - q * 100);
+		q = ((x * 103) >>> 10) & 0x000f000f000f000fL;//lane / 10
+		x = (q << 4) | (x - q * 10);
+		//collapse the two BCD digits in the low byte of every 16 bit lane
+		x = (x | (x >>> 8)) & LANES_32;
+		return (x | (x >>> 16)) & 0xffffffffL;
+	}
+
+	private static void checkRange(final int arrayLength, final int offset, final int length) {
+		if (offset < 0 | length < 0 | offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+		}
+	}
+
+	private static int checkRemaining(final ByteBuffer dst, final int length) {
+		if (dst.remaining() / BYTES < length) {
+			throw new BufferOverflowException();
+		}
+		return dst.position();
+	}
+
+	private static int advance(final ByteBuffer src, final ByteBuffer dst, final int length) {
+		src.position(src.position() + length * BYTES);
+		if (dst != src) {
+			dst.position(dst.position() + length * BYTES);
+		}
+		return length;
+	}
+}
@@ -23,6 +23,11 @@
  */
 package org.decimal4j.dfloat.encode.other;
 
+/**
+ * Conversion tables between binary integers 0-999 and DPD declets as defined by the decNumber library. The class
+ * holds nothing but the two tables and is not referenced by the library, hence it is only initialised when one of
+ * the tables is accessed.
+ */
 public class DecNum {
 	public static final int BIN2DPD[] ={	  0,	1,    2,    3,	  4,	5,    6,    7,
 		    8,	  9,   16,   17,   18,	 19,   20,   21,   22,	 23,   24,   25,   32,
@@ -26,7 +26,6 @@ package org.decimal4j.dfloat.ops;
 import org.decimal4j.dfloat.attribute.Attributes;
 import org.decimal4j.dfloat.attribute.Flags;
 import org.decimal4j.dfloat.attribute.RoundingDirection;
-import org.decimal4j.dfloat.dpd.Digit;
 import org.decimal4j.dfloat.dpd.Dpd;
 import org.decimal4j.dfloat.dpd.Rem;
 import org.decimal4j.dfloat.dpd.Shift;
@@ -39,6 +38,11 @@ public final class Add {
 
     private static final String ADD = "add";
     private static final String SUB = "subtract";
+    private static final String ADD_LONG = "addLong";
+    static final String SUBTRACT_LONG = "subtractLong";
+
+    private static final long TEN_POW_15 = 1000000000000000L;
+    private static final long TEN_POW_16 = 10000000000000000L;
 
     private Add() {
         throw new RuntimeException("No Add for you!");
@@ -96,12 +100,12 @@ public final class Add {
         SubtractFlipped {
             @Override
             final long a(final long a, final long b) {
-                return Sign.flipSign(b);
+                return b;
             }
 
             @Override
             final long b(long a, long b) {
-                return a;
+                return Sign.flipSign(a);
             }
 
             @Override
@@ -149,6 +153,132 @@ public final class Add {
         return copySignToPositive(Decimal64.INF, b);
 
     }
+    public static long addLong(final long a, final long l) {
+        return addLong(a, l, Attributes.DEFAULT);
+    }
+    public static long addLong(final long a, final long l, final RoundingDirection roundingDirection) {
+        return addLong(a, l, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns a + l computed exactly and rounded once. The long value is not converted to a decimal float first
+     * and hence contributes all of its up to 19 digits to the result. The preferred exponent of an exact result is
+     * the smaller of the exponent of a and zero.
+     */
+    public static long addLong(final long a, final long l, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return addLong(a, l & Decimal64.SIGN_BIT_MASK, l, ADD_LONG, attributes);
+    }
+
+    //adds (-1)^signL * |l| to a, the sign of l itself is ignored
+    static long addLong(final long a, final long signL, final long l, final String operation, final Attributes attributes) {
+        if (!Decimal64.isFinite(a)) {
+            if (Decimal64.isNaN(a)) {
+                return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(a), a);
+            }
+            return copySignToPositive(Decimal64.INF, a);
+        }
+        //|l| = l1 * 10^16 + l0 with l1 <= 922
+        final long l1 = Math.abs(l / TEN_POW_16);
+        final long l0 = Math.abs(l % TEN_POW_16);
+        if (l1 == 0 & l0 == 0) {
+            return addFinite(a, Decimal64.zero(signL, 0), attributes, OpMode.Add);
+        }
+        final long signA = a & Decimal64.SIGN_BIT_MASK;
+        final int expA = Decimal64.getExponent(a);
+        final long coeffA = Decimal64.getCoefficient(a);
+        //a window of 32 digits at the preferred exponent, or ending at the most significant digit of both
+        //operands; digits below the window are only truncated if the other operand fills the window, so that the
+        //result has more than 16 digits and the truncated digits only matter as sticky bit
+        final int topL = (l1 != 0 ? 16 + Pow.numberOfDigits(l1) : Pow.numberOfDigits(l0)) - 1;
+        final int top = coeffA == 0 ? topL : Math.max(topL, expA + Pow.numberOfDigits(coeffA) - 1);
+        int exp = Math.max(Math.min(expA, 0), top - 31);
+        final long hiA, loA, hiL, loL;
+        final boolean stickyA, stickyL;
+        if (coeffA == 0 | expA >= exp) {
+            final int n = coeffA == 0 ? 0 : expA - exp;
+            hiA = shiftedHi(0, coeffA, n);
+            loA = shiftedLo(coeffA, n);
+            stickyA = false;
+        } else {
+            hiA = 0;
+            loA = truncated(0, coeffA, exp - expA);
+            stickyA = isTruncatedNonZero(0, coeffA, exp - expA);
+        }
+        if (exp <= 0) {
+            hiL = shiftedHi(l1, l0, -exp);
+            loL = shiftedLo(l0, -exp);
+            stickyL = false;
+        } else {
+            final long q = truncated(l1, l0, exp);
+            hiL = q / TEN_POW_16;
+            loL = q % TEN_POW_16;
+            stickyL = isTruncatedNonZero(l1, l0, exp);
+        }
+        final Remainder sticky = stickyA | stickyL ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF : Remainder.ZERO;
+        if (signA == signL) {
+            long hi = hiA + hiL;
+            long lo = loA + loL;
+            if (lo >= TEN_POW_16) {
+                lo -= TEN_POW_16;
+                hi++;
+            }
+            if (hi < TEN_POW_16) {
+                return Rounding.round(signA, exp, hi, lo, sticky, operation, a, l, attributes);
+            }
+            //33 digits: move the last digit into the tail
+            final long hiQ = hi / 10;
+            final long loQ = lo / 10;
+            final Remainder tail = Remainder.ofDigit((int)(lo - loQ * 10)).withTail(!sticky.isZero());
+            return Rounding.round(signA, exp + 1, hiQ, (hi - hiQ * 10) * TEN_POW_15 + loQ, tail, operation, a, l, attributes);
+        }
+        final int cmp = hiA != hiL ? Long.compare(hiA, hiL) : loA != loL ? Long.compare(loA, loL) : Boolean.compare(stickyA, stickyL);
+        if (cmp == 0) {
+            return Decimal64.zero(zeroSumSign(attributes), exp);
+        }
+        //a truncated smaller operand is subtracted as its truncated value plus one, the rest stays sticky
+        final boolean aIsLarger = cmp > 0;
+        long hi = aIsLarger ? hiA - hiL : hiL - hiA;
+        long lo = (aIsLarger ? loA - loL : loL - loA) - ((aIsLarger ? stickyL : stickyA) ? 1 : 0);
+        if (lo < 0) {
+            lo += TEN_POW_16;
+            hi--;
+        }
+        return Rounding.round(aIsLarger ? signA : signL, exp, hi, lo, sticky, operation, a, l, attributes);
+    }
+
+    //high 16 digits of (hi * 10^16 + lo) * 10^n; PRECONDITION: n >= 0, result < 10^32
+    private static long shiftedHi(final long hi, final long lo, final int n) {
+        if (n >= 16) {
+            return lo * Pow.pow10(n - 16);
+        }
+        return hi * Pow.pow10(n) + lo / Pow.pow10(16 - n);
+    }
+
+    //low 16 digits of (hi * 10^16 + lo) * 10^n; PRECONDITION: n >= 0
+    private static long shiftedLo(final long lo, final int n) {
+        if (n >= 16) {
+            return 0;
+        }
+        return (lo % Pow.pow10(16 - n)) * Pow.pow10(n);
+    }
+
+    //(hi * 10^16 + lo) / 10^n; PRECONDITION: n > 0, hi < 1000
+    private static long truncated(final long hi, final long lo, final int n) {
+        if (n <= 16) {
+            return hi * Pow.pow10(16 - n) + lo / Pow.pow10(n);
+        }
+        return n <= 18 ? hi / Pow.pow10(n - 16) : 0;
+    }
+
+    //true if (hi * 10^16 + lo) mod 10^n is not zero; PRECONDITION: n > 0
+    private static boolean isTruncatedNonZero(final long hi, final long lo, final int n) {
+        if (n <= 16) {
+            return lo % Pow.pow10(n) != 0;
+        }
+        return lo != 0 || (n <= 18 ? hi % Pow.pow10(n - 16) != 0 : hi != 0);
+    }
+
     private static final long addFinite(final long a, final long b,
                                         final Attributes attributes,
                                         OpMode opMode) {
@@ -157,7 +287,7 @@ public final class Add {
         final int expA = Decimal64.getExponent(a);
         final int expB = Decimal64.getExponent(b);
         if (expA == expB) {
-            return addFiniteSameExponent(msdA, a, msdB, b, expA, attributes, opMode);
+            return addFiniteSameExponent(msdA, a, msdB, b, expA, attributes, opMode, a, b);
         }
         if (expA > expB) {
             return addFiniteDifferentExponent(msdA, a, expA, msdB, b, expB, attributes, opMode);
@@ -166,41 +296,42 @@ public final class Add {
         }
     }
 
-    private static long addFiniteSameExponent(final int msdA, final long a,
-                                              final int msdB, final long b,
+    //a and b are the original operands for signals, dpdA is a possibly left shifted to the exponent of b
+    private static long addFiniteSameExponent(final int msdA, final long dpdA,
+                                              final int msdB, final long dpdB,
                                               final int exp, final Attributes attributes,
-                                              OpMode opMode) {
-        if ((a ^ b) >= 0) {
+                                              final OpMode opMode, final long a, final long b) {
+        if ((dpdA ^ dpdB) >= 0) {
             //a and b have same sign
-            return addFiniteSameExponentAndSign(msdA, a, msdB, b, exp, attributes, opMode);
+            return addFiniteSameExponentAndSign(msdA, dpdA, msdB, dpdB, exp, attributes, opMode, a, b);
         }
         //exactly one is negative
-        if (compareMantissa(msdA, a, msdB, b) >= 0) {
-            return addFiniteSameExponentOppositeSign(msdA, a, msdB, b, exp);
+        if (compareMantissa(msdA, dpdA, msdB, dpdB) >= 0) {
+            return addFiniteSameExponentOppositeSign(msdA, dpdA, msdB, dpdB, exp, attributes);
         } else {
-            return addFiniteSameExponentOppositeSign(msdB, b, msdA, a, exp);
+            return addFiniteSameExponentOppositeSign(msdB, dpdB, msdA, dpdA, exp, attributes);
         }
     }
 
-    private static long addFiniteSameExponentAndSign(final int msdA, final long a,
-                                                     final int msdB, final long b,
+    private static long addFiniteSameExponentAndSign(final int msdA, final long dpdA,
+                                                     final int msdB, final long dpdB,
                                                      final int exp, final Attributes attributes,
-                                                     OpMode opMode) {
-        final long sum10to50 = Dpd.add(a, b);
-        final int sumMSD = msdA + msdB + (int) (sum10to50 >>> 51);
+                                                     final OpMode opMode, final long a, final long b) {
+        final long sum10to50 = Dpd.add(dpdA, dpdB);
+        final int sumMSD = msdA + msdB + (int) (sum10to50 >>> 50);
         if (sumMSD <= 9) {
-            return Decimal64.encode(a & Decimal64.SIGN_BIT_MASK, exp, sumMSD, sum10to50);
+            return Decimal64.encode(dpdA & Decimal64.SIGN_BIT_MASK, exp, sumMSD, sum10to50);
         }
         //mantissa overflow
         final int loMSD = sumMSD - 10;
         final int hiMSD = 1;// |hi|lo| = |1|x| becomes 1 after shift right
-        if (exp < Decimal64.MAX_EXPONENT) {
+        if (exp < Decimal64.MAX_EXPONENT_NOMINAL) {
             final long rsh = Shift.shiftRight(loMSD, sum10to50);
             final int mod = Rem.mod10(sum10to50);
             if (mod != 0) {
                 //inexact result
                 final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
-                final long sgn = a & Decimal64.SIGN_BIT_MASK;
+                final long sgn = dpdA & Decimal64.SIGN_BIT_MASK;
                 if (roundingDirection.isRoundingIncrementPossible(sgn)) {
                     final Remainder remainder = Remainder.ofDigit(mod);
                     return roundAndSignalInexact(sgn, exp + 1, hiMSD, rsh, remainder, roundingDirection, opMode, a, b, attributes);
@@ -208,18 +339,21 @@ public final class Add {
                 return signalInexact(sgn, exp + 1, hiMSD, rsh, opMode, a, b, attributes);
             }
             //still exact after shift right
-            return Decimal64.encode(a, exp + 1, hiMSD, rsh);
+            return Decimal64.encode(dpdA, exp + 1, hiMSD, rsh);
         }
         //exponent overflow
-        return signalOverflow(a, opMode, a, b, attributes);
+        return signalOverflow(dpdA, opMode, a, b, attributes);
     }
 
     //PRECONDITION: |a| >= |b|
-    private static long addFiniteSameExponentOppositeSign(final int msdA, final long a, final int msdB, final long b, final int exp) {
-        final long sign = a & Decimal64.SIGN_BIT_MASK;
+    private static long addFiniteSameExponentOppositeSign(final int msdA, final long a, final int msdB, final long b,
+                                                          final int exp, final Attributes attributes) {
         final long sub10to50 = Dpd.sub(a, b);
-        final int subMSD = msdA - msdB - (int) (sub10to50 >>> 51);
-        return Decimal64.encode(sign, exp, subMSD, sub10to50);
+        final int subMSD = msdA - msdB - (int) (sub10to50 >>> 50);
+        if (isZero(subMSD, sub10to50)) {
+            return Decimal64.zero(zeroSumSign(attributes), exp);
+        }
+        return Decimal64.encode(a & Decimal64.SIGN_BIT_MASK, exp, subMSD, sub10to50);
     }
 
     private static int compareMantissa(final int msdA, final long a, final int msdB, final long b) {
@@ -231,141 +365,117 @@ public final class Add {
     private static long addFiniteDifferentExponent(final int msdA, final long a, final int expA,
                                                    final int msdB, final long b, final int expB,
                                                    final Attributes attributes, final OpMode opMode) {
+        if (isZero(msdA, a)) {
+            //exact result b with preferred exponent expB
+            if (isZero(msdB, b)) {
+                return Decimal64.zero((a ^ b) >= 0 ? a : zeroSumSign(attributes), expB);
+            }
+            return Decimal64.encode(b, expB, msdB, b);
+        }
+        //shift a to the left as much as possible to approach preferred exponent expB
+        final int expDiff = expA - expB;
+        final int nlzA = msdA > 0 ? 0 : 1 + Dpd.numberOfLeadingZeros(a);
+        if (nlzA >= expDiff) {
+            //exact alignment of a to expB
+            final long shifted = Shift.shiftLeft(a, expDiff);
+            final int msdS = (int)(shifted >>> 50);
+            final long s = (a & Decimal64.SIGN_BIT_MASK) | (shifted & Decimal64.COEFF_CONT_MASK);
+            return addFiniteSameExponent(msdS, s, msdB, b, expB, attributes, opMode, a, b);
+        }
+        //a has now 16 significant digits and b must be shifted right to align: | msdA | a | ... | b |
+        final int msdS, expS;
+        final long s;
+        if (nlzA > 0) {
+            final long shifted = Shift.shiftLeft(a, nlzA);
+            msdS = (int)(shifted >>> 50);
+            s = (a & Decimal64.SIGN_BIT_MASK) | (shifted & Decimal64.COEFF_CONT_MASK);
+            expS = expA - nlzA;
+        } else {
+            msdS = msdA;
+            s = a;
+            expS = expA;
+        }
         if ((a ^ b) >= 0) {
             //a and b have same sign
-            return addFiniteDifferentExponentSameSign(msdA, a, expA, msdB, b, expB, attributes, opMode);
+            return addFiniteDifferentExponentSameSign(msdS, s, expS, msdB, b, expDiff - nlzA, attributes, opMode, a, b);
         } else {
-            return addFiniteDifferentExponentAndSign(msdA, a, expA, msdB, b, expB, attributes, opMode);
+            return addFiniteDifferentExponentAndSign(msdS, s, expS, msdB, b, expDiff - nlzA, attributes, opMode, a, b);
         }
     }
-    //PRECONDITION: expA > expB
-    private static long addFiniteDifferentExponentSameSign(final int msdA, final long a, final int expA,
-                                                           final int msdB, final long b, final int expB,
-                                                           final Attributes attributes, final OpMode opMode) {
-        final int expDiff = expA - expB;
-        if (expDiff < 16) {
-            //mantissa have some overlap: | msdA | a1 | a0+[msdB,b1] | b0 |
-            if (expDiff == 15) {
-                //only msdB overlaps with a: | msdA | a1 | a0+msdB | b |
-                final long sum = Dpd.inc(a, msdB);
-                final long s = sum & Decimal64.COEFF_CONT_MASK;
-                final int msdS = msdA + (int) (s >>> 51);
-                if (a <= 9 & msdA <= 9) {
-                    //we're done, the |a1| part is empty and |a0+msdB| did not overflow
-                    return Decimal64.encode(a, expB, msdS, s);
-                }
-                //exact result: |msdA|s|b|  (<= 31 bits)
-                if (msdA > 0) {
-                    //exponent: expA
-                    if (b != 0) {
-                        //inexact result
-                        final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
-                        final long sgn = a & Decimal64.SIGN_BIT_MASK;
-                        if (roundingDirection.isRoundingIncrementPossible(sgn)) {
-                            final Remainder remainder = Rem.remainderOfPow10(b, 15);
-                            if (remainder != Remainder.ZERO) {
-                                return roundAndSignalInexact(sgn, expA, msdA, s, remainder, roundingDirection, opMode, a, b, attributes);
-                            }
-                        }
-                        return signalInexact(sgn, expA, msdA, s, opMode, a, b, attributes);
-                    }
-                    //exact result
-                    return Decimal64.encode(a, expA, msdA, s);
-                }
-                //exact result: |s|b|  (<= 30 bits)
-                //we must try to approach expB as much as possible
-                if (s <= 9) {
-                    //we're done. exact result is |s|b| with expB
-                    return Decimal64.encode(a, expB, (int)s, b);
-                }
-                return shiftLeftTowardsPreferredExponent(a, s, b, expA, expB, opMode, a, b, attributes);
-            }
-            //msdB plus at least 1 digit of b overlaps with a: | msdA | a1 | a0+[msdB,b1] | b0 |
-            final long hiB = Shift.shiftRight(msdB, b, expDiff);
-            final long dpd = Dpd.add(a, hiB);
-            final int msd = msdA + (int)(dpd >>> 51);
-            if (msd > 0) {
-                if (msd <= 9) {
-                    //result exponent is expA
-                    final Remainder remainder = Rem.remainderOfPow10(b, expDiff);
-                    final long sgn = a & Decimal64.SIGN_BIT_MASK;
-                    return roundIfNecessaryAndSignalInexact(sgn, expA, msd, dpd, remainder, opMode, a, b, attributes);
-                }
-                //mantissa overflow
-                final int loMSD = msd - 10;
-                final int hiMSD = 1;// |hi|lo| = |1|x| becomes 1 after shift right
-                final long sgn = a & Decimal64.SIGN_BIT_MASK;
-                if (expA < Decimal64.MAX_EXPONENT) {
-                    final long rsh = Shift.shiftRight(loMSD, dpd);
-                    final Remainder remainder = Rem.remainderOfPow10(loMSD, b, expDiff);
-                    return roundIfNecessaryAndSignalInexact(sgn, expA + 1, hiMSD, rsh, remainder, opMode, a, b, attributes);
-                }
-                //exponent overflow
-                return signalOverflow(sgn, opMode, a, b, attributes);
-            }
-            //we must try to approach expB as much as possible
-            final long loB = Shift.shiftLeft(b, 15-expDiff);
-            return shiftLeftTowardsPreferredExponent(a, dpd, loB, expA, expB, opMode, a, b, attributes);
-        } else {
-            //mantissa have no overlap:   | a | ... | b |
-            //--> result = a + round(b)
-            final long s;
-            final int msdS, expS, expD, modS;
-            final int nlzA = msdA > 0 ? 0 : 1 + Dpd.numberOfLeadingZeros(a);
-            if (nlzA > 0) {
-                //we can shift |a| somewhat to the left to approach preferred exponent expB
-                if (nlzA == 15) {
-                    //a must be zero, return b
-                    return Decimal64.encode(b & Decimal64.SIGN_BIT_MASK, expB, msdB, b);
-                }
-                final int shift = Math.min(nlzA, expDiff);
-                final long shifted = Shift.shiftLeft(a, shift);
-                s = shift & Decimal64.COEFF_CONT_MASK;
-                msdS = (int)(shifted >>> 51);
-                expS = expA - shift;
-                expD = expDiff - shift;
-                modS = 0;
-            } else {
-                s = a;
-                msdS = msdA;
-                expS = expA;
-                expD = expDiff;
-                modS = Rem.mod10(s);
-            }
-            final long sign = a & Decimal64.SIGN_BIT_MASK;
-            if (!isZero(msdB, b)) {
-                final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
-                if (roundingDirection.isRoundingIncrementPossible(sign)) {
-                    final Remainder remainder = expD > 16 | msdB < 5 ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF : msdB > 5 | (msdB == 5 & b != 0) ? Remainder.GREATER_THAN_HALF : Remainder.EQUAL_TO_HALF;
-                    final int inc = roundingDirection.getRoundingIncrement(sign, modS, remainder);
-                    if (inc > 0) {
-                        return incRoundingAndSignalInexact(sign, expS, msdS, s, opMode, a, b, attributes);
-                    }
-                }
-                signalInexact(sign, expA, msdA, a, opMode, a, b, attributes);
-            }
-            return Decimal64.encode(sign, expA, msdA, a);
+
+    //PRECONDITION: msdA > 0, expDiff > 0
+    private static long addFiniteDifferentExponentSameSign(final int msdA, final long dpdA, final int expA,
+                                                           final int msdB, final long dpdB, final int expDiff,
+                                                           final Attributes attributes, final OpMode opMode,
+                                                           final long a, final long b) {
+        final long sgn = a & Decimal64.SIGN_BIT_MASK;
+        //| msdA | a1 | a0+[msdB,b1] | b0 |
+        final long hiB = Shift.shiftRight(msdB, dpdB, expDiff);
+        final Remainder remainder = Rem.remainderOfCoefficient(msdB, dpdB, expDiff);
+        final long sum = Dpd.add(dpdA, hiB);
+        final int msdS = msdA + (int)(sum >>> 50);
+        if (msdS <= 9) {
+            //result exponent is expA
+            return roundIfNecessaryAndSignalInexact(sgn, expA, msdS, sum, remainder, opMode, a, b, attributes);
         }
+        //mantissa overflow: |1|lo| becomes 1 after shift right
+        if (expA < Decimal64.MAX_EXPONENT_NOMINAL) {
+            final long rsh = Shift.shiftRight(msdS - 10, sum);
+            final Remainder rshRemainder = Remainder.of(Rem.mod10(sum), remainder.isZero() ? 0 : 1);
+            return roundIfNecessaryAndSignalInexact(sgn, expA + 1, 1, rsh, rshRemainder, opMode, a, b, attributes);
+        }
+        //exponent overflow
+        return signalOverflow(sgn, opMode, a, b, attributes);
     }
 
-    //PRECONDITION: (exp - expPreferred) = [1..15]
-    private static long shiftLeftTowardsPreferredExponent(final long sgn, final long dpdHi, final long dpdLo,
-                                                          final int exp, final int expPreferred,
-                                                          final OpMode opMode, final long a, final long b, final Attributes attributes) {
-        final int shift = Math.min(exp - expPreferred, 1 + Dpd.numberOfLeadingZeros(dpdHi));
-        final int msdS = Digit.dpdToCharDigit(dpdHi, 15 - shift) - '0';
-        final long hi = Shift.shiftLeft(dpdHi, shift);
-        final long lo = Shift.shiftRight(0, dpdLo, 15-shift);
-        final long s = Dpd.add(hi, lo);//no overflow possible (it is logically an or, not an add)
-        final Remainder remainder = Rem.remainderOfPow10(dpdLo, 15 - shift);
-        return roundIfNecessaryAndSignalInexact(sgn, exp - shift, msdS, s, remainder, opMode, a, b, attributes);
+    //PRECONDITION: msdA > 0, expDiff > 0
+    private static long addFiniteDifferentExponentAndSign(final int msdA, final long dpdA, final int expA,
+                                                          final int msdB, final long dpdB, final int expDiff,
+                                                          final Attributes attributes, final OpMode opMode,
+                                                          final long a, final long b) {
+        //|A| > |B| after alignment, hence the sign of a is the result sign. The exact difference is
+        //      R = A*10^expDiff - B
+        //and dropping the m least significant digits of R yields the rounded coefficient
+        //      C = A*10^(expDiff-m) - floor(B/10^m) - borrow
+        //where borrow is 1 if B mod 10^m is non-zero. The dropped part is then 10^m - (B mod 10^m), hence its
+        //remainder is the complement of the remainder of B. We first try m=expDiff and use one digit less if a
+        //leading digit got lost through cancellation.
+        final long sgn = a & Decimal64.SIGN_BIT_MASK;
+        final Remainder remainder = Rem.remainderOfCoefficient(msdB, dpdB, expDiff);
+        final long dif = subtractShifted(msdA, dpdA, 0, msdB, dpdB, expDiff, remainder);
+        final int msdD = (int)(dif >>> 50);
+        if (msdD > 0) {
+            //no cancellation, result exponent is expA
+            return roundIfNecessaryAndSignalInexact(sgn, expA, msdD, dif, remainder.complement(), opMode, a, b, attributes);
+        }
+        //cancellation: we can take some digits from the shifted-out part
+        final int nlz = 1 + Dpd.numberOfLeadingZeros(dif);
+        if (nlz >= expDiff) {
+            //exact result with preferred exponent expA - expDiff
+            final long exact = subtractShifted(msdA, dpdA, expDiff, msdB, dpdB, 0, Remainder.ZERO);
+            return Decimal64.encode(sgn, expA - expDiff, (int)(exact >>> 50), exact);
+        }
+        //if a is at least 10^15 and expDiff > 1, at most one digit is lost through cancellation
+        final Remainder rem = Rem.remainderOfCoefficient(msdB, dpdB, expDiff - nlz);
+        final long lsh = subtractShifted(msdA, dpdA, nlz, msdB, dpdB, expDiff - nlz, rem);
+        return roundIfNecessaryAndSignalInexact(sgn, expA - nlz, (int)(lsh >>> 50), lsh, rem.complement(), opMode, a, b, attributes);
     }
 
-    //PRECONDITION: expA > expB
-    private static long addFiniteDifferentExponentAndSign(final int msdA, final long a, final int expA,
-                                                          final int msdB, final long b, final int expB,
-                                                          final Attributes attributes, final OpMode opMode) {
-        return Decimal64.NAN;//FIXME
+    //Returns (|msdA|a| * 10^shiftA - |msdB|b| / 10^shiftB - borrow) mod 10^16 with the MSD in bits 50-53
+    private static long subtractShifted(final int msdA, final long dpdA, final int shiftA,
+                                        final int msdB, final long dpdB, final int shiftB,
+                                        final Remainder remainderB) {
+        final long hiA = shiftA == 0 ? (((long)msdA) << 50) | (dpdA & Decimal64.COEFF_CONT_MASK) : Shift.shiftLeft(dpdA, shiftA);
+        final long hiB = Shift.shiftRight(msdB, dpdB, shiftB);
+        final long sub = Dpd.sub(hiA, hiB);
+        int msd = (int)(hiA >>> 50) - (int)(hiB >>> 50) - (int)(sub >>> 50);
+        long dpd = sub & Decimal64.COEFF_CONT_MASK;
+        if (remainderB != Remainder.ZERO) {
+            final long dec = Dpd.dec(dpd);
+            msd -= (int)(dec >>> 50);
+            dpd = dec & Decimal64.COEFF_CONT_MASK;
+        }
+        return (((long)(msd < 0 ? msd + 10 : msd)) << 50) | dpd;
     }
 
     private static long roundIfNecessaryAndSignalInexact(final long sign, final int exp, final int msd, final long dpd,
@@ -397,12 +507,12 @@ public final class Add {
                                                     final OpMode opMode, final long a, final long b, final Attributes attributes) {
         final long incremented = Dpd.inc(dpd);
         final long dpdI = incremented & Decimal64.COEFF_CONT_MASK;
-        final int msdI = msd + (int) (incremented >>> 51);
+        final int msdI = msd + (int) (incremented >>> 50);
         if (msdI <= 9) {
             return signalInexact(sign, exp, msdI, dpdI, opMode, a, b, attributes);
         }
         //mantissa overflow
-        if (exp < Decimal64.MAX_EXPONENT) {
+        if (exp < Decimal64.MAX_EXPONENT_NOMINAL) {
             //after increment, it must be 10.0000, shift right becomes 1.0000
             return signalInexact(sign, exp + 1, 1, 0, opMode, a, b, attributes);
         }
@@ -424,4 +534,9 @@ public final class Add {
     private static boolean isZero(final int msb, final long dpd) {
         return msb == 0 & Dpd.isZero(dpd);
     }
+
+    //exact zero sum of opposite signs is +0 except for rounding direction TowardNegative (IEEE 754-2008 section 6.3)
+    static long zeroSumSign(final Attributes attributes) {
+        return attributes.getDecimalRoundingDirection() == RoundingDirection.TowardNegative ? Decimal64.SIGN_BIT_MASK : 0;
+    }
 }
\ No newline at end of file
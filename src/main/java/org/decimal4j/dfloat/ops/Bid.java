@@ -0,0 +1,248 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.encode.Decimal64Bid;
+import org.decimal4j.dfloat.signal.Signal;
+
+import static org.decimal4j.dfloat.ops.Sign.copySignToPositive;
+
+/**
+ * Arithmetic operations on {@link Decimal64Bid BID} encoded values: add, subtract, multiply and compare. The
+ * coefficients are binary integers, hence all operations use plain long arithmetic instead of DPD declets.
+ * Results are rounded once using the same rounding kernel as the DPD operations.
+ */
+public final class Bid {
+
+    private static final String ADD = "add";
+    private static final String SUBTRACT = "subtract";
+    private static final String MULTIPLY = "multiply";
+
+    private static final long TEN_POW_16 = 10000000000000000L;
+
+    private Bid() {
+        throw new RuntimeException("No Bid for you!");
+    }
+
+    public static long add(final long a, final long b) {
+        return add(a, b, Attributes.DEFAULT);
+    }
+    public static long add(final long a, final long b, final RoundingDirection roundingDirection) {
+        return add(a, b, roundingDirection.asAttributes());
+    }
+    public static long add(final long a, final long b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return add(a, b, b, ADD, attributes);
+    }
+
+    public static long subtract(final long a, final long b) {
+        return subtract(a, b, Attributes.DEFAULT);
+    }
+    public static long subtract(final long a, final long b, final RoundingDirection roundingDirection) {
+        return subtract(a, b, roundingDirection.asAttributes());
+    }
+    public static long subtract(final long a, final long b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64Bid.isNaN(b)) {
+            return Decimal64Bid.isNaN(a) ? Decimal64Bid.quietNaN(a) : Decimal64Bid.quietNaN(b);
+        }
+        return add(a, Sign.flipSign(b), b, SUBTRACT, attributes);
+    }
+
+    public static long multiply(final long a, final long b) {
+        return multiply(a, b, Attributes.DEFAULT);
+    }
+    public static long multiply(final long a, final long b, final RoundingDirection roundingDirection) {
+        return multiply(a, b, roundingDirection.asAttributes());
+    }
+    public static long multiply(final long a, final long b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64Bid.isFinite(a) & Decimal64Bid.isFinite(b)) {
+            final long sign = (a ^ b) & Decimal64Bid.SIGN_BIT_MASK;
+            final int exp = Decimal64Bid.getExponent(a) + Decimal64Bid.getExponent(b);
+            return Mul.multiplyFinite(sign, exp, Decimal64Bid.getCoefficient(a), Decimal64Bid.getCoefficient(b), MULTIPLY, a, b, attributes, true);
+        }
+        if (Decimal64Bid.isNaN(a)) {
+            return Decimal64Bid.quietNaN(a);
+        }
+        if (Decimal64Bid.isNaN(b)) {
+            return Decimal64Bid.quietNaN(b);
+        }
+        //at least one Infinite
+        if (Decimal64Bid.isZero(a) | Decimal64Bid.isZero(b)) {
+            return Signal.invalidOperation(MULTIPLY, a, b, Decimal64Bid.NAN, attributes);
+        }
+        return copySignToPositive(Decimal64Bid.INF, a ^ b);
+    }
+
+    /**
+     * Compares the numerical values of a and b, see {@link Compare#compare(long, long)}.
+     */
+    public static int compare(final long a, final long b) {
+        if (Decimal64Bid.isFinite(a) & Decimal64Bid.isFinite(b)) {
+            final long coeffA = Decimal64Bid.getCoefficient(a);
+            final long coeffB = Decimal64Bid.getCoefficient(b);
+            final int signumA = coeffA == 0 ? 0 : a < 0 ? -1 : 1;
+            final int signumB = coeffB == 0 ? 0 : b < 0 ? -1 : 1;
+            if (signumA != signumB | signumA == 0) {
+                return Integer.compare(signumA, signumB);
+            }
+            final int cmp = compareMagnitude(Decimal64Bid.getExponent(a), coeffA, Decimal64Bid.getExponent(b), coeffB);
+            return signumA < 0 ? -cmp : cmp;
+        }
+        if (Decimal64Bid.isNaN(a) | Decimal64Bid.isNaN(b)) {
+            return Decimal64Bid.isNaN(a) ? (Decimal64Bid.isNaN(b) ? 0 : 1) : -1;
+        }
+        //at least one Infinite
+        if (Decimal64Bid.isInfinite(a)) {
+            return Decimal64Bid.isInfinite(b) & (a ^ b) >= 0 ? 0 : a < 0 ? -1 : 1;
+        }
+        return b < 0 ? 1 : -1;
+    }
+
+    //compares two non-zero coefficients with exponents
+    private static int compareMagnitude(final int expA, final long coeffA, final int expB, final long coeffB) {
+        if (expA == expB) {
+            return Long.compare(coeffA, coeffB);
+        }
+        final int adjA = expA + Pow.numberOfDigits(coeffA);
+        final int adjB = expB + Pow.numberOfDigits(coeffB);
+        if (adjA != adjB) {
+            return adjA < adjB ? -1 : 1;
+        }
+        //same number of integral digits: the shifted coefficient has at most 16 digits
+        return expA > expB ? Long.compare(coeffA * Pow.pow10(expA - expB), coeffB) : Long.compare(coeffA, coeffB * Pow.pow10(expB - expA));
+    }
+
+    private static long add(final long a, final long b, final long operandB, final String operation, final Attributes attributes) {
+        if (Decimal64Bid.isFinite(a) & Decimal64Bid.isFinite(b)) {
+            return Decimal64Bid.getExponent(a) >= Decimal64Bid.getExponent(b) ?
+                    addFinite(a, b, a, operandB, operation, attributes) :
+                    addFinite(b, a, a, operandB, operation, attributes);
+        }
+        if (Decimal64Bid.isNaN(a)) {
+            return Decimal64Bid.quietNaN(a);
+        }
+        if (Decimal64Bid.isNaN(b)) {
+            return Decimal64Bid.quietNaN(b);
+        }
+        if (Decimal64Bid.isInfinite(a) & Decimal64Bid.isInfinite(b) & (a ^ b) < 0) {
+            return Signal.invalidOperation(operation, a, operandB, Decimal64Bid.NAN, attributes);
+        }
+        return copySignToPositive(Decimal64Bid.INF, Decimal64Bid.isInfinite(a) ? a : b);
+    }
+
+    //adds x and y where x has the larger or equal exponent
+    private static long addFinite(final long x, final long y, final long a, final long b, final String operation, final Attributes attributes) {
+        final int expX = Decimal64Bid.getExponent(x);
+        final int expY = Decimal64Bid.getExponent(y);
+        final long coeffX = Decimal64Bid.getCoefficient(x);
+        final long coeffY = Decimal64Bid.getCoefficient(y);
+        final boolean subtract = (x ^ y) < 0;
+        if (coeffX == 0 | coeffY == 0) {
+            if (coeffY != 0) {
+                return Decimal64Bid.encode(y, expY, coeffY);
+            }
+            if (coeffX == 0) {
+                return Decimal64Bid.zero(subtract ? Add.zeroSumSign(attributes) : x, expY);
+            }
+            //shift x left towards the exponent of y as far as the precision allows
+            final int shift = Math.min(expX - expY, Decimal64.MAX_PRECISION - Pow.numberOfDigits(coeffX));
+            return Decimal64Bid.encode(x, expX - shift, coeffX * Pow.pow10(shift));
+        }
+        final int diff = expX - expY;
+        if (diff == 0) {
+            final long sum = subtract ? coeffX - coeffY : coeffX + coeffY;
+            if (sum == 0) {
+                return Decimal64Bid.zero(Add.zeroSumSign(attributes), expY);
+            }
+            final long sign = sum < 0 ? y : x;
+            final long coefficient = Math.abs(sum);
+            if (coefficient < TEN_POW_16) {
+                return Decimal64Bid.encode(sign, expY, coefficient);
+            }
+            return Rounding.roundBid(sign, expY, coefficient, Remainder.ZERO, operation, a, b, attributes);
+        }
+        if (diff <= 16) {
+            //x * 10^diff = hi * 10^16 + lo, exact
+            final long pow10 = Pow.pow10(16 - diff);
+            long hi = coeffX / pow10;
+            long lo = (coeffX - hi * pow10) * Pow.pow10(diff);
+            long sign = x;
+            if (!subtract) {
+                lo += coeffY;
+                if (lo >= TEN_POW_16) {
+                    lo -= TEN_POW_16;
+                    hi++;
+                }
+            } else if (hi == 0 & lo <= coeffY) {
+                if (lo == coeffY) {
+                    return Decimal64Bid.zero(Add.zeroSumSign(attributes), expY);
+                }
+                lo = coeffY - lo;
+                sign = y;
+            } else {
+                lo -= coeffY;
+                if (lo < 0) {
+                    lo += TEN_POW_16;
+                    hi--;
+                }
+            }
+            if (hi == 0) {
+                //exact, exponent of y is valid
+                return Decimal64Bid.encode(sign, expY, lo);
+            }
+            return Rounding.roundBid(sign, expY, hi, lo, Remainder.ZERO, operation, a, b, attributes);
+        }
+        //diff > 16: x * 10^16 = hi * 10^16 with exponent expX - 16, y shifted right into lo and tail
+        final int k = diff - 16;
+        final long shifted;
+        final long dropped;
+        if (k < 16) {
+            shifted = coeffY / Pow.pow10(k);
+            dropped = coeffY - shifted * Pow.pow10(k);
+        } else {
+            shifted = 0;
+            dropped = coeffY;
+        }
+        final Remainder tail = Remainder.ofPow10(dropped, k);
+        long hi = coeffX;
+        long lo;
+        if (!subtract) {
+            lo = shifted;
+            return Rounding.roundBid(x, expX - 16, hi, lo, tail, operation, a, b, attributes);
+        }
+        //borrow one unit of lo if the tail is non-zero
+        lo = -shifted - (tail.isZero() ? 0 : 1);
+        if (lo < 0) {
+            lo += TEN_POW_16;
+            hi--;
+        }
+        return Rounding.roundBid(x, expX - 16, hi, lo, tail.complement(), operation, a, b, attributes);
+    }
+}
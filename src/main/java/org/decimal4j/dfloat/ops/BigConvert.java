@@ -0,0 +1,204 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Conversions between 64 bit decimal floats and {@link BigDecimal} or {@link BigInteger} values. Coefficients of up
+ * to 16 digits are transferred as long values through {@link BigDecimal#valueOf(long, int)} and
+ * {@link BigInteger#longValue()}; larger coefficients are truncated to 18 digits with a single BigInteger division
+ * and then rounded according to the decimal rounding direction of the attributes. No conversion goes through strings.
+ */
+public final class BigConvert {
+
+    private static final String FROM_BIG_DECIMAL = "fromBigDecimal";
+    private static final String FROM_BIG_INTEGER = "fromBigInteger";
+    private static final String TO_BIG_DECIMAL = "toBigDecimal";
+
+    private static final long TEN_POW_16 = 10000000000000000L;
+    /** slightly below log10(2) so that the digit estimate never exceeds the actual number of digits */
+    private static final double LOG10_2_LOWER = 0.30102999;
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final BigInteger[] BIG_POW10 = new BigInteger[64];
+    static {
+        BIG_POW10[0] = BigInteger.ONE;
+        for (int i = 1; i < BIG_POW10.length; i++) {
+            BIG_POW10[i] = BIG_POW10[i - 1].multiply(BigInteger.TEN);
+        }
+    }
+
+    private BigConvert() {
+        throw new RuntimeException("No BigConvert for you!");
+    }
+
+    public static long fromBigDecimal(final BigDecimal value) {
+        return fromBigDecimal(value, Attributes.DEFAULT);
+    }
+    public static long fromBigDecimal(final BigDecimal value, final RoundingDirection roundingDirection) {
+        return fromBigDecimal(value, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the decimal float with the coefficient and exponent of the given value, preserving its quantum. Values
+     * with more than 16 significant digits or outside the exponent range are rounded according to the decimal
+     * rounding direction of the attributes.
+     */
+    public static long fromBigDecimal(final BigDecimal value, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return fromUnscaled(value.unscaledValue(), -(long)value.scale(), FROM_BIG_DECIMAL, attributes);
+    }
+
+    public static long fromBigInteger(final BigInteger value) {
+        return fromBigInteger(value, Attributes.DEFAULT);
+    }
+    public static long fromBigInteger(final BigInteger value, final RoundingDirection roundingDirection) {
+        return fromBigInteger(value, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the decimal float with exponent 0 equal to the given value, rounded to 16 digits if necessary.
+     */
+    public static long fromBigInteger(final BigInteger value, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return fromUnscaled(value, 0, FROM_BIG_INTEGER, attributes);
+    }
+
+    private static long fromUnscaled(final BigInteger unscaled, final long exponent, final String operation,
+                                     final Attributes attributes) {
+        final int exp = (int)Math.max(-Parse.EXPONENT_LIMIT, Math.min(Parse.EXPONENT_LIMIT, exponent));
+        final long sign = unscaled.signum() < 0 ? Decimal64.SIGN_BIT_MASK : 0;
+        //bit length 63 would admit Long.MIN_VALUE whose absolute value is not a long
+        if (unscaled.bitLength() < Long.SIZE - 1) {
+            final long value = unscaled.longValue();
+            final long coefficient = value < 0 ? -value : value;
+            if (coefficient == 0) {
+                return Parse.zero(0, exp);
+            }
+            if (coefficient < TEN_POW_16 & exp >= Decimal64.MIN_EXPONENT_NOMINAL & exp <= Decimal64.MAX_EXPONENT_NOMINAL) {
+                return Decimal64.encodeCoefficient(sign, exp, coefficient);
+            }
+            return Rounding.round(sign, exp, coefficient, Remainder.ZERO, operation, 0, 0, attributes);
+        }
+        //at least 19 digits: drop all but about 18 digits in one division, the dropped digits only matter as sticky
+        //tail since rounding to 16 digits drops at least two more digits
+        final BigInteger abs = unscaled.abs();
+        int drop = (int)((abs.bitLength() - 1) * LOG10_2_LOWER) + 1 - MAX_LONG_DIGITS;
+        final BigInteger[] qr = abs.divideAndRemainder(pow10(drop));
+        BigInteger kept = qr[0];
+        boolean nonZeroTail = qr[1].signum() != 0;
+        while (kept.bitLength() >= Long.SIZE) {
+            //the digit estimate was too low
+            final BigInteger[] qr10 = kept.divideAndRemainder(BigInteger.TEN);
+            kept = qr10[0];
+            nonZeroTail |= qr10[1].signum() != 0;
+            drop++;
+        }
+        final Remainder tail = nonZeroTail ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF : Remainder.ZERO;
+        return Rounding.round(sign, exp + drop, kept.longValue(), tail, operation, 0, 0, attributes);
+    }
+
+    private static BigInteger pow10(final int n) {
+        return n < BIG_POW10.length ? BIG_POW10[n] : BigInteger.TEN.pow(n);
+    }
+
+    public static BigDecimal toBigDecimal(final long x) {
+        return toBigDecimal(x, Attributes.DEFAULT);
+    }
+
+    /**
+     * Returns the exact value of x as BigDecimal with scale equal to the negated exponent of x; negative zero becomes
+     * zero. InvalidOperation is signalled if x is NaN or infinite, an {@link ArithmeticException} is thrown if the
+     * exception handler returns.
+     */
+    public static BigDecimal toBigDecimal(final long x, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64.isFinite(x)) {
+            final long coefficient = Decimal64.getCoefficient(x);
+            return BigDecimal.valueOf(x < 0 ? -coefficient : coefficient, -Decimal64.getExponent(x));
+        }
+        throw notFinite(x, attributes);
+    }
+
+    public static BigDecimal toBigDecimal(final long x, final int scale) {
+        return toBigDecimal(x, scale, Attributes.DEFAULT);
+    }
+    public static BigDecimal toBigDecimal(final long x, final int scale, final RoundingDirection roundingDirection) {
+        return toBigDecimal(x, scale, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns x as BigDecimal with the given scale, rounded according to the decimal rounding direction of the
+     * attributes if x has more fraction digits; Inexact is signalled if digits are lost. InvalidOperation is
+     * signalled if x is NaN or infinite, an {@link ArithmeticException} is thrown if the exception handler returns.
+     */
+    public static BigDecimal toBigDecimal(final long x, final int scale, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (!Decimal64.isFinite(x)) {
+            throw notFinite(x, attributes);
+        }
+        final long coefficient = Decimal64.getCoefficient(x);
+        final int exp = Decimal64.getExponent(x);
+        final long shift = exp + (long)scale;
+        if (shift >= 0) {
+            //append zeros: stays a long unless the value is too large
+            if (shift <= MAX_LONG_DIGITS && coefficient < Long.MAX_VALUE / Pow.pow10((int)shift)) {
+                final long value = coefficient * Pow.pow10((int)shift);
+                return BigDecimal.valueOf(x < 0 ? -value : value, scale);
+            }
+            return BigDecimal.valueOf(x < 0 ? -coefficient : coefficient, -exp).setScale(scale);
+        }
+        //drop digits and round
+        final int drop = (int)Math.min(-shift, MAX_LONG_DIGITS + 1);
+        final long truncated;
+        final Remainder remainder;
+        if (drop <= MAX_LONG_DIGITS) {
+            final long pow10 = Pow.pow10(drop);
+            truncated = coefficient / pow10;
+            remainder = Remainder.ofPow10(coefficient - truncated * pow10, drop);
+        } else {
+            truncated = 0;
+            remainder = Remainder.ofPow10(coefficient, drop);
+        }
+        if (remainder == Remainder.ZERO) {
+            return BigDecimal.valueOf(x < 0 ? -truncated : truncated, scale);
+        }
+        final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
+        final long value = truncated + roundingDirection.getRoundingIncrement(x, (int)(truncated % 10), remainder);
+        final long result = Signal.inexact(TO_BIG_DECIMAL, x, 0, x < 0 ? -value : value, attributes);
+        return BigDecimal.valueOf(result, scale);
+    }
+
+    private static ArithmeticException notFinite(final long x, final Attributes attributes) {
+        Signal.invalidOperation(TO_BIG_DECIMAL, x, 0, x, attributes);
+        return new ArithmeticException("Cannot convert " + (Decimal64.isNaN(x) ? "NaN" : "Infinity") + " to BigDecimal");
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.dpd.Shift;
+import org.decimal4j.dfloat.encode.Decimal64;
+
+/**
+ * Numeric comparison and the IEEE 754-2008 totalOrder predicate.
+ */
+public final class Compare {
+
+    private Compare() {
+        throw new RuntimeException("No Compare for you!");
+    }
+
+    /**
+     * Compares two values numerically. Members of the same cohort such as 1.5 and 1.50 as well as zeros of
+     * either sign are equal. NaN values are equal to each other and greater than all other values, consistent
+     * with {@link Double#compare(double, double)}.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return a negative integer, zero, or a positive integer as a is less than, equal to, or greater than b
+     */
+    public static int compare(final long a, final long b) {
+        if (Decimal64.isFinite(a) & Decimal64.isFinite(b)) {
+            final boolean zeroA = Decimal64.isZero(a);
+            final boolean zeroB = Decimal64.isZero(b);
+            if ((a ^ b) < 0 | zeroA | zeroB) {
+                //different signs or at least one zero: signum decides
+                return Integer.compare(zeroA ? 0 : a < 0 ? -1 : 1, zeroB ? 0 : b < 0 ? -1 : 1);
+            }
+            final int cmp = compareMagnitude(a, b);
+            return a < 0 ? -cmp : cmp;
+        }
+        final boolean nanA = Decimal64.isNaN(a);
+        final boolean nanB = Decimal64.isNaN(b);
+        if (nanA | nanB) {
+            return nanA == nanB ? 0 : nanA ? 1 : -1;
+        }
+        //at least one infinite
+        final int infA = Decimal64.isInfinite(a) ? (a < 0 ? -1 : 1) : 0;
+        final int infB = Decimal64.isInfinite(b) ? (b < 0 ? -1 : 1) : 0;
+        return Integer.compare(infA, infB);
+    }
+
+    /**
+     * Compares the magnitude of two non-zero finite values.
+     */
+    private static int compareMagnitude(final long a, final long b) {
+        final int expA = Decimal64.getExponent(a);
+        final int expB = Decimal64.getExponent(b);
+        final int msdA = Decimal64.getCombinationMSD(a);
+        final int msdB = Decimal64.getCombinationMSD(b);
+        if (expA == expB) {
+            return msdA != msdB ? msdA - msdB : Dpd.compare(a, b);
+        }
+        //adjusted exponents (exponent of the most significant digit) decide if different
+        final int nlzA = msdA > 0 ? 0 : 1 + Dpd.numberOfLeadingZeros(a);
+        final int nlzB = msdB > 0 ? 0 : 1 + Dpd.numberOfLeadingZeros(b);
+        final int adjA = expA - nlzA;
+        final int adjB = expB - nlzB;
+        if (adjA != adjB) {
+            return adjA < adjB ? -1 : 1;
+        }
+        //magnitudes overlap: align the value with the larger exponent to the other one
+        if (expA > expB) {
+            final long dpd = Shift.shiftLeft(a, expA - expB);
+            final int msd = (int)(dpd >>> 50);
+            return msd != msdB ? msd - msdB : Dpd.compare(dpd, b);
+        }
+        final long dpd = Shift.shiftLeft(b, expB - expA);
+        final int msd = (int)(dpd >>> 50);
+        return msdA != msd ? msdA - msd : Dpd.compare(a, dpd);
+    }
+
+    /**
+     * IEEE 754-2008 totalOrder predicate: returns true if a is ordered before or equal to b in the total order.
+     * Negative values of the same cohort are ordered by descending exponent, positive values by ascending
+     * exponent; -0 is ordered before +0; negative NaNs are ordered first and positive NaNs last, signalling
+     * before quiet NaNs for positive and the reverse for negative NaNs, then by payload.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return true if a is ordered before or equal to b
+     */
+    public static boolean totalOrder(final long a, final long b) {
+        final boolean nanA = Decimal64.isNaN(a);
+        final boolean nanB = Decimal64.isNaN(b);
+        if (nanA | nanB) {
+            if (!(nanA & nanB)) {
+                return nanA ? a < 0 : b >= 0;
+            }
+            if ((a ^ b) < 0) {
+                return a < 0;
+            }
+            final int cmp = compareNaN(a, b);
+            return a < 0 ? cmp >= 0 : cmp <= 0;
+        }
+        if ((a ^ b) < 0) {
+            return a < 0;
+        }
+        final int cmp = compare(a, b);
+        if (cmp != 0) {
+            return cmp < 0;
+        }
+        if (Decimal64.isInfinite(a)) {
+            return true;
+        }
+        //same sign and same value: order by exponent
+        final int expA = Decimal64.getExponent(a);
+        final int expB = Decimal64.getExponent(b);
+        return a < 0 ? expA >= expB : expA <= expB;
+    }
+
+    /**
+     * Returns {@code totalOrder(abs(a), abs(b))}.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return true if the magnitude of a is ordered before or equal to the magnitude of b
+     */
+    public static boolean totalOrderMag(final long a, final long b) {
+        return totalOrder(Sign.clearSign(a), Sign.clearSign(b));
+    }
+
+    //compares two NaN values ignoring the sign: signalling before quiet NaN, then by payload
+    private static int compareNaN(final long a, final long b) {
+        final boolean signalingA = Decimal64.isSignalingNaN(a);
+        final boolean signalingB = Decimal64.isSignalingNaN(b);
+        if (signalingA != signalingB) {
+            return signalingA ? -1 : 1;
+        }
+        return Dpd.compare(a, b);
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal32;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+/**
+ * Conversions between the decimal 32 and decimal 64 formats. Widening is always exact, narrowing rounds the
+ * coefficient to {@link Decimal32#MAX_PRECISION} digits and may overflow or underflow.
+ */
+public final class Convert {
+
+    private static final String TO_DECIMAL32 = "toDecimal32";
+
+    private static final int TEN_POW_6 = 1000000;
+    private static final int TEN_POW_7 = 10000000;
+
+    private Convert() {
+        throw new RuntimeException("No Convert for you!");
+    }
+
+    /**
+     * Returns the decimal 64 value equal to the given decimal 32 value; see {@link Decimal32#toDecimal64(int)}.
+     */
+    public static long toDecimal64(final int x) {
+        return Decimal32.toDecimal64(x);
+    }
+
+    public static int toDecimal32(final long x) {
+        return toDecimal32(x, Attributes.DEFAULT);
+    }
+    public static int toDecimal32(final long x, final RoundingDirection roundingDirection) {
+        return toDecimal32(x, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the decimal 64 value x rounded to the decimal 32 format. The result is inexact if x has more than
+     * 7 significant digits or is too small for the exponent range; values too large in magnitude overflow. NaN
+     * values keep their payload if it fits into 6 digits and become a quiet NaN without payload otherwise.
+     */
+    public static int toDecimal32(final long x, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        final int sign = (int)(x >>> 32) & Decimal32.SIGN_BIT_MASK;
+        if (Decimal64.isFinite(x)) {
+            return toDecimal32Finite(sign, Decimal64.getExponent(x), Decimal64.getCoefficient(x), x, attributes);
+        }
+        if (Decimal64.isNaN(x)) {
+            final long payload = Dpd.canonicalize(x);
+            return sign | Decimal32.NAN | (payload <= Decimal32.COEFF_CONT_MASK ? (int)payload : 0);
+        }
+        return sign | Decimal32.INF;
+    }
+
+    private static int toDecimal32Finite(final int sign, final int exp, final long coeff, final long x,
+                                         final Attributes attributes) {
+        final int digits = Pow.numberOfDigits(coeff);
+        final int drop = Math.max(Math.max(digits - Decimal32.MAX_PRECISION, Decimal32.MIN_EXPONENT_NOMINAL - exp), 0);
+        //tininess is detected before rounding
+        final boolean tiny = (digits > 0 ? exp + digits - 1 : exp - 1) < Decimal32.MIN_EXPONENT;
+        int coefficient;
+        final Remainder remainder;
+        if (drop == 0) {
+            coefficient = (int)coeff;
+            remainder = Remainder.ZERO;
+        } else if (drop < 19) {
+            final long pow10 = Pow.pow10(drop);
+            final long q = coeff / pow10;
+            coefficient = (int)q;
+            remainder = Remainder.ofPow10(coeff - q * pow10, drop);
+        } else {
+            coefficient = 0;
+            remainder = Remainder.ofPow10(coeff, drop);
+        }
+        int e = exp + drop;
+        final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
+        if (!remainder.isZero() && roundingDirection.isRoundingIncrementPossible(x)) {
+            coefficient += roundingDirection.getRoundingIncrement(x, coefficient % 10, remainder);
+            if (coefficient == TEN_POW_7) {
+                coefficient = TEN_POW_6;
+                e++;
+            }
+        }
+        if (e > Decimal32.MAX_EXPONENT_NOMINAL) {
+            final int shift = e - Decimal32.MAX_EXPONENT_NOMINAL;
+            if (coefficient == 0) {
+                //zero with exponent capped at max
+                e = Decimal32.MAX_EXPONENT_NOMINAL;
+            } else if (remainder.isZero() && Pow.numberOfDigits(coefficient) + shift <= Decimal32.MAX_PRECISION) {
+                //exponent fits when left shifting coefficient
+                coefficient *= (int)Pow.pow10(shift);
+                e = Decimal32.MAX_EXPONENT_NOMINAL;
+            } else {
+                //exponent overflow
+                final int result = sign | (Decimal64.isInfinite(roundingDirection.roundOverflow(x)) ? Decimal32.INF : Decimal32.MAX_NORMAL);
+                return (int)Signal.overflow(TO_DECIMAL32, x, 0, result, attributes);
+            }
+        }
+        final int result = Decimal32.encodeCoefficient(sign, e, coefficient);
+        if (remainder.isZero()) {
+            return result;
+        }
+        return (int)(tiny ? Signal.underflow(TO_DECIMAL32, x, 0, result, attributes) : Signal.inexact(TO_DECIMAL32, x, 0, result, attributes));
+    }
+}
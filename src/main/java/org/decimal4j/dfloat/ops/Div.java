@@ -0,0 +1,302 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+import static org.decimal4j.dfloat.ops.Sign.copySignToPositive;
+
+public final class Div {
+
+    private static final String DIVIDE = "divide";
+    private static final String DIVIDE_BY_LONG = "divideByLong";
+    private static final String INVERT = "invert";
+
+    private static final long ONE = Decimal64.ZERO + 1;
+
+    private static final long TEN_POW_8 = 100000000L;
+    private static final long TEN_POW_15 = 1000000000000000L;
+    private static final long TEN_POW_16 = 10000000000000000L;
+    private static final double[] DOUBLE_POW10_16 = {1e16, 1e17, 1e18, 1e19};
+
+    private Div() {
+        throw new RuntimeException("No Div for you!");
+    }
+
+    public static long divide(final long a, final long b) {
+        return divide(a, b, Attributes.DEFAULT);
+    }
+    public static long divide(final long a, final long b, final RoundingDirection roundingDirection) {
+        return divide(a, b, roundingDirection.asAttributes());
+    }
+    public static long divide(final long a, final long b, final Attributes attributes) {
+        return divide(a, b, DIVIDE, attributes);
+    }
+
+    public static long invert(final long a) {
+        return invert(a, Attributes.DEFAULT);
+    }
+    public static long invert(final long a, final RoundingDirection roundingDirection) {
+        return invert(a, roundingDirection.asAttributes());
+    }
+    public static long invert(final long a, final Attributes attributes) {
+        return divide(ONE, a, INVERT, attributes);
+    }
+
+    public static long divideByPowerOf10(final long a, final int n) {
+        return divideByPowerOf10(a, n, Attributes.DEFAULT);
+    }
+    public static long divideByPowerOf10(final long a, final int n, final RoundingDirection roundingDirection) {
+        return divideByPowerOf10(a, n, roundingDirection.asAttributes());
+    }
+    public static long divideByPowerOf10(final long a, final int n, final Attributes attributes) {
+        //any |n| beyond twice the exponent range over- or underflows, limit to avoid int overflow
+        final int limit = 2 * (Decimal64.MAX_EXPONENT - Decimal64.MIN_EXPONENT_NOMINAL);
+        return Pow.scale10(a, -Math.max(-limit, Math.min(limit, n)), attributes);
+    }
+
+    public static long divideByLong(final long a, final long l) {
+        return divideByLong(a, l, Attributes.DEFAULT);
+    }
+    public static long divideByLong(final long a, final long l, final RoundingDirection roundingDirection) {
+        return divideByLong(a, l, roundingDirection.asAttributes());
+    }
+    public static long divideByLong(final long a, final long l, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64.isFinite(a)) {
+            final long sign = (a ^ l) & Decimal64.SIGN_BIT_MASK;
+            final int exp = Decimal64.getExponent(a);
+            final long coeff = Decimal64.getCoefficient(a);
+            if (l == 0) {
+                return divideByZero(sign, coeff, DIVIDE_BY_LONG, a, l, attributes);
+            }
+            if (-TEN_POW_16 < l & l < TEN_POW_16) {
+                return divideFinite(sign, exp, coeff, Math.abs(l), DIVIDE_BY_LONG, a, l, attributes);
+            }
+            return divideFiniteByLargeLong(sign, exp, coeff, a, l, attributes);
+        }
+        if (Decimal64.isNaN(a)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(a), a);
+        }
+        //Infinite
+        return copySignToPositive(Decimal64.INF, a ^ l);
+    }
+
+    private static long divide(final long a, final long b, final String operation, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        final long sign = (a ^ b) & Decimal64.SIGN_BIT_MASK;
+        if (Decimal64.isFinite(a) & Decimal64.isFinite(b)) {
+            final long coeffA = Decimal64.getCoefficient(a);
+            final long coeffB = Decimal64.getCoefficient(b);
+            if (coeffB == 0) {
+                return divideByZero(sign, coeffA, operation, a, b, attributes);
+            }
+            final int exp = Decimal64.getExponent(a) - Decimal64.getExponent(b);
+            return divideFinite(sign, exp, coeffA, coeffB, operation, a, b, attributes);
+        }
+        //at least one is NaN or Infinite
+        if (Decimal64.isNaN(a)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(a), a);
+        }
+        if (Decimal64.isNaN(b)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(b), b);
+        }
+        //at least one Infinite
+        if (Decimal64.isInfinite(a)) {
+            if (Decimal64.isInfinite(b)) {
+                return Signal.invalidOperation(operation, a, b, Decimal64.NAN, attributes);
+            }
+            return copySignToPositive(Decimal64.INF, sign);
+        }
+        //finite divided by infinity is zero with minimum exponent
+        return Decimal64.zero(sign, Decimal64.MIN_EXPONENT_NOMINAL);
+    }
+
+    private static long divideByZero(final long sign, final long coeffA,
+                                     final String operation, final long a, final long b,
+                                     final Attributes attributes) {
+        if (coeffA == 0) {
+            return Signal.invalidOperation(operation, a, b, Decimal64.NAN, attributes);
+        }
+        return Signal.divisionByZero(operation, a, b, copySignToPositive(Decimal64.INF, sign), attributes);
+    }
+
+    /**
+     * Divides two non-zero finite coefficients, the divisor less than 10^16.
+     *
+     * @param sign the sign of the result
+     * @param exp the preferred exponent, that is, the exponent of the dividend minus the exponent of the divisor
+     */
+    static long divideFinite(final long sign, final int exp, final long coeffA, final long coeffB,
+                             final String operation, final long a, final long b,
+                             final Attributes attributes) {
+        //exact quotient with preferred exponent
+        final long q0 = coeffA / coeffB;
+        if (q0 * coeffB == coeffA) {
+            if (Decimal64.MIN_EXPONENT_NOMINAL <= exp & exp <= Decimal64.MAX_EXPONENT_NOMINAL) {
+                return Decimal64.encodeCoefficient(sign, exp, q0);
+            }
+            return Rounding.round(sign, exp, q0, Remainder.ZERO, operation, a, b, attributes);
+        }
+        //normalise dividend and divisor to 16 digits
+        final int digitsA = Pow.numberOfDigits(coeffA);
+        final int digitsB = Pow.numberOfDigits(coeffB);
+        final long divisor = coeffB * Pow.pow10(Decimal64.MAX_PRECISION - digitsB);
+        final long dividend = coeffA * Pow.pow10(Decimal64.MAX_PRECISION - digitsA);
+        //the quotient of dividend * 10^t / divisor has exactly 16 digits
+        final boolean t15 = dividend >= divisor;
+        final long nHi = t15 ? dividend / 10 : dividend;
+        final long nLo = t15 ? (dividend - nHi * 10) * TEN_POW_15 : 0;
+        final int e = exp + digitsA - digitsB - (t15 ? 15 : 16);
+        //reciprocal estimate, off by a few units at most
+        long q = (long)(dividend * (1.0 / divisor) * (t15 ? 1e15 : 1e16));
+        //exact remainder r = dividend * 10^t - q * divisor, the product in two 16 digit limbs
+        final long qHi = q / TEN_POW_8;
+        final long qLo = q - qHi * TEN_POW_8;
+        final long dHi = divisor / TEN_POW_8;
+        final long dLo = divisor - dHi * TEN_POW_8;
+        final long mid = qHi * dLo + qLo * dHi;
+        final long midHi = mid / TEN_POW_8;
+        final long pLo = qLo * dLo + (mid - midHi * TEN_POW_8) * TEN_POW_8;
+        final long pHi = qHi * dHi + midHi;
+        long r = (nHi - pHi) * TEN_POW_16 + (nLo - pLo);
+        //correct the estimate
+        while (r < 0) {
+            q--;
+            r += divisor;
+        }
+        while (r >= divisor) {
+            q++;
+            r -= divisor;
+        }
+        if (r != 0) {
+            return Rounding.round(sign, e, q, remainder(r, divisor), operation, a, b, attributes);
+        }
+        //exact quotient: remove trailing zeros towards the preferred exponent
+        int eq = e;
+        while (eq < exp && q % 10 == 0) {
+            q /= 10;
+            eq++;
+        }
+        return Rounding.round(sign, eq, q, Remainder.ZERO, operation, a, b, attributes);
+    }
+
+    /**
+     * Divides a finite non-zero coefficient by a long value with at least 17 digits.
+     */
+    private static long divideFiniteByLargeLong(final long sign, final int exp, final long coeff,
+                                                final long a, final long l,
+                                                final Attributes attributes) {
+        if (coeff == 0) {
+            return Rounding.round(sign, exp, 0, Remainder.ZERO, DIVIDE_BY_LONG, a, l, attributes);
+        }
+        //|l| = dHi * 10^16 + dLo with 1 <= dHi <= 922
+        final long dHi = Math.abs(l / TEN_POW_16);
+        final long dLo = Math.abs(l % TEN_POW_16);
+        final int shift = Pow.numberOfDigits(dHi);
+        final long shiftPow10 = Pow.pow10(shift);
+        //leading 16 digits of |l|, and if any of the other digits is non-zero
+        final long divisor16 = dHi * Pow.pow10(Decimal64.MAX_PRECISION - shift) + dLo / shiftPow10;
+        final boolean divisorTail = dLo % shiftPow10 != 0;
+        //the quotient of dividend * 10^t / |l| has exactly 16 digits
+        final int digits = Pow.numberOfDigits(coeff);
+        final long dividend = coeff * Pow.pow10(Decimal64.MAX_PRECISION - digits);
+        final int t = dividend > divisor16 | (dividend == divisor16 & !divisorTail) ? 15 + shift : 16 + shift;
+        final int e = exp + digits - Decimal64.MAX_PRECISION - t;
+        //dividend * 10^t = nHi * 10^16, no overflow as nHi < |l|
+        final long nHi = dividend * Pow.pow10(t - Decimal64.MAX_PRECISION);
+        //reciprocal estimate, off by a few units at most
+        long q = (long)(dividend * (1.0 / (dHi * 1e16 + dLo)) * DOUBLE_POW10_16[t - Decimal64.MAX_PRECISION]);
+        //exact remainder r = nHi * 10^16 - q * |l| in two 16 digit limbs
+        final long qHi = q / TEN_POW_8;
+        final long qLo = q - qHi * TEN_POW_8;
+        final long mHi = dLo / TEN_POW_8;
+        final long mLo = dLo - mHi * TEN_POW_8;
+        final long mid = qHi * mLo + qLo * mHi;
+        final long midHi = mid / TEN_POW_8;
+        long pLo = qLo * mLo + (mid - midHi * TEN_POW_8) * TEN_POW_8;
+        long pHi = q * dHi + qHi * mHi + midHi;
+        if (pLo >= TEN_POW_16) {
+            pLo -= TEN_POW_16;
+            pHi++;
+        }
+        long rHi = nHi - pHi;
+        long rLo = -pLo;
+        if (rLo < 0) {
+            rLo += TEN_POW_16;
+            rHi--;
+        }
+        //correct the estimate
+        while (rHi < 0) {
+            q--;
+            rHi += dHi;
+            rLo += dLo;
+            if (rLo >= TEN_POW_16) {
+                rLo -= TEN_POW_16;
+                rHi++;
+            }
+        }
+        while (rHi > dHi | (rHi == dHi & rLo >= dLo)) {
+            q++;
+            rHi -= dHi;
+            rLo -= dLo;
+            if (rLo < 0) {
+                rLo += TEN_POW_16;
+                rHi--;
+            }
+        }
+        final Remainder remainder;
+        if (rHi == 0 & rLo == 0) {
+            remainder = Remainder.ZERO;
+        } else {
+            //compare 2r with |l|
+            final long twiceLo = 2 * rLo;
+            final long twiceHi = 2 * rHi + (twiceLo >= TEN_POW_16 ? 1 : 0);
+            final long twiceLoMod = twiceLo >= TEN_POW_16 ? twiceLo - TEN_POW_16 : twiceLo;
+            final int cmp = twiceHi != dHi ? (twiceHi < dHi ? -1 : 1) : (twiceLoMod < dLo ? -1 : twiceLoMod == dLo ? 0 : 1);
+            remainder = cmp < 0 ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF : cmp == 0 ? Remainder.EQUAL_TO_HALF : Remainder.GREATER_THAN_HALF;
+        }
+        if (remainder.isZero()) {
+            //exact quotient: remove trailing zeros towards the preferred exponent
+            int eq = e;
+            while (eq < exp && q % 10 == 0) {
+                q /= 10;
+                eq++;
+            }
+            return Rounding.round(sign, eq, q, Remainder.ZERO, DIVIDE_BY_LONG, a, l, attributes);
+        }
+        return Rounding.round(sign, e, q, remainder, DIVIDE_BY_LONG, a, l, attributes);
+    }
+
+    private static Remainder remainder(final long r, final long divisor) {
+        final long twice = 2 * r;
+        return twice < divisor ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF :
+                twice == divisor ? Remainder.EQUAL_TO_HALF : Remainder.GREATER_THAN_HALF;
+    }
+}
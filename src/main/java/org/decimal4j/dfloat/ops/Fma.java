@@ -0,0 +1,253 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+import static org.decimal4j.dfloat.ops.Sign.copySignToPositive;
+
+/**
+ * Fused multiply-add computing {@code a*b + c} with a single rounding.
+ */
+public final class Fma {
+
+    private static final String FMA = "fma";
+
+    private static final long TEN_POW_8 = 100000000L;
+    private static final long TEN_POW_16 = 10000000000000000L;
+
+    /** Digits of the aligned sum without the carry digit*/
+    private static final int WINDOW_DIGITS = 47;
+
+    private Fma() {
+        throw new RuntimeException("No Fma for you!");
+    }
+
+    public static long fma(final long a, final long b, final long c) {
+        return fma(a, b, c, Attributes.DEFAULT);
+    }
+    public static long fma(final long a, final long b, final long c, final RoundingDirection roundingDirection) {
+        return fma(a, b, c, roundingDirection.asAttributes());
+    }
+    public static long fma(final long a, final long b, final long c, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64.isFinite(a) & Decimal64.isFinite(b) & Decimal64.isFinite(c)) {
+            return fmaFinite(a, b, c, attributes);
+        }
+        //at least one is NaN or Infinite
+        if (Decimal64.isNaN(a)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(a), a);
+        }
+        if (Decimal64.isNaN(b)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(b), b);
+        }
+        if (Decimal64.isNaN(c)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(c), c);
+        }
+        //at least one Infinite
+        if (Decimal64.isInfinite(a) | Decimal64.isInfinite(b)) {
+            if (Decimal64.isZero(a) | Decimal64.isZero(b)) {
+                return Signal.invalidOperation(FMA, a, b, Decimal64.NAN, attributes);
+            }
+            if (Decimal64.isInfinite(c) & (a ^ b ^ c) < 0) {
+                return Signal.invalidOperation(FMA, a, b, Decimal64.NAN, attributes);
+            }
+            return copySignToPositive(Decimal64.INF, a ^ b);
+        }
+        return copySignToPositive(Decimal64.INF, c);
+    }
+
+    private static long fmaFinite(final long a, final long b, final long c, final Attributes attributes) {
+        return fmaFinite((a ^ b) & Decimal64.SIGN_BIT_MASK, Decimal64.getExponent(a) + Decimal64.getExponent(b),
+                Decimal64.getCoefficient(a), Decimal64.getCoefficient(b),
+                c & Decimal64.SIGN_BIT_MASK, Decimal64.getExponent(c), Decimal64.getCoefficient(c),
+                a, b, null, null, attributes, null);
+    }
+
+    /**
+     * Computes {@code coeffA * coeffB * 10^expP + coeffC * 10^expC} with signs signP and signC and a single
+     * rounding. The result is stored in the target if it is not null, and returned DPD encoded otherwise.
+     * Factors held in unpacked form are given as unpackedA and unpackedB instead of a and b.
+     */
+    static long fmaFinite(final long signP, final int expP, final long coeffA, final long coeffB,
+                          final long signC, final int expC, final long coeffC,
+                          final long a, final long b, final UnpackedDecimal64 unpackedA, final UnpackedDecimal64 unpackedB,
+                          final Attributes attributes, final UnpackedDecimal64 target) {
+        //exact product in two 16 digit limbs
+        final long aHi = coeffA / TEN_POW_8;
+        final long aLo = coeffA - aHi * TEN_POW_8;
+        final long bHi = coeffB / TEN_POW_8;
+        final long bLo = coeffB - bHi * TEN_POW_8;
+        final long mid = aHi * bLo + aLo * bHi;
+        final long midHi = mid / TEN_POW_8;
+        long lo = aLo * bLo + (mid - midHi * TEN_POW_8) * TEN_POW_8;
+        long hi = aHi * bHi + midHi;
+        if (lo >= TEN_POW_16) {
+            lo -= TEN_POW_16;
+            hi++;
+        }
+        final int expDiff = expC - expP;
+        if (hi == 0 & -2 <= expDiff & expDiff <= 2) {
+            //both summands fit into a long when aligned to the smaller exponent
+            final int exp = Math.min(expP, expC);
+            final long p = expDiff >= 0 ? lo : lo * Pow.pow10(-expDiff);
+            final long q = expDiff <= 0 ? coeffC : coeffC * Pow.pow10(expDiff);
+            final long sum = signP == signC ? p + q : p - q;
+            if (sum > 0) {
+                return Rounding.round(signP, exp, sum, Remainder.ZERO, FMA, a, b, unpackedA, unpackedB, attributes, target);
+            }
+            if (sum < 0) {
+                return Rounding.round(signC, exp, -sum, Remainder.ZERO, FMA, a, b, unpackedA, unpackedB, attributes, target);
+            }
+            final long sign = signP == signC ? signP : Add.zeroSumSign(attributes);
+            return Rounding.round(sign, exp, 0, Remainder.ZERO, FMA, a, b, unpackedA, unpackedB, attributes, target);
+        }
+        return fmaFiniteAligned(signP, expP, hi, lo, signC, expC, coeffC, a, b, unpackedA, unpackedB, attributes, target);
+    }
+
+    /**
+     * Adds the exact product and c aligned in a window of 47 digits plus one digit for the carry. The window
+     * starts at the most significant digit of the two summands. Digits below the window can only occur for
+     * the smaller summand and are considered through a sticky digit.
+     */
+    private static long fmaFiniteAligned(final long signP, final int expP, final long hi, final long lo,
+                                         final long signC, final int expC, final long coeffC,
+                                         final long a, final long b,
+                                         final UnpackedDecimal64 unpackedA, final UnpackedDecimal64 unpackedB,
+                                         final Attributes attributes, final UnpackedDecimal64 target) {
+        final int digitsP = hi != 0 ? 16 + Pow.numberOfDigits(hi) : Pow.numberOfDigits(lo);
+        final int digitsC = Pow.numberOfDigits(coeffC);
+        if (digitsP == 0 & digitsC == 0) {
+            final long sign = signP == signC ? signP : Add.zeroSumSign(attributes);
+            return Rounding.round(sign, Math.min(expP, expC), 0, Remainder.ZERO, FMA, a, b, unpackedA, unpackedB, attributes, target);
+        }
+        final int top = digitsP == 0 ? expC + digitsC : digitsC == 0 ? expP + digitsP :
+                Math.max(expP + digitsP, expC + digitsC);
+        final int exp = Math.max(Math.min(expP, expC), top - WINDOW_DIGITS);
+        long p2 = 0, p1 = 0, p0 = 0, c2 = 0, c1 = 0, c0 = 0;
+        boolean stickyP = false, stickyC = false;
+        if (digitsP != 0) {
+            final int shift = expP - exp;
+            p2 = slice(hi, lo, 32 - shift);
+            p1 = slice(hi, lo, 16 - shift);
+            p0 = slice(hi, lo, -shift);
+            stickyP = shift < 0 && isRemainderNonZero(hi, lo, -shift);
+        }
+        if (digitsC != 0) {
+            final int shift = expC - exp;
+            c2 = slice(0, coeffC, 32 - shift);
+            c1 = slice(0, coeffC, 16 - shift);
+            c0 = slice(0, coeffC, -shift);
+            stickyC = shift < 0 && isRemainderNonZero(0, coeffC, -shift);
+        }
+        final boolean sticky = stickyP | stickyC;
+        final long sign;
+        long w2, w1, w0;
+        if (signP == signC) {
+            sign = signP;
+            w0 = p0 + c0;
+            w1 = p1 + c1;
+            w2 = p2 + c2;
+            if (w0 >= TEN_POW_16) {
+                w0 -= TEN_POW_16;
+                w1++;
+            }
+            if (w1 >= TEN_POW_16) {
+                w1 -= TEN_POW_16;
+                w2++;
+            }
+        } else {
+            //subtract the smaller from the larger summand, a sticky digit always belongs to the smaller one
+            final boolean productIsLarger = stickyC | (!stickyP & (p2 != c2 ? p2 > c2 : p1 != c1 ? p1 > c1 : p0 >= c0));
+            if (productIsLarger) {
+                sign = signP;
+                w0 = p0 - c0;
+                w1 = p1 - c1;
+                w2 = p2 - c2;
+            } else {
+                sign = signC;
+                w0 = c0 - p0;
+                w1 = c1 - p1;
+                w2 = c2 - p2;
+            }
+            if (sticky) {
+                //borrow one unit for the truncated digits of the subtrahend
+                w0--;
+            }
+            if (w0 < 0) {
+                w0 += TEN_POW_16;
+                w1--;
+            }
+            if (w1 < 0) {
+                w1 += TEN_POW_16;
+                w2--;
+            }
+            if ((w2 | w1 | w0) == 0 & !sticky) {
+                return Rounding.round(Add.zeroSumSign(attributes), exp, 0, Remainder.ZERO, FMA, a, b, unpackedA, unpackedB, attributes, target);
+            }
+        }
+        if (w2 == 0) {
+            //no sticky digit here since the window is filled with at least 46 digits in that case
+            return Rounding.round(sign, exp, w1, w0, Remainder.ZERO, FMA, a, b, unpackedA, unpackedB, attributes, target);
+        }
+        final Remainder tail = Remainder.ofPow10(w0, 16).withTail(sticky);
+        return Rounding.round(sign, exp + 16, w2, w1, tail, FMA, a, b, unpackedA, unpackedB, attributes, target);
+    }
+
+    /**
+     * Returns 16 digits of {@code hi*10^16 + lo} starting at the given digit position: the value is divided by
+     * {@code 10^from} if from is non-negative, or multiplied by {@code 10^-from} otherwise, and the result is
+     * taken modulo {@code 10^16}.
+     */
+    private static long slice(final long hi, final long lo, final int from) {
+        if (from >= 32 | from <= -16) {
+            return 0;
+        }
+        if (from >= 16) {
+            return hi / Pow.pow10(from - 16);
+        }
+        if (from >= 0) {
+            return (hi % Pow.pow10(from)) * Pow.pow10(16 - from) + lo / Pow.pow10(from);
+        }
+        return (lo % Pow.pow10(16 + from)) * Pow.pow10(-from);
+    }
+
+    /**
+     * Returns true if {@code hi*10^16 + lo} is not divisible by {@code 10^n}.
+     */
+    private static boolean isRemainderNonZero(final long hi, final long lo, final int n) {
+        if (n >= 32) {
+            return (hi | lo) != 0;
+        }
+        if (n >= 16) {
+            return lo != 0 | hi % Pow.pow10(n - 16) != 0;
+        }
+        return lo % Pow.pow10(n) != 0;
+    }
+}
@@ -0,0 +1,364 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.decimal4j.dfloat.dpd.Digit;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal64;
+
+/**
+ * Converts 64 bit decimal floats to strings as defined by the to-scientific-string operation of the General Decimal
+ * Arithmetic specification, which is also the format of {@link java.math.BigDecimal#toString()}, or to plain
+ * strings without exponent as produced by {@link java.math.BigDecimal#toPlainString()}. Special values are written
+ * as Infinity, NaN or sNaN, with the payload digits of NaN values if non-zero.
+ * <p>
+ * The digits are written directly from the DPD encoding into the target without thread locals or intermediate
+ * arrays; all methods writing to a target return the number of written characters. Byte targets receive ASCII
+ * characters and must have room for them, use {@link #MAX_SCIENTIFIC_STRING_LENGTH}, {@link #MAX_PLAIN_STRING_LENGTH}
+ * or the length methods to size them.
+ */
+public final class Format {
+
+    public static final int MAX_SCIENTIFIC_STRING_LENGTH = Decimal64.MAX_STRING_LENGTH;
+    /** length of -0.000...0001234567890123456 with 398 fraction digits */
+    public static final int MAX_PLAIN_STRING_LENGTH = 3 + Decimal64.EXPONENT_BIAS;
+
+    /** adjusted exponent below which the scientific string uses exponential notation */
+    private static final int MIN_PLAIN_ADJUSTED_EXPONENT = -6;
+
+    private Format() {
+        throw new RuntimeException("No Format for you!");
+    }
+
+    public static String toScientificString(final long a) {
+        final StringBuilder sb = new StringBuilder(length(a, true));
+        append(a, true, sb);
+        return sb.toString();
+    }
+    public static int toScientificString(final long a, final byte[] bytes, final int offset) {
+        return write(a, true, bytes, offset);
+    }
+
+    /**
+     * Writes the scientific string at the position of the buffer and advances the position past it.
+     */
+    public static int toScientificString(final long a, final ByteBuffer buffer) {
+        return put(a, true, buffer);
+    }
+    public static int toScientificString(final long a, final StringBuilder stringBuilder) {
+        return append(a, true, stringBuilder);
+    }
+    public static int toScientificString(final long a, final Appendable appendable) throws IOException {
+        return append(a, true, appendable);
+    }
+    public static int scientificStringLength(final long a) {
+        return length(a, true);
+    }
+
+    public static String toPlainString(final long a) {
+        final StringBuilder sb = new StringBuilder(length(a, false));
+        append(a, false, sb);
+        return sb.toString();
+    }
+    public static int toPlainString(final long a, final byte[] bytes, final int offset) {
+        return write(a, false, bytes, offset);
+    }
+
+    /**
+     * Writes the plain string at the position of the buffer and advances the position past it.
+     */
+    public static int toPlainString(final long a, final ByteBuffer buffer) {
+        return put(a, false, buffer);
+    }
+    public static int toPlainString(final long a, final StringBuilder stringBuilder) {
+        return append(a, false, stringBuilder);
+    }
+    public static int toPlainString(final long a, final Appendable appendable) throws IOException {
+        return append(a, false, appendable);
+    }
+    public static int plainStringLength(final long a) {
+        return length(a, false);
+    }
+
+    private static int length(final long a, final boolean scientific) {
+        final int sign = a < 0 ? 1 : 0;
+        if (!Decimal64.isFinite(a)) {
+            return sign + specialName(a).length() + payloadDigits(a);
+        }
+        final int msd = Decimal64.getCombinationMSD(a);
+        final int digits = digits(msd, a);
+        final int exp = Decimal64.getExponent(a);
+        if (isExponential(digits, exp, scientific)) {
+            final int adjusted = Math.abs(exp + digits - 1);
+            return sign + digits + (digits > 1 ? 1 : 0) + 2 + (adjusted >= 100 ? 3 : adjusted >= 10 ? 2 : 1);
+        }
+        final int point = digits + exp;
+        return sign + digits + (point <= 0 ? 2 - point : point < digits ? 1 : 0) + trailingZeros(msd, a, exp);
+    }
+
+    private static int write(final long a, final boolean scientific, final byte[] bytes, final int offset) {
+        int index = offset;
+        if (a < 0) {
+            bytes[index++] = '-';
+        }
+        if (!Decimal64.isFinite(a)) {
+            final String name = specialName(a);
+            for (int i = 0; i < name.length(); i++) {
+                bytes[index++] = (byte)name.charAt(i);
+            }
+            final int digits = payloadDigits(a);
+            for (int i = 0; i < digits; i++) {
+                bytes[index++] = (byte)digit(0, a, digits, i);
+            }
+            return index - offset;
+        }
+        final int msd = Decimal64.getCombinationMSD(a);
+        final int digits = digits(msd, a);
+        final int exp = Decimal64.getExponent(a);
+        final boolean exponential = isExponential(digits, exp, scientific);
+        final int point = exponential ? 1 : digits + exp;
+        if (point <= 0) {
+            bytes[index++] = '0';
+            bytes[index++] = '.';
+            for (int i = point; i < 0; i++) {
+                bytes[index++] = '0';
+            }
+        }
+        for (int i = 0; i < digits; i++) {
+            if (i == point & point > 0) {
+                bytes[index++] = '.';
+            }
+            bytes[index++] = (byte)digit(msd, a, digits, i);
+        }
+        if (exponential) {
+            final int adjusted = exp + digits - 1;
+            bytes[index++] = 'E';
+            bytes[index++] = (byte)(adjusted < 0 ? '-' : '+');
+            final int abs = Math.abs(adjusted);
+            if (abs >= 100) {
+                bytes[index++] = (byte)('0' + abs / 100);
+            }
+            if (abs >= 10) {
+                bytes[index++] = (byte)('0' + (abs / 10) % 10);
+            }
+            bytes[index++] = (byte)('0' + abs % 10);
+        } else {
+            final int zeros = trailingZeros(msd, a, exp);
+            for (int i = 0; i < zeros; i++) {
+                bytes[index++] = '0';
+            }
+        }
+        return index - offset;
+    }
+
+    private static int put(final long a, final boolean scientific, final ByteBuffer buffer) {
+        final int position = buffer.position();
+        if (a < 0) {
+            buffer.put((byte)'-');
+        }
+        if (!Decimal64.isFinite(a)) {
+            final String name = specialName(a);
+            for (int i = 0; i < name.length(); i++) {
+                buffer.put((byte)name.charAt(i));
+            }
+            final int digits = payloadDigits(a);
+            for (int i = 0; i < digits; i++) {
+                buffer.put((byte)digit(0, a, digits, i));
+            }
+            return buffer.position() - position;
+        }
+        final int msd = Decimal64.getCombinationMSD(a);
+        final int digits = digits(msd, a);
+        final int exp = Decimal64.getExponent(a);
+        final boolean exponential = isExponential(digits, exp, scientific);
+        final int point = exponential ? 1 : digits + exp;
+        if (point <= 0) {
+            buffer.put((byte)'0');
+            buffer.put((byte)'.');
+            for (int i = point; i < 0; i++) {
+                buffer.put((byte)'0');
+            }
+        }
+        for (int i = 0; i < digits; i++) {
+            if (i == point & point > 0) {
+                buffer.put((byte)'.');
+            }
+            buffer.put((byte)digit(msd, a, digits, i));
+        }
+        if (exponential) {
+            final int adjusted = exp + digits - 1;
+            buffer.put((byte)'E');
+            buffer.put((byte)(adjusted < 0 ? '-' : '+'));
+            final int abs = Math.abs(adjusted);
+            if (abs >= 100) {
+                buffer.put((byte)('0' + abs / 100));
+            }
+            if (abs >= 10) {
+                buffer.put((byte)('0' + (abs / 10) % 10));
+            }
+            buffer.put((byte)('0' + abs % 10));
+        } else {
+            final int zeros = trailingZeros(msd, a, exp);
+            for (int i = 0; i < zeros; i++) {
+                buffer.put((byte)'0');
+            }
+        }
+        return buffer.position() - position;
+    }
+
+    private static int append(final long a, final boolean scientific, final StringBuilder sb) {
+        final int length = sb.length();
+        if (a < 0) {
+            sb.append('-');
+        }
+        if (!Decimal64.isFinite(a)) {
+            sb.append(specialName(a));
+            final int digits = payloadDigits(a);
+            for (int i = 0; i < digits; i++) {
+                sb.append(digit(0, a, digits, i));
+            }
+            return sb.length() - length;
+        }
+        final int msd = Decimal64.getCombinationMSD(a);
+        final int digits = digits(msd, a);
+        final int exp = Decimal64.getExponent(a);
+        final boolean exponential = isExponential(digits, exp, scientific);
+        final int point = exponential ? 1 : digits + exp;
+        if (point <= 0) {
+            sb.append('0').append('.');
+            for (int i = point; i < 0; i++) {
+                sb.append('0');
+            }
+        }
+        for (int i = 0; i < digits; i++) {
+            if (i == point & point > 0) {
+                sb.append('.');
+            }
+            sb.append(digit(msd, a, digits, i));
+        }
+        if (exponential) {
+            final int adjusted = exp + digits - 1;
+            sb.append('E').append(adjusted < 0 ? '-' : '+').append(Math.abs(adjusted));
+        } else {
+            final int zeros = trailingZeros(msd, a, exp);
+            for (int i = 0; i < zeros; i++) {
+                sb.append('0');
+            }
+        }
+        return sb.length() - length;
+    }
+
+    private static int append(final long a, final boolean scientific, final Appendable appendable) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            return append(a, scientific, (StringBuilder)appendable);
+        }
+        int length = 0;
+        if (a < 0) {
+            appendable.append('-');
+            length++;
+        }
+        if (!Decimal64.isFinite(a)) {
+            final String name = specialName(a);
+            appendable.append(name);
+            final int digits = payloadDigits(a);
+            for (int i = 0; i < digits; i++) {
+                appendable.append(digit(0, a, digits, i));
+            }
+            return length + name.length() + digits;
+        }
+        final int msd = Decimal64.getCombinationMSD(a);
+        final int digits = digits(msd, a);
+        final int exp = Decimal64.getExponent(a);
+        final boolean exponential = isExponential(digits, exp, scientific);
+        final int point = exponential ? 1 : digits + exp;
+        if (point <= 0) {
+            appendable.append('0').append('.');
+            for (int i = point; i < 0; i++) {
+                appendable.append('0');
+            }
+            length += 2 - point;
+        }
+        for (int i = 0; i < digits; i++) {
+            if (i == point & point > 0) {
+                appendable.append('.');
+                length++;
+            }
+            appendable.append(digit(msd, a, digits, i));
+        }
+        length += digits;
+        if (exponential) {
+            final int adjusted = exp + digits - 1;
+            final int abs = Math.abs(adjusted);
+            appendable.append('E').append(adjusted < 0 ? '-' : '+');
+            if (abs >= 100) {
+                appendable.append((char)('0' + abs / 100));
+                length++;
+            }
+            if (abs >= 10) {
+                appendable.append((char)('0' + (abs / 10) % 10));
+                length++;
+            }
+            appendable.append((char)('0' + abs % 10));
+            length += 3;
+        } else {
+            final int zeros = trailingZeros(msd, a, exp);
+            for (int i = 0; i < zeros; i++) {
+                appendable.append('0');
+            }
+            length += zeros;
+        }
+        return length;
+    }
+
+    //number of coefficient digits without leading zeros, one for zero
+    private static int digits(final int msd, final long a) {
+        return msd != 0 ? Decimal64.MAX_PRECISION : Math.max(1, Decimal64.MAX_PRECISION - 1 - Dpd.numberOfLeadingZeros(a));
+    }
+
+    //i-th of the given number of least significant coefficient digits, most significant first
+    private static char digit(final int msd, final long a, final int digits, final int i) {
+        final int index = Decimal64.MAX_PRECISION - digits + i;
+        return index == 0 ? (char)('0' + msd) : Digit.dpdToCharDigit(a, index - 1);
+    }
+
+    private static boolean isExponential(final int digits, final int exp, final boolean scientific) {
+        return scientific & (exp > 0 | exp + digits - 1 < MIN_PLAIN_ADJUSTED_EXPONENT);
+    }
+
+    //zeros appended to the coefficient in plain notation, none for zero like BigDecimal.toPlainString()
+    private static int trailingZeros(final int msd, final long a, final int exp) {
+        return exp > 0 & (msd != 0 | !Dpd.isZero(a)) ? exp : 0;
+    }
+
+    private static String specialName(final long a) {
+        return Decimal64.isInfinite(a) ? "Infinity" : Decimal64.isSignalingNaN(a) ? "sNaN" : "NaN";
+    }
+
+    private static int payloadDigits(final long a) {
+        return Decimal64.isNaN(a) ? Decimal64.MAX_PRECISION - 1 - Dpd.numberOfLeadingZeros(a) : 0;
+    }
+}
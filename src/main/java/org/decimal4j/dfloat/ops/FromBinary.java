@@ -0,0 +1,369 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+
+import static org.decimal4j.dfloat.ops.BinaryPow10.MASK_63;
+import static org.decimal4j.dfloat.ops.BinaryPow10.compareExact;
+import static org.decimal4j.dfloat.ops.BinaryPow10.flog10pow2;
+import static org.decimal4j.dfloat.ops.BinaryPow10.flog10threeQuartersPow2;
+import static org.decimal4j.dfloat.ops.BinaryPow10.flog2pow10;
+import static org.decimal4j.dfloat.ops.BinaryPow10.g0;
+import static org.decimal4j.dfloat.ops.BinaryPow10.g1;
+import static org.decimal4j.dfloat.ops.BinaryPow10.multiplyHigh;
+
+/**
+ * Conversions from binary {@code double} and {@code float} values to decimal 64 values.
+ * <p>
+ * {@link #fromDouble(double)} and {@link #fromFloat(float)} return the shortest decimal that converts back to the
+ * same binary value, for instance 0.1 and not 0.1000000000000000055511151231257827 for the double closest to 0.1.
+ * The digits are computed with R. Giulietti's Schubfach algorithm which picks the decimal closest to the binary
+ * value if several shortest decimals exist. Trailing zeros are dropped and integral values up to 16 digits get
+ * exponent 0. A double whose shortest decimal has 17 digits is rounded to 16 digits as in the exact conversion.
+ * <p>
+ * {@link #fromDoubleExact(double)} and {@link #fromFloatExact(float)} round the exact binary value to 16 digits,
+ * for instance to 0.1000000000000000 for the double closest to 0.1, and signal an inexact result if digits are
+ * lost. Exact results are reduced like those of the shortest conversion.
+ * <p>
+ * NaN values become quiet NaN values without payload, infinities and zeros keep their sign. No conversion can
+ * overflow or underflow.
+ */
+public final class FromBinary {
+
+    private static final String FROM_DOUBLE = "fromDouble";
+    private static final String FROM_DOUBLE_EXACT = "fromDoubleExact";
+    private static final String FROM_FLOAT_EXACT = "fromFloatExact";
+
+    private static final long TEN_POW_8 = 100000000L;
+    private static final long TEN_POW_15 = 1000000000000000L;
+    private static final long TEN_POW_16 = 10000000000000000L;
+
+    //binary64 precision, significand without hidden bit, minimum exponent and hidden bit
+    private static final int DOUBLE_P = 53;
+    private static final long DOUBLE_T_MASK = (1L << (DOUBLE_P - 1)) - 1;
+    private static final int DOUBLE_BQ_MASK = 0x7ff;
+    private static final int DOUBLE_Q_MIN = -1074;
+    private static final long DOUBLE_C_MIN = 1L << (DOUBLE_P - 1);
+    //subnormal significands below this have too few digits and are scaled by 10
+    private static final long DOUBLE_C_TINY = 3;
+
+    //binary32 counterparts
+    private static final int FLOAT_P = 24;
+    private static final int FLOAT_T_MASK = (1 << (FLOAT_P - 1)) - 1;
+    private static final int FLOAT_BQ_MASK = 0xff;
+    private static final int FLOAT_Q_MIN = -149;
+    private static final long FLOAT_C_MIN = 1L << (FLOAT_P - 1);
+    private static final long FLOAT_C_TINY = 8;
+
+    private FromBinary() {
+        throw new RuntimeException("No FromBinary for you!");
+    }
+
+    public static long fromDouble(final double value) {
+        return fromDouble(value, Attributes.DEFAULT);
+    }
+    public static long fromDouble(final double value, final RoundingDirection roundingDirection) {
+        return fromDouble(value, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the shortest decimal that converts back to the given double value. The result is exact in this sense
+     * unless 17 digits are needed, in which case the double value is rounded to 16 digits as in
+     * {@link #fromDoubleExact(double, Attributes)}.
+     *
+     * @param value         the value to convert
+     * @param attributes    the attributes with rounding direction and exception handling for 17 digit values
+     * @return the decimal float value
+     */
+    public static long fromDouble(final double value, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        final long bits = Double.doubleToRawLongBits(value);
+        final long sign = bits & Decimal64.SIGN_BIT_MASK;
+        final long t = bits & DOUBLE_T_MASK;
+        final int bq = (int) (bits >>> (DOUBLE_P - 1)) & DOUBLE_BQ_MASK;
+        if (bq == DOUBLE_BQ_MASK) {
+            return special(sign, t != 0);
+        }
+        if (bq != 0) {
+            final int mq = -DOUBLE_Q_MIN + 1 - bq;
+            final long c = DOUBLE_C_MIN | t;
+            //integers below 2^53 are exact
+            if (0 < mq & mq < DOUBLE_P) {
+                final long f = c >> mq;
+                if (f << mq == c) {
+                    return Decimal64.encodeCoefficient(sign, 0, f);
+                }
+            }
+            return shortest(sign, -mq, c, 0, DOUBLE_C_MIN, DOUBLE_Q_MIN, value, attributes);
+        }
+        if (t != 0) {
+            return t < DOUBLE_C_TINY
+                    ? shortest(sign, DOUBLE_Q_MIN, 10 * t, -1, DOUBLE_C_MIN, DOUBLE_Q_MIN, value, attributes)
+                    : shortest(sign, DOUBLE_Q_MIN, t, 0, DOUBLE_C_MIN, DOUBLE_Q_MIN, value, attributes);
+        }
+        return Decimal64.zero(sign, 0);
+    }
+
+    /**
+     * Returns the shortest decimal that converts back to the given float value. The shortest decimal of a float
+     * value has at most 9 digits, hence the conversion is always exact in this sense.
+     *
+     * @param value the value to convert
+     * @return the decimal float value
+     */
+    public static long fromFloat(final float value) {
+        final int bits = Float.floatToRawIntBits(value);
+        final long sign = bits < 0 ? Decimal64.SIGN_BIT_MASK : 0;
+        final long t = bits & FLOAT_T_MASK;
+        final int bq = (bits >>> (FLOAT_P - 1)) & FLOAT_BQ_MASK;
+        if (bq == FLOAT_BQ_MASK) {
+            return special(sign, t != 0);
+        }
+        if (bq != 0) {
+            final int mq = -FLOAT_Q_MIN + 1 - bq;
+            final long c = FLOAT_C_MIN | t;
+            if (0 < mq & mq < FLOAT_P) {
+                final long f = c >> mq;
+                if (f << mq == c) {
+                    return Decimal64.encodeCoefficient(sign, 0, f);
+                }
+            }
+            return shortest(sign, -mq, c, 0, FLOAT_C_MIN, FLOAT_Q_MIN, value, Attributes.DEFAULT);
+        }
+        if (t != 0) {
+            return t < FLOAT_C_TINY
+                    ? shortest(sign, FLOAT_Q_MIN, 10 * t, -1, FLOAT_C_MIN, FLOAT_Q_MIN, value, Attributes.DEFAULT)
+                    : shortest(sign, FLOAT_Q_MIN, t, 0, FLOAT_C_MIN, FLOAT_Q_MIN, value, Attributes.DEFAULT);
+        }
+        return Decimal64.zero(sign, 0);
+    }
+
+    public static long fromDoubleExact(final double value) {
+        return fromDoubleExact(value, Attributes.DEFAULT);
+    }
+    public static long fromDoubleExact(final double value, final RoundingDirection roundingDirection) {
+        return fromDoubleExact(value, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the exact binary value of the given double rounded to 16 digits.
+     *
+     * @param value         the value to convert
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @return the decimal float value
+     */
+    public static long fromDoubleExact(final double value, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return exact(value, FROM_DOUBLE_EXACT, attributes);
+    }
+
+    public static long fromFloatExact(final float value) {
+        return fromFloatExact(value, Attributes.DEFAULT);
+    }
+    public static long fromFloatExact(final float value, final RoundingDirection roundingDirection) {
+        return fromFloatExact(value, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the exact binary value of the given float rounded to 16 digits.
+     *
+     * @param value         the value to convert
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @return the decimal float value
+     */
+    public static long fromFloatExact(final float value, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        //widening to double is exact
+        return exact(value, FROM_FLOAT_EXACT, attributes);
+    }
+
+    private static long special(final long sign, final boolean nan) {
+        return sign | (nan ? Decimal64.NAN : Decimal64.INF);
+    }
+
+    /**
+     * Schubfach: finds the shortest decimal in the rounding interval of the binary value {@code c * 2^q}, see
+     * R. Giulietti, "The Schubfach way to render doubles", 2020, and {@code DoubleToDecimal} of JDK 19.
+     *
+     * @param dk    -1 if c was scaled by 10 because it has too few digits, 0 otherwise
+     * @param value the original value, rounded instead if the shortest decimal has 17 digits
+     */
+    private static long shortest(final long sign, final int q, final long c, final int dk,
+                                 final long cMin, final int qMin, final double value,
+                                 final Attributes attributes) {
+        final int out = (int) c & 0x1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        //the interval is asymmetric for the smallest significand of a binade
+        if (c != cMin | q == qMin) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        final int h = q + flog2pow10(-k) + 2;
+        final long g1 = g1(k);
+        final long g0 = g0(k);
+        //the value and the interval bounds times 4 * 10^-k, with a sticky bit
+        final long vb = rop(g1, g0, cb << h);
+        final long vbl = rop(g1, g0, cbl << h);
+        final long vbr = rop(g1, g0, cbr << h);
+        final long s = vb >> 2;
+        if (s >= 100) {
+            //try one digit less first: s' = floor(s / 10)
+            final long sp10 = 10 * multiplyHigh(s, 115292150460684698L << 4);
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return decimal(sign, upin ? sp10 : tp10, k, value, attributes);
+            }
+        }
+        final long t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return decimal(sign, uin ? s : t, k + dk, value, attributes);
+        }
+        //both in the interval: the closer one, or the even one if both are equally close
+        final long cmp = vb - (s + t << 1);
+        return decimal(sign, cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, value, attributes);
+    }
+
+    //returns floor(g * cp / 2^127) with the lowest bit set if the product is not exact
+    private static long rop(final long g1, final long g0, final long cp) {
+        final long x1 = multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    private static long decimal(final long sign, final long f, final int e, final double value,
+                                final Attributes attributes) {
+        if (f >= TEN_POW_16 && f % 10 != 0) {
+            return exact(value, FROM_DOUBLE, attributes);
+        }
+        return reduced(sign, f, e);
+    }
+
+    //encodes the non-zero exact value f * 10^e without trailing zeros, or with exponent 0 if it is an integer
+    private static long reduced(final long sign, long f, int e) {
+        while (f % TEN_POW_8 == 0) {
+            f /= TEN_POW_8;
+            e += 8;
+        }
+        if (f % 10000 == 0) {
+            f /= 10000;
+            e += 4;
+        }
+        if (f % 100 == 0) {
+            f /= 100;
+            e += 2;
+        }
+        if (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        if (e > 0 & e < Decimal64.MAX_PRECISION) {
+            final long pow10 = Pow.pow10(e);
+            if (f < TEN_POW_16 / pow10) {
+                return Decimal64.encodeCoefficient(sign, 0, f * pow10);
+            }
+        }
+        return Decimal64.encodeCoefficient(sign, e, f);
+    }
+
+    //rounds the exact binary value to 16 digits
+    private static long exact(final double value, final String operation, final Attributes attributes) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final long sign = bits & Decimal64.SIGN_BIT_MASK;
+        final long t = bits & DOUBLE_T_MASK;
+        final int bq = (int) (bits >>> (DOUBLE_P - 1)) & DOUBLE_BQ_MASK;
+        if (bq == DOUBLE_BQ_MASK) {
+            return special(sign, t != 0);
+        }
+        if (bq == 0 & t == 0) {
+            return Decimal64.zero(sign, 0);
+        }
+        final long c = bq != 0 ? DOUBLE_C_MIN | t : t;
+        final int q = bq != 0 ? bq + DOUBLE_Q_MIN - 1 : DOUBLE_Q_MIN;
+        //normalize to 63 bits, the value is x * 2^p
+        final int n = Long.numberOfLeadingZeros(c) - 1;
+        final long x = c << n;
+        final int p = q - n;
+        //x * 2^p < 10^(e + 16)
+        int e = flog10pow2(p + 63) - 15;
+        while (true) {
+            //x * 2^p * 10^-e * 2^64 = x * g * 2^(p + r + 64) = (x * g / 2^63) / 2^shift
+            final int r = flog2pow10(-e) - 125;
+            final int shift = -(p + r + 127);
+            final long g1 = g1(e);
+            final long g0 = g0(e);
+            final long lo1 = x * g1;
+            final long lo0 = x * g0;
+            final long b = (multiplyHigh(x, g0) << 1) | (lo0 >>> 63);
+            final long lo = lo1 + b;
+            final long hi = multiplyHigh(x, g1) + (((lo1 & b) | ((lo1 | b) & ~lo)) >>> 63);
+            //integral part and 64 fraction bits, overestimated by less than 2^-7 units of the last fraction bit
+            final long integral = hi >>> shift;
+            final long fraction = (hi << (64 - shift)) | (lo >>> shift);
+            final long coefficient;
+            final Remainder remainder;
+            if (((fraction + 2) >>> 2) == 0) {
+                //close to an integer, compare 2 * x * 2^p with 2 * boundary * 10^e
+                final long boundary = integral + (fraction < 0 ? 1 : 0);
+                final int cmp = compareExact(x, boundary << 1, e - p - 1, e);
+                coefficient = cmp < 0 ? boundary - 1 : boundary;
+                remainder = cmp < 0 ? Remainder.GREATER_THAN_HALF
+                        : cmp > 0 ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF : Remainder.ZERO;
+            } else if ((((fraction ^ Long.MIN_VALUE) + 2) >>> 2) == 0) {
+                //close to a half
+                final int cmp = compareExact(x, (integral << 1) + 1, e - p - 1, e);
+                coefficient = integral;
+                remainder = cmp < 0 ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF
+                        : cmp > 0 ? Remainder.GREATER_THAN_HALF : Remainder.EQUAL_TO_HALF;
+            } else {
+                coefficient = integral;
+                remainder = fraction < 0 ? Remainder.GREATER_THAN_HALF : Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+            }
+            if (coefficient < TEN_POW_15) {
+                e--;
+                continue;
+            }
+            if (remainder == Remainder.ZERO) {
+                return reduced(sign, coefficient, e);
+            }
+            return Rounding.round(sign, e, coefficient, remainder, operation, 0, 0, attributes);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.dpd.Rem;
+import org.decimal4j.dfloat.dpd.Shift;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+import static org.decimal4j.dfloat.ops.Sign.copySignToPositive;
+
+/**
+ * Rounding to integral values: the roundToIntegral operations returning a decimal float value with exponent
+ * zero and the convertToInteger operations returning a long value. The fraction digits are dropped directly
+ * from the DPD encoded coefficient.
+ */
+public final class Integral {
+
+    private static final String ROUND_TO_INTEGRAL_EXACT = "roundToIntegralExact";
+    private static final String CONVERT_TO_INTEGER = "convertToInteger";
+    private static final String CONVERT_TO_INTEGER_EXACT = "convertToIntegerExact";
+
+    //Long.MAX_VALUE / 10^n for n=0..18
+    private static final long[] MAX_COEFFICIENT = new long[19];
+    static {
+        for (int n = 0; n < MAX_COEFFICIENT.length; n++) {
+            MAX_COEFFICIENT[n] = Long.MAX_VALUE / Pow.pow10(n);
+        }
+    }
+
+    private Integral() {
+        throw new RuntimeException("No Integral for you!");
+    }
+
+    public static long roundToIntegralTiesToEven(final long x) {
+        return roundToIntegral(x, RoundingDirection.NearestTiesToEven);
+    }
+    public static long roundToIntegralTiesToAway(final long x) {
+        return roundToIntegral(x, RoundingDirection.NearestTiesToAway);
+    }
+    public static long roundToIntegralTowardZero(final long x) {
+        return roundToIntegral(x, RoundingDirection.TowardZero);
+    }
+    public static long roundToIntegralTowardPositive(final long x) {
+        return roundToIntegral(x, RoundingDirection.TowardPositive);
+    }
+    public static long roundToIntegralTowardNegative(final long x) {
+        return roundToIntegral(x, RoundingDirection.TowardNegative);
+    }
+
+    /**
+     * Returns x rounded to an integral value using the given rounding direction. Values with a non-negative
+     * exponent are returned unchanged, all other values are returned with exponent zero. No flags are raised.
+     */
+    public static long roundToIntegral(final long x, final RoundingDirection roundingDirection) {
+        if (Decimal64.isFinite(x)) {
+            final int exp = Decimal64.getExponent(x);
+            final int msd = Decimal64.getCombinationMSD(x);
+            if (exp >= 0) {
+                return Decimal64.encode(x, exp, msd, Dpd.canonicalize(x));
+            }
+            final int n = -exp;
+            final long shifted = Shift.shiftRight(msd, x, n);
+            final Remainder remainder = Rem.remainderOfCoefficient(msd, x, n);
+            final int inc = remainder == Remainder.ZERO ? 0 : roundingDirection.getRoundingIncrement(x, Rem.mod10(shifted), remainder);
+            final long dpd = inc == 0 ? shifted : Dpd.inc(shifted);
+            return Decimal64.encode(x, 0, (int)(dpd >>> 50), dpd);
+        }
+        return nonFinite(x);
+    }
+
+    /**
+     * Returns x rounded to an integral value using the decimal rounding direction of the given attributes.
+     * Inexact is signalled if the result differs from x in value.
+     */
+    public static long roundToIntegralExact(final long x) {
+        return roundToIntegralExact(x, Attributes.DEFAULT);
+    }
+    public static long roundToIntegralExact(final long x, final RoundingDirection roundingDirection) {
+        return roundToIntegralExact(x, roundingDirection.asAttributes());
+    }
+    public static long roundToIntegralExact(final long x, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64.isFinite(x)) {
+            final int exp = Decimal64.getExponent(x);
+            if (exp >= 0) {
+                return Decimal64.encode(x, exp, Decimal64.getCombinationMSD(x), Dpd.canonicalize(x));
+            }
+            return Quantum.quantizeFinite(x, 0, ROUND_TO_INTEGRAL_EXACT, 0, attributes);
+        }
+        return nonFinite(x);
+    }
+
+    public static long convertToIntegerTiesToEven(final long x) {
+        return convertToInteger(x, RoundingDirection.NearestTiesToEven);
+    }
+    public static long convertToIntegerTiesToAway(final long x) {
+        return convertToInteger(x, RoundingDirection.NearestTiesToAway);
+    }
+    public static long convertToIntegerTowardZero(final long x) {
+        return convertToInteger(x, RoundingDirection.TowardZero);
+    }
+    public static long convertToIntegerTowardPositive(final long x) {
+        return convertToInteger(x, RoundingDirection.TowardPositive);
+    }
+    public static long convertToIntegerTowardNegative(final long x) {
+        return convertToInteger(x, RoundingDirection.TowardNegative);
+    }
+
+    /**
+     * Returns x rounded to a long value. InvalidOperation is signalled if x is NaN, infinite or outside of the
+     * long range; the result is then 0 for NaN and otherwise {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE}
+     * depending on the sign of x, as for the conversion of a double to a long.
+     */
+    public static long convertToInteger(final long x, final RoundingDirection roundingDirection) {
+        return convertToInteger(x, roundingDirection.asAttributes());
+    }
+    public static long convertToInteger(final long x, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return convert(x, CONVERT_TO_INTEGER, false, attributes);
+    }
+
+    /**
+     * Returns x rounded to a long value as per {@link #convertToInteger(long, Attributes)}, and also signals
+     * Inexact if the result differs from x in value.
+     */
+    public static long convertToIntegerExact(final long x) {
+        return convertToIntegerExact(x, Attributes.DEFAULT);
+    }
+    public static long convertToIntegerExact(final long x, final RoundingDirection roundingDirection) {
+        return convertToIntegerExact(x, roundingDirection.asAttributes());
+    }
+    public static long convertToIntegerExact(final long x, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return convert(x, CONVERT_TO_INTEGER_EXACT, true, attributes);
+    }
+
+    private static long convert(final long x, final String operation, final boolean exact, final Attributes attributes) {
+        if (Decimal64.isFinite(x)) {
+            final int exp = Decimal64.getExponent(x);
+            final int msd = Decimal64.getCombinationMSD(x);
+            if (exp >= 0) {
+                if (msd == 0 && Dpd.isZero(x)) {
+                    return 0;
+                }
+                final long coeff = Decimal64.getCoefficient(x);
+                if (exp >= MAX_COEFFICIENT.length || coeff > MAX_COEFFICIENT[exp]) {
+                    return Signal.invalidOperation(operation, x, 0, x < 0 ? Long.MIN_VALUE : Long.MAX_VALUE, attributes);
+                }
+                final long value = coeff * Pow.pow10(exp);
+                return x < 0 ? -value : value;
+            }
+            //exp < 0: at most 15 integral digits, no overflow possible
+            final int n = -exp;
+            final long shifted = Shift.shiftRight(msd, x, n);
+            final Remainder remainder = Rem.remainderOfCoefficient(msd, x, n);
+            final long truncated = Dpd.dpdToLong(shifted);
+            if (remainder == Remainder.ZERO) {
+                return x < 0 ? -truncated : truncated;
+            }
+            final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
+            final long value = truncated + roundingDirection.getRoundingIncrement(x, Rem.mod10(shifted), remainder);
+            final long result = x < 0 ? -value : value;
+            return exact ? Signal.inexact(operation, x, 0, result, attributes) : result;
+        }
+        return Signal.invalidOperation(operation, x, 0, Decimal64.isNaN(x) ? 0 : x < 0 ? Long.MIN_VALUE : Long.MAX_VALUE, attributes);
+    }
+
+    private static long nonFinite(final long x) {
+        if (Decimal64.isNaN(x)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(x), x);
+        }
+        return copySignToPositive(Decimal64.INF, x);
+    }
+}
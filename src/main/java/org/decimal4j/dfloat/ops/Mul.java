@@ -0,0 +1,196 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.encode.Decimal64Bid;
+import org.decimal4j.dfloat.signal.Signal;
+
+import static org.decimal4j.dfloat.ops.Sign.copySignToPositive;
+
+public final class Mul {
+
+    private static final String MULTIPLY = "multiply";
+    private static final String MULTIPLY_BY_LONG = "multiplyByLong";
+
+    private static final long TEN_POW_8 = 100000000L;
+    private static final long TEN_POW_16 = 10000000000000000L;
+
+    private Mul() {
+        throw new RuntimeException("No Mul for you!");
+    }
+
+    public static long multiply(final long a, final long b) {
+        return multiply(a, b, Attributes.DEFAULT);
+    }
+    public static long multiply(final long a, final long b, final RoundingDirection roundingDirection) {
+        return multiply(a, b, roundingDirection.asAttributes());
+    }
+    public static long multiply(final long a, final long b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64.isFinite(a) & Decimal64.isFinite(b)) {
+            final long sign = (a ^ b) & Decimal64.SIGN_BIT_MASK;
+            final int exp = Decimal64.getExponent(a) + Decimal64.getExponent(b);
+            return multiplyFinite(sign, exp, Decimal64.getCoefficient(a), Decimal64.getCoefficient(b), MULTIPLY, a, b, attributes);
+        }
+        //at least one is NaN or Infinite
+        if (Decimal64.isNaN(a)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(a), a);
+        }
+        if (Decimal64.isNaN(b)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(b), b);
+        }
+        //at least one Infinite
+        if (Decimal64.isZero(a) | Decimal64.isZero(b)) {
+            return Signal.invalidOperation(MULTIPLY, a, b, Decimal64.NAN, attributes);
+        }
+        return copySignToPositive(Decimal64.INF, a ^ b);
+    }
+
+    public static long multiplyByLong(final long a, final long l) {
+        return multiplyByLong(a, l, Attributes.DEFAULT);
+    }
+    public static long multiplyByLong(final long a, final long l, final RoundingDirection roundingDirection) {
+        return multiplyByLong(a, l, roundingDirection.asAttributes());
+    }
+    public static long multiplyByLong(final long a, final long l, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64.isFinite(a)) {
+            final long sign = (a ^ l) & Decimal64.SIGN_BIT_MASK;
+            final int exp = Decimal64.getExponent(a);
+            final long coeff = Decimal64.getCoefficient(a);
+            if (-TEN_POW_16 < l & l < TEN_POW_16) {
+                return multiplyFinite(sign, exp, coeff, Math.abs(l), MULTIPLY_BY_LONG, a, l, attributes);
+            }
+            return multiplyFiniteByLargeLong(sign, exp, coeff, a, l, attributes);
+        }
+        if (Decimal64.isNaN(a)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(a), a);
+        }
+        //Infinite
+        if (l == 0) {
+            return Signal.invalidOperation(MULTIPLY_BY_LONG, a, l, Decimal64.NAN, attributes);
+        }
+        return copySignToPositive(Decimal64.INF, a ^ l);
+    }
+
+    private static long multiplyFinite(final long sign, final int exp, final long coeffA, final long coeffB,
+                                       final String operation, final long a, final long b,
+                                       final Attributes attributes) {
+        return multiplyFinite(sign, exp, coeffA, coeffB, operation, a, b, attributes, false);
+    }
+
+    //multiplies two binary coefficients with a single rounding, returns a DPD or BID encoded result
+    static long multiplyFinite(final long sign, final int exp, final long coeffA, final long coeffB,
+                               final String operation, final long a, final long b,
+                               final Attributes attributes, final boolean bid) {
+        return multiplyFinite(sign, exp, coeffA, coeffB, operation, a, b, null, null, attributes, bid, null);
+    }
+
+    //as above but stores the result in the target if it is not null and returns 0 in that case, see Rounding for unpacked operands
+    static long multiplyFinite(final long sign, final int exp, final long coeffA, final long coeffB,
+                               final String operation, final long a, final long b,
+                               final UnpackedDecimal64 unpackedA, final UnpackedDecimal64 unpackedB,
+                               final Attributes attributes, final boolean bid, final UnpackedDecimal64 target) {
+        //exact product of two 16 digit coefficients in two 16 digit limbs, using 8 digit halves
+        final long aHi = coeffA / TEN_POW_8;
+        final long aLo = coeffA - aHi * TEN_POW_8;
+        final long bHi = coeffB / TEN_POW_8;
+        final long bLo = coeffB - bHi * TEN_POW_8;
+        final long mid = aHi * bLo + aLo * bHi;
+        final long midHi = mid / TEN_POW_8;
+        long lo = aLo * bLo + (mid - midHi * TEN_POW_8) * TEN_POW_8;
+        long hi = aHi * bHi + midHi;
+        if (lo >= TEN_POW_16) {
+            lo -= TEN_POW_16;
+            hi++;
+        }
+        if (hi == 0 & Decimal64.MIN_EXPONENT_NOMINAL <= exp & exp <= Decimal64.MAX_EXPONENT_NOMINAL) {
+            //exact, no rounding
+            if (target != null) {
+                target.setFinite(sign, exp, lo);
+                return 0;
+            }
+            return bid ? Decimal64Bid.encode(sign, exp, lo) : Decimal64.encodeCoefficient(sign, exp, lo);
+        }
+        if (bid) {
+            return Rounding.roundBid(sign, exp, hi, lo, Remainder.ZERO, operation, a, b, attributes);
+        }
+        return Rounding.round(sign, exp, hi, lo, Remainder.ZERO, operation, a, b, unpackedA, unpackedB, attributes, target);
+    }
+
+    private static long multiplyFiniteByLargeLong(final long sign, final int exp, final long coeff,
+                                                  final long a, final long l,
+                                                  final Attributes attributes) {
+        //|l| = l1 * 10^16 + l0 with l1 <= 922
+        final long l1 = Math.abs(l / TEN_POW_16);
+        final long l0 = Math.abs(l % TEN_POW_16);
+        //coeff * l0 = h0 * 10^16 + p0
+        final long c1 = coeff / TEN_POW_8;
+        final long c0 = coeff - c1 * TEN_POW_8;
+        final long m1 = l0 / TEN_POW_8;
+        final long m0 = l0 - m1 * TEN_POW_8;
+        final long mid = c1 * m0 + c0 * m1;
+        final long midHi = mid / TEN_POW_8;
+        long p0 = c0 * m0 + (mid - midHi * TEN_POW_8) * TEN_POW_8;
+        long h0 = c1 * m1 + midHi;
+        if (p0 >= TEN_POW_16) {
+            p0 -= TEN_POW_16;
+            h0++;
+        }
+        //coeff * l1 = h1 * 10^16 + p1 with h1 <= 922
+        final long p1Hi = c1 * l1;
+        final long p1HiHi = p1Hi / TEN_POW_8;
+        long p1 = c0 * l1 + (p1Hi - p1HiHi * TEN_POW_8) * TEN_POW_8;
+        long h1 = p1HiHi;
+        if (p1 >= TEN_POW_16) {
+            final long carry = p1 / TEN_POW_16;
+            p1 -= carry * TEN_POW_16;
+            h1 += carry;
+        }
+        //product = h1 * 10^32 + (p1 + h0) * 10^16 + p0
+        long mid1 = p1 + h0;
+        if (mid1 >= TEN_POW_16) {
+            mid1 -= TEN_POW_16;
+            h1++;
+        }
+        if (h1 == 0) {
+            return Rounding.round(sign, exp, mid1, p0, Remainder.ZERO, MULTIPLY_BY_LONG, a, l, attributes);
+        }
+        //truncate k lowest digits into the tail to fit 32 digits
+        final int k = Pow.numberOfDigits(h1);
+        final long pow10 = Pow.pow10(k);
+        final long scale = Pow.pow10(16 - k);
+        final long mid1Hi = mid1 / pow10;
+        final long p0Hi = p0 / pow10;
+        final long hi = h1 * scale + mid1Hi;
+        final long lo = (mid1 - mid1Hi * pow10) * scale + p0Hi;
+        final Remainder tail = Remainder.ofPow10(p0 - p0Hi * pow10, k);
+        return Rounding.round(sign, exp + k, hi, lo, tail, MULTIPLY_BY_LONG, a, l, attributes);
+    }
+}
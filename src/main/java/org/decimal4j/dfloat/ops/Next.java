@@ -0,0 +1,157 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.dpd.Shift;
+import org.decimal4j.dfloat.encode.Decimal64;
+
+import static org.decimal4j.dfloat.ops.Sign.copySignToPositive;
+
+/**
+ * Adjacent representable values: nextUp, nextDown, nextAfter and ulp. The coefficient is normalized to 16
+ * digits and then incremented or decremented in DPD, so the result has the least possible exponent. None of
+ * the operations raise flags.
+ */
+public final class Next {
+
+    /** Smallest positive subnormal value 1E-398 */
+    private static final long MIN_SUBNORMAL = Decimal64.encode(0, Decimal64.MIN_EXPONENT_NOMINAL, 0, 1);
+
+    /** DPD encoding of the 15 digits 999999999999999 */
+    private static final long NINES = Dpd.longToDpd(999999999999999L);
+
+    private Next() {
+        throw new RuntimeException("No Next for you!");
+    }
+
+    /**
+     * Returns the least value that compares greater than x. Zero returns the smallest positive subnormal value
+     * and negative infinity returns the most negative finite value.
+     */
+    public static long nextUp(final long x) {
+        if (Decimal64.isFinite(x)) {
+            if (Decimal64.isZero(x)) {
+                return MIN_SUBNORMAL;
+            }
+            return x >= 0 ? increment(x) : decrement(x);
+        }
+        if (Decimal64.isNaN(x)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(x), x);
+        }
+        return x >= 0 ? Decimal64.INF : Decimal64.MAX_NORMAL | Decimal64.SIGN_BIT_MASK;
+    }
+
+    /**
+     * Returns the greatest value that compares less than x. Zero returns the smallest negative subnormal
+     * value and positive infinity returns the largest finite value.
+     */
+    public static long nextDown(final long x) {
+        if (Decimal64.isFinite(x)) {
+            if (Decimal64.isZero(x)) {
+                return MIN_SUBNORMAL | Decimal64.SIGN_BIT_MASK;
+            }
+            return x >= 0 ? decrement(x) : increment(x);
+        }
+        if (Decimal64.isNaN(x)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(x), x);
+        }
+        return x >= 0 ? Decimal64.MAX_NORMAL : Decimal64.INF | Decimal64.SIGN_BIT_MASK;
+    }
+
+    /**
+     * Returns the value adjacent to x in the direction of y, or y if x and y compare equal.
+     */
+    public static long nextAfter(final long x, final long y) {
+        if (Decimal64.isNaN(x)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(x), x);
+        }
+        if (Decimal64.isNaN(y)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(y), y);
+        }
+        final int cmp = Compare.compare(x, y);
+        return cmp < 0 ? nextUp(x) : cmp > 0 ? nextDown(x) : y;
+    }
+
+    /**
+     * Returns the positive distance between x and the next value larger in magnitude, that is, one unit in
+     * the last place of the 16 digit coefficient of x. Zero returns the smallest positive subnormal value and
+     * infinities return positive infinity.
+     */
+    public static long ulp(final long x) {
+        if (Decimal64.isFinite(x)) {
+            if (Decimal64.isZero(x)) {
+                return MIN_SUBNORMAL;
+            }
+            return Decimal64.encode(0, Decimal64.getExponent(x) - normalizationShift(x), 0, 1);
+        }
+        if (Decimal64.isNaN(x)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(x), x);
+        }
+        return Decimal64.INF;
+    }
+
+    //number of digits to shift the coefficient of a non-zero finite x left to get 16 digits or the minimum exponent
+    private static int normalizationShift(final long x) {
+        final int nlz = Decimal64.getCombinationMSD(x) > 0 ? 0 : 1 + Dpd.numberOfLeadingZeros(x);
+        return Math.min(nlz, Decimal64.getExponent(x) - Decimal64.MIN_EXPONENT_NOMINAL);
+    }
+
+    //increments the magnitude of a non-zero finite x by one unit in the last place
+    private static long increment(final long x) {
+        final int n = normalizationShift(x);
+        final int exp = Decimal64.getExponent(x) - n;
+        final long dpd = n == 0 ? Dpd.canonicalize(x) : Shift.shiftLeft(x, n);
+        final int msd = n == 0 ? Decimal64.getCombinationMSD(x) : (int)(dpd >>> 50);
+        final long sum = Dpd.inc(dpd & Decimal64.COEFF_CONT_MASK);
+        if ((sum >>> 50) == 0) {
+            return Decimal64.encode(x, exp, msd, sum);
+        }
+        if (msd < 9) {
+            return Decimal64.encode(x, exp, msd + 1, sum);
+        }
+        //carry into the exponent: 10^16 becomes 10^15 with the next exponent
+        if (exp < Decimal64.MAX_EXPONENT_NOMINAL) {
+            return Decimal64.encode(x, exp + 1, 1, 0);
+        }
+        return copySignToPositive(Decimal64.INF, x);
+    }
+
+    //decrements the magnitude of a non-zero finite x by one unit in the last place
+    private static long decrement(final long x) {
+        final int n = normalizationShift(x);
+        final int exp = Decimal64.getExponent(x) - n;
+        final long dpd = n == 0 ? Dpd.canonicalize(x) : Shift.shiftLeft(x, n);
+        final int msd = n == 0 ? Decimal64.getCombinationMSD(x) : (int)(dpd >>> 50);
+        final long diff = Dpd.dec(dpd & Decimal64.COEFF_CONT_MASK);
+        if ((diff >>> 50) == 0) {
+            return Decimal64.encode(x, exp, msd, diff);
+        }
+        //borrow from msd; 10^15 becomes 10^16-1 with the previous exponent unless subnormal
+        if (msd > 1 | exp == Decimal64.MIN_EXPONENT_NOMINAL) {
+            return Decimal64.encode(x, exp, msd - 1, diff);
+        }
+        return Decimal64.encode(x, exp - 1, 9, NINES);
+    }
+}
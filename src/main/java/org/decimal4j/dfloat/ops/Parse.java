@@ -0,0 +1,269 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Declet;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+/**
+ * Converts decimal character sequences to 64 bit decimal floats without allocating any intermediate objects.
+ * Accepted are strings of the form
+ * <pre>
+ * [sign] digits [. [digits]] [exponent]
+ * [sign] . digits [exponent]
+ * [sign] (Inf | Infinity)
+ * [sign] [s]NaN [digits]
+ * </pre>
+ * with sign '+' or '-' and exponent 'e' or 'E' followed by an optional sign and at least one digit. Special value
+ * names are case insensitive, the digits after NaN or sNaN are the payload of up to 15 digits. The quantum of
+ * finite values is preserved; values with more than 16 significant digits or outside the exponent range are
+ * rounded according to the rounding direction of the attributes. Invalid strings signal InvalidOperation and return
+ * a quiet NaN; the exception handler sees 0 for both operands.
+ */
+public final class Parse {
+
+    static final String PARSE = "parse";
+
+    static final int MAX_PAYLOAD_DIGITS = Decimal64.MAX_PRECISION - 1;
+    /** exponent magnitude beyond which additional exponent digits no longer change the result */
+    static final int EXPONENT_LIMIT = 100000000;
+
+    private Parse() {
+        throw new RuntimeException("No Parse for you!");
+    }
+
+    public static long parse(final CharSequence s) {
+        return parse(s, 0, s.length(), Attributes.DEFAULT);
+    }
+    public static long parse(final CharSequence s, final RoundingDirection roundingDirection) {
+        return parse(s, 0, s.length(), roundingDirection.asAttributes());
+    }
+    public static long parse(final CharSequence s, final Attributes attributes) {
+        return parse(s, 0, s.length(), attributes);
+    }
+    public static long parse(final CharSequence s, final int start, final int end) {
+        return parse(s, start, end, Attributes.DEFAULT);
+    }
+    public static long parse(final CharSequence s, final int start, final int end, final RoundingDirection roundingDirection) {
+        return parse(s, start, end, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Parses the characters from start (inclusive) to end (exclusive) of s.
+     *
+     * @param s             the characters to parse
+     * @param start         the index of the first character to parse
+     * @param end           the index after the last character to parse
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @return the decimal float value
+     */
+    public static long parse(final CharSequence s, final int start, final int end, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        int i = start;
+        if (i >= end) {
+            return invalid(attributes);
+        }
+        long sign = 0;
+        char c = s.charAt(i);
+        if (c == '-' | c == '+') {
+            sign = c == '-' ? Decimal64.SIGN_BIT_MASK : 0;
+            if (++i >= end) {
+                return invalid(attributes);
+            }
+            c = s.charAt(i);
+        }
+        if (!isDigit(c) & c != '.') {
+            return parseSpecial(s, i, end, sign, attributes);
+        }
+        //first pass: find significant digits, decimal point and exponent
+        int first = -1;
+        int digits = 0;
+        int leadingZeros = 0;
+        int fractionDigits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            c = s.charAt(i);
+            if (isDigit(c)) {
+                if (first < 0) {
+                    if (c == '0') {
+                        leadingZeros++;
+                    } else {
+                        first = i;
+                    }
+                }
+                digits++;
+                if (point) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' & !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return invalid(attributes);
+        }
+        final int digitsEnd = i;
+        int exponent = 0;
+        if (i < end) {
+            c = s.charAt(i);
+            if ((c != 'e' & c != 'E') || ++i >= end) {
+                return invalid(attributes);
+            }
+            c = s.charAt(i);
+            final boolean negativeExponent = c == '-';
+            if ((c == '-' | c == '+') && ++i >= end) {
+                return invalid(attributes);
+            }
+            for (; i < end; i++) {
+                c = s.charAt(i);
+                if (!isDigit(c)) {
+                    return invalid(attributes);
+                }
+                if (exponent < EXPONENT_LIMIT) {
+                    exponent = exponent * 10 + (c - '0');
+                }
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        final int exp = exponent - fractionDigits;
+        if (first < 0) {
+            return zero(sign, exp);
+        }
+        final int significant = digits - leadingZeros;
+        if (significant <= Decimal64.MAX_PRECISION & exp >= Decimal64.MIN_EXPONENT_NOMINAL & exp <= Decimal64.MAX_EXPONENT_NOMINAL) {
+            //exact: second pass builds the encoding directly from declets
+            final long dpd = declets(s, first, digitsEnd, significant);
+            return Decimal64.encode(sign, exp, (int)(dpd >>> 50), dpd);
+        }
+        return round(s, first, digitsEnd, significant, sign, exp, attributes);
+    }
+
+    /**
+     * Returns the DPD encoding of the given number of digits starting at index first, skipping a decimal point.
+     * Digits are grouped in threes aligned at the last digit, the group of the 16th digit becomes the most
+     * significant digit in bits 50-53.
+     */
+    private static long declets(final CharSequence s, final int first, final int end, final int digits) {
+        long dpd = 0;
+        int declet = 0;
+        int count = digits % 3 == 0 ? 3 : digits % 3;
+        for (int i = first; i < end; i++) {
+            final char c = s.charAt(i);
+            if (c != '.') {
+                declet = declet * 10 + (c - '0');
+                if (--count == 0) {
+                    dpd = (dpd << 10) | Declet.intToDpd(declet);
+                    declet = 0;
+                    count = 3;
+                }
+            }
+        }
+        return dpd;
+    }
+
+    private static long round(final CharSequence s, final int first, final int end, final int digits,
+                              final long sign, final int exp, final Attributes attributes) {
+        //up to 32 digits in hi and lo, the rest goes into the tail
+        final int kept = Math.min(digits, 32);
+        final int hiDigits = Math.max(kept - 16, 0);
+        long hi = 0;
+        long lo = 0;
+        boolean nonZeroTail = false;
+        int index = 0;
+        for (int i = first; i < end; i++) {
+            final char c = s.charAt(i);
+            if (c != '.') {
+                if (index < hiDigits) {
+                    hi = hi * 10 + (c - '0');
+                } else if (index < kept) {
+                    lo = lo * 10 + (c - '0');
+                } else {
+                    nonZeroTail |= c != '0';
+                }
+                index++;
+            }
+        }
+        final Remainder tail = nonZeroTail ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF : Remainder.ZERO;
+        return Rounding.round(sign, exp + (digits - kept), hi, lo, tail, PARSE, 0, 0, attributes);
+    }
+
+    private static long parseSpecial(final CharSequence s, final int start, final int end, final long sign,
+                                     final Attributes attributes) {
+        if (matches(s, start, end, "inf") || matches(s, start, end, "infinity")) {
+            return sign | Decimal64.INF;
+        }
+        final boolean signaling = (s.charAt(start) | 0x20) == 's';
+        final int nan = signaling ? start + 1 : start;
+        if (end - nan < 3 || !matches(s, nan, nan + 3, "nan")) {
+            return invalid(attributes);
+        }
+        int first = nan + 3;
+        while (first < end && s.charAt(first) == '0') {
+            first++;
+        }
+        for (int i = first; i < end; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return invalid(attributes);
+            }
+        }
+        if (end - first > MAX_PAYLOAD_DIGITS) {
+            return invalid(attributes);
+        }
+        return sign | (signaling ? Decimal64.SNAN : Decimal64.NAN) | declets(s, first, end, end - first);
+    }
+
+    //PRECONDITION: name is lower case letters only
+    private static boolean matches(final CharSequence s, final int start, final int end, final String name) {
+        if (end - start != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if ((s.charAt(start + i) | 0x20) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' & c <= '9';
+    }
+
+    //zero with the exponent clamped to the exponent range
+    static long zero(final long sign, final int exp) {
+        return Decimal64.zero(sign, Math.max(Decimal64.MIN_EXPONENT_NOMINAL, Math.min(Decimal64.MAX_EXPONENT_NOMINAL, exp)));
+    }
+
+    static long invalid(final Attributes attributes) {
+        return Signal.invalidOperation(PARSE, 0, 0, Decimal64.NAN, attributes);
+    }
+}
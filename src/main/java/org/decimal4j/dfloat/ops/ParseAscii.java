@@ -0,0 +1,492 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Declet;
+import org.decimal4j.dfloat.encode.Decimal64;
+
+import static org.decimal4j.dfloat.ops.Parse.EXPONENT_LIMIT;
+import static org.decimal4j.dfloat.ops.Parse.MAX_PAYLOAD_DIGITS;
+import static org.decimal4j.dfloat.ops.Parse.PARSE;
+import static org.decimal4j.dfloat.ops.Parse.invalid;
+
+/**
+ * Converts ASCII encoded decimal numbers in byte arrays and byte buffers to 64 bit decimal floats without copying
+ * the bytes and without allocating any intermediate objects. The accepted syntax, the preserved quantum and the
+ * rounding of inexact values are the same as for {@link Parse}.
+ * <p>
+ * The methods returning a count parse the longest prefix forming a number and are meant for tokenizer loops: the
+ * count is the number of consumed bytes, the byte following them is the delimiter. A count of zero means that the
+ * range does not start with a number and the stored result is a quiet NaN after signalling InvalidOperation. The
+ * {@link ByteBuffer} methods work the same way and advance the buffer position past the consumed bytes.
+ * <p>
+ * Buffers are read 8 bytes at a time: a single long load is validated as 8 ASCII digits and packed into BCD nibbles.
+ * Byte arrays are read byte by byte since assembling a long from 8 array elements costs more than it saves. For
+ * both, every 3 BCD digits of the coefficient form a 12 bit lane which is converted to binary for all lanes at once
+ * before the lanes are encoded as declets.
+ */
+public final class ParseAscii {
+
+    private static final long LOW_NIBBLES = 0x0f0f0f0f0f0f0f0fL;
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LOW_7_BITS = 0x7f7f7f7f7f7f7f7fL;
+    /** added to a byte value from 0 to 0x7f, sets the high bit for values larger than 9 */
+    private static final long ABOVE_NINE = 0x7676767676767676L;
+    private static final long LANE_TENS_AND_HUNDREDS = 0x0ff0ff0ff0ff0ffL;
+    private static final long LANE_HUNDREDS = 0x00f00f00f00f00fL;
+
+    private ParseAscii() {
+        throw new RuntimeException("No ParseAscii for you!");
+    }
+
+    public static long parse(final byte[] bytes, final int offset, final int length) {
+        return parse(bytes, offset, length, Attributes.DEFAULT);
+    }
+    public static long parse(final byte[] bytes, final int offset, final int length, final RoundingDirection roundingDirection) {
+        return parse(bytes, offset, length, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Parses all bytes in the given range as one number, invalid or trailing bytes signal InvalidOperation and return
+     * a quiet NaN.
+     */
+    public static long parse(final byte[] bytes, final int offset, final int length, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return parseRange(bytes, offset, offset + length, null, 0, attributes);
+    }
+
+    public static int parse(final byte[] bytes, final int offset, final int length, final long[] result, final int index) {
+        return parse(bytes, offset, length, result, index, Attributes.DEFAULT);
+    }
+    public static int parse(final byte[] bytes, final int offset, final int length, final long[] result, final int index,
+                            final RoundingDirection roundingDirection) {
+        return parse(bytes, offset, length, result, index, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Parses the longest number at the start of the given range and stores it in {@code result[index]}.
+     *
+     * @return the number of consumed bytes, zero if the range does not start with a number
+     */
+    public static int parse(final byte[] bytes, final int offset, final int length, final long[] result, final int index,
+                            final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return (int)parseRange(bytes, offset, offset + length, result, index, attributes) - offset;
+    }
+
+    public static long parse(final ByteBuffer buffer) {
+        return parse(buffer, Attributes.DEFAULT);
+    }
+    public static long parse(final ByteBuffer buffer, final RoundingDirection roundingDirection) {
+        return parse(buffer, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Parses the longest number between position and limit of the given buffer and advances the position past the
+     * consumed bytes. The position is unchanged if the buffer does not start with a number.
+     */
+    public static long parse(final ByteBuffer buffer, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        final ByteBuffer b = buffer;
+        final int start = b.position();
+        final int end = b.limit();
+        int i = start;
+        long sign = 0;
+        if (i < end && (b.get(i) == '-' | b.get(i) == '+')) {
+            sign = b.get(i) == '-' ? Decimal64.SIGN_BIT_MASK : 0;
+            i++;
+        }
+        final int integerStart = i;
+        final int integerEnd = digitsEnd(b, i, end);
+        int fractionStart = integerEnd;
+        int fractionEnd = integerEnd;
+        if (integerEnd < end && b.get(integerEnd) == '.') {
+            fractionStart = integerEnd + 1;
+            fractionEnd = digitsEnd(b, fractionStart, end);
+        }
+        final int fractionDigits = fractionEnd - fractionStart;
+        if (integerEnd - integerStart + fractionDigits == 0) {
+            i = specialEnd(b, integerStart, end);
+            if (i == integerStart) {
+                return invalid(attributes);
+            }
+            b.position(i);
+            return special(b, integerStart, i, sign, attributes);
+        }
+        i = fractionEnd;
+        int exponent = 0;
+        if (i < end && (b.get(i) | 0x20) == 'e') {
+            int j = i + 1;
+            final boolean negativeExponent = j < end && b.get(j) == '-';
+            if (j < end && (b.get(j) == '-' | b.get(j) == '+')) {
+                j++;
+            }
+            final int exponentStart = j;
+            for (; j < end && isDigit(b.get(j)); j++) {
+                if (exponent < EXPONENT_LIMIT) {
+                    exponent = exponent * 10 + (b.get(j) - '0');
+                }
+            }
+            if (j > exponentStart) {
+                i = j;
+                if (negativeExponent) {
+                    exponent = -exponent;
+                }
+            } else {
+                exponent = 0;
+            }
+        }
+        b.position(i);
+        return finite(b, integerStart, integerEnd, fractionStart, fractionEnd, sign, exponent - fractionDigits, attributes);
+    }
+
+    /**
+     * If result is null the whole range must be a number whose value is returned. Otherwise the longest number at
+     * start is stored in result[index] and the index after it is returned, start if there is no number.
+     */
+    private static long parseRange(final byte[] b, final int start, final int end, final long[] result, final int index,
+                                   final Attributes attributes) {
+        int i = start;
+        long sign = 0;
+        if (i < end && (b[i] == '-' | b[i] == '+')) {
+            sign = b[i] == '-' ? Decimal64.SIGN_BIT_MASK : 0;
+            i++;
+        }
+        final int integerStart = i;
+        final int integerEnd = digitsEnd(b, i, end);
+        int fractionStart = integerEnd;
+        int fractionEnd = integerEnd;
+        if (integerEnd < end && b[integerEnd] == '.') {
+            fractionStart = integerEnd + 1;
+            fractionEnd = digitsEnd(b, fractionStart, end);
+        }
+        final int fractionDigits = fractionEnd - fractionStart;
+        final long value;
+        if (integerEnd - integerStart + fractionDigits == 0) {
+            i = specialEnd(b, integerStart, end);
+            if (i == integerStart | (result == null & i != end)) {
+                return noNumber(start, result, index, attributes);
+            }
+            value = special(b, integerStart, i, sign, attributes);
+        } else {
+            i = fractionEnd;
+            int exponent = 0;
+            if (i < end && (b[i] | 0x20) == 'e') {
+                int j = i + 1;
+                final boolean negativeExponent = j < end && b[j] == '-';
+                if (j < end && (b[j] == '-' | b[j] == '+')) {
+                    j++;
+                }
+                final int exponentStart = j;
+                for (; j < end && isDigit(b[j]); j++) {
+                    if (exponent < EXPONENT_LIMIT) {
+                        exponent = exponent * 10 + (b[j] - '0');
+                    }
+                }
+                if (j > exponentStart) {
+                    i = j;
+                    if (negativeExponent) {
+                        exponent = -exponent;
+                    }
+                } else {
+                    exponent = 0;
+                }
+            }
+            if (result == null & i != end) {
+                return invalid(attributes);
+            }
+            value = finite(b, integerStart, integerEnd, fractionStart, fractionEnd, sign, exponent - fractionDigits, attributes);
+        }
+        if (result == null) {
+            return value;
+        }
+        result[index] = value;
+        return i;
+    }
+
+    private static long noNumber(final int start, final long[] result, final int index, final Attributes attributes) {
+        if (result == null) {
+            return invalid(attributes);
+        }
+        result[index] = invalid(attributes);
+        return start;
+    }
+
+    private static long finite(final byte[] b, final int integerStart, final int integerEnd,
+                               final int fractionStart, final int fractionEnd,
+                               final long sign, final int exp, final Attributes attributes) {
+        final int integerFirst = zerosEnd(b, integerStart, integerEnd);
+        final int fractionFirst = integerFirst < integerEnd ? fractionStart : zerosEnd(b, fractionStart, fractionEnd);
+        final int significant = (integerEnd - integerFirst) + (fractionEnd - fractionFirst);
+        if (significant == 0) {
+            return Parse.zero(sign, exp);
+        }
+        if (significant <= Decimal64.MAX_PRECISION & exp >= Decimal64.MIN_EXPONENT_NOMINAL & exp <= Decimal64.MAX_EXPONENT_NOMINAL) {
+            final long bcd = bcd(b, fractionFirst, fractionEnd, bcd(b, integerFirst, integerEnd, 0));
+            return Decimal64.encode(sign, exp, (int)(bcd >>> 60), declets(bcd));
+        }
+        //digits of integer and fraction part are contiguous apart from the decimal point
+        final int first = integerFirst < integerEnd ? integerFirst : fractionFirst;
+        final int kept = Math.min(significant, 32);
+        final int hiDigits = Math.max(kept - 16, 0);
+        long hi = 0;
+        long lo = 0;
+        boolean nonZeroTail = false;
+        int index = 0;
+        for (int i = first; i < fractionEnd; i++) {
+            final byte c = b[i];
+            if (c != '.') {
+                if (index < hiDigits) {
+                    hi = hi * 10 + (c - '0');
+                } else if (index < kept) {
+                    lo = lo * 10 + (c - '0');
+                } else {
+                    nonZeroTail |= c != '0';
+                }
+                index++;
+            }
+        }
+        return round(sign, exp, hi, lo, nonZeroTail, significant - kept, attributes);
+    }
+
+    //returns the end of Inf, Infinity or [s]NaN[digits] starting at i, or i if there is none
+    private static int specialEnd(final byte[] b, final int i, final int end) {
+        if (startsWith(b, i, end, "inf")) {
+            return startsWith(b, i, end, "infinity") ? i + 8 : i + 3;
+        }
+        final int nan = i < end && (b[i] | 0x20) == 's' ? i + 1 : i;
+        return startsWith(b, nan, end, "nan") ? digitsEnd(b, nan + 3, end) : i;
+    }
+
+    private static long special(final byte[] b, final int start, final int end, final long sign,
+                                final Attributes attributes) {
+        final int c = b[start] | 0x20;
+        if (c == 'i') {
+            return sign | Decimal64.INF;
+        }
+        final int first = zerosEnd(b, start + (c == 's' ? 4 : 3), end);
+        if (end - first > MAX_PAYLOAD_DIGITS) {
+            return invalid(attributes);
+        }
+        return sign | (c == 's' ? Decimal64.SNAN : Decimal64.NAN) | declets(bcd(b, first, end, 0));
+    }
+
+    private static int digitsEnd(final byte[] b, int i, final int end) {
+        for (; i < end && isDigit(b[i]); i++) {
+            //skip digit
+        }
+        return i;
+    }
+
+    //appends the digits from index i to end to the given BCD value
+    private static long bcd(final byte[] b, int i, final int end, long bcd) {
+        for (; i < end; i++) {
+            bcd = (bcd << 4) | (b[i] - '0');
+        }
+        return bcd;
+    }
+
+    private static int zerosEnd(final byte[] b, int i, final int end) {
+        while (i < end && b[i] == '0') {
+            i++;
+        }
+        return i;
+    }
+
+    //PRECONDITION: name is lower case letters only
+    private static boolean startsWith(final byte[] b, final int start, final int end, final String name) {
+        if (end - start < name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if ((b[start + i] | 0x20) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //ByteBuffer variants of the byte[] methods above, digits are read 8 at a time where the limit permits
+
+    private static long finite(final ByteBuffer b, final int integerStart, final int integerEnd,
+                               final int fractionStart, final int fractionEnd,
+                               final long sign, final int exp, final Attributes attributes) {
+        final int integerFirst = zerosEnd(b, integerStart, integerEnd);
+        final int fractionFirst = integerFirst < integerEnd ? fractionStart : zerosEnd(b, fractionStart, fractionEnd);
+        final int significant = (integerEnd - integerFirst) + (fractionEnd - fractionFirst);
+        if (significant == 0) {
+            return Parse.zero(sign, exp);
+        }
+        if (significant <= Decimal64.MAX_PRECISION & exp >= Decimal64.MIN_EXPONENT_NOMINAL & exp <= Decimal64.MAX_EXPONENT_NOMINAL) {
+            final long bcd = bcd(b, fractionFirst, fractionEnd, bcd(b, integerFirst, integerEnd, 0));
+            return Decimal64.encode(sign, exp, (int)(bcd >>> 60), declets(bcd));
+        }
+        final int first = integerFirst < integerEnd ? integerFirst : fractionFirst;
+        final int kept = Math.min(significant, 32);
+        final int hiDigits = Math.max(kept - 16, 0);
+        long hi = 0;
+        long lo = 0;
+        boolean nonZeroTail = false;
+        int index = 0;
+        for (int i = first; i < fractionEnd; i++) {
+            final byte c = b.get(i);
+            if (c != '.') {
+                if (index < hiDigits) {
+                    hi = hi * 10 + (c - '0');
+                } else if (index < kept) {
+                    lo = lo * 10 + (c - '0');
+                } else {
+                    nonZeroTail |= c != '0';
+                }
+                index++;
+            }
+        }
+        return round(sign, exp, hi, lo, nonZeroTail, significant - kept, attributes);
+    }
+
+    private static int specialEnd(final ByteBuffer b, final int i, final int end) {
+        if (startsWith(b, i, end, "inf")) {
+            return startsWith(b, i, end, "infinity") ? i + 8 : i + 3;
+        }
+        final int nan = i < end && (b.get(i) | 0x20) == 's' ? i + 1 : i;
+        return startsWith(b, nan, end, "nan") ? digitsEnd(b, nan + 3, end) : i;
+    }
+
+    private static long special(final ByteBuffer b, final int start, final int end, final long sign,
+                                final Attributes attributes) {
+        final int c = b.get(start) | 0x20;
+        if (c == 'i') {
+            return sign | Decimal64.INF;
+        }
+        final int first = zerosEnd(b, start + (c == 's' ? 4 : 3), end);
+        if (end - first > MAX_PAYLOAD_DIGITS) {
+            return invalid(attributes);
+        }
+        return sign | (c == 's' ? Decimal64.SNAN : Decimal64.NAN) | declets(bcd(b, first, end, 0));
+    }
+
+    private static int digitsEnd(final ByteBuffer b, int i, final int end) {
+        for (; i + 8 <= end; i += 8) {
+            final int digits = leadingDigits(load(b, i));
+            if (digits < 8) {
+                return i + digits;
+            }
+        }
+        for (; i < end && isDigit(b.get(i)); i++) {
+            //skip digit
+        }
+        return i;
+    }
+
+    /**
+     * Appends the digits from index i to end to the given BCD value, 8 at a time. The last load may read digits
+     * beyond end but not beyond the limit.
+     */
+    private static long bcd(final ByteBuffer b, int i, final int end, long bcd) {
+        for (; i + 8 <= end; i += 8) {
+            bcd = (bcd << 32) | packBcd(load(b, i));
+        }
+        final int n = end - i;
+        if (n > 0) {
+            if (i + 8 <= b.limit()) {
+                return (bcd << (n << 2)) | (packBcd(load(b, i)) >>> ((8 - n) << 2));
+            }
+            for (; i < end; i++) {
+                bcd = (bcd << 4) | (b.get(i) - '0');
+            }
+        }
+        return bcd;
+    }
+
+    private static int zerosEnd(final ByteBuffer b, int i, final int end) {
+        while (i < end && b.get(i) == '0') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean startsWith(final ByteBuffer b, final int start, final int end, final String name) {
+        if (end - start < name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if ((b.get(start + i) | 0x20) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //little endian: the byte at index i becomes the lowest byte
+    private static long load(final ByteBuffer b, final int i) {
+        final long value = b.getLong(i);
+        return b.order() == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    //SWAR kernels on 8 ASCII bytes loaded in little endian order
+
+    //number of leading bytes that are ASCII digits, 8 if all are digits
+    private static int leadingDigits(final long bytes) {
+        final long values = bytes ^ ZEROS;
+        final long nonDigits = (((values & LOW_7_BITS) + ABOVE_NINE) | values) & HIGH_BITS;
+        return Long.numberOfTrailingZeros(nonDigits) >>> 3;
+    }
+
+    //packs 8 ASCII digits into 8 BCD digits, the first byte becomes the most significant digit
+    private static long packBcd(final long bytes) {
+        long bcd = Long.reverseBytes(bytes & LOW_NIBBLES);
+        bcd = (bcd | (bcd >>> 4)) & 0x00ff00ff00ff00ffL;
+        bcd = (bcd | (bcd >>> 8)) & 0x0000ffff0000ffffL;
+        return (bcd | (bcd >>> 16)) & 0xffffffffL;
+    }
+
+    //DPD encoding of the lower 15 BCD digits
+    private static long declets(final long bcd) {
+        //256a + 16b + c - 6(16a + b) - 60a = 100a + 10b + c in every 12 bit lane
+        final long lanes = bcd - 6 * ((bcd >>> 4) & LANE_TENS_AND_HUNDREDS) - 60 * ((bcd >>> 8) & LANE_HUNDREDS);
+        return Declet.intToDpd((int)lanes & 0xfff) |
+                ((long)Declet.intToDpd((int)(lanes >>> 12) & 0xfff) << 10) |
+                ((long)Declet.intToDpd((int)(lanes >>> 24) & 0xfff) << 20) |
+                ((long)Declet.intToDpd((int)(lanes >>> 36) & 0xfff) << 30) |
+                ((long)Declet.intToDpd((int)(lanes >>> 48) & 0xfff) << 40);
+    }
+
+    //hi and lo hold the leading 32 significant digits, dropped is the number of digits in the tail
+    private static long round(final long sign, final int exp, final long hi, final long lo, final boolean nonZeroTail,
+                              final int dropped, final Attributes attributes) {
+        final Remainder tail = nonZeroTail ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF : Remainder.ZERO;
+        return Rounding.round(sign, exp + dropped, hi, lo, tail, PARSE, 0, 0, attributes);
+    }
+
+    private static boolean isDigit(final byte c) {
+        return c >= '0' & c <= '9';
+    }
+}
@@ -24,6 +24,7 @@
 package org.decimal4j.dfloat.ops;
 
 import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
 import org.decimal4j.dfloat.attribute.RoundingDirection;
 import org.decimal4j.dfloat.dpd.Dpd;
 import org.decimal4j.dfloat.dpd.Rem;
@@ -31,10 +32,21 @@ import org.decimal4j.dfloat.dpd.Shift;
 import org.decimal4j.dfloat.encode.Decimal64;
 import org.decimal4j.dfloat.signal.Signal;
 
+import static org.decimal4j.dfloat.ops.Sign.copySignToPositive;
+
 public final class Pow {
 
     private static final String SCALE_10 = "scale10";
     private static final String LOG_10 = "log10";
+    private static final String POW = "pow";
+
+    private static final long ONE = Decimal64.ZERO + 1;
+
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+            10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+            1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L
+    };
 
     private Pow() {
         throw new RuntimeException("No Pow for you!");
@@ -59,7 +71,7 @@ public final class Pow {
             if (e < Decimal64.MIN_EXPONENT_NOMINAL) {
                 final int shift = Decimal64.MIN_EXPONENT_NOMINAL - e;
                 final long shifted = Shift.shiftRight(msd, x, shift);
-                final Remainder rem = Rem.remainderOfPow10(msd, x, shift);
+                final Remainder rem = Rem.remainderOfCoefficient(msd, x, shift);
                 if (rem == Remainder.ZERO) {
                     //still exact when shifting right
                     return Decimal64.encode(x, e + shift, 0, shifted);
@@ -77,7 +89,7 @@ public final class Pow {
                     }
                 }
                 final long result = Decimal64.encode(x, Decimal64.MIN_EXPONENT_NOMINAL, rmsd, rdpd);
-                return Signal.inexact(SCALE_10, x, n, result, attributes);
+                return Signal.underflow(SCALE_10, x, n, result, attributes);
             }
             //e > Decimal64.MAX_EXPONENT_NOMINAL
             if (msd == 0) {
@@ -98,6 +110,75 @@ public final class Pow {
         return Decimal64.canonicalize(x);
     }
 
+    public static long pow(final long x, final int n) {
+        return pow(x, n, Attributes.DEFAULT);
+    }
+    public static long pow(final long x, final int n, final RoundingDirection roundingDirection) {
+        return pow(x, n, roundingDirection.asAttributes());
+    }
+    /**
+     * Returns x raised to the integral power n, computed by square-and-multiply.
+     * <p>
+     * Each of the at most 62 multiplications rounds to 16 digits in the decimal rounding direction of the attributes.
+     * For negative n, the reciprocal of x is rounded first and then raised to the power -n. The result is exact, with
+     * preferred exponent n times the exponent of x, if all intermediate results are exact. Otherwise it is not
+     * necessarily correctly rounded, but its relative error is less than 2 * |n| * 10<sup>-15</sup> as long as no
+     * intermediate result overflows or underflows. Every step rounds the magnitude in the same direction, so the
+     * result is a lower bound of the exact power for {@link RoundingDirection#TowardNegative TowardNegative} and an
+     * upper bound for {@link RoundingDirection#TowardPositive TowardPositive}. Signals raised by a step are reported
+     * for operation "pow" with operands x and n.
+     * <p>
+     * pow(x, 0) is 1 for every x, also for NaN. Zero raised to a negative power signals DivisionByZero, and an
+     * infinite x gives infinity for positive and zero for negative n. The result is negative if x is negative and
+     * n is odd.
+     *
+     * @param x the base
+     * @param n the exponent
+     * @param attributes the attributes for rounding and signals
+     * @return x<sup>n</sup>
+     */
+    public static long pow(final long x, final int n, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (n == 0) {
+            return ONE;
+        }
+        if (Decimal64.isNaN(x)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(x), x);
+        }
+        final long sign = (n & 1) == 0 ? 0 : x & Decimal64.SIGN_BIT_MASK;
+        if (Decimal64.isInfinite(x)) {
+            return n > 0 ? copySignToPositive(Decimal64.INF, sign) : Decimal64.zero(sign, Decimal64.MIN_EXPONENT_NOMINAL);
+        }
+        final long coeff = Decimal64.getCoefficient(x);
+        if (n < 0 & coeff == 0) {
+            return Signal.divisionByZero(POW, x, n, copySignToPositive(Decimal64.INF, sign), attributes);
+        }
+        //all intermediate results carry the sign of the result so that directed rounding is the same in every step
+        long base = n > 0 ? Decimal64.encodeCoefficient(sign, Decimal64.getExponent(x), coeff) :
+                Div.divideFinite(sign, -Decimal64.getExponent(x), 1, coeff, POW, x, n, attributes);
+        //all powers of the base lie on the same side of one, zero and infinity are never multiplied
+        long m = Math.abs((long)n);
+        long result = (m & 1) != 0 ? base : 0;
+        boolean hasResult = (m & 1) != 0;
+        while ((m >>>= 1) != 0) {
+            base = multiply(sign, base, base, x, n, attributes);
+            if ((m & 1) != 0) {
+                result = hasResult ? multiply(sign, result, base, x, n, attributes) : base;
+                hasResult = true;
+            }
+        }
+        return result;
+    }
+
+    private static long multiply(final long sign, final long a, final long b, final long x, final int n, final Attributes attributes) {
+        if (Decimal64.isFinite(a) & Decimal64.isFinite(b)) {
+            final int exp = Decimal64.getExponent(a) + Decimal64.getExponent(b);
+            return Mul.multiplyFinite(sign, exp, Decimal64.getCoefficient(a), Decimal64.getCoefficient(b), POW, x, n, attributes, false);
+        }
+        //an intermediate result overflowed to infinity
+        return copySignToPositive(Decimal64.INF, sign);
+    }
+
     public static int log10(final long x) {
         return log10(x, Attributes.DEFAULT);
     }
@@ -117,4 +198,26 @@ public final class Pow {
         //Infinity or NaN
         return (int)Signal.invalidOperation(LOG_10, x, 0, Integer.MAX_VALUE, attributes);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns 10 to the power of n as a binary long value.
+     *
+     * @param n the exponent, must be in [0, 18]
+     * @return 10<sup>n</sup>
+     */
+    public static long pow10(final int n) {
+        return POW10[n];
+    }
+
+    /**
+     * Returns the number of decimal digits of a non-negative binary long value, zero for zero.
+     *
+     * @param value a non-negative value
+     * @return the number of digits of value, a value in [0, 19]
+     */
+    public static int numberOfDigits(final long value) {
+        //approximate log10 from log2, then correct by one if necessary
+        final int t = ((64 - Long.numberOfLeadingZeros(value)) * 1233) >>> 12;
+        return value >= POW10[t] ? t + 1 : t;
+    }
+}
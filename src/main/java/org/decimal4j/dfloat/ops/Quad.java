@@ -0,0 +1,497 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal128;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+/**
+ * Arithmetic on {@link Decimal128} values stored as pairs of longs. Results are written into two consecutive
+ * slots of a caller provided array, high word first, so that no objects are allocated.
+ * <p>
+ * Coefficients are decoded into binary with the DPD kernels per 64-bit half and processed as base 10^18 limbs.
+ * Exception handlers are invoked with the high words of operands and result; a substituted result is ignored
+ * as it cannot represent a 128 bit value.
+ */
+public final class Quad {
+
+    private static final String ADD = "add";
+    private static final String MULTIPLY = "multiply";
+    private static final String TO_DECIMAL64 = "toDecimal64";
+
+    private static final long TEN_POW_9 = 1000000000L;
+    private static final long TEN_POW_15 = 1000000000000000L;
+    private static final long TEN_POW_16 = 10000000000000000L;
+    private static final long TEN_POW_18 = 1000000000000000000L;
+
+    private Quad() {
+        throw new RuntimeException("No Quad for you!");
+    }
+
+    public static void add(final long aHi, final long aLo, final long bHi, final long bLo,
+                           final long[] result, final int offset) {
+        add(aHi, aLo, bHi, bLo, result, offset, Attributes.DEFAULT);
+    }
+    public static void add(final long aHi, final long aLo, final long bHi, final long bLo,
+                           final long[] result, final int offset, final RoundingDirection roundingDirection) {
+        add(aHi, aLo, bHi, bLo, result, offset, roundingDirection.asAttributes());
+    }
+    public static void add(final long aHi, final long aLo, final long bHi, final long bLo,
+                           final long[] result, final int offset, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal128.isFinite(aHi) & Decimal128.isFinite(bHi)) {
+            addFinite(aHi, aLo, bHi, bLo, result, offset, attributes);
+            return;
+        }
+        if (Decimal128.isNaN(aHi) | Decimal128.isNaN(bHi)) {
+            propagateNaN(aHi, aLo, bHi, bLo, result, offset);
+            return;
+        }
+        if (Decimal128.isInfinite(aHi) & Decimal128.isInfinite(bHi) & (aHi ^ bHi) < 0) {
+            //inf - inf
+            Signal.invalidOperation(ADD, aHi, bHi, Decimal128.NAN, attributes);
+            set(result, offset, Decimal128.NAN, 0);
+            return;
+        }
+        set(result, offset, Decimal128.isInfinite(aHi) ? aHi & (Decimal128.SIGN_BIT_MASK | Decimal128.INF) : bHi & (Decimal128.SIGN_BIT_MASK | Decimal128.INF), 0);
+    }
+
+    public static void subtract(final long aHi, final long aLo, final long bHi, final long bLo,
+                                final long[] result, final int offset) {
+        subtract(aHi, aLo, bHi, bLo, result, offset, Attributes.DEFAULT);
+    }
+    public static void subtract(final long aHi, final long aLo, final long bHi, final long bLo,
+                                final long[] result, final int offset, final RoundingDirection roundingDirection) {
+        subtract(aHi, aLo, bHi, bLo, result, offset, roundingDirection.asAttributes());
+    }
+    public static void subtract(final long aHi, final long aLo, final long bHi, final long bLo,
+                                final long[] result, final int offset, final Attributes attributes) {
+        add(aHi, aLo, Decimal128.isNaN(bHi) ? bHi : bHi ^ Decimal128.SIGN_BIT_MASK, bLo, result, offset, attributes);
+    }
+
+    public static void multiply(final long aHi, final long aLo, final long bHi, final long bLo,
+                                final long[] result, final int offset) {
+        multiply(aHi, aLo, bHi, bLo, result, offset, Attributes.DEFAULT);
+    }
+    public static void multiply(final long aHi, final long aLo, final long bHi, final long bLo,
+                                final long[] result, final int offset, final RoundingDirection roundingDirection) {
+        multiply(aHi, aLo, bHi, bLo, result, offset, roundingDirection.asAttributes());
+    }
+    public static void multiply(final long aHi, final long aLo, final long bHi, final long bLo,
+                                final long[] result, final int offset, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal128.isFinite(aHi) & Decimal128.isFinite(bHi)) {
+            multiplyFinite(aHi, aLo, bHi, bLo, result, offset, attributes);
+            return;
+        }
+        if (Decimal128.isNaN(aHi) | Decimal128.isNaN(bHi)) {
+            propagateNaN(aHi, aLo, bHi, bLo, result, offset);
+            return;
+        }
+        if ((Decimal128.isFinite(aHi) && Decimal128.isZero(aHi, aLo)) | (Decimal128.isFinite(bHi) && Decimal128.isZero(bHi, bLo))) {
+            //0 * inf
+            Signal.invalidOperation(MULTIPLY, aHi, bHi, Decimal128.NAN, attributes);
+            set(result, offset, Decimal128.NAN, 0);
+            return;
+        }
+        set(result, offset, ((aHi ^ bHi) & Decimal128.SIGN_BIT_MASK) | Decimal128.INF, 0);
+    }
+
+    /**
+     * Compares the numerical values of a and b, see {@link Compare#compare(long, long)}.
+     */
+    public static int compare(final long aHi, final long aLo, final long bHi, final long bLo) {
+        if (Decimal128.isFinite(aHi) & Decimal128.isFinite(bHi)) {
+            final long hA = Decimal128.getCoefficientHi(aHi, aLo);
+            final long lA = Decimal128.getCoefficientLo(aLo);
+            final long hB = Decimal128.getCoefficientHi(bHi, bLo);
+            final long lB = Decimal128.getCoefficientLo(bLo);
+            final int signumA = (hA | lA) == 0 ? 0 : aHi < 0 ? -1 : 1;
+            final int signumB = (hB | lB) == 0 ? 0 : bHi < 0 ? -1 : 1;
+            if (signumA != signumB | signumA == 0) {
+                return Integer.compare(signumA, signumB);
+            }
+            final int cmp = compareMagnitude(Decimal128.getExponent(aHi), hA, lA, Decimal128.getExponent(bHi), hB, lB);
+            return signumA < 0 ? -cmp : cmp;
+        }
+        if (Decimal128.isNaN(aHi) | Decimal128.isNaN(bHi)) {
+            return Decimal128.isNaN(aHi) ? (Decimal128.isNaN(bHi) ? 0 : 1) : -1;
+        }
+        //at least one Infinite
+        if (Decimal128.isInfinite(aHi)) {
+            return Decimal128.isInfinite(bHi) & (aHi ^ bHi) >= 0 ? 0 : aHi < 0 ? -1 : 1;
+        }
+        return bHi < 0 ? 1 : -1;
+    }
+
+    /**
+     * Converts a decimal 64 value to decimal 128; the conversion is exact. NaN values keep sign, signalling bit
+     * and payload.
+     */
+    public static void fromDecimal64(final long x, final long[] result, final int offset) {
+        if (Decimal64.isFinite(x)) {
+            //the 5 declets stay in place and the MSD becomes declet 5, no binary conversion needed
+            final long msd = Decimal64.getCombinationMSD(x);
+            set(result, offset, Decimal128.zero(x, Decimal64.getExponent(x)), (msd << 50) | Dpd.canonicalize(x));
+            return;
+        }
+        final long sign = x & Decimal64.SIGN_BIT_MASK;
+        if (Decimal64.isNaN(x)) {
+            set(result, offset, sign | (Decimal64.isSignalingNaN(x) ? Decimal128.SNAN : Decimal128.NAN), Dpd.canonicalize(x));
+            return;
+        }
+        set(result, offset, sign | Decimal128.INF, 0);
+    }
+
+    public static long toDecimal64(final long hi, final long lo) {
+        return toDecimal64(hi, lo, Attributes.DEFAULT);
+    }
+    public static long toDecimal64(final long hi, final long lo, final RoundingDirection roundingDirection) {
+        return toDecimal64(hi, lo, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the decimal 128 value rounded to the decimal 64 format. NaN values keep their payload if it fits
+     * into 15 digits and become a quiet NaN without payload otherwise.
+     */
+    public static long toDecimal64(final long hi, final long lo, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal128.isFinite(hi)) {
+            final long coeffHi = Decimal128.getCoefficientHi(hi, lo);
+            final long coeffLo = Decimal128.getCoefficientLo(lo);
+            final int exp = Decimal128.getExponent(hi);
+            if (coeffHi == 0) {
+                return Rounding.round(hi, exp, coeffLo, Remainder.ZERO, TO_DECIMAL64, hi, 0, attributes);
+            }
+            //more than 18 digits: pre-drop 2 digits to fit hi and lo into 16 digits each
+            final long lo16 = coeffLo / 100;
+            return Rounding.round(hi, exp + 2, coeffHi, lo16, Remainder.ofPow10(coeffLo - lo16 * 100, 2),
+                    TO_DECIMAL64, hi, 0, attributes);
+        }
+        final long sign = hi & Decimal64.SIGN_BIT_MASK;
+        if (Decimal128.isNaN(hi)) {
+            final boolean fits = (hi & Decimal128.COEFF_CONT_MASK_HI) == 0 & (lo & ~Decimal64.COEFF_CONT_MASK) == 0;
+            return sign | Decimal64.NAN | (fits ? Dpd.canonicalize(lo) : 0);
+        }
+        return sign | Decimal64.INF;
+    }
+
+    private static void addFinite(final long aHi, final long aLo, final long bHi, final long bLo,
+                                  final long[] result, final int offset, final Attributes attributes) {
+        final int expA = Decimal128.getExponent(aHi);
+        final int expB = Decimal128.getExponent(bHi);
+        //big has the larger exponent
+        final boolean swap = expA < expB;
+        final long sB = swap ? bHi : aHi;
+        final long sS = swap ? aHi : bHi;
+        final int eB = swap ? expB : expA;
+        final int eS = swap ? expA : expB;
+        final long hB = Decimal128.getCoefficientHi(swap ? bHi : aHi, swap ? bLo : aLo);
+        final long lB = Decimal128.getCoefficientLo(swap ? bLo : aLo);
+        final long hS = Decimal128.getCoefficientHi(swap ? aHi : bHi, swap ? aLo : bLo);
+        final long lS = Decimal128.getCoefficientLo(swap ? aLo : bLo);
+        final boolean zeroB = (hB | lB) == 0;
+        final boolean zeroS = (hS | lS) == 0;
+        final boolean subtract = (aHi ^ bHi) < 0;
+        if (zeroB | zeroS) {
+            if (zeroB & zeroS) {
+                set(result, offset, Decimal128.zero(subtract ? Add.zeroSumSign(attributes) : aHi, eS), 0);
+            } else if (zeroB) {
+                set(result, offset, Decimal128.encodeHi(sS, eS, hS), Decimal128.encodeLo(hS, lS));
+            } else {
+                //move big towards the ideal exponent as far as the precision allows
+                final int shift = Math.min(eB - eS, Decimal128.MAX_PRECISION - numberOfDigits(hB, lB));
+                final long coeffHi = shiftLeftHi(hB, lB, shift);
+                set(result, offset, Decimal128.encodeHi(sB, eB - shift, coeffHi), Decimal128.encodeLo(coeffHi, shiftLeftLo(lB, shift)));
+            }
+            return;
+        }
+        final int diff = eB - eS;
+        final int digitsB = numberOfDigits(hB, lB);
+        if (digitsB + diff <= 70) {
+            //exact: big * 10^diff +/- small fits into 4 limbs
+            final int q = diff / 18;
+            final int r = diff - q * 18;
+            final long pow10 = Pow.pow10(r);
+            final long inv = Pow.pow10(18 - r);
+            //(hB, lB) * 10^r as 3 limbs
+            final long lBh = lB / inv;
+            final long hBh = hB / inv;
+            final long t0 = (lB - lBh * inv) * pow10;
+            final long t1 = (hB - hBh * inv) * pow10 + lBh;
+            final long t2 = hBh;
+            //shift by q limbs
+            long x0 = q == 0 ? t0 : 0;
+            long x1 = q == 0 ? t1 : q == 1 ? t0 : 0;
+            long x2 = q == 0 ? t2 : q == 1 ? t1 : q == 2 ? t0 : 0;
+            long x3 = q == 0 ? 0 : q == 1 ? t2 : q == 2 ? t1 : t0;
+            long sign = sB;
+            if (!subtract) {
+                x0 += lS;
+                final long c0 = x0 >= TEN_POW_18 ? 1 : 0;
+                x0 -= c0 * TEN_POW_18;
+                x1 += hS + c0;
+                final long c1 = x1 >= TEN_POW_18 ? 1 : 0;
+                x1 -= c1 * TEN_POW_18;
+                x2 += c1;
+                final long c2 = x2 >= TEN_POW_18 ? 1 : 0;
+                x2 -= c2 * TEN_POW_18;
+                x3 += c2;
+            } else if ((x3 | x2) != 0 || x1 > hS || (x1 == hS && x0 >= lS)) {
+                //big - small
+                x0 -= lS;
+                final long b0 = x0 < 0 ? 1 : 0;
+                x0 += b0 * TEN_POW_18;
+                x1 -= hS + b0;
+                final long b1 = x1 < 0 ? 1 : 0;
+                x1 += b1 * TEN_POW_18;
+                x2 -= b1;
+                final long b2 = x2 < 0 ? 1 : 0;
+                x2 += b2 * TEN_POW_18;
+                x3 -= b2;
+                if ((x3 | x2 | x1 | x0) == 0) {
+                    sign = Add.zeroSumSign(attributes);
+                }
+            } else {
+                //small - big, big has at most 2 limbs here
+                sign = sS;
+                x0 = lS - x0;
+                final long b0 = x0 < 0 ? 1 : 0;
+                x0 += b0 * TEN_POW_18;
+                x1 = hS - x1 - b0;
+            }
+            round(sign, eS, x3, x2, x1, x0, Remainder.ZERO, ADD, aHi, bHi, attributes, result, offset);
+            return;
+        }
+        //small is less than one unit of big * 10^k with k extra digits; it only acts as sticky tail
+        final int k = 36 - digitsB;
+        long x1, x0;
+        if (k >= 18) {
+            x1 = lB * Pow.pow10(k - 18);
+            x0 = 0;
+        } else {
+            final long inv = Pow.pow10(18 - k);
+            final long lBh = lB / inv;
+            x1 = hB * Pow.pow10(k) + lBh;
+            x0 = (lB - lBh * inv) * Pow.pow10(k);
+        }
+        if (subtract) {
+            //big - small = (big - 1) + (1 - small)
+            if (x0 == 0) {
+                x0 = TEN_POW_18 - 1;
+                x1--;
+            } else {
+                x0--;
+            }
+        }
+        round(sB, eB - k, 0, 0, x1, x0, Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF, ADD, aHi, bHi, attributes, result, offset);
+    }
+
+    private static void multiplyFinite(final long aHi, final long aLo, final long bHi, final long bLo,
+                                       final long[] result, final int offset, final Attributes attributes) {
+        final long hA = Decimal128.getCoefficientHi(aHi, aLo);
+        final long lA = Decimal128.getCoefficientLo(aLo);
+        final long hB = Decimal128.getCoefficientHi(bHi, bLo);
+        final long lB = Decimal128.getCoefficientLo(bLo);
+        //base 10^9 limbs, products of two limbs and sums of up to 4 products fit into a long
+        final long a3 = hA / TEN_POW_9, a2 = hA - a3 * TEN_POW_9, a1 = lA / TEN_POW_9, a0 = lA - a1 * TEN_POW_9;
+        final long b3 = hB / TEN_POW_9, b2 = hB - b3 * TEN_POW_9, b1 = lB / TEN_POW_9, b0 = lB - b1 * TEN_POW_9;
+        long p0 = a0 * b0;
+        long p1 = a1 * b0 + a0 * b1 + p0 / TEN_POW_9;
+        long p2 = a2 * b0 + a1 * b1 + a0 * b2 + p1 / TEN_POW_9;
+        long p3 = a3 * b0 + a2 * b1 + a1 * b2 + a0 * b3 + p2 / TEN_POW_9;
+        long p4 = a3 * b1 + a2 * b2 + a1 * b3 + p3 / TEN_POW_9;
+        long p5 = a3 * b2 + a2 * b3 + p4 / TEN_POW_9;
+        long p6 = a3 * b3 + p5 / TEN_POW_9;
+        final long p7 = p6 / TEN_POW_9;
+        p0 %= TEN_POW_9;
+        p1 %= TEN_POW_9;
+        p2 %= TEN_POW_9;
+        p3 %= TEN_POW_9;
+        p4 %= TEN_POW_9;
+        p5 %= TEN_POW_9;
+        p6 %= TEN_POW_9;
+        round(aHi ^ bHi, Decimal128.getExponent(aHi) + Decimal128.getExponent(bHi),
+                p7 * TEN_POW_9 + p6, p5 * TEN_POW_9 + p4, p3 * TEN_POW_9 + p2, p1 * TEN_POW_9 + p0,
+                Remainder.ZERO, MULTIPLY, aHi, bHi, attributes, result, offset);
+    }
+
+    /**
+     * Rounds the value {@code (-1)^sign * (x3*10^54 + x2*10^36 + x1*10^18 + x0) * 10^(exp-shift)} with limbs
+     * from 0 to 10^18-1 to a decimal 128 value and writes it to the result slots.
+     */
+    private static void round(final long sign, final int exp, final long x3, final long x2, final long x1, final long x0,
+                              final Remainder tail, final String operation, final long a, final long b,
+                              final Attributes attributes, final long[] result, final int offset) {
+        final int digits = x3 != 0 ? 54 + Pow.numberOfDigits(x3) : x2 != 0 ? 36 + Pow.numberOfDigits(x2) :
+                x1 != 0 ? 18 + Pow.numberOfDigits(x1) : Pow.numberOfDigits(x0);
+        final int drop = Math.max(Math.max(digits - Decimal128.MAX_PRECISION, Decimal128.MIN_EXPONENT_NOMINAL - exp), 0);
+        //tininess is detected before rounding
+        final boolean tiny = (digits > 0 ? exp + digits - 1 : exp - 1) < Decimal128.MIN_EXPONENT;
+        long hi, lo;
+        final Remainder remainder;
+        if (drop == 0) {
+            hi = x1;
+            lo = x0;
+            remainder = tail;
+        } else {
+            final int q = drop / 18;
+            final int r = drop - q * 18;
+            if (r == 0) {
+                lo = limb(q, x3, x2, x1, x0);
+                hi = limb(q + 1, x3, x2, x1, x0);
+                remainder = Remainder.ofPow10(limb(q - 1, x3, x2, x1, x0), 18).withTail(nonZeroBelow(q - 1, x3, x2, x1, x0) | !tail.isZero());
+            } else {
+                final long pow10 = Pow.pow10(r);
+                final long inv = Pow.pow10(18 - r);
+                final long lq = limb(q, x3, x2, x1, x0);
+                final long lq1 = limb(q + 1, x3, x2, x1, x0);
+                lo = lq / pow10 + (lq1 % pow10) * inv;
+                hi = lq1 / pow10 + (limb(q + 2, x3, x2, x1, x0) % pow10) * inv;
+                remainder = Remainder.ofPow10(lq % pow10, r).withTail(nonZeroBelow(q, x3, x2, x1, x0) | !tail.isZero());
+            }
+        }
+        int e = exp + drop;
+        final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
+        if (!remainder.isZero() && roundingDirection.isRoundingIncrementPossible(sign)) {
+            lo += roundingDirection.getRoundingIncrement(sign, (int)(lo % 10), remainder);
+            if (lo == TEN_POW_18) {
+                lo = 0;
+                hi++;
+                if (hi == TEN_POW_16) {
+                    hi = TEN_POW_15;
+                    e++;
+                }
+            }
+        }
+        if (e > Decimal128.MAX_EXPONENT_NOMINAL) {
+            final int s = e - Decimal128.MAX_EXPONENT_NOMINAL;
+            if ((hi | lo) == 0) {
+                //zero with exponent capped at max
+                e = Decimal128.MAX_EXPONENT_NOMINAL;
+            } else if (remainder.isZero() && numberOfDigits(hi, lo) + s <= Decimal128.MAX_PRECISION) {
+                //exponent fits when left shifting coefficient
+                final long h = shiftLeftHi(hi, lo, s);
+                lo = shiftLeftLo(lo, s);
+                hi = h;
+                e = Decimal128.MAX_EXPONENT_NOMINAL;
+            } else {
+                //exponent overflow
+                if (Decimal64.isInfinite(roundingDirection.roundOverflow(sign))) {
+                    set(result, offset, (sign & Decimal128.SIGN_BIT_MASK) | Decimal128.INF, 0);
+                } else {
+                    set(result, offset, (sign & Decimal128.SIGN_BIT_MASK) | Decimal128.MAX_NORMAL_HI, Decimal128.MAX_NORMAL_LO);
+                }
+                Signal.overflow(operation, a, b, result[offset], attributes);
+                return;
+            }
+        }
+        set(result, offset, Decimal128.encodeHi(sign, e, hi), Decimal128.encodeLo(hi, lo));
+        if (!remainder.isZero()) {
+            if (tiny) {
+                Signal.underflow(operation, a, b, result[offset], attributes);
+            } else {
+                Signal.inexact(operation, a, b, result[offset], attributes);
+            }
+        }
+    }
+
+    //compares two non-zero coefficients with exponents
+    private static int compareMagnitude(final int expA, final long hA, final long lA,
+                                        final int expB, final long hB, final long lB) {
+        if (expA != expB) {
+            final int adjA = expA + numberOfDigits(hA, lA);
+            final int adjB = expB + numberOfDigits(hB, lB);
+            if (adjA != adjB) {
+                return adjA < adjB ? -1 : 1;
+            }
+            //same adjusted exponent: the shifted coefficient fits into 34 digits
+            if (expA > expB) {
+                final int shift = expA - expB;
+                return compareCoefficients(shiftLeftHi(hA, lA, shift), shiftLeftLo(lA, shift), hB, lB);
+            }
+            final int shift = expB - expA;
+            return compareCoefficients(hA, lA, shiftLeftHi(hB, lB, shift), shiftLeftLo(lB, shift));
+        }
+        return compareCoefficients(hA, lA, hB, lB);
+    }
+
+    private static int compareCoefficients(final long hA, final long lA, final long hB, final long lB) {
+        return hA != hB ? Long.compare(hA, hB) : Long.compare(lA, lB);
+    }
+
+    private static int numberOfDigits(final long hi, final long lo) {
+        return hi != 0 ? 18 + Pow.numberOfDigits(hi) : Pow.numberOfDigits(lo);
+    }
+
+    //high limb of (hi, lo) * 10^shift, assuming the result has at most 34 digits
+    private static long shiftLeftHi(final long hi, final long lo, final int shift) {
+        if (shift >= 18) {
+            return lo * Pow.pow10(shift - 18);
+        }
+        return hi * Pow.pow10(shift) + lo / Pow.pow10(18 - shift);
+    }
+
+    //low limb of (hi, lo) * 10^shift
+    private static long shiftLeftLo(final long lo, final int shift) {
+        if (shift >= 18) {
+            return 0;
+        }
+        return (lo % Pow.pow10(18 - shift)) * Pow.pow10(shift);
+    }
+
+    private static long limb(final int index, final long x3, final long x2, final long x1, final long x0) {
+        switch (index) {
+            case 0: return x0;
+            case 1: return x1;
+            case 2: return x2;
+            case 3: return x3;
+            default: return 0;
+        }
+    }
+
+    //true if any limb below index is non-zero
+    private static boolean nonZeroBelow(final int index, final long x3, final long x2, final long x1, final long x0) {
+        return (index > 0 & x0 != 0) | (index > 1 & x1 != 0) | (index > 2 & x2 != 0) | (index > 3 & x3 != 0);
+    }
+
+    private static void propagateNaN(final long aHi, final long aLo, final long bHi, final long bLo,
+                                     final long[] result, final int offset) {
+        if (Decimal128.isNaN(aHi)) {
+            set(result, offset, Decimal128.quietNaN(aHi), aLo);
+        } else {
+            set(result, offset, Decimal128.quietNaN(bHi), bLo);
+        }
+    }
+
+    private static void set(final long[] result, final int offset, final long hi, final long lo) {
+        result[offset] = hi;
+        result[offset + 1] = lo;
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.dpd.Rem;
+import org.decimal4j.dfloat.dpd.Shift;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+import static org.decimal4j.dfloat.ops.Sign.copySignToPositive;
+
+/**
+ * Operations on the quantum, that is, the exponent of a decimal float value: quantize, round, sameQuantum and
+ * reduce. All operations except round work directly on the DPD encoded coefficient.
+ */
+public final class Quantum {
+
+    private static final String QUANTIZE = "quantize";
+    private static final String ROUND = "round";
+    private static final int MAX_ROUND_EXPONENT = Decimal64.MAX_EXPONENT + 2;
+
+    private Quantum() {
+        throw new RuntimeException("No Quantum for you!");
+    }
+
+    /**
+     * Returns x rescaled to the exponent of y, rounded if necessary. InvalidOperation is signalled if the
+     * rescaled coefficient has more than 16 digits or if exactly one of x and y is infinite.
+     */
+    public static long quantize(final long x, final long y) {
+        return quantize(x, y, Attributes.DEFAULT);
+    }
+    public static long quantize(final long x, final long y, final RoundingDirection roundingDirection) {
+        return quantize(x, y, roundingDirection.asAttributes());
+    }
+    public static long quantize(final long x, final long y, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64.isFinite(x) & Decimal64.isFinite(y)) {
+            return quantizeFinite(x, Decimal64.getExponent(y), QUANTIZE, y, attributes);
+        }
+        if (Decimal64.isNaN(x)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(x), x);
+        }
+        if (Decimal64.isNaN(y)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(y), y);
+        }
+        if (Decimal64.isInfinite(x) & Decimal64.isInfinite(y)) {
+            return copySignToPositive(Decimal64.INF, x);
+        }
+        return Signal.invalidOperation(QUANTIZE, x, y, Decimal64.NAN, attributes);
+    }
+
+    /**
+     * Returns x rescaled to the given exponent, rounded if necessary; InvalidOperation is signalled if the
+     * rescaled coefficient has more than 16 digits.
+     *
+     * @param x a finite value
+     * @param exp the exponent of the result, a valid exponent between MIN_EXPONENT_NOMINAL and MAX_EXPONENT_NOMINAL
+     */
+    static long quantizeFinite(final long x, final int exp, final String operation, final long y, final Attributes attributes) {
+        final int expX = Decimal64.getExponent(x);
+        final int msd = Decimal64.getCombinationMSD(x);
+        if (exp == expX) {
+            return Decimal64.encode(x, exp, msd, Dpd.canonicalize(x));
+        }
+        if (msd == 0 && Dpd.isZero(x)) {
+            return Decimal64.zero(x, exp);
+        }
+        if (exp < expX) {
+            final int n = expX - exp;
+            final int nlz = msd > 0 ? 0 : 1 + Dpd.numberOfLeadingZeros(x);
+            if (n > nlz) {
+                return Signal.invalidOperation(operation, x, y, Decimal64.NAN, attributes);
+            }
+            final long dpd = Shift.shiftLeft(x, n);
+            return Decimal64.encode(x, exp, (int)(dpd >>> 50), dpd);
+        }
+        //exp > expX: shift right and round
+        final int n = exp - expX;
+        final long shifted = Shift.shiftRight(msd, x, n);
+        final Remainder remainder = Rem.remainderOfCoefficient(msd, x, n);
+        if (remainder == Remainder.ZERO) {
+            return Decimal64.encode(x, exp, (int)(shifted >>> 50), shifted);
+        }
+        final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
+        long dpd = shifted;
+        if (roundingDirection.isRoundingIncrementPossible(x)) {
+            final int inc = roundingDirection.getRoundingIncrement(x, Rem.mod10(shifted), remainder);
+            if (inc != 0) {
+                dpd = Dpd.inc(shifted);
+            }
+        }
+        final long result = Decimal64.encode(x, exp, (int)(dpd >>> 50), dpd);
+        return Signal.inexact(operation, x, y, result, attributes);
+    }
+
+    public static long round(final long x, final int precision) {
+        return round(x, precision, Attributes.DEFAULT);
+    }
+    public static long round(final long x, final int precision, final RoundingDirection roundingDirection) {
+        return round(x, precision, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns x rounded to the given number of digits after the decimal point, that is, to exponent
+     * {@code -precision}. Values with fewer fraction digits are returned unchanged; a negative precision rounds
+     * to tens, hundreds and so on. Unlike quantize this never signals InvalidOperation, but it signals Inexact if
+     * digits are dropped and Overflow if rounding up exceeds the exponent range.
+     *
+     * @param x             the value to round
+     * @param precision     the number of fraction digits to keep
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @return the rounded value
+     */
+    public static long round(final long x, final int precision, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64.isFinite(x)) {
+            final int expX = Decimal64.getExponent(x);
+            //beyond this exponent every value rounds to zero or overflows, and -precision cannot overflow
+            final int exp = -Math.max(precision, -MAX_ROUND_EXPONENT);
+            if (expX >= exp) {
+                return x;
+            }
+            final int n = exp - expX;
+            final long coefficient = Decimal64.getCoefficient(x);
+            final long q;
+            final Remainder tail;
+            if (n > Decimal64.MAX_PRECISION) {
+                q = 0;
+                tail = coefficient == 0 ? Remainder.ZERO : Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+            } else {
+                final long pow10 = Pow.pow10(n);
+                q = coefficient / pow10;
+                tail = Remainder.ofPow10(coefficient - q * pow10, n);
+            }
+            if (exp <= Decimal64.MAX_EXPONENT_NOMINAL) {
+                return Rounding.round(x, exp, q, tail, ROUND, x, precision, attributes);
+            }
+            //a multiple of 10^exp may still fit with the coefficient shifted to the maximum exponent
+            final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
+            final long rounded = tail.isZero() ? q : q + roundingDirection.getRoundingIncrement(x, (int)(q % 10), tail);
+            final int shift = exp - Decimal64.MAX_EXPONENT_NOMINAL;
+            final long result;
+            if (rounded == 0) {
+                result = Decimal64.zero(x, Decimal64.MAX_EXPONENT_NOMINAL);
+            } else if (shift < Decimal64.MAX_PRECISION && rounded < Pow.pow10(Decimal64.MAX_PRECISION - shift)) {
+                result = Decimal64.encodeCoefficient(x, Decimal64.MAX_EXPONENT_NOMINAL, rounded * Pow.pow10(shift));
+            } else {
+                return Signal.overflow(ROUND, x, precision, roundingDirection.roundOverflow(x), attributes);
+            }
+            return tail.isZero() ? result : Signal.inexact(ROUND, x, precision, result, attributes);
+        }
+        if (Decimal64.isNaN(x)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(x), x);
+        }
+        return copySignToPositive(Decimal64.INF, x);
+    }
+
+    /**
+     * Returns true if x and y have the same exponent, or if both are NaN or both are infinite.
+     */
+    public static boolean sameQuantum(final long x, final long y) {
+        if (Decimal64.isFinite(x) & Decimal64.isFinite(y)) {
+            return Decimal64.getExponent(x) == Decimal64.getExponent(y);
+        }
+        return (Decimal64.isNaN(x) & Decimal64.isNaN(y)) | (Decimal64.isInfinite(x) & Decimal64.isInfinite(y));
+    }
+
+    /**
+     * Returns x with trailing zeros of the coefficient removed as far as the exponent range allows. Zero is
+     * returned with exponent zero.
+     */
+    public static long reduce(final long x) {
+        if (Decimal64.isFinite(x)) {
+            final int msd = Decimal64.getCombinationMSD(x);
+            final int exp = Decimal64.getExponent(x);
+            if (msd == 0 && Dpd.isZero(x)) {
+                return Decimal64.zero(x, 0);
+            }
+            final int ntz = Dpd.numberOfTrailingZeros(x);
+            final int n = Math.min(ntz, Decimal64.MAX_EXPONENT_NOMINAL - exp);
+            final long dpd = Shift.shiftRight(msd, x, n);
+            return Decimal64.encode(x, exp + n, (int)(dpd >>> 50), dpd);
+        }
+        if (Decimal64.isNaN(x)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(x), x);
+        }
+        return copySignToPositive(Decimal64.INF, x);
+    }
+}
@@ -44,6 +44,38 @@ public enum Remainder {
     public final boolean isGreaterThanHalf() {
         return this == GREATER_THAN_HALF;
     }
+    /**
+     * Returns the remainder of the complement of the truncated part: if this is the remainder of {@code r} in
+     * {@code [0, 10^n)} then the complement is the remainder of {@code (10^n - r) mod 10^n}.
+     *
+     * @return the remainder of the complement, for instance {@link #GREATER_THAN_HALF} for
+     *          {@link #GREATER_THAN_ZERO_BUT_LESS_THAN_HALF}
+     */
+    public final Remainder complement() {
+        switch (this) {
+            case GREATER_THAN_ZERO_BUT_LESS_THAN_HALF:
+                return GREATER_THAN_HALF;
+            case GREATER_THAN_HALF:
+                return GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+            default:
+                return this;
+        }
+    }
+    /**
+     * Returns the remainder of the truncated part if further truncated digits follow at less significant
+     * positions: a non-zero tail turns {@link #ZERO} into {@link #GREATER_THAN_ZERO_BUT_LESS_THAN_HALF} and
+     * {@link #EQUAL_TO_HALF} into {@link #GREATER_THAN_HALF}.
+     *
+     * @param nonZeroTail true if any of the less significant truncated digits is non-zero
+     * @return the remainder including the tail
+     */
+    public final Remainder withTail(final boolean nonZeroTail) {
+        if (nonZeroTail) {
+            if (this == ZERO) return GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+            if (this == EQUAL_TO_HALF) return GREATER_THAN_HALF;
+        }
+        return this;
+    }
     public static final Remainder ofDigit(final int digit) {
         if (digit == 0) return ZERO;
         if (digit > 5) return GREATER_THAN_HALF;
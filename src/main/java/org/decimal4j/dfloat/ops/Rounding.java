@@ -0,0 +1,225 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.encode.Decimal64Bid;
+import org.decimal4j.dfloat.signal.Signal;
+
+/**
+ * Rounds exact intermediate results given as binary coefficient of up to 32 digits to a 64 bit decimal float
+ * value. The result is rounded only once, even if the exponent range forces extra digits to be dropped. Results
+ * are DPD encoded, BID encoded for the {@code roundBid} variants, or stored unencoded in an
+ * {@link UnpackedDecimal64} target.
+ */
+public final class Rounding {
+
+    private static final long TEN_POW_15 = 1000000000000000L;
+    private static final long TEN_POW_16 = 10000000000000000L;
+
+    private Rounding() {
+        throw new RuntimeException("No Rounding for you!");
+    }
+
+    /**
+     * Rounds the value {@code (-1)^sign * coefficient * 10^exp} to a decimal float.
+     *
+     * @param sign          the sign, only the sign bit is used
+     * @param exp           the exponent of the coefficient, not limited to the exponent range
+     * @param coefficient   the unsigned coefficient, a non-negative value
+     * @param tail          the remainder of digits already truncated below the coefficient
+     * @param operation     the operation name for signals
+     * @param a             the first operand for signals
+     * @param b             the second operand for signals
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @return the rounded decimal float value
+     */
+    public static long round(final long sign, final int exp, final long coefficient, final Remainder tail,
+                             final String operation, final long a, final long b,
+                             final Attributes attributes) {
+        return round(sign, exp, coefficient / TEN_POW_16, coefficient % TEN_POW_16, tail, operation, a, b, attributes);
+    }
+
+    /**
+     * Rounds the value {@code (-1)^sign * (hi * 10^16 + lo) * 10^exp} to a decimal float.
+     *
+     * @param sign          the sign, only the sign bit is used
+     * @param exp           the exponent of the least significant digit of lo, not limited to the exponent range
+     * @param hi            the high 16 digits of the unsigned coefficient, 0 to 10^16-1
+     * @param lo            the low 16 digits of the unsigned coefficient, 0 to 10^16-1
+     * @param tail          the remainder of digits already truncated below lo
+     * @param operation     the operation name for signals
+     * @param a             the first operand for signals
+     * @param b             the second operand for signals
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @return the rounded decimal float value
+     */
+    public static long round(final long sign, final int exp, final long hi, final long lo, final Remainder tail,
+                             final String operation, final long a, final long b,
+                             final Attributes attributes) {
+        return round(sign, exp, hi, lo, tail, operation, a, b, attributes, false);
+    }
+
+    /**
+     * Rounds the value {@code (-1)^sign * coefficient * 10^exp} to a decimal float in {@link Decimal64Bid BID}
+     * encoding, otherwise as {@link #round(long, int, long, Remainder, String, long, long, Attributes)}.
+     */
+    static long roundBid(final long sign, final int exp, final long coefficient, final Remainder tail,
+                         final String operation, final long a, final long b,
+                         final Attributes attributes) {
+        return round(sign, exp, coefficient / TEN_POW_16, coefficient % TEN_POW_16, tail, operation, a, b, attributes, true);
+    }
+
+    /**
+     * Rounds the value {@code (-1)^sign * (hi * 10^16 + lo) * 10^exp} to a decimal float in {@link Decimal64Bid BID}
+     * encoding, otherwise as {@link #round(long, int, long, long, Remainder, String, long, long, Attributes)}.
+     */
+    static long roundBid(final long sign, final int exp, final long hi, final long lo, final Remainder tail,
+                         final String operation, final long a, final long b,
+                         final Attributes attributes) {
+        return round(sign, exp, hi, lo, tail, operation, a, b, attributes, true);
+    }
+
+    /**
+     * Rounds the value {@code (-1)^sign * coefficient * 10^exp} and stores it in the target if it is not null,
+     * otherwise as {@link #round(long, int, long, Remainder, String, long, long, Attributes)}. Operands held in
+     * unpacked form are given as unpackedA and unpackedB instead of a and b and are only encoded for signals.
+     *
+     * @return the DPD encoded result if target is null, and 0 otherwise
+     */
+    static long round(final long sign, final int exp, final long coefficient, final Remainder tail,
+                      final String operation, final long a, final long b,
+                      final UnpackedDecimal64 unpackedA, final UnpackedDecimal64 unpackedB,
+                      final Attributes attributes, final UnpackedDecimal64 target) {
+        return round(sign, exp, coefficient / TEN_POW_16, coefficient % TEN_POW_16, tail, operation, a, b, unpackedA, unpackedB, attributes, false, target);
+    }
+
+    /**
+     * Rounds the value {@code (-1)^sign * (hi * 10^16 + lo) * 10^exp} and stores it in the target if it is not
+     * null, otherwise as {@link #round(long, int, long, long, Remainder, String, long, long, Attributes)}. Operands
+     * held in unpacked form are given as unpackedA and unpackedB instead of a and b and are only encoded for signals.
+     *
+     * @return the DPD encoded result if target is null, and 0 otherwise
+     */
+    static long round(final long sign, final int exp, final long hi, final long lo, final Remainder tail,
+                      final String operation, final long a, final long b,
+                      final UnpackedDecimal64 unpackedA, final UnpackedDecimal64 unpackedB,
+                      final Attributes attributes, final UnpackedDecimal64 target) {
+        return round(sign, exp, hi, lo, tail, operation, a, b, unpackedA, unpackedB, attributes, false, target);
+    }
+
+    private static long round(final long sign, final int exp, final long hi, final long lo, final Remainder tail,
+                              final String operation, final long a, final long b,
+                              final Attributes attributes, final boolean bid) {
+        return round(sign, exp, hi, lo, tail, operation, a, b, null, null, attributes, bid, null);
+    }
+
+    private static long round(final long sign, final int exp, final long hi, final long lo, final Remainder tail,
+                              final String operation, final long a, final long b,
+                              final UnpackedDecimal64 unpackedA, final UnpackedDecimal64 unpackedB,
+                              final Attributes attributes, final boolean bid, final UnpackedDecimal64 target) {
+        final int digits = hi != 0 ? 16 + Pow.numberOfDigits(hi) : Pow.numberOfDigits(lo);
+        final int drop = Math.max(Math.max(digits - Decimal64.MAX_PRECISION, Decimal64.MIN_EXPONENT_NOMINAL - exp), 0);
+        //tininess is detected before rounding
+        final boolean tiny = (digits > 0 ? exp + digits - 1 : exp - 1) < Decimal64.MIN_EXPONENT;
+        long coefficient;
+        final Remainder remainder;
+        if (drop == 0) {
+            coefficient = lo;
+            remainder = tail;
+        } else if (drop < 16) {
+            final long pow10 = Pow.pow10(drop);
+            final long q = lo / pow10;
+            coefficient = hi * Pow.pow10(16 - drop) + q;
+            remainder = Remainder.ofPow10(lo - q * pow10, drop).withTail(!tail.isZero());
+        } else if (drop == 16) {
+            coefficient = hi;
+            remainder = Remainder.ofPow10(lo, 16).withTail(!tail.isZero());
+        } else if (drop < 32) {
+            final long pow10 = Pow.pow10(drop - 16);
+            coefficient = hi / pow10;
+            remainder = Remainder.ofPow10(hi - coefficient * pow10, drop - 16).withTail(lo != 0 | !tail.isZero());
+        } else {
+            coefficient = 0;
+            remainder = drop == 32 ? Remainder.ofPow10(hi, 16).withTail(lo != 0 | !tail.isZero()) :
+                    hi == 0 & lo == 0 ? tail.isZero() ? Remainder.ZERO : Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF :
+                    Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+        }
+        int e = exp + drop;
+        final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
+        if (!remainder.isZero() && roundingDirection.isRoundingIncrementPossible(sign)) {
+            coefficient += roundingDirection.getRoundingIncrement(sign, (int)(coefficient % 10), remainder);
+            if (coefficient == TEN_POW_16) {
+                coefficient = TEN_POW_15;
+                e++;
+            }
+        }
+        if (e > Decimal64.MAX_EXPONENT_NOMINAL) {
+            final int shift = e - Decimal64.MAX_EXPONENT_NOMINAL;
+            if (coefficient == 0) {
+                //zero with exponent capped at max
+                e = Decimal64.MAX_EXPONENT_NOMINAL;
+            } else if (remainder.isZero() && Pow.numberOfDigits(coefficient) + shift <= Decimal64.MAX_PRECISION) {
+                //exponent fits when left shifting coefficient
+                coefficient *= Pow.pow10(shift);
+                e = Decimal64.MAX_EXPONENT_NOMINAL;
+            } else {
+                //exponent overflow
+                final long result = roundingDirection.roundOverflow(sign);
+                if (target != null) {
+                    target.set(Signal.overflow(operation, operand(a, unpackedA), operand(b, unpackedB), result, attributes));
+                    return 0;
+                }
+                return Signal.overflow(operation, a, b, bid ? Decimal64Bid.fromDpd(result) : result, attributes);
+            }
+        }
+        if (target != null) {
+            if (!remainder.isZero()) {
+                //signal before the target is changed, it can be one of the operands
+                final long result = Decimal64.encodeCoefficient(sign, e, coefficient);
+                final long opA = operand(a, unpackedA);
+                final long opB = operand(b, unpackedB);
+                final long signalled = tiny ? Signal.underflow(operation, opA, opB, result, attributes) : Signal.inexact(operation, opA, opB, result, attributes);
+                if (signalled != result) {
+                    target.set(signalled);
+                    return 0;
+                }
+            }
+            target.setFinite(sign, e, coefficient);
+            return 0;
+        }
+        final long result = bid ? Decimal64Bid.encode(sign, e, coefficient) : Decimal64.encodeCoefficient(sign, e, coefficient);
+        if (remainder.isZero()) {
+            return result;
+        }
+        return tiny ? Signal.underflow(operation, a, b, result, attributes) : Signal.inexact(operation, a, b, result, attributes);
+    }
+
+    //the DPD encoded operand for signals
+    private static long operand(final long dFloat, final UnpackedDecimal64 unpacked) {
+        return unpacked == null ? dFloat : unpacked.pack();
+    }
+}
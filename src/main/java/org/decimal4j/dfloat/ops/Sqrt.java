@@ -0,0 +1,135 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+import static org.decimal4j.dfloat.ops.Sign.copySignToPositive;
+
+public final class Sqrt {
+
+    private static final String SQRT = "sqrt";
+
+    private static final long TEN_POW_8 = 100000000L;
+    private static final long TEN_POW_16 = 10000000000000000L;
+
+    private Sqrt() {
+        throw new RuntimeException("No Sqrt for you!");
+    }
+
+    public static long sqrt(final long a) {
+        return sqrt(a, Attributes.DEFAULT);
+    }
+    public static long sqrt(final long a, final RoundingDirection roundingDirection) {
+        return sqrt(a, roundingDirection.asAttributes());
+    }
+    public static long sqrt(final long a, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (Decimal64.isFinite(a)) {
+            final long coeff = Decimal64.getCoefficient(a);
+            final int exp = Decimal64.getExponent(a);
+            if (coeff == 0) {
+                //sqrt(-0) is -0
+                return Decimal64.zero(a, exp >> 1);
+            }
+            if (a < 0) {
+                return Signal.invalidOperation(SQRT, a, 0, Decimal64.NAN, attributes);
+            }
+            return sqrtFinite(coeff, exp, a, attributes);
+        }
+        if (Decimal64.isNaN(a)) {
+            return copySignToPositive(Decimal64.NAN | Dpd.canonicalize(a), a);
+        }
+        //Infinite
+        if (a < 0) {
+            return Signal.invalidOperation(SQRT, a, 0, Decimal64.NAN, attributes);
+        }
+        return Decimal64.INF;
+    }
+
+    private static long sqrtFinite(final long coeff, final int exp, final long a, final Attributes attributes) {
+        //make exponent even
+        final boolean odd = (exp & 1) != 0;
+        final long c = odd ? coeff * 10 : coeff;
+        final int e = odd ? exp - 1 : exp;
+        //n = c * 10^(2k) with 31 or 32 digits, sqrt(n) has 16 digits
+        final int k = (32 - Pow.numberOfDigits(c)) >> 1;
+        final long nHi, nLo;
+        if (k >= 8) {
+            nHi = c * Pow.pow10(2 * k - 16);
+            nLo = 0;
+        } else {
+            final long pow10 = Pow.pow10(16 - 2 * k);
+            nHi = c / pow10;
+            nLo = (c - nHi * pow10) * Pow.pow10(2 * k);
+        }
+        //double seed, then one integer Newton step r += (n - r^2) / 2r, then correct by one at most
+        long r = (long)Math.sqrt(nHi * 1e16 + nLo);
+        long rem = remainder(nHi, nLo, r);
+        final long delta = rem / (2 * r);
+        r += delta;
+        rem -= (2 * r - delta) * delta;
+        while (rem < 0) {
+            r--;
+            rem += 2 * r + 1;
+        }
+        while (rem > 2 * r) {
+            rem -= 2 * r + 1;
+            r++;
+        }
+        final int expR = (e >> 1) - k;
+        if (rem != 0) {
+            //no ties possible: n = r^2 + r + 1/4 has no integer solution
+            final Remainder remainder = rem <= r ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF : Remainder.GREATER_THAN_HALF;
+            return Rounding.round(0, expR, r, remainder, SQRT, a, 0, attributes);
+        }
+        //exact: remove trailing zeros towards the preferred exponent
+        final int preferred = exp >> 1;
+        int expExact = expR;
+        while (expExact < preferred && r % 10 == 0) {
+            r /= 10;
+            expExact++;
+        }
+        return Decimal64.encodeCoefficient(0, expExact, r);
+    }
+
+    /**
+     * Returns {@code n - r^2} for {@code n = nHi*10^16 + nLo}, for an estimate r close enough to the square root
+     * of n so that the result fits into a long.
+     */
+    private static long remainder(final long nHi, final long nLo, final long r) {
+        final long rHi = r / TEN_POW_8;
+        final long rLo = r - rHi * TEN_POW_8;
+        final long mid = 2 * rHi * rLo;
+        final long midHi = mid / TEN_POW_8;
+        final long sqLo = rLo * rLo + (mid - midHi * TEN_POW_8) * TEN_POW_8;
+        final long sqHi = rHi * rHi + midHi;
+        return (nHi - sqHi) * TEN_POW_16 + (nLo - sqLo);
+    }
+}
@@ -24,7 +24,9 @@
 package org.decimal4j.dfloat.ops;
 
 import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
 import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
 
 public final class Sub {
 
@@ -41,4 +43,19 @@ public final class Sub {
     public static long subtract(final long a, final long b, final Attributes attributes) {
         return Add.add(a, Sign.flipSign(b), attributes, Add.OpMode.Subtract);
     }
-}
\ No newline at end of file
+
+    public static long subtractLong(final long a, final long l) {
+        return subtractLong(a, l, Attributes.DEFAULT);
+    }
+    public static long subtractLong(final long a, final long l, final RoundingDirection roundingDirection) {
+        return subtractLong(a, l, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns a - l computed exactly and rounded once, see {@link Add#addLong(long, long, Attributes)}.
+     */
+    public static long subtractLong(final long a, final long l, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return Add.addLong(a, ~l & Decimal64.SIGN_BIT_MASK, l, Add.SUBTRACT_LONG, attributes);
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+import static org.decimal4j.dfloat.ops.BinaryPow10.compareExact;
+import static org.decimal4j.dfloat.ops.BinaryPow10.flog2pow10;
+import static org.decimal4j.dfloat.ops.BinaryPow10.g0;
+import static org.decimal4j.dfloat.ops.BinaryPow10.g1;
+import static org.decimal4j.dfloat.ops.BinaryPow10.multiplyHigh;
+
+/**
+ * Conversions from decimal 64 values to binary {@code double} and {@code float} values, correctly rounded according
+ * to {@link Attributes#getBinaryRoundingDirection()}.
+ * <p>
+ * The conversion follows the approach of D. Lemire's and M. Eisel's fast decimal to binary conversion: the binary
+ * coefficient is multiplied by a 126 bit power of ten from {@link BinaryPow10}, which determines the binary
+ * significand and the rounding remainder unless the product is within an ulp of a rounding boundary. Only these
+ * rare cases fall back to an exact comparison of the decimal value with the boundary.
+ * <p>
+ * Inexact results, overflow and underflow are signalled with the raw bits of the binary result, as returned by
+ * {@link Double#doubleToRawLongBits(double)} or {@link Float#floatToRawIntBits(float)}; handlers returning a
+ * different result must return such bits. Signalling NaN values signal an invalid operation, all NaN values
+ * become a quiet binary NaN with the sign of the decimal value.
+ */
+public final class ToBinary {
+
+    private static final String TO_DOUBLE = "toDouble";
+    private static final String TO_FLOAT = "toFloat";
+
+    //binary64 precision, smallest and largest exponent of the last significand bit, decimal range limits
+    private static final int DOUBLE_P = 53;
+    private static final int DOUBLE_Q_MIN = -1074;
+    private static final int DOUBLE_Q_MAX = 971;
+    private static final int DOUBLE_MIN_EXP10 = -324;
+    private static final int DOUBLE_MAX_EXP10 = 308;
+    private static final long DOUBLE_INF = 0x7ff0000000000000L;
+    private static final long DOUBLE_NAN = 0x7ff8000000000000L;
+
+    //binary32 counterparts
+    private static final int FLOAT_P = 24;
+    private static final int FLOAT_Q_MIN = -149;
+    private static final int FLOAT_Q_MAX = 104;
+    private static final int FLOAT_MIN_EXP10 = -45;
+    private static final int FLOAT_MAX_EXP10 = 38;
+    private static final long FLOAT_INF = 0x7f800000L;
+    private static final long FLOAT_NAN = 0x7fc00000L;
+
+    //exact powers of ten and the largest exact coefficients for the fast path
+    private static final double[] DOUBLE_POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POW10 = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+    private static final long[] POW5 = {
+            1L, 5L, 25L, 125L, 625L, 3125L, 15625L, 78125L, 390625L, 1953125L, 9765625L, 48828125L,
+            244140625L, 1220703125L, 6103515625L, 30517578125L, 152587890625L, 762939453125L,
+            3814697265625L, 19073486328125L, 95367431640625L, 476837158203125L, 2384185791015625L
+    };
+
+    private ToBinary() {
+        throw new RuntimeException("No ToBinary for you!");
+    }
+
+    public static double toDouble(final long x) {
+        return toDouble(x, Attributes.DEFAULT);
+    }
+    public static double toDouble(final long x, final RoundingDirection roundingDirection) {
+        return toDouble(x, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the double value of x rounded according to the binary rounding direction of the attributes.
+     *
+     * @param x             the decimal float value to convert
+     * @param attributes    the attributes with binary rounding direction and exception handling
+     * @return the double value
+     */
+    public static double toDouble(final long x, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        final long sign = x & Decimal64.SIGN_BIT_MASK;
+        if (Decimal64.isFinite(x)) {
+            final long w = Decimal64.getCoefficient(x);
+            final int e = Decimal64.getExponent(x);
+            if (w < 1L << DOUBLE_P & e >= -22 & e <= 22 && attributes.getBinaryRoundingDirection() == RoundingDirection.NearestTiesToEven) {
+                //Clinger's fast path: both operands are exact and the operation rounds once
+                final double value = e >= 0 ? w * DOUBLE_POW10[e] : w / DOUBLE_POW10[-e];
+                final double result = x < 0 ? -value : value;
+                return isExact(w, e, DOUBLE_P) ? result
+                        : Double.longBitsToDouble(Signal.inexact(TO_DOUBLE, x, 0, Double.doubleToRawLongBits(result), attributes));
+            }
+            return Double.longBitsToDouble(toBinary(x, sign, w, e, DOUBLE_P, DOUBLE_Q_MIN, DOUBLE_Q_MAX,
+                    DOUBLE_MIN_EXP10, DOUBLE_MAX_EXP10, DOUBLE_INF, TO_DOUBLE, attributes));
+        }
+        return Double.longBitsToDouble(nonFinite(x, sign, DOUBLE_INF, DOUBLE_NAN, TO_DOUBLE, attributes));
+    }
+
+    public static float toFloat(final long x) {
+        return toFloat(x, Attributes.DEFAULT);
+    }
+    public static float toFloat(final long x, final RoundingDirection roundingDirection) {
+        return toFloat(x, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the float value of x rounded according to the binary rounding direction of the attributes. The value
+     * is rounded only once, which is not the same as rounding the {@link #toDouble(long, Attributes) double} value.
+     *
+     * @param x             the decimal float value to convert
+     * @param attributes    the attributes with binary rounding direction and exception handling
+     * @return the float value
+     */
+    public static float toFloat(final long x, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        final long sign = x < 0 ? 1L << 31 : 0;
+        if (Decimal64.isFinite(x)) {
+            final long w = Decimal64.getCoefficient(x);
+            final int e = Decimal64.getExponent(x);
+            if (w < 1L << FLOAT_P & e >= -10 & e <= 10 && attributes.getBinaryRoundingDirection() == RoundingDirection.NearestTiesToEven) {
+                final float value = e >= 0 ? w * FLOAT_POW10[e] : w / FLOAT_POW10[-e];
+                final float result = x < 0 ? -value : value;
+                return isExact(w, e, FLOAT_P) ? result
+                        : Float.intBitsToFloat((int) Signal.inexact(TO_FLOAT, x, 0, Float.floatToRawIntBits(result), attributes));
+            }
+            return Float.intBitsToFloat((int) toBinary(x, sign, w, e, FLOAT_P, FLOAT_Q_MIN, FLOAT_Q_MAX,
+                    FLOAT_MIN_EXP10, FLOAT_MAX_EXP10, FLOAT_INF, TO_FLOAT, attributes));
+        }
+        return Float.intBitsToFloat((int) nonFinite(x, sign, FLOAT_INF, FLOAT_NAN, TO_FLOAT, attributes));
+    }
+
+    //true if w * 10^e is a binary value of the given precision, for |e| <= 22 and normal results
+    private static boolean isExact(final long w, final int e, final int precision) {
+        if (e >= 0) {
+            //the odd part w' * 5^e must fit
+            final long odd = w >>> Long.numberOfTrailingZeros(w | Long.MIN_VALUE);
+            return odd <= ((1L << precision) - 1) / POW5[e];
+        }
+        return w % POW5[-e] == 0;
+    }
+
+    private static long nonFinite(final long x, final long sign, final long inf, final long nan,
+                                  final String operation, final Attributes attributes) {
+        if (Decimal64.isInfinite(x)) {
+            return sign | inf;
+        }
+        if (Decimal64.isSignalingNaN(x)) {
+            return Signal.invalidOperation(operation, x, 0, sign | nan, attributes);
+        }
+        return sign | nan;
+    }
+
+    /**
+     * Returns the bits of the binary value closest to x in the given rounding direction.
+     *
+     * @param x         a finite decimal float value
+     * @param sign      the sign bit of the binary format if x is negative, and 0 otherwise
+     * @param w         the coefficient of x
+     * @param e         the exponent of x
+     * @param precision the binary precision including the hidden bit
+     * @param qMin      the exponent of the last significand bit of subnormal values
+     * @param qMax      the exponent of the last significand bit of the largest values
+     * @param minExp10  values below {@code 10^minExp10} are less than half the smallest subnormal value
+     * @param maxExp10  values of at least {@code 10^(maxExp10 + 1)} overflow
+     * @param inf       the bits of positive infinity
+     */
+    private static long toBinary(final long x, final long sign, final long w, final int e, final int precision, final int qMin, final int qMax,
+                                 final int minExp10, final int maxExp10, final long inf,
+                                 final String operation, final Attributes attributes) {
+        if (w == 0) {
+            return sign;
+        }
+        final long hidden = 1L << (precision - 1);
+        long m;
+        int q;
+        final Remainder remainder;
+        if (e > maxExp10) {
+            return overflow(x, sign, inf, operation, attributes);
+        }
+        if (e + Decimal64.MAX_PRECISION < minExp10) {
+            m = 0;
+            q = qMin;
+            remainder = Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+        } else {
+            //w * 10^e = y * 2^-n * g * 2^r = (y * g / 2^63) * 2^(63 + r - n)
+            final int n = Long.numberOfLeadingZeros(w) - 1;
+            final long y = w << n;
+            final int r = flog2pow10(e) - 125;
+            final long lo1 = y * g1(-e);
+            final long lo0 = y * g0(-e);
+            final long b = (multiplyHigh(y, g0(-e)) << 1) | (lo0 >>> 63);
+            final long lo = lo1 + b;
+            final long hi = multiplyHigh(y, g1(-e)) + (((lo1 & b) | ((lo1 | b) & ~lo)) >>> 63);
+            //the product is less than one unit off, its highest bit is bit 124 or 125
+            final int top = 127 - Long.numberOfLeadingZeros(hi);
+            final int bit = top + 63 + r - n;
+            if (bit < qMin - 2) {
+                m = 0;
+                q = qMin;
+                remainder = Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+            } else {
+                //significand m with exponent q, and 64 bits of the remainder where 2^63 is one half
+                q = Math.max(bit - precision + 1, qMin);
+                final int shift = top - bit + q;
+                m = hi >>> (shift - 64);
+                final long fraction = (hi << (128 - shift)) | (lo >>> (shift - 64));
+                if (((fraction + 2) >>> 2) == 0) {
+                    //close to a binary value, compare w * 10^e with boundary * 2^q
+                    final long boundary = m + (fraction < 0 ? 1 : 0);
+                    final int cmp = boundary == 0 ? 1 : -compareExact(boundary, w, e - q, e);
+                    if (cmp >= 0) {
+                        m = boundary;
+                        remainder = cmp == 0 ? Remainder.ZERO : Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+                        if (m == hidden << 1) {
+                            m = hidden;
+                            q++;
+                        }
+                    } else if (boundary == hidden & q > qMin) {
+                        //just below a power of two, the next lower value has half the ulp
+                        m = (hidden << 1) - 1;
+                        q--;
+                        remainder = Remainder.GREATER_THAN_HALF;
+                    } else {
+                        m = boundary - 1;
+                        remainder = Remainder.GREATER_THAN_HALF;
+                    }
+                } else if ((((fraction ^ Long.MIN_VALUE) + 2) >>> 2) == 0) {
+                    //close to a half, compare w * 10^e with (2 * m + 1) * 2^(q - 1)
+                    final int cmp = -compareExact((m << 1) + 1, w, e - q + 1, e);
+                    remainder = cmp < 0 ? Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF
+                            : cmp > 0 ? Remainder.GREATER_THAN_HALF : Remainder.EQUAL_TO_HALF;
+                } else {
+                    remainder = fraction < 0 ? Remainder.GREATER_THAN_HALF : Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF;
+                }
+            }
+        }
+        if (remainder == Remainder.ZERO) {
+            return sign | encode(m, q, precision, qMin);
+        }
+        //tininess is detected before rounding
+        final boolean tiny = m < hidden;
+        m += attributes.getBinaryRoundingDirection().getRoundingIncrement(x, (int) m & 0x1, remainder);
+        if (m == hidden << 1) {
+            m = hidden;
+            q++;
+        }
+        if (q > qMax) {
+            return overflow(x, sign, inf, operation, attributes);
+        }
+        final long result = sign | encode(m, q, precision, qMin);
+        return tiny ? Signal.underflow(operation, x, 0, result, attributes)
+                : Signal.inexact(operation, x, 0, result, attributes);
+    }
+
+    //m * 2^q with m < 2^precision, and q == qMin if m is subnormal
+    private static long encode(final long m, final int q, final int precision, final int qMin) {
+        final long hidden = 1L << (precision - 1);
+        return m < hidden ? m : ((long) (q - qMin + 1) << (precision - 1)) | (m - hidden);
+    }
+
+    private static long overflow(final long x, final long sign, final long inf,
+                                 final String operation, final Attributes attributes) {
+        //the largest finite value precedes infinity
+        final long max = inf - 1;
+        final boolean infinite = attributes.getBinaryRoundingDirection().isRoundingIncrementPossible(x);
+        return Signal.overflow(operation, x, 0, sign | (infinite ? inf : max), attributes);
+    }
+}
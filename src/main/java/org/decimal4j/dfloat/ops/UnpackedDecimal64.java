@@ -0,0 +1,343 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.encode.Decimal64;
+
+/**
+ * Mutable accumulator holding a 64 bit decimal float value unpacked into sign, exponent and binary coefficient.
+ * Chains of add, multiply and fma operations work on the unpacked fields and round each result exactly like the
+ * corresponding operation on DPD encoded values, but the value is only encoded when {@link #pack()} is called.
+ * <p>
+ * Infinite and NaN values are held in encoded form; operations involving them fall back to the DPD operations.
+ * Exception handlers receive the same operands and results as for the corresponding DPD operation; operands and
+ * result are encoded for this purpose only if the result is inexact.
+ */
+public final class UnpackedDecimal64 {
+
+    private static final String ADD = "add";
+    private static final String SUBTRACT = "subtract";
+    private static final String MULTIPLY = "multiply";
+
+    private static final long TEN_POW_16 = 10000000000000000L;
+
+    private long sign;//sign bit only
+    private int exponent;
+    private long coefficient;
+    private long nonFinite;//encoded infinity or NaN, 0 for finite values
+
+    public UnpackedDecimal64() {
+        set(Decimal64.ZERO);
+    }
+
+    public UnpackedDecimal64(final long dFloat) {
+        set(dFloat);
+    }
+
+    /**
+     * Unpacks the given value into this accumulator.
+     *
+     * @param dFloat the DPD encoded value
+     * @return this accumulator
+     */
+    public UnpackedDecimal64 set(final long dFloat) {
+        sign = dFloat & Decimal64.SIGN_BIT_MASK;
+        if (Decimal64.isFinite(dFloat)) {
+            exponent = Decimal64.getExponent(dFloat);
+            coefficient = Decimal64.getCoefficient(dFloat);
+            nonFinite = 0;
+        } else {
+            exponent = 0;
+            coefficient = 0;
+            nonFinite = dFloat;
+        }
+        return this;
+    }
+
+    public UnpackedDecimal64 set(final UnpackedDecimal64 value) {
+        sign = value.sign;
+        exponent = value.exponent;
+        coefficient = value.coefficient;
+        nonFinite = value.nonFinite;
+        return this;
+    }
+
+    //sets a finite value with exponent and coefficient in the valid range
+    void setFinite(final long sign, final int exponent, final long coefficient) {
+        this.sign = sign & Decimal64.SIGN_BIT_MASK;
+        this.exponent = exponent;
+        this.coefficient = coefficient;
+        this.nonFinite = 0;
+    }
+
+    /**
+     * Returns the held value in DPD encoding.
+     *
+     * @return the DPD encoded value
+     */
+    public long pack() {
+        return nonFinite == 0 ? Decimal64.encodeCoefficient(sign, exponent, coefficient) : nonFinite;
+    }
+
+    public boolean isFinite() {
+        return nonFinite == 0;
+    }
+
+    public boolean isSignMinus() {
+        return sign != 0;
+    }
+
+    /**
+     * Returns the exponent of a finite value.
+     */
+    public int getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Returns the unsigned binary coefficient of a finite value, 0 to 10^16-1.
+     */
+    public long getCoefficient() {
+        return coefficient;
+    }
+
+    public UnpackedDecimal64 add(final long b) {
+        return add(b, Attributes.DEFAULT);
+    }
+    public UnpackedDecimal64 add(final long b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (nonFinite == 0 & Decimal64.isFinite(b)) {
+            addFinite(b & Decimal64.SIGN_BIT_MASK, Decimal64.getExponent(b), Decimal64.getCoefficient(b), ADD, b, null, attributes);
+            return this;
+        }
+        return set(Add.add(pack(), b, attributes));
+    }
+    public UnpackedDecimal64 add(final UnpackedDecimal64 b) {
+        return add(b, Attributes.DEFAULT);
+    }
+    public UnpackedDecimal64 add(final UnpackedDecimal64 b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if ((nonFinite | b.nonFinite) == 0) {
+            addFinite(b.sign, b.exponent, b.coefficient, ADD, 0, b, attributes);
+            return this;
+        }
+        return set(Add.add(pack(), b.pack(), attributes));
+    }
+
+    public UnpackedDecimal64 subtract(final long b) {
+        return subtract(b, Attributes.DEFAULT);
+    }
+    public UnpackedDecimal64 subtract(final long b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (nonFinite == 0 & Decimal64.isFinite(b)) {
+            addFinite(~b & Decimal64.SIGN_BIT_MASK, Decimal64.getExponent(b), Decimal64.getCoefficient(b), SUBTRACT, b, null, attributes);
+            return this;
+        }
+        return set(Sub.subtract(pack(), b, attributes));
+    }
+    public UnpackedDecimal64 subtract(final UnpackedDecimal64 b) {
+        return subtract(b, Attributes.DEFAULT);
+    }
+    public UnpackedDecimal64 subtract(final UnpackedDecimal64 b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if ((nonFinite | b.nonFinite) == 0) {
+            addFinite(b.sign ^ Decimal64.SIGN_BIT_MASK, b.exponent, b.coefficient, SUBTRACT, 0, b, attributes);
+            return this;
+        }
+        return set(Sub.subtract(pack(), b.pack(), attributes));
+    }
+
+    public UnpackedDecimal64 multiply(final long b) {
+        return multiply(b, Attributes.DEFAULT);
+    }
+    public UnpackedDecimal64 multiply(final long b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (nonFinite == 0 & Decimal64.isFinite(b)) {
+            Mul.multiplyFinite((sign ^ b) & Decimal64.SIGN_BIT_MASK, exponent + Decimal64.getExponent(b), coefficient, Decimal64.getCoefficient(b),
+                    MULTIPLY, 0, b, this, null, attributes, false, this);
+            return this;
+        }
+        return set(Mul.multiply(pack(), b, attributes));
+    }
+    public UnpackedDecimal64 multiply(final UnpackedDecimal64 b) {
+        return multiply(b, Attributes.DEFAULT);
+    }
+    public UnpackedDecimal64 multiply(final UnpackedDecimal64 b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if ((nonFinite | b.nonFinite) == 0) {
+            Mul.multiplyFinite(sign ^ b.sign, exponent + b.exponent, coefficient, b.coefficient,
+                    MULTIPLY, 0, 0, this, b, attributes, false, this);
+            return this;
+        }
+        return set(Mul.multiply(pack(), b.pack(), attributes));
+    }
+
+    /**
+     * Adds the exact product {@code a * b} to this value with a single rounding.
+     *
+     * @param a the first factor
+     * @param b the second factor
+     * @return this accumulator holding {@code a * b + this}
+     */
+    public UnpackedDecimal64 fma(final long a, final long b) {
+        return fma(a, b, Attributes.DEFAULT);
+    }
+    public UnpackedDecimal64 fma(final long a, final long b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if (nonFinite == 0 & Decimal64.isFinite(a) & Decimal64.isFinite(b)) {
+            Fma.fmaFinite((a ^ b) & Decimal64.SIGN_BIT_MASK, Decimal64.getExponent(a) + Decimal64.getExponent(b),
+                    Decimal64.getCoefficient(a), Decimal64.getCoefficient(b), sign, exponent, coefficient,
+                    a, b, null, null, attributes, this);
+            return this;
+        }
+        return set(Fma.fma(a, b, pack(), attributes));
+    }
+    public UnpackedDecimal64 fma(final UnpackedDecimal64 a, final UnpackedDecimal64 b) {
+        return fma(a, b, Attributes.DEFAULT);
+    }
+    public UnpackedDecimal64 fma(final UnpackedDecimal64 a, final UnpackedDecimal64 b, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        if ((nonFinite | a.nonFinite | b.nonFinite) == 0) {
+            Fma.fmaFinite(a.sign ^ b.sign, a.exponent + b.exponent, a.coefficient, b.coefficient,
+                    sign, exponent, coefficient, 0, 0, a, b, attributes, this);
+            return this;
+        }
+        return set(Fma.fma(a.pack(), b.pack(), pack(), attributes));
+    }
+
+    @Override
+    public String toString() {
+        if (nonFinite != 0) {
+            return "0x" + Long.toHexString(nonFinite);
+        }
+        return (sign != 0 ? "-" : "") + coefficient + "E" + exponent;
+    }
+
+    //adds y to this value, the same algorithm as for BID encoded values; b or unpackedB is the second operand for signals
+    private void addFinite(final long signY, final int expY, final long coeffY,
+                           final String operation, final long b, final UnpackedDecimal64 unpackedB,
+                           final Attributes attributes) {
+        if (exponent >= expY) {
+            addFinite(sign, exponent, coefficient, signY, expY, coeffY, operation, b, unpackedB, attributes);
+        } else {
+            addFinite(signY, expY, coeffY, sign, exponent, coefficient, operation, b, unpackedB, attributes);
+        }
+    }
+
+    //adds x and y where x has the larger or equal exponent
+    private void addFinite(final long signX, final int expX, final long coeffX,
+                           final long signY, final int expY, final long coeffY,
+                           final String operation, final long b, final UnpackedDecimal64 unpackedB,
+                           final Attributes attributes) {
+        final boolean subtract = signX != signY;
+        if (coeffX == 0 | coeffY == 0) {
+            if (coeffY != 0) {
+                setFinite(signY, expY, coeffY);
+            } else if (coeffX == 0) {
+                setFinite(subtract ? Add.zeroSumSign(attributes) : signX, expY, 0);
+            } else {
+                //shift x left towards the exponent of y as far as the precision allows
+                final int shift = Math.min(expX - expY, Decimal64.MAX_PRECISION - Pow.numberOfDigits(coeffX));
+                setFinite(signX, expX - shift, coeffX * Pow.pow10(shift));
+            }
+            return;
+        }
+        final int diff = expX - expY;
+        if (diff == 0) {
+            final long sum = subtract ? coeffX - coeffY : coeffX + coeffY;
+            if (sum == 0) {
+                setFinite(Add.zeroSumSign(attributes), expY, 0);
+                return;
+            }
+            final long signSum = sum < 0 ? signY : signX;
+            final long abs = Math.abs(sum);
+            if (abs < TEN_POW_16) {
+                setFinite(signSum, expY, abs);
+                return;
+            }
+            Rounding.round(signSum, expY, abs, Remainder.ZERO, operation, 0, b, this, unpackedB, attributes, this);
+            return;
+        }
+        if (diff <= 16) {
+            //x * 10^diff = hi * 10^16 + lo, exact
+            final long pow10 = Pow.pow10(16 - diff);
+            long hi = coeffX / pow10;
+            long lo = (coeffX - hi * pow10) * Pow.pow10(diff);
+            long signSum = signX;
+            if (!subtract) {
+                lo += coeffY;
+                if (lo >= TEN_POW_16) {
+                    lo -= TEN_POW_16;
+                    hi++;
+                }
+            } else if (hi == 0 & lo <= coeffY) {
+                if (lo == coeffY) {
+                    setFinite(Add.zeroSumSign(attributes), expY, 0);
+                    return;
+                }
+                lo = coeffY - lo;
+                signSum = signY;
+            } else {
+                lo -= coeffY;
+                if (lo < 0) {
+                    lo += TEN_POW_16;
+                    hi--;
+                }
+            }
+            if (hi == 0) {
+                //exact, exponent of y is valid
+                setFinite(signSum, expY, lo);
+                return;
+            }
+            Rounding.round(signSum, expY, hi, lo, Remainder.ZERO, operation, 0, b, this, unpackedB, attributes, this);
+            return;
+        }
+        //diff > 16: x * 10^16 = hi * 10^16 with exponent expX - 16, y shifted right into lo and tail
+        final int k = diff - 16;
+        final long shifted;
+        final long dropped;
+        if (k < 16) {
+            shifted = coeffY / Pow.pow10(k);
+            dropped = coeffY - shifted * Pow.pow10(k);
+        } else {
+            shifted = 0;
+            dropped = coeffY;
+        }
+        final Remainder tail = Remainder.ofPow10(dropped, k);
+        if (!subtract) {
+            Rounding.round(signX, expX - 16, coeffX, shifted, tail, operation, 0, b, this, unpackedB, attributes, this);
+            return;
+        }
+        //borrow one unit of lo if the tail is non-zero
+        long hi = coeffX;
+        long lo = -shifted - (tail.isZero() ? 0 : 1);
+        if (lo < 0) {
+            lo += TEN_POW_16;
+            hi--;
+        }
+        Rounding.round(signX, expX - 16, hi, lo, tail.complement(), operation, 0, b, this, unpackedB, attributes, this);
+    }
+}
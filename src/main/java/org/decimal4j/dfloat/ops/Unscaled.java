@@ -0,0 +1,246 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.Flags;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.signal.Signal;
+
+/**
+ * Conversions between 64 bit decimal floats and fixed-point unscaled long values {@code unscaled * 10^-scale} as
+ * used by decimal4j. The bulk variants convert whole columns with a loop that encodes or decodes the common case
+ * directly through the binary to DPD kernels and only falls back to the scalar conversion for elements that need
+ * rounding or signal an exception. Source and target of the bulk conversions may be the same array to convert
+ * in place.
+ */
+public final class Unscaled {
+
+    private static final String FROM_UNSCALED = "fromUnscaled";
+    private static final String TO_UNSCALED = "toUnscaled";
+
+    private static final long TEN_POW_16 = 10000000000000000L;
+
+    //Long.MAX_VALUE / 10^n for n=0..18
+    private static final long[] MAX_COEFFICIENT = new long[19];
+    static {
+        for (int n = 0; n < MAX_COEFFICIENT.length; n++) {
+            MAX_COEFFICIENT[n] = Long.MAX_VALUE / Pow.pow10(n);
+        }
+    }
+
+    private Unscaled() {
+        throw new RuntimeException("No Unscaled for you!");
+    }
+
+    public static long fromUnscaled(final long unscaled, final int scale) {
+        return fromUnscaled(unscaled, scale, Attributes.DEFAULT);
+    }
+    public static long fromUnscaled(final long unscaled, final int scale, final RoundingDirection roundingDirection) {
+        return fromUnscaled(unscaled, scale, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the decimal float value {@code unscaled * 10^-scale} with exponent {@code -scale}. Values with more
+     * than 16 digits or outside the exponent range are rounded according to the decimal rounding direction of the
+     * attributes.
+     *
+     * @param unscaled      the unscaled value
+     * @param scale         the scale, the negated exponent of the unscaled value
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @return the decimal float value
+     */
+    public static long fromUnscaled(final long unscaled, final int scale, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return convertFromUnscaled(unscaled, exponent(scale), attributes);
+    }
+
+    public static long toUnscaled(final long x, final int scale) {
+        return toUnscaled(x, scale, Attributes.DEFAULT);
+    }
+    public static long toUnscaled(final long x, final int scale, final RoundingDirection roundingDirection) {
+        return toUnscaled(x, scale, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Returns the unscaled value of x at the given scale, that is, {@code x * 10^scale} rounded to a long value
+     * according to the decimal rounding direction of the attributes. Inexact is signalled if digits are lost.
+     * InvalidOperation is signalled if x is NaN, infinite or if the result is outside of the long range; the result
+     * is then 0 for NaN and otherwise {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE} depending on the sign of x.
+     *
+     * @param x             the decimal float value
+     * @param scale         the scale of the result
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @return the unscaled value
+     */
+    public static long toUnscaled(final long x, final int scale, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        return convertToUnscaled(x, scale, attributes);
+    }
+
+    public static void fromUnscaled(final long[] src, final long[] dst, final int scale) {
+        fromUnscaled(src, 0, dst, 0, src.length, scale, Attributes.DEFAULT);
+    }
+    public static void fromUnscaled(final long[] src, final int srcOffset, final long[] dst, final int dstOffset,
+                                    final int length, final int scale, final RoundingDirection roundingDirection) {
+        fromUnscaled(src, srcOffset, dst, dstOffset, length, scale, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Converts {@code length} unscaled values starting at {@code srcOffset} into decimal floats stored in
+     * {@code dst} starting at {@code dstOffset}; every value is converted as per
+     * {@link #fromUnscaled(long, int, Attributes)}.
+     *
+     * @param src           the unscaled source values
+     * @param srcOffset     the index of the first source value
+     * @param dst           the target array for decimal float values, can be the same array as src
+     * @param dstOffset     the index of the first target value
+     * @param length        the number of values to convert
+     * @param scale         the scale of all source values
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @throws IndexOutOfBoundsException if source or target range is not within the array bounds
+     */
+    public static void fromUnscaled(final long[] src, final int srcOffset, final long[] dst, final int dstOffset,
+                                    final int length, final int scale, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length);
+        final int exp = exponent(scale);
+        final boolean encodable = exp >= Decimal64.MIN_EXPONENT_NOMINAL & exp <= Decimal64.MAX_EXPONENT_NOMINAL;
+        for (int i = 0; i < length; i++) {
+            final long value = src[srcOffset + i];
+            final long abs = value < 0 ? -value : value;
+            //Long.MIN_VALUE stays negative and takes the slow path
+            dst[dstOffset + i] = encodable & abs >= 0 & abs < TEN_POW_16 ?
+                    Decimal64.encodeCoefficient(value, exp, abs) :
+                    convertFromUnscaled(value, exp, attributes);
+        }
+    }
+
+    public static void toUnscaled(final long[] src, final long[] dst, final int scale) {
+        toUnscaled(src, 0, dst, 0, src.length, scale, Attributes.DEFAULT);
+    }
+    public static void toUnscaled(final long[] src, final int srcOffset, final long[] dst, final int dstOffset,
+                                  final int length, final int scale, final RoundingDirection roundingDirection) {
+        toUnscaled(src, srcOffset, dst, dstOffset, length, scale, roundingDirection.asAttributes());
+    }
+
+    /**
+     * Converts {@code length} decimal floats starting at {@code srcOffset} into unscaled values stored in
+     * {@code dst} starting at {@code dstOffset}; every value is converted as per
+     * {@link #toUnscaled(long, int, Attributes)}.
+     *
+     * @param src           the decimal float source values
+     * @param srcOffset     the index of the first source value
+     * @param dst           the target array for unscaled values, can be the same array as src
+     * @param dstOffset     the index of the first target value
+     * @param length        the number of values to convert
+     * @param scale         the scale of all target values
+     * @param attributes    the attributes with rounding direction and exception handling
+     * @throws IndexOutOfBoundsException if source or target range is not within the array bounds
+     */
+    public static void toUnscaled(final long[] src, final int srcOffset, final long[] dst, final int dstOffset,
+                                  final int length, final int scale, final Attributes attributes) {
+        Flags.resetFlags(attributes.getResetMode());
+        checkRange(src.length, srcOffset, length);
+        checkRange(dst.length, dstOffset, length);
+        for (int i = 0; i < length; i++) {
+            final long x = src[srcOffset + i];
+            //exact without overflow if the exponent is at least -scale and the coefficient is small enough
+            final long shift = Decimal64.isFinite(x) ? Decimal64.getExponent(x) + (long)scale : -1;
+            final long coefficient;
+            if (shift >= 0 & shift < MAX_COEFFICIENT.length &&
+                    (coefficient = Decimal64.getCoefficient(x)) <= MAX_COEFFICIENT[(int)shift]) {
+                final long value = coefficient * Pow.pow10((int)shift);
+                dst[dstOffset + i] = x < 0 ? -value : value;
+            } else {
+                dst[dstOffset + i] = convertToUnscaled(x, scale, attributes);
+            }
+        }
+    }
+
+    private static long convertFromUnscaled(final long unscaled, final int exp, final Attributes attributes) {
+        if (unscaled == 0) {
+            return Parse.zero(0, exp);
+        }
+        final long sign = unscaled & Decimal64.SIGN_BIT_MASK;
+        if (unscaled == Long.MIN_VALUE) {
+            //2^63 = 922337203685477580 * 10 + 8
+            return Rounding.round(sign, exp + 1, -(Long.MIN_VALUE / 10), Remainder.GREATER_THAN_HALF, FROM_UNSCALED, 0, 0, attributes);
+        }
+        final long abs = unscaled < 0 ? -unscaled : unscaled;
+        if (abs < TEN_POW_16 & exp >= Decimal64.MIN_EXPONENT_NOMINAL & exp <= Decimal64.MAX_EXPONENT_NOMINAL) {
+            return Decimal64.encodeCoefficient(sign, exp, abs);
+        }
+        return Rounding.round(sign, exp, abs, Remainder.ZERO, FROM_UNSCALED, 0, 0, attributes);
+    }
+
+    private static long convertToUnscaled(final long x, final int scale, final Attributes attributes) {
+        if (!Decimal64.isFinite(x)) {
+            return Signal.invalidOperation(TO_UNSCALED, x, 0, Decimal64.isNaN(x) ? 0 : x < 0 ? Long.MIN_VALUE : Long.MAX_VALUE, attributes);
+        }
+        final long coefficient = Decimal64.getCoefficient(x);
+        final long shift = Decimal64.getExponent(x) + (long)scale;
+        if (shift >= 0) {
+            if (coefficient == 0) {
+                return 0;
+            }
+            if (shift >= MAX_COEFFICIENT.length || coefficient > MAX_COEFFICIENT[(int)shift]) {
+                return Signal.invalidOperation(TO_UNSCALED, x, 0, x < 0 ? Long.MIN_VALUE : Long.MAX_VALUE, attributes);
+            }
+            final long value = coefficient * Pow.pow10((int)shift);
+            return x < 0 ? -value : value;
+        }
+        //drop digits: the coefficient has at most 16 digits, hence no overflow after rounding
+        final int drop = (int)Math.min(-shift, MAX_COEFFICIENT.length);
+        final long truncated;
+        final Remainder remainder;
+        if (drop < MAX_COEFFICIENT.length) {
+            final long pow10 = Pow.pow10(drop);
+            truncated = coefficient / pow10;
+            remainder = Remainder.ofPow10(coefficient - truncated * pow10, drop);
+        } else {
+            truncated = 0;
+            remainder = Remainder.ofPow10(coefficient, drop);
+        }
+        if (remainder == Remainder.ZERO) {
+            return x < 0 ? -truncated : truncated;
+        }
+        final RoundingDirection roundingDirection = attributes.getDecimalRoundingDirection();
+        final long value = truncated + roundingDirection.getRoundingIncrement(x, (int)(truncated % 10), remainder);
+        return Signal.inexact(TO_UNSCALED, x, 0, x < 0 ? -value : value, attributes);
+    }
+
+    //the exponent -scale clamped to a range where the result no longer changes
+    private static int exponent(final int scale) {
+        return (int)Math.max(-Parse.EXPONENT_LIMIT, Math.min(Parse.EXPONENT_LIMIT, -(long)scale));
+    }
+
+    private static void checkRange(final int arrayLength, final int offset, final int length) {
+        if (offset < 0 | length < 0 | offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+        }
+    }
+}
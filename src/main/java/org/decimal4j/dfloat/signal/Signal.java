@@ -24,6 +24,7 @@
 package org.decimal4j.dfloat.signal;
 
 import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandler;
 import org.decimal4j.dfloat.attribute.Flag;
 import org.decimal4j.dfloat.attribute.FlagMode;
 
@@ -47,6 +48,12 @@ public class Signal {
         return signal(operation, a, b, result, Flag.Overflow, Flag.Inexact, attributes);
     }
 
+    public static final long underflow(final String operation,
+                                       final long a, final long b, final long result,
+                                       final Attributes attributes) {
+        return signal(operation, a, b, result, Flag.Underflow, Flag.Inexact, attributes);
+    }
+
     public static final long inexact(final String operation,
                                      final long a, final long b, final long result,
                                      final Attributes attributes) {
@@ -61,6 +68,11 @@ public class Signal {
                                      final long a, final long b, final long result,
                                      final Flag flag, final Flag otherFlag,
                                      final Attributes attributes) {
+        final ExceptionHandler exceptionHandler = attributes.getExceptionHandler();
+        if (exceptionHandler == ExceptionHandler.DEFAULT) {
+            //the default handler returns the result unchanged
+            return result;
+        }
         final Flag raisedFlag, raisedOtherFlag;
         raisedFlag = raiseFlag(flag, attributes.getFlagMode(flag));
         if (otherFlag != null) {
@@ -69,10 +81,10 @@ public class Signal {
             raisedOtherFlag = null;
         }
         if (raisedFlag != null) {
-            return attributes.getExceptionHandler().handleException(operation, a, b, result, raisedFlag, raisedOtherFlag, attributes);
+            return exceptionHandler.handleException(operation, a, b, result, raisedFlag, raisedOtherFlag, attributes);
         }
         if (raisedOtherFlag != null) {
-            return attributes.getExceptionHandler().handleException(operation, a, b, result, raisedOtherFlag, null, attributes);
+            return exceptionHandler.handleException(operation, a, b, result, raisedOtherFlag, null, attributes);
         }
         return result;
     }
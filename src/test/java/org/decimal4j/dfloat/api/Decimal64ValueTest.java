@@ -0,0 +1,197 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.api;
+
+import org.decimal4j.dfloat.dpd.Declet;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.ops.Compare;
+import org.decimal4j.dfloat.ops.Pow;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class Decimal64ValueTest {
+
+    private static final int N = 100000;
+    private static final Random RND = new Random();
+
+    @Test
+    public void cachedValues() {
+        for (int i = 0; i <= 1000; i++) {
+            final Decimal64Value value = Decimal64Value.fromLong(i);
+            assertEquals("fromLong(" + i + ")", fromCoefficient(i, 0), value.toDecimal64());
+            assertSame("valueOf(" + i + ")", value, Decimal64Value.valueOf(fromCoefficient(i, 0)));
+            assertSame("fromUnscaled(" + i + ", 0)", value, Decimal64Value.fromUnscaled(i, 0));
+        }
+        for (int i = 0; i <= 10000; i++) {
+            final Decimal64Value value = Decimal64Value.fromUnscaled(i, 2);
+            assertEquals("fromUnscaled(" + i + ", 2)", fromCoefficient(i, -2), value.toDecimal64());
+            assertSame("valueOf(" + i + "E-2)", value, Decimal64Value.valueOf(fromCoefficient(i, -2)));
+        }
+        assertSame("parse(12.34)", Decimal64Value.fromUnscaled(1234, 2), Decimal64Value.parse("12.34"));
+        assertSame("ZERO", Decimal64Value.ZERO, Decimal64Value.fromLong(0));
+        assertSame("ONE", Decimal64Value.ONE, Decimal64Value.parse("1"));
+        assertSame("TEN", Decimal64Value.TEN, Decimal64Value.parse("10"));
+    }
+
+    @Test
+    public void uncachedValues() {
+        final long[] values = {
+                fromCoefficient(1001, 0), fromCoefficient(10001, -2), fromCoefficient(-1, 0), fromCoefficient(-1, -2),
+                fromCoefficient(1, -1), fromCoefficient(100, -3), fromCoefficient(1, 1), fromCoefficient(1000001, 0),
+                fromCoefficient(1000000000000001L, -2), Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0), Decimal64.NAN, Decimal64.INF
+        };
+        for (final long x : values) {
+            final Decimal64Value value = Decimal64Value.valueOf(x);
+            assertEquals("valueOf(" + toDebugString(x) + ")", x, value.toDecimal64());
+            assertTrue("valueOf(" + toDebugString(x) + ") not cached", value != Decimal64Value.valueOf(x));
+        }
+        assertEquals("fromLong(-5)", fromCoefficient(-5, 0), Decimal64Value.fromLong(-5).toDecimal64());
+        assertEquals("fromUnscaled(-5, 2)", fromCoefficient(-5, -2), Decimal64Value.fromUnscaled(-5, 2).toDecimal64());
+        assertEquals("fromUnscaled(5, 3)", fromCoefficient(5, -3), Decimal64Value.fromUnscaled(5, 3).toDecimal64());
+        assertEquals("fromLong(Long.MAX_VALUE)", fromCoefficient(9223372036854776L, 3), Decimal64Value.fromLong(Long.MAX_VALUE).toDecimal64());
+        //non-canonical declets encoding 888, 889, ..., 999 are kept as they are
+        for (int dpd = 0; dpd < 1024; dpd++) {
+            if (!Declet.isCanonical(dpd)) {
+                final long x = Decimal64.zero(0, 0) | dpd;
+                final Decimal64Value value = Decimal64Value.valueOf(x);
+                final Decimal64Value cached = Decimal64Value.fromLong(Declet.dpdToInt(dpd));
+                assertEquals("valueOf(" + toDebugString(x) + ")", x, value.toDecimal64());
+                assertEquals("non-canonical " + dpd, cached, value);
+                assertEquals("non-canonical " + dpd + " hash code", cached.hashCode(), value.hashCode());
+            }
+        }
+    }
+
+    @Test
+    public void equalsAndHashCode() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL + 20, Decimal64.MAX_EXPONENT_NOMINAL - 20);
+            final long coefficient = Decimal64.getCoefficient(x);
+            final int exp = Decimal64.getExponent(x);
+            final Decimal64Value a = Decimal64Value.valueOf(x);
+            //member of the same cohort with more trailing zeros or with fewer if there are any
+            final long y = coefficient < 1000000000000000L ?
+                    fromCoefficient(x < 0 ? -coefficient * 10 : coefficient * 10, exp - 1) :
+                    coefficient % 10 == 0 ? fromCoefficient(x < 0 ? -coefficient / 10 : coefficient / 10, exp + 1) : x;
+            final Decimal64Value b = Decimal64Value.valueOf(y);
+            final String msg = toDebugString(x) + " vs " + toDebugString(y);
+            assertEquals(msg, a, b);
+            assertEquals(msg + " hash code", a.hashCode(), b.hashCode());
+            assertEquals(msg + " compareTo", 0, a.compareTo(b));
+            final long z = randomDecimal64(exp - 1, exp + 1);
+            final Decimal64Value c = Decimal64Value.valueOf(z);
+            final int cmp = toBigDecimal(x).compareTo(toBigDecimal(z));
+            assertEquals(toDebugString(x) + " equals " + toDebugString(z), cmp == 0, a.equals(c));
+            assertEquals(toDebugString(x) + " compareTo " + toDebugString(z), cmp, Integer.signum(a.compareTo(c)));
+        }
+        final Decimal64Value zero = Decimal64Value.valueOf(Decimal64.zero(0, 5));
+        final Decimal64Value negativeZero = Decimal64Value.valueOf(Decimal64.zero(Decimal64.SIGN_BIT_MASK, -7));
+        assertEquals("0E+5 vs -0E-7", zero, negativeZero);
+        assertEquals("0E+5 vs -0E-7 hash code", zero.hashCode(), negativeZero.hashCode());
+        assertEquals("0E+5 vs ZERO", Decimal64Value.ZERO, zero);
+        final Decimal64Value nan = Decimal64Value.valueOf(Decimal64.NAN | Decimal64.SIGN_BIT_MASK | 123);
+        final Decimal64Value snan = Decimal64Value.valueOf(Decimal64.SNAN);
+        assertEquals("NaN vs -NaN123", Decimal64Value.NAN, nan);
+        assertEquals("NaN vs sNaN", Decimal64Value.NAN, snan);
+        assertEquals("NaN vs -NaN123 hash code", Decimal64Value.NAN.hashCode(), nan.hashCode());
+        assertEquals("NaN vs sNaN hash code", Decimal64Value.NAN.hashCode(), snan.hashCode());
+        final Decimal64Value inf = Decimal64Value.valueOf(Decimal64.INF);
+        final Decimal64Value negativeInf = Decimal64Value.valueOf(Decimal64.INF | Decimal64.SIGN_BIT_MASK);
+        assertTrue("Inf vs -Inf", !inf.equals(negativeInf));
+        assertTrue("Inf vs NaN", !inf.equals(Decimal64Value.NAN));
+        assertTrue("1 vs Long 1", !Decimal64Value.ONE.equals(Long.valueOf(1)));
+    }
+
+    @Test
+    public void hashSetOfCohorts() {
+        final Set<Decimal64Value> set = new HashSet<Decimal64Value>();
+        for (int exp = -10; exp <= 0; exp++) {
+            for (int i = 0; i <= 100; i++) {
+                set.add(Decimal64Value.valueOf(fromCoefficient(i * Pow.pow10(-exp), exp)));
+            }
+        }
+        assertEquals("distinct values", 101, set.size());
+        for (int i = 0; i <= 100; i++) {
+            assertTrue("contains " + i + ".00", set.contains(Decimal64Value.fromUnscaled(i * 100, 2)));
+        }
+    }
+
+    @Test
+    public void numberConversions() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-20, 2);
+            final Decimal64Value value = Decimal64Value.valueOf(x);
+            final BigDecimal expected = toBigDecimal(x);
+            assertEquals(toDebugString(x) + ".longValue()", expected.longValue(), value.longValue());
+            assertEquals(toDebugString(x) + ".intValue()", expected.intValue(), value.intValue());
+            assertEquals(toDebugString(x) + ".doubleValue()", expected.doubleValue(), value.doubleValue(), 0);
+            assertEquals(toDebugString(x) + ".floatValue()", expected.floatValue(), value.floatValue(), 0);
+            assertEquals(toDebugString(x) + ".toString()", expected.toString(), value.toString());
+        }
+        assertEquals("NaN.longValue()", 0, Decimal64Value.NAN.longValue());
+        assertTrue("NaN.doubleValue()", Double.isNaN(Decimal64Value.NAN.doubleValue()));
+        assertEquals("-Inf.longValue()", Long.MIN_VALUE, Decimal64Value.valueOf(Decimal64.INF | Decimal64.SIGN_BIT_MASK).longValue());
+    }
+
+    @Test
+    public void compareToIsCompare() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-5, 5);
+            final long b = RND.nextInt(8) == 0 ? Decimal64.NAN : randomDecimal64(-5, 5);
+            assertEquals(toDebugString(a) + " compareTo " + toDebugString(b), Compare.compare(a, b),
+                    Decimal64Value.valueOf(a).compareTo(Decimal64Value.valueOf(b)));
+        }
+    }
+
+    @Test
+    public void serialization() throws Exception {
+        final Decimal64Value cached = Decimal64Value.fromUnscaled(4250, 2);
+        final Decimal64Value uncached = Decimal64Value.fromUnscaled(-4250, 2);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(cached);
+        out.writeObject(uncached);
+        out.close();
+        final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertSame("cached", cached, in.readObject());
+        final Decimal64Value value = (Decimal64Value)in.readObject();
+        assertEquals("uncached", uncached.toDecimal64(), value.toDecimal64());
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.api;
+
+import org.decimal4j.dfloat.attribute.Attributes;
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingAttributes;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.ops.Add;
+import org.decimal4j.dfloat.ops.Div;
+import org.decimal4j.dfloat.ops.Mul;
+import org.decimal4j.dfloat.ops.Pow;
+import org.decimal4j.dfloat.ops.Quantum;
+import org.decimal4j.dfloat.ops.Sub;
+import org.junit.Test;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class FloatArithmeticsTest {
+
+    private static final int N = 10000;
+
+    @Test
+    public void forAttributes() {
+        assertSame("default", FloatArithmetics.DEFAULT, FloatArithmetics.forAttributes(Attributes.DEFAULT));
+        assertSame("default attributes", Attributes.DEFAULT, FloatArithmetics.DEFAULT.getAttributes());
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final FloatArithmetic arithmetic = FloatArithmetics.forRoundingDirection(rd);
+            assertSame(rd + ".asAttributes()", arithmetic, FloatArithmetics.forAttributes(rd.asAttributes()));
+            assertSame(rd + " attributes", rd.asAttributes(), arithmetic.getAttributes());
+        }
+        final Attributes attributes = new RoundingAttributes(RoundingDirection.TowardZero, RoundingDirection.TowardPositive);
+        assertSame("other attributes", attributes, FloatArithmetics.forAttributes(attributes).getAttributes());
+    }
+
+    @Test
+    public void dynamicAttributes() {
+        final DynamicAttributes attributes = new DynamicAttributes();
+        final FloatArithmetic arithmetic = FloatArithmetics.forAttributes(attributes);
+        final long a = fromCoefficient(1, 0);
+        final long b = fromCoefficient(3, 0);
+        assertEquals(Div.divide(a, b, RoundingDirection.NearestTiesToEven), arithmetic.divide(a, b));
+        attributes.setDecimalRoundingDirection(RoundingDirection.TowardPositive);
+        assertEquals(Div.divide(a, b, RoundingDirection.TowardPositive), arithmetic.divide(a, b));
+        attributes.setExceptionHandler(ExceptionHandlers.ThrowException);
+        try {
+            arithmetic.divide(a, b);
+            fail("divide(1, 3) should signal Inexact");
+        } catch (final RaisedFlagException e) {
+            assertEquals("divide(1, 3) flag", Flag.Inexact, e.getFlag());
+        }
+    }
+
+    @Test
+    public void operations() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-20, 20);
+            final long b = randomDecimal64(-20, 20);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                for (final FloatArithmetic arithmetic : new FloatArithmetic[] {
+                        FloatArithmetics.forRoundingDirection(rd), FloatArithmetics.forAttributes(new RoundingAttributes(rd))}) {
+                    assertEquals(rd + ": add", Add.add(a, b, rd), arithmetic.add(a, b));
+                    assertEquals(rd + ": multiply", Mul.multiply(a, b, rd), arithmetic.multiply(a, b));
+                    assertEquals(rd + ": divide", Div.divide(a, b, rd), arithmetic.divide(a, b));
+                    assertEquals(rd + ": addLong", Add.addLong(a, b, rd), arithmetic.addLong(a, b));
+                    assertEquals(rd + ": subtractLong", Sub.subtractLong(a, b, rd), arithmetic.subtractLong(a, b));
+                    assertEquals(rd + ": round", Quantum.round(a, i % 9 - 4, rd), arithmetic.round(a, i % 9 - 4));
+                    assertEquals(rd + ": pow", Pow.pow(a, i % 13 - 6, rd), arithmetic.pow(a, i % 13 - 6));
+                }
+            }
+        }
+        final FloatArithmetic arithmetic = FloatArithmetics.DEFAULT;
+        assertEquals(fromCoefficient(12345, 0), arithmetic.fromLong(12345));
+        assertEquals(fromCoefficient(-1234567890123457L, 3), arithmetic.fromLong(-1234567890123456789L));
+        assertEquals(fromCoefficient(-12345, 1), arithmetic.multiplyByPowerOf10(fromCoefficient(-12345, 0), 1));
+        assertEquals(fromCoefficient(12345, 0), arithmetic.abs(fromCoefficient(-12345, 0)));
+        assertEquals(fromCoefficient(-12345, 0), arithmetic.negate(fromCoefficient(12345, 0)));
+        assertEquals(-1, arithmetic.signum(fromCoefficient(-12345, 0)));
+        assertEquals(0, arithmetic.signum(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0)));
+        assertEquals(fromCoefficient(-2, 0), arithmetic.subtract(fromCoefficient(3, 0), fromCoefficient(5, 0)));
+        assertEquals(fromCoefficient(8, 0), arithmetic.addLong(fromCoefficient(3, 0), 5));
+        assertEquals(fromCoefficient(-25, -1), arithmetic.subtractLong(fromCoefficient(25, -1), 5));
+        assertEquals(fromCoefficient(9223372036854776L, 3), arithmetic.addLong(fromCoefficient(5, -1), Long.MAX_VALUE));
+        assertEquals(fromCoefficient(123, -2), arithmetic.round(fromCoefficient(12345, -4), 2));
+    }
+}
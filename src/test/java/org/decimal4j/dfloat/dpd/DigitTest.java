@@ -26,6 +26,7 @@ package org.decimal4j.dfloat.dpd;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
@@ -82,6 +83,9 @@ public class DigitTest {
             assertEquals("dpdToStringBuilder(" + dpd + ")", exp, Digit.dpdToStringBuilder(dpd, sb).toString());
             sb.setLength(0);
             assertEquals("dpdToAppendable(" + dpd + ")", exp, Digit.dpdToAppendable(dpd, sb).toString());
+            final byte[] bytes = new byte[17];
+            assertEquals("dpdToBytes(" + dpd + ")", 15, Digit.dpdToBytes(dpd, bytes, 1));
+            assertEquals("dpdToBytes(" + dpd + ")", exp, new String(bytes, 1, 15, StandardCharsets.US_ASCII));
         }
     }
 
@@ -0,0 +1,112 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.dpd;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the SWAR backend against the table based implementation in {@link Dpd}.
+ */
+public class DpdSwarTest {
+
+    @Test
+    public void dpdToBcd() {
+        for (int dpd = 0; dpd < 1024; dpd++) {
+            final int val = Declet.dpdToInt(dpd);
+            final long bcd = ((val / 100) << 8) | (((val / 10) % 10) << 4) | (val % 10);
+            for (int pos = 0; pos < 5; pos++) {
+                final long dpd5 = ((long)dpd) << (pos*10);
+                assertEquals("dpdToBcd(" + dpd5 + ")", bcd << (pos*12), DpdSwar.dpdToBcd(dpd5));
+            }
+        }
+        for (int i = 0; i < 100000; i++) {
+            final long dpd = RandomDpd.randomDpd();
+            final long bcd = Long.parseLong(Digit.dpdToString(dpd), 16);
+            assertEquals("dpdToBcd(" + dpd + ")", bcd, DpdSwar.dpdToBcd(dpd));
+            assertEquals("dpdToBcd(" + dpd + ")", bcd, DpdSwar.dpdToBcd(dpd | (-1L << 50)));
+        }
+    }
+
+    @Test
+    public void bcdToDpd() {
+        for (int val = 0; val < 1000; val++) {
+            final long bcd = ((val / 100) << 8) | (((val / 10) % 10) << 4) | (val % 10);
+            for (int pos = 0; pos < 5; pos++) {
+                final long dpd5 = ((long)Declet.intToDpd(val)) << (pos*10);
+                assertEquals("bcdToDpd(" + bcd + ")", dpd5, DpdSwar.bcdToDpd(bcd << (pos*12)));
+            }
+        }
+        for (int i = 0; i < 100000; i++) {
+            final long dpd = RandomDpd.randomDpd();
+            final long bcd = Long.parseLong(Digit.dpdToString(dpd), 16);
+            assertEquals("bcdToDpd(" + bcd + ")", Dpd.canonicalize(dpd), DpdSwar.bcdToDpd(bcd));
+        }
+    }
+
+    @Test
+    public void incAndDec() {
+        for (int dpd = 0; dpd < 1024; dpd++) {
+            for (int inc = 0; inc <= 1000; inc++) {
+                assertEquals("inc(" + dpd + ", " + inc + ")", Dpd.inc(dpd, inc), DpdSwar.inc(dpd, inc));
+                assertEquals("dec(" + dpd + ", " + inc + ")", Dpd.dec(dpd, inc), DpdSwar.dec(dpd, inc));
+            }
+        }
+        for (int i = 0; i < 100000; i++) {
+            final long dpd = RandomDpd.randomDpd();
+            final int inc = i % 1001;
+            assertEquals("inc(" + dpd + ")", Dpd.inc(dpd), DpdSwar.inc(dpd));
+            assertEquals("dec(" + dpd + ")", Dpd.dec(dpd), DpdSwar.dec(dpd));
+            assertEquals("inc(" + dpd + ", " + inc + ")", Dpd.inc(dpd, inc), DpdSwar.inc(dpd, inc));
+            assertEquals("dec(" + dpd + ", " + inc + ")", Dpd.dec(dpd, inc), DpdSwar.dec(dpd, inc));
+        }
+        assertEquals("inc(0x26ef16dbdd8c8, 709)", Dpd.inc(0x26ef16dbdd8c8L, 709), DpdSwar.inc(0x26ef16dbdd8c8L, 709));
+        final long max = Dpd.longToDpd(999999999999999L);
+        assertEquals("inc(" + max + ")", Dpd.inc(max), DpdSwar.inc(max));
+        assertEquals("inc(" + max + ", 1000)", Dpd.inc(max, 1000), DpdSwar.inc(max, 1000));
+        assertEquals("dec(0)", Dpd.dec(0), DpdSwar.dec(0));
+        assertEquals("dec(0, 1000)", Dpd.dec(0, 1000), DpdSwar.dec(0, 1000));
+    }
+
+    @Test
+    public void addSubCompare() {
+        for (int i = 0; i < 100000; i++) {
+            final long a = RandomDpd.randomDpd();
+            final long b = i % 10 == 0 ? a : RandomDpd.randomDpd();
+            assertEquals("add(" + a + ", " + b + ")", Dpd.add(a, b), DpdSwar.add(a, b));
+            assertEquals("sub(" + a + ", " + b + ")", Dpd.sub(a, b), DpdSwar.sub(a, b));
+            assertEquals("sub(" + b + ", " + a + ")", Dpd.sub(b, a), DpdSwar.sub(b, a));
+            assertEquals("compare(" + a + ", " + b + ")", Integer.signum(Dpd.compare(a, b)), DpdSwar.compare(a, b));
+        }
+        final long max = Dpd.longToDpd(999999999999999L);
+        assertEquals("add(" + max + ", " + max + ")", Dpd.add(max, max), DpdSwar.add(max, max));
+        assertEquals("sub(0, " + max + ")", Dpd.sub(0, max), DpdSwar.sub(0, max));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void newInstance() throws Throwable {
+        Instance.notAllowed(DpdSwar.class);
+    }
+}
@@ -23,6 +23,7 @@
  */
 package org.decimal4j.dfloat.dpd;
 
+import org.decimal4j.dfloat.encode.Decimal64;
 import org.junit.Test;
 
 import java.util.Random;
@@ -82,6 +83,20 @@ public class DpdTest {
         }
     }
 
+    @Test
+    public void longToDpdAndBack() {
+        for (int i = 0; i < 100000; i++) {
+            final long value = (RND.nextLong() & Long.MAX_VALUE) % 1000000000000000L;
+            final long dpd = Dpd.longToDpd(value);
+            assertEquals("longToDpd(" + value + ")", value, Long.parseLong(Digit.dpdToString(dpd)));
+            assertEquals("dpdToLong(" + dpd + ")", value, Dpd.dpdToLong(dpd));
+            final long random = RandomDpd.randomDpd();
+            assertEquals("dpdToLong(" + random + ")", Long.parseLong(Digit.dpdToString(random)), Dpd.dpdToLong(random));
+        }
+        assertEquals("longToDpd(999999999999999)", Dpd.canonicalize(Decimal64.COEFF_CONT_MASK), Dpd.longToDpd(999999999999999L));
+        assertEquals("dpdToLong(" + Decimal64.COEFF_CONT_MASK + ")", 999999999999999L, Dpd.dpdToLong(Decimal64.COEFF_CONT_MASK));
+    }
+
     @Test
     public void inc() {
         for (int dpd = 0; dpd < 1024; dpd++) {
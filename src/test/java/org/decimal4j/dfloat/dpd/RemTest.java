@@ -82,6 +82,24 @@ public class RemTest {
         }
     }
 
+    @Test
+    public void remainderOfCoefficient() {
+        for (int i = 0; i < 1000; i++) {
+            final long val = (RND.nextLong() & ~(1L<<63)) % 10000000000000000L;
+            final int msd = (int)(val / POW10[15]);
+            final long dpd = dpd(val);
+            assertEquals("Rem.remainderOfCoefficient(" + msd + ", " + dpd + ", 0)", Remainder.ZERO, Rem.remainderOfCoefficient(msd, dpd, 0));
+            for (int n = 1; n <= 16; n++) {
+                assertEquals("Rem.remainderOfCoefficient(" + msd + ", " + dpd + ", " + n + ") = Remainder.ofPow10(" + val + ", " + n + ")",
+                        Remainder.ofPow10(val % POW10[n], n), Rem.remainderOfCoefficient(msd, dpd, n));
+            }
+            for (int n = 17; n <= 20; n++) {
+                assertEquals("Rem.remainderOfCoefficient(" + msd + ", " + dpd + ", " + n + ")",
+                        val == 0 ? Remainder.ZERO : Remainder.GREATER_THAN_ZERO_BUT_LESS_THAN_HALF, Rem.remainderOfCoefficient(msd, dpd, n));
+            }
+        }
+    }
+
     private static final long dpd(final long val) {
         return ((long)Declet.intToDpd((int)((val / 1000000000000L) % 1000))) << 40 |
                 ((long)Declet.intToDpd((int)((val / 1000000000) % 1000)) << 30) |
@@ -0,0 +1,88 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.encode;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal128.randomDecimal128;
+import static org.decimal4j.dfloat.encode.RandomDecimal128.toBigDecimal;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class Decimal128Test {
+
+	private static final int N = 100000;
+
+	private static final BigInteger TEN_POW_18 = BigInteger.TEN.pow(18);
+
+	@Test
+	public void constants() {
+		assertEquals("ZERO", BigDecimal.ZERO, toBigDecimal(Decimal128.ZERO_HI, 0));
+		assertEquals("MIN_NORMAL", new BigDecimal("1E-6143"), toBigDecimal(Decimal128.MIN_NORMAL_HI, Decimal128.MIN_NORMAL_LO).stripTrailingZeros());
+		assertEquals("MAX_NORMAL", new BigDecimal("9.999999999999999999999999999999999E6144"), toBigDecimal(Decimal128.MAX_NORMAL_HI, Decimal128.MAX_NORMAL_LO).stripTrailingZeros());
+		assertTrue("MIN_NORMAL is normal", Decimal128.isNormal(Decimal128.MIN_NORMAL_HI, Decimal128.MIN_NORMAL_LO));
+		assertTrue("MAX_NORMAL is normal", Decimal128.isNormal(Decimal128.MAX_NORMAL_HI, Decimal128.MAX_NORMAL_LO));
+		final long[] subnormal = RandomDecimal128.fromBigDecimal(new BigDecimal("9E-6144"));
+		assertTrue("9E-6144 is subnormal", Decimal128.isSubnormal(subnormal[0], subnormal[1]));
+		assertTrue("-0 is zero", Decimal128.isZero(Decimal128.zero(Decimal128.SIGN_BIT_MASK, 7), 0));
+		assertFalse("0 is not normal", Decimal128.isNormal(Decimal128.ZERO_HI, 0));
+		assertTrue("INF", Decimal128.isInfinite(Decimal128.INF));
+		assertTrue("NAN", Decimal128.isQuietNaN(Decimal128.NAN));
+		assertTrue("SNAN", Decimal128.isSignalingNaN(Decimal128.SNAN));
+	}
+
+	@Test
+	public void decode() {
+		for (int i = 0; i < N; i++) {
+			final long[] value = randomDecimal128(Decimal128.MIN_EXPONENT_NOMINAL, Decimal128.MAX_EXPONENT_NOMINAL);
+			final BigDecimal expected = toBigDecimal(value[0], value[1]);
+			final BigInteger[] coeff = expected.unscaledValue().abs().divideAndRemainder(TEN_POW_18);
+			assertTrue("isFinite", Decimal128.isFinite(value[0]));
+			assertTrue("isCanonical", Decimal128.isCanonical(value[0], value[1]));
+			assertEquals("exponent", -expected.scale(), Decimal128.getExponent(value[0]));
+			assertEquals("coefficient high", coeff[0].longValue(), Decimal128.getCoefficientHi(value[0], value[1]));
+			assertEquals("coefficient low", coeff[1].longValue(), Decimal128.getCoefficientLo(value[1]));
+		}
+	}
+
+	@Test
+	public void encode() {
+		for (int i = 0; i < N; i++) {
+			final long[] value = randomDecimal128(Decimal128.MIN_EXPONENT_NOMINAL, Decimal128.MAX_EXPONENT_NOMINAL);
+			final long coeffHi = Decimal128.getCoefficientHi(value[0], value[1]);
+			final long coeffLo = Decimal128.getCoefficientLo(value[1]);
+			final long[] actual = {
+					Decimal128.encodeHi(value[0], Decimal128.getExponent(value[0]), coeffHi),
+					Decimal128.encodeLo(coeffHi, coeffLo)
+			};
+			assertArrayEquals(toBigDecimal(value[0], value[1]).toString(), value, actual);
+		}
+		assertEquals("zero", Decimal128.ZERO_HI, Decimal128.zero(0, 0));
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.encode;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class Decimal32Test {
+
+	private static final int N = 100000;
+
+	private final Random rnd = new Random();
+
+	@Test
+	public void constants() {
+		assertEquals("ZERO", BigDecimal.ZERO, toBigDecimal(Decimal32.toDecimal64(Decimal32.ZERO)));
+		assertEquals("ZERO", Decimal32.ZERO, Decimal32.zero(0, 0));
+		assertEquals("MIN_NORMAL", new BigDecimal("1E-95"), toBigDecimal(Decimal32.toDecimal64(Decimal32.MIN_NORMAL)).stripTrailingZeros());
+		assertEquals("MAX_NORMAL", new BigDecimal("9.999999E96"), toBigDecimal(Decimal32.toDecimal64(Decimal32.MAX_NORMAL)).stripTrailingZeros());
+		assertTrue("MIN_NORMAL is normal", Decimal32.isNormal(Decimal32.MIN_NORMAL));
+		assertTrue("MAX_NORMAL is normal", Decimal32.isNormal(Decimal32.MAX_NORMAL));
+		assertTrue("MIN_NORMAL/10 is subnormal", Decimal32.isSubnormal(Decimal32.encodeCoefficient(0, Decimal32.MIN_EXPONENT_NOMINAL, 999999)));
+		assertTrue("0 is zero", Decimal32.isZero(Decimal32.ZERO | Decimal32.SIGN_BIT_MASK));
+		assertFalse("0 is not normal", Decimal32.isNormal(Decimal32.ZERO));
+		assertTrue("INF", Decimal32.isInfinite(Decimal32.INF | Decimal32.SIGN_BIT_MASK));
+		assertTrue("NAN", Decimal32.isQuietNaN(Decimal32.NAN));
+		assertTrue("SNAN", Decimal32.isSignalingNaN(Decimal32.SNAN));
+		assertFalse("INF is not finite", Decimal32.isFinite(Decimal32.INF));
+	}
+
+	@Test
+	public void encodeCoefficient() {
+		for (int i = 0; i < N; i++) {
+			final int sign = rnd.nextBoolean() ? Decimal32.SIGN_BIT_MASK : 0;
+			final int exp = Decimal32.MIN_EXPONENT_NOMINAL + rnd.nextInt(Decimal32.MAX_EXPONENT_NOMINAL - Decimal32.MIN_EXPONENT_NOMINAL + 1);
+			final int coeff = rnd.nextInt(10000000);
+			final int dFloat = Decimal32.encodeCoefficient(sign, exp, coeff);
+			assertTrue("isFinite", Decimal32.isFinite(dFloat));
+			assertTrue("isCanonical", Decimal32.isCanonical(dFloat));
+			assertEquals("exponent", exp, Decimal32.getExponent(dFloat));
+			assertEquals("coefficient", coeff, Decimal32.getCoefficient(dFloat));
+			assertEquals("sign", sign, dFloat & Decimal32.SIGN_BIT_MASK);
+		}
+	}
+
+	@Test
+	public void toDecimal64() {
+		for (int i = 0; i < N; i++) {
+			final int exp = Decimal32.MIN_EXPONENT_NOMINAL + rnd.nextInt(Decimal32.MAX_EXPONENT_NOMINAL - Decimal32.MIN_EXPONENT_NOMINAL + 1);
+			final int coeff = rnd.nextInt(10000000);
+			final int dFloat = Decimal32.encodeCoefficient(rnd.nextBoolean() ? Decimal32.SIGN_BIT_MASK : 0, exp, coeff);
+			final long wide = Decimal32.toDecimal64(dFloat);
+			assertEquals("exponent", exp, Decimal64.getExponent(wide));
+			assertEquals("coefficient", coeff, Decimal64.getCoefficient(wide));
+			assertEquals("sign", dFloat < 0, wide < 0);
+			assertTrue("isCanonical", Decimal64.isCanonical(wide));
+		}
+		assertEquals("-INF", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Decimal32.toDecimal64(Decimal32.INF | Decimal32.SIGN_BIT_MASK));
+		assertEquals("NAN(123)", Decimal64.NAN | 0x0a3, Decimal32.toDecimal64(Decimal32.NAN | 0x0a3));
+		assertEquals("-SNAN(123456)", Decimal64.SNAN | Decimal64.SIGN_BIT_MASK | 0x28e56, Decimal32.toDecimal64(Decimal32.SNAN | Decimal32.SIGN_BIT_MASK | 0x28e56));
+	}
+}
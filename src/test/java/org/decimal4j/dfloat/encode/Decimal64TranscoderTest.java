@@ -0,0 +1,192 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.encode;
+
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class Decimal64TranscoderTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 10000;
+
+    @Test
+    public void arrays() {
+        final long[] dpd = randomValues(N);
+        final long[] bid = new long[N + 2];
+        Decimal64Transcoder.dpdToBid(dpd, 0, bid, 2, N);
+        for (int i = 0; i < N; i++) {
+            assertEquals("dpdToBid(" + toDebugString(dpd[i]) + ")", Decimal64Bid.fromDpd(dpd[i]), bid[i + 2]);
+        }
+        final long[] back = new long[N];
+        Decimal64Transcoder.bidToDpd(bid, 2, back, 0, N);
+        for (int i = 0; i < N; i++) {
+            assertEquals("bidToDpd(dpdToBid(" + toDebugString(dpd[i]) + "))", Decimal64.canonicalize(dpd[i]), back[i]);
+        }
+        //in place
+        Decimal64Transcoder.dpdToBid(back, 0, back, 0, N);
+        Decimal64Transcoder.bidToDpd(back, 0, back, 0, N);
+        for (int i = 0; i < N; i++) {
+            assertEquals("in place(" + toDebugString(dpd[i]) + ")", Decimal64.canonicalize(dpd[i]), back[i]);
+        }
+    }
+
+    @Test
+    public void specialValues() {
+        final long payload = fromCoefficient(987654321, 0) & Decimal64.COEFF_CONT_MASK;
+        final long[] dpd = {
+                Decimal64.INF, Decimal64.INF | Decimal64.SIGN_BIT_MASK,
+                Decimal64.NAN | payload, Decimal64.SNAN | Decimal64.SIGN_BIT_MASK | payload,
+                Decimal64.zero(Decimal64.SIGN_BIT_MASK, -7), Decimal64.MAX_NORMAL, Decimal64.MIN_NORMAL,
+                fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL)
+        };
+        final long[] bid = new long[dpd.length];
+        Decimal64Transcoder.dpdToBid(dpd, 0, bid, 0, dpd.length);
+        assertEquals("Inf", Decimal64Bid.INF, bid[0]);
+        assertEquals("-Inf", Decimal64Bid.INF | Decimal64.SIGN_BIT_MASK, bid[1]);
+        assertEquals("NaN payload", Decimal64Bid.NAN | 987654321, bid[2]);
+        assertEquals("-sNaN payload", Decimal64Bid.SNAN | Decimal64.SIGN_BIT_MASK | 987654321, bid[3]);
+        assertEquals("-0E-7", Decimal64Bid.zero(Decimal64.SIGN_BIT_MASK, -7), bid[4]);
+        assertEquals("MAX_NORMAL", Decimal64Bid.MAX_NORMAL, bid[5]);
+        assertEquals("MIN_NORMAL", Decimal64Bid.MIN_NORMAL, bid[6]);
+        final long[] back = new long[dpd.length];
+        Decimal64Transcoder.bidToDpd(bid, 0, back, 0, dpd.length);
+        for (int i = 0; i < dpd.length; i++) {
+            assertEquals("bidToDpd(dpdToBid(" + Long.toHexString(dpd[i]) + "))", dpd[i], back[i]);
+        }
+    }
+
+    @Test
+    public void nonCanonical() {
+        //declet 0x3ff is a non-canonical encoding of 999, canonical is 0x0ff
+        final long nonCanonicalDpd = Decimal64.encode(0, 0, 0, 0x3ffL);
+        final long[] values = {nonCanonicalDpd};
+        Decimal64Transcoder.dpdToBid(values, 0, values, 0, 1);
+        assertEquals("non-canonical declet", Decimal64Bid.encode(0, 0, 999), values[0]);
+        //BID coefficient above 10^16-1 is non-canonical and read as zero
+        values[0] = 0x6c73ffffffffffffL;
+        Decimal64Transcoder.bidToDpd(values, 0, values, 0, 1);
+        assertEquals("non-canonical coefficient", Decimal64.zero(0, 0), values[0]);
+        //NaN payload above 10^15-1 is non-canonical and read as zero
+        values[0] = Decimal64Bid.NAN | 0x0003ffffffffffffL;
+        Decimal64Transcoder.bidToDpd(values, 0, values, 0, 1);
+        assertEquals("non-canonical payload", Decimal64.NAN, values[0]);
+    }
+
+    @Test
+    public void swar() {
+        final long[] values = randomValues(N);
+        for (int i = 0; i < N; i++) {
+            //every other value with arbitrary bits for non-canonical declets and BID coefficients
+            final long value = i % 2 == 0 ? values[i] : RND.nextLong();
+            assertEquals("swarDpdToBid(" + Long.toHexString(value) + ")", Decimal64Bid.fromDpd(value), Decimal64Transcoder.swarDpdToBid(value));
+            assertEquals("swarBidToDpd(" + Long.toHexString(value) + ")", Decimal64Bid.toDpd(value), Decimal64Transcoder.swarBidToDpd(value));
+        }
+        final long max = Decimal64Bid.encode(0, 0, Decimal64Bid.MAX_COEFFICIENT);
+        assertEquals("swarBidToDpd(MAX_COEFFICIENT)", Decimal64Bid.toDpd(max), Decimal64Transcoder.swarBidToDpd(max));
+        assertEquals("swarDpdToBid(MAX_COEFFICIENT)", max, Decimal64Transcoder.swarDpdToBid(Decimal64Bid.toDpd(max)));
+    }
+
+    @Test
+    public void byteBuffers() {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final long[] dpd = randomValues(N);
+            final ByteBuffer src = ByteBuffer.allocate(N * 8 + 3).order(order);
+            for (final long value : dpd) {
+                src.putLong(value);
+            }
+            src.put((byte)1).put((byte)2).put((byte)3);
+            src.flip();
+            final ByteBuffer dst = ByteBuffer.allocateDirect(N * 8 + 16).order(order);
+            dst.position(16);
+            assertEquals(order + ": dpdToBid count", N, Decimal64Transcoder.dpdToBid(src, dst));
+            assertEquals(order + ": src remaining", 3, src.remaining());
+            assertEquals(order + ": dst position", N * 8 + 16, dst.position());
+            dst.position(16);
+            for (int i = 0; i < N; i++) {
+                assertEquals(order + ": dpdToBid(" + toDebugString(dpd[i]) + ")", Decimal64Bid.fromDpd(dpd[i]), dst.getLong());
+            }
+            //in place back to DPD
+            dst.position(16);
+            assertEquals(order + ": bidToDpd count", N, Decimal64Transcoder.bidToDpd(dst, dst));
+            dst.position(16);
+            for (int i = 0; i < N; i++) {
+                assertEquals(order + ": bidToDpd(" + toDebugString(dpd[i]) + ")", Decimal64.canonicalize(dpd[i]), dst.getLong());
+            }
+        }
+    }
+
+    @Test
+    public void bounds() {
+        final long[] values = new long[4];
+        try {
+            Decimal64Transcoder.dpdToBid(values, 1, values, 0, 4);
+            fail("source range out of bounds");
+        } catch (final IndexOutOfBoundsException e) {
+            //expected
+        }
+        try {
+            Decimal64Transcoder.bidToDpd(values, 0, new long[3], 0, 4);
+            fail("target range out of bounds");
+        } catch (final IndexOutOfBoundsException e) {
+            //expected
+        }
+        final ByteBuffer src = ByteBuffer.allocate(32);
+        final ByteBuffer dst = ByteBuffer.allocate(24);
+        try {
+            Decimal64Transcoder.dpdToBid(src, dst);
+            fail("target buffer too small");
+        } catch (final BufferOverflowException e) {
+            assertEquals("src position", 0, src.position());
+            assertEquals("dst position", 0, dst.position());
+        }
+    }
+
+    private static long[] randomValues(final int n) {
+        final long[] values = new long[n];
+        for (int i = 0; i < n; i++) {
+            switch (RND.nextInt(10)) {
+                case 0:
+                    values[i] = Decimal64.INF | (RND.nextBoolean() ? Decimal64.SIGN_BIT_MASK : 0);
+                    break;
+                case 1:
+                    values[i] = (RND.nextBoolean() ? Decimal64.NAN : Decimal64.SNAN) | (randomDecimal64(0, 0) & (Decimal64.SIGN_BIT_MASK | Decimal64.COEFF_CONT_MASK));
+                    break;
+                default:
+                    values[i] = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.encode;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Declet;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.roundingMode;
+
+/**
+ * Random finite Decimal128 values as {hi, lo} pairs and conversion from and to {@link BigDecimal}, encoded
+ * declet by declet independently of {@link Decimal128}.
+ */
+public class RandomDecimal128 {
+
+    private static final Random RND = new Random();
+
+    public static final long[] randomDecimal128(final int minExp, final int maxExp) {
+        final BigInteger coeff = randomCoefficient();
+        final int exp = minExp + RND.nextInt(maxExp - minExp + 1);
+        return fromBigDecimal(new BigDecimal(RND.nextBoolean() ? coeff.negate() : coeff, -exp));
+    }
+
+    public static final BigInteger randomCoefficient() {
+        final int digits = 1 + RND.nextInt(Decimal128.MAX_PRECISION);
+        final BigInteger pow10 = BigInteger.TEN.pow(digits);
+        switch (RND.nextInt(8)) {
+            case 0:
+                return pow10.divide(BigInteger.TEN);
+            case 1:
+                return pow10.subtract(BigInteger.ONE);
+            case 2:
+                return pow10.divide(BigInteger.TEN).multiply(BigInteger.valueOf(5));
+            case 3: {
+                final BigInteger coeff = new BigInteger(120, RND).mod(pow10);
+                return coeff.subtract(coeff.mod(BigInteger.TEN.pow(RND.nextInt(digits))));
+            }
+            default:
+                return new BigInteger(120, RND).mod(pow10);
+        }
+    }
+
+    public static final long[] fromBigDecimal(final BigDecimal value) {
+        return fromBigDecimal(value.signum() < 0 ? Decimal128.SIGN_BIT_MASK : 0, value);
+    }
+
+    public static final long[] fromBigDecimal(final long sign, final BigDecimal value) {
+        final String digits = value.unscaledValue().abs().toString();
+        if (digits.length() > Decimal128.MAX_PRECISION) {
+            throw new IllegalArgumentException("coefficient has more than 34 digits: " + value);
+        }
+        final String padded = String.format("%34s", digits).replace(' ', '0');
+        final int msd = padded.charAt(0) - '0';
+        long hi = 0, lo = 0;
+        for (int k = 0; k < 11; k++) {
+            final int end = padded.length() - 3 * k;
+            final long declet = Declet.intToDpd(Integer.parseInt(padded.substring(end - 3, end)));
+            final int bit = 10 * k;
+            if (bit + 10 <= 64) {
+                lo |= declet << bit;
+            } else if (bit >= 64) {
+                hi |= declet << (bit - 64);
+            } else {
+                lo |= declet << bit;
+                hi |= declet >>> (64 - bit);
+            }
+        }
+        final int biased = -value.scale() + Decimal128.EXPONENT_BIAS;
+        final int top = biased >> 12;
+        final long comb = msd < 8 ? (top << 3) | msd : 0x18 | (top << 1) | (msd & 1);
+        hi |= (sign & Decimal128.SIGN_BIT_MASK) | (comb << 58) | (((long)(biased & 0xfff)) << 46);
+        return new long[] {hi, lo};
+    }
+
+    public static final BigDecimal toBigDecimal(final long hi, final long lo) {
+        final int comb = (int)((hi >>> 58) & 0x1f);
+        if (comb >= 0x1e) {
+            throw new IllegalArgumentException("not a finite value: " + toDebugString(hi, lo));
+        }
+        final int top = comb >= 0x18 ? (comb >> 1) & 3 : comb >> 3;
+        final int msd = comb >= 0x18 ? 8 + (comb & 1) : comb & 7;
+        final StringBuilder sb = new StringBuilder().append(msd);
+        for (int k = 10; k >= 0; k--) {
+            final int bit = 10 * k;
+            final long declet;
+            if (bit + 10 <= 64) {
+                declet = lo >>> bit;
+            } else if (bit >= 64) {
+                declet = hi >>> (bit - 64);
+            } else {
+                declet = (lo >>> bit) | (hi << (64 - bit));
+            }
+            sb.append(String.format("%03d", Declet.dpdToInt((int)(declet & 0x3ff))));
+        }
+        final int exp = ((top << 12) | (int)((hi >>> 46) & 0xfff)) - Decimal128.EXPONENT_BIAS;
+        final BigInteger coeff = new BigInteger(sb.toString());
+        return new BigDecimal(hi < 0 ? coeff.negate() : coeff, -exp);
+    }
+
+    /**
+     * Rounds an exact result to the expected value: to 34 digits or to the minimum exponent for tiny values,
+     * clamping the exponent of large exact values and returning the overflow value for too large values.
+     */
+    public static final long[] round(final BigDecimal exact, final long sign, final RoundingDirection roundingDirection) {
+        final boolean negative = sign < 0;
+        BigDecimal rounded = exact.round(new MathContext(Decimal128.MAX_PRECISION, roundingMode(roundingDirection)));
+        if (-rounded.scale() < Decimal128.MIN_EXPONENT_NOMINAL) {
+            rounded = exact.setScale(-Decimal128.MIN_EXPONENT_NOMINAL, roundingMode(roundingDirection));
+        }
+        if (-rounded.scale() > Decimal128.MAX_EXPONENT_NOMINAL) {
+            if (rounded.signum() == 0 || rounded.precision() - rounded.scale() - Decimal128.MAX_EXPONENT_NOMINAL <= Decimal128.MAX_PRECISION) {
+                rounded = rounded.setScale(-Decimal128.MAX_EXPONENT_NOMINAL);
+            } else {
+                final boolean infinity;
+                switch (roundingDirection) {
+                    case TowardPositive:
+                        infinity = !negative;
+                        break;
+                    case TowardNegative:
+                        infinity = negative;
+                        break;
+                    case TowardZero:
+                        infinity = false;
+                        break;
+                    default:
+                        infinity = true;
+                }
+                final long s = sign & Decimal128.SIGN_BIT_MASK;
+                return infinity ? new long[] {s | Decimal128.INF, 0} : new long[] {s | Decimal128.MAX_NORMAL_HI, Decimal128.MAX_NORMAL_LO};
+            }
+        }
+        return fromBigDecimal(sign, rounded);
+    }
+
+    public static final String toDebugString(final long hi, final long lo) {
+        if (Decimal128.isFinite(hi)) {
+            return (hi < 0 ? "-" : "") + toBigDecimal(hi, lo).abs() + " [exp=" + Decimal128.getExponent(hi) + "]";
+        }
+        return "0x" + Long.toHexString(hi) + ":" + Long.toHexString(lo);
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.encode;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Declet;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+/**
+ * Random finite Decimal64 values and conversion from and to {@link BigDecimal} to compute expected results.
+ */
+public class RandomDecimal64 {
+
+    private static final Random RND = new Random();
+
+    private static final long MAX_COEFFICIENT = 9999999999999999L;
+
+    public static final long randomDecimal64(final int minExp, final int maxExp) {
+        final long coeff = randomCoefficient();
+        final int exp = minExp + RND.nextInt(maxExp - minExp + 1);
+        return fromCoefficient(RND.nextBoolean() ? -coeff : coeff, exp);
+    }
+
+    public static final long randomCoefficient() {
+        final int digits = 1 + RND.nextInt(Decimal64.MAX_PRECISION);
+        final long pow10 = pow10(digits);
+        switch (RND.nextInt(8)) {
+            case 0:
+                return pow10 / 10;
+            case 1:
+                return pow10 - 1;
+            case 2:
+                return 5 * (pow10 / 10);
+            case 3: {
+                final long coeff = (RND.nextLong() & Long.MAX_VALUE) % pow10;
+                return coeff - coeff % pow10(RND.nextInt(digits));
+            }
+            default:
+                return (RND.nextLong() & Long.MAX_VALUE) % pow10;
+        }
+    }
+
+    public static final long fromCoefficient(final long coefficient, final int exp) {
+        final long sign = coefficient < 0 ? Decimal64.SIGN_BIT_MASK : 0;
+        final long abs = Math.abs(coefficient);
+        if (abs > MAX_COEFFICIENT) {
+            throw new IllegalArgumentException("coefficient has more than 16 digits: " + coefficient);
+        }
+        return Decimal64.encode(sign, exp, (int)(abs / 1000000000000000L), dpd(abs % 1000000000000000L));
+    }
+
+    public static final long fromBigDecimal(final BigDecimal value) {
+        final BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() >= Long.SIZE) {
+            throw new ArithmeticException("Unscaled value out of long range: " + value);
+        }
+        return fromCoefficient(unscaled.longValue(), -value.scale());
+    }
+
+    public static final BigDecimal toBigDecimal(final long dFloat) {
+        if (!Decimal64.isFinite(dFloat)) {
+            throw new IllegalArgumentException("not a finite value: " + Long.toHexString(dFloat));
+        }
+        final long abs = Decimal64.getCombinationMSD(dFloat) * 1000000000000000L + value(dFloat);
+        return BigDecimal.valueOf(dFloat < 0 ? -abs : abs, -Decimal64.getExponent(dFloat));
+    }
+
+    /**
+     * Rounds an exact result to the expected value: to 16 digits or to the minimum exponent for tiny values,
+     * clamping the exponent of large exact values and returning the overflow value for too large values.
+     *
+     * @param exact the exact signed result
+     * @param sign the sign of the result, only the sign bit is used, relevant for zero results
+     * @param roundingDirection the rounding direction
+     * @return the expected decimal float value
+     */
+    public static final long round(final BigDecimal exact, final long sign, final RoundingDirection roundingDirection) {
+        final boolean negative = sign < 0;
+        BigDecimal rounded = exact.round(mathContext(roundingDirection));
+        if (-rounded.scale() < Decimal64.MIN_EXPONENT_NOMINAL) {
+            rounded = exact.setScale(-Decimal64.MIN_EXPONENT_NOMINAL, roundingMode(roundingDirection));
+        }
+        if (-rounded.scale() > Decimal64.MAX_EXPONENT_NOMINAL) {
+            if (rounded.signum() == 0 || rounded.precision() - rounded.scale() - Decimal64.MAX_EXPONENT_NOMINAL <= Decimal64.MAX_PRECISION) {
+                rounded = rounded.setScale(-Decimal64.MAX_EXPONENT_NOMINAL);
+            } else {
+                final boolean infinity;
+                switch (roundingDirection) {
+                    case TowardPositive:
+                        infinity = !negative;
+                        break;
+                    case TowardNegative:
+                        infinity = negative;
+                        break;
+                    case TowardZero:
+                        infinity = false;
+                        break;
+                    default:
+                        infinity = true;
+                }
+                return (sign & Decimal64.SIGN_BIT_MASK) | (infinity ? Decimal64.INF : Decimal64.MAX_NORMAL);
+            }
+        }
+        return (sign & Decimal64.SIGN_BIT_MASK) | fromBigDecimal(rounded.abs());
+    }
+
+    public static final MathContext mathContext(final RoundingDirection roundingDirection) {
+        return new MathContext(Decimal64.MAX_PRECISION, roundingMode(roundingDirection));
+    }
+
+    public static final RoundingMode roundingMode(final RoundingDirection roundingDirection) {
+        switch (roundingDirection) {
+            case NearestTiesToEven:
+                return RoundingMode.HALF_EVEN;
+            case NearestTiesToAway:
+                return RoundingMode.HALF_UP;
+            case TowardPositive:
+                return RoundingMode.CEILING;
+            case TowardNegative:
+                return RoundingMode.FLOOR;
+            case TowardZero:
+                return RoundingMode.DOWN;
+            default:
+                throw new IllegalArgumentException("unsupported rounding direction: " + roundingDirection);
+        }
+    }
+
+    /**
+     * Returns true if both values have the same numerical value and the same exponent (quantum).
+     *
+     * @param expected the expected value
+     * @param actual the actual value
+     * @return true if value and scale are equal
+     */
+    public static final boolean isSameValueAndQuantum(final BigDecimal expected, final BigDecimal actual) {
+        return expected.unscaledValue().equals(actual.unscaledValue()) && expected.scale() == actual.scale();
+    }
+
+    public static final String toDebugString(final long dFloat) {
+        if (Decimal64.isFinite(dFloat)) {
+            return (dFloat < 0 ? "-" : "") + toBigDecimal(dFloat).abs() + " [exp=" + Decimal64.getExponent(dFloat) + "]";
+        }
+        return "0x" + Long.toHexString(dFloat);
+    }
+
+    private static final long pow10(final int n) {
+        long pow10 = 1;
+        for (int i = 0; i < n; i++) {
+            pow10 *= 10;
+        }
+        return pow10;
+    }
+
+    private static final long dpd(final long val) {
+        return ((long)Declet.intToDpd((int)((val / 1000000000000L) % 1000))) << 40 |
+                ((long)Declet.intToDpd((int)((val / 1000000000) % 1000)) << 30) |
+                Declet.intToDpd((int)((val / 1000000) % 1000)) << 20 |
+                Declet.intToDpd((int)((val / 1000) % 1000)) << 10 |
+                Declet.intToDpd((int)(val % 1000));
+    }
+
+    private static final long value(final long dpd) {
+        return Declet.dpdToInt((int)((dpd >>> 40) & 0x3ff)) * 1000000000000L +
+                Declet.dpdToInt((int)((dpd >>> 30) & 0x3ff)) * 1000000000L +
+                Declet.dpdToInt((int)((dpd >>> 20) & 0x3ff)) * 1000000L +
+                Declet.dpdToInt((int)((dpd >>> 10) & 0x3ff)) * 1000L +
+                Declet.dpdToInt((int)(dpd & 0x3ff));
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.isSameValueAndQuantum;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.mathContext;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AddTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 100000;
+
+    @Test
+    public void addSameExponent() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-20, 20);
+            final long coeff = randomCoefficient();
+            final long b = fromCoefficient(RND.nextBoolean() ? coeff : -coeff, Decimal64.getExponent(a));
+            assertAdd(a, b);
+        }
+    }
+
+    @Test
+    public void addDifferentExponent() {
+        for (int i = 0; i < N; i++) {
+            assertAdd(randomDecimal64(-40, 10), randomDecimal64(-40, 10));
+        }
+    }
+
+    @Test
+    public void addDifferentExponentAndSign() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-40, 10);
+            final long b = randomDecimal64(-40, 10);
+            assertAdd(a, (a ^ b) < 0 ? b : Sign.flipSign(b));
+        }
+    }
+
+    @Test
+    public void subtractWithCancellation() {
+        //|msd|dpd| = 10^15 minus values at smaller exponents loses one leading digit
+        assertAdd(fromCoefficient(1000000000000000L, 0), fromCoefficient(-1, -1));
+        assertAdd(fromCoefficient(1000000000000000L, 0), fromCoefficient(-1, -20));
+        assertAdd(fromCoefficient(1000000000000000L, 0), fromCoefficient(-5, -2));
+        assertAdd(fromCoefficient(1000000000000000L, 0), fromCoefficient(-9999999999999999L, -1));
+        assertAdd(fromCoefficient(1000000000000000L, 1), fromCoefficient(-9999999999999999L, 0));
+        assertAdd(fromCoefficient(1000000000000001L, 1), fromCoefficient(-9999999999999995L, 0));
+        assertAdd(fromCoefficient(1234567890123456L, 1), fromCoefficient(-5000000000000000L, -15));
+        assertAdd(fromCoefficient(-1, 10), fromCoefficient(5, -6));
+        assertAdd(fromCoefficient(9999999999999999L, 369), fromCoefficient(-1, 0));
+    }
+
+    @Test
+    public void exactZeroSum() {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final long expectedSign = rd == RoundingDirection.TowardNegative ? Decimal64.SIGN_BIT_MASK : 0;
+            final long[][] operands = {
+                    {fromCoefficient(123, -2), fromCoefficient(-123, -2)},
+                    {fromCoefficient(-1230, -3), fromCoefficient(123, -2)},
+                    {Decimal64.zero(0, 5), Decimal64.zero(Decimal64.SIGN_BIT_MASK, -5)}
+            };
+            for (final long[] ab : operands) {
+                final long sum = Add.add(ab[0], ab[1], rd);
+                assertTrue(rd + ": " + toDebugString(ab[0]) + " + " + toDebugString(ab[1]) + " should be zero", Decimal64.isZero(sum));
+                assertEquals(rd + ": sign of " + toDebugString(ab[0]) + " + " + toDebugString(ab[1]), expectedSign, sum & Decimal64.SIGN_BIT_MASK);
+            }
+        }
+    }
+
+    @Test
+    public void addLong() {
+        for (int i = 0; i < N; i++) {
+            final long a = RND.nextInt(4) == 0 ? randomDecimal64(-60, 40) : randomDecimal64(-20, 5);
+            final long l = RND.nextBoolean() ? RND.nextLong() >> RND.nextInt(64) : RND.nextInt(1000) - 500;
+            assertAddLong(a, l);
+        }
+        final long[] longs = {0, 1, -1, 9999999999999999L, -9999999999999999L, 10000000000000000L, -10000000000000001L,
+                99999999999999995L, 5000000000000000000L, Long.MAX_VALUE, Long.MIN_VALUE};
+        final long[] values = {
+                fromCoefficient(0, 0), fromCoefficient(0, -20), fromCoefficient(0, 20), Decimal64.zero(Decimal64.SIGN_BIT_MASK, 3),
+                fromCoefficient(1, 0), fromCoefficient(-1, 0), fromCoefficient(5, -1), fromCoefficient(-5, -1),
+                fromCoefficient(9999999999999999L, 0), fromCoefficient(-9999999999999999L, 3), fromCoefficient(1, 17),
+                fromCoefficient(-1, 19), fromCoefficient(-9223372036854776L, 3), fromCoefficient(9223372036854775L, 3),
+                fromCoefficient(-5, 18), fromCoefficient(1, -30), fromCoefficient(-1234567890123456L, -40)
+        };
+        for (final long l : longs) {
+            for (final long a : values) {
+                assertAddLong(a, l);
+                assertAddLong(a, -l);
+            }
+        }
+    }
+
+    @Test
+    public void addLongSpecialValues() {
+        assertTrue("NaN + 1", Decimal64.isNaN(Add.addLong(Decimal64.NAN, 1)));
+        assertEquals("-Inf + MAX", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Add.addLong(Decimal64.INF | Decimal64.SIGN_BIT_MASK, Long.MAX_VALUE));
+        assertEquals("Inf - MIN", Decimal64.INF, Sub.subtractLong(Decimal64.INF, Long.MIN_VALUE));
+        final long minusZero = Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0);
+        assertEquals("-0 + 0", Decimal64.zero(0, 0), Add.addLong(minusZero, 0));
+        assertEquals("-0 - 0", minusZero, Sub.subtractLong(minusZero, 0));
+        assertEquals("0 - 0", Decimal64.zero(0, 0), Sub.subtractLong(Decimal64.zero(0, 0), 0));
+        assertEquals("MAX_NORMAL + MAX", Decimal64.INF, Add.addLong(Decimal64.MAX_NORMAL, Long.MAX_VALUE, RoundingDirection.TowardPositive));
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final long expectedSign = rd == RoundingDirection.TowardNegative ? Decimal64.SIGN_BIT_MASK : 0;
+            assertEquals(rd + ": -5 + 5", Decimal64.zero(expectedSign, 0), Add.addLong(fromCoefficient(-5, 0), 5, rd));
+            assertEquals(rd + ": 5.00 - 5", Decimal64.zero(expectedSign, -2), Sub.subtractLong(fromCoefficient(500, -2), 5, rd));
+            assertEquals(rd + ": -9223372036854775E+3 + 9223372036854775000", Decimal64.zero(expectedSign, 0), Add.addLong(fromCoefficient(-9223372036854775L, 3), 9223372036854775000L, rd));
+        }
+    }
+
+    private static void assertAdd(final long a, final long b) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final BigDecimal expected = toBigDecimal(a).add(toBigDecimal(b), mathContext(rd));
+            final long sum = Add.add(a, b, rd);
+            final long dif = Sub.subtract(a, Sign.flipSign(b), rd);
+            assertTrue(rd + ": " + toDebugString(a) + " + " + toDebugString(b) + " = " + expected + " but was " + toDebugString(sum),
+                    isSameValueAndQuantum(expected, toBigDecimal(sum)));
+            assertTrue(rd + ": " + toDebugString(a) + " - " + toDebugString(Sign.flipSign(b)) + " = " + expected + " but was " + toDebugString(dif),
+                    isSameValueAndQuantum(expected, toBigDecimal(dif)));
+        }
+    }
+
+    private static void assertAddLong(final long a, final long l) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final BigDecimal exact = toBigDecimal(a).add(BigDecimal.valueOf(l));
+            final BigDecimal expected = exact.round(mathContext(rd));
+            final long sum = Add.addLong(a, l, rd);
+            assertTrue(rd + ": " + toDebugString(a) + " + " + l + " = " + expected + " but was " + toDebugString(sum),
+                    isSameValueAndQuantum(expected, toBigDecimal(sum)));
+            final long dif = Sub.subtractLong(a, l, rd);
+            final BigDecimal expectedDif = toBigDecimal(a).subtract(BigDecimal.valueOf(l)).round(mathContext(rd));
+            assertTrue(rd + ": " + toDebugString(a) + " - " + l + " = " + expectedDif + " but was " + toDebugString(dif),
+                    isSameValueAndQuantum(expectedDif, toBigDecimal(dif)));
+            if (l != 0) {
+                //single rounding of the exact sum, as opposed to converting l first
+                assertEquals(rd + ": sign of " + toDebugString(a) + " + " + l, exact.signum() < 0 || (exact.signum() == 0 && rd == RoundingDirection.TowardNegative),
+                        sum < 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.decimal4j.dfloat.encode.Decimal64Bid;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.round;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BidTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 50000;
+
+    private static final long NEG_INF = Decimal64.INF | Decimal64.SIGN_BIT_MASK;
+
+    @Test
+    public void encoding() {
+        assertEquals("ZERO", Decimal64Bid.ZERO, Decimal64Bid.fromDpd(Decimal64.ZERO));
+        assertEquals("MIN_NORMAL", Decimal64Bid.MIN_NORMAL, Decimal64Bid.fromDpd(Decimal64.MIN_NORMAL));
+        assertEquals("MAX_NORMAL", Decimal64Bid.MAX_NORMAL, Decimal64Bid.fromDpd(Decimal64.MAX_NORMAL));
+        assertEquals("9999999999999999", 0x6c7386f26fc0ffffL, Decimal64Bid.encode(0, 0, 9999999999999999L));
+        assertEquals("-7.50", 0xb1800000000002eeL, Decimal64Bid.encode(Decimal64.SIGN_BIT_MASK, -2, 750));
+        for (int i = 0; i < N; i++) {
+            final long dpd = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            final long bid = Decimal64Bid.fromDpd(dpd);
+            assertEquals("toDpd(fromDpd(" + toDebugString(dpd) + "))", dpd, Decimal64Bid.toDpd(bid));
+            assertEquals("exponent(" + toDebugString(dpd) + ")", Decimal64.getExponent(dpd), Decimal64Bid.getExponent(bid));
+            assertEquals("coefficient(" + toDebugString(dpd) + ")", Decimal64.getCoefficient(dpd), Decimal64Bid.getCoefficient(bid));
+            assertTrue("isCanonical(" + toDebugString(dpd) + ")", Decimal64Bid.isCanonical(bid));
+        }
+        final long nan = Decimal64.SNAN | Decimal64.SIGN_BIT_MASK | fromCoefficient(123, 0) & Decimal64.COEFF_CONT_MASK;
+        assertEquals("sNaN payload", 123, Decimal64Bid.getPayload(Decimal64Bid.fromDpd(nan)));
+        assertEquals("toDpd(fromDpd(sNaN))", nan, Decimal64Bid.toDpd(Decimal64Bid.fromDpd(nan)));
+        assertEquals("toDpd(fromDpd(-Inf))", NEG_INF, Decimal64Bid.toDpd(Decimal64Bid.fromDpd(NEG_INF)));
+    }
+
+    @Test
+    public void classification() {
+        final long nonCanonical = 0x6c7fffffffffffffL;
+        assertTrue("isZero(non-canonical)", Decimal64Bid.isZero(nonCanonical));
+        assertFalse("isCanonical(non-canonical)", Decimal64Bid.isCanonical(nonCanonical));
+        assertTrue("isZero(-0E-5)", Decimal64Bid.isZero(Decimal64Bid.zero(Decimal64.SIGN_BIT_MASK, -5)));
+        assertFalse("isNormal(0)", Decimal64Bid.isNormal(Decimal64Bid.ZERO));
+        assertTrue("isNormal(MIN_NORMAL)", Decimal64Bid.isNormal(Decimal64Bid.MIN_NORMAL));
+        assertTrue("isNormal(1E-383)", Decimal64Bid.isNormal(Decimal64Bid.encode(0, -383, 1)));
+        assertTrue("isSubnormal(9E-384)", Decimal64Bid.isSubnormal(Decimal64Bid.encode(0, -384, 9)));
+        assertTrue("isSubnormal(999999999999999E-398)", Decimal64Bid.isSubnormal(Decimal64Bid.encode(0, -398, 999999999999999L)));
+        assertFalse("isSubnormal(Inf)", Decimal64Bid.isSubnormal(Decimal64Bid.INF));
+        assertTrue("isInfinite(-Inf)", Decimal64Bid.isInfinite(NEG_INF));
+        assertTrue("isSignalingNaN(sNaN)", Decimal64Bid.isSignalingNaN(Decimal64Bid.SNAN));
+        assertTrue("isQuietNaN(NaN)", Decimal64Bid.isQuietNaN(Decimal64Bid.NAN));
+        assertFalse("isFinite(NaN)", Decimal64Bid.isFinite(Decimal64Bid.NAN));
+    }
+
+    @Test
+    public void add() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-30, 30);
+            final long b = RND.nextBoolean() ? randomDecimal64(-30, 30) : randomDecimal64(Decimal64.getExponent(a) - 40, Decimal64.getExponent(a) + 2);
+            assertAdd(a, b);
+        }
+        for (int i = 0; i < N; i++) {
+            assertAdd(randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL),
+                    randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL));
+        }
+        assertAdd(fromCoefficient(1, 0), fromCoefficient(-1, 0));
+        assertAdd(fromCoefficient(1000000000000000L, 17), fromCoefficient(-5, 0));
+        assertAdd(fromCoefficient(1000000000000000L, 17), fromCoefficient(-5000000000000000L, 1));
+        assertAdd(fromCoefficient(1000000000000000L, 18), fromCoefficient(-5000000000000000L, 1));
+        assertAdd(fromCoefficient(9999999999999999L, 0), fromCoefficient(5, -1));
+        assertAdd(fromCoefficient(9999999999999999L, Decimal64.MAX_EXPONENT_NOMINAL), fromCoefficient(5, Decimal64.MAX_EXPONENT_NOMINAL - 1));
+        assertAdd(fromCoefficient(5, 20), Decimal64.zero(0, -3));
+        assertAdd(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 4), fromCoefficient(-7, 2));
+        assertAdd(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 4), Decimal64.zero(0, 2));
+    }
+
+    @Test
+    public void multiply() {
+        for (int i = 0; i < N; i++) {
+            assertMultiply(randomDecimal64(-30, 30), randomDecimal64(-30, 30));
+            assertMultiply(randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL),
+                    randomDecimal64(-200, 200));
+        }
+        assertMultiply(fromCoefficient(9999999999999999L, 0), fromCoefficient(9999999999999999L, 0));
+        assertMultiply(fromCoefficient(-3, Decimal64.MIN_EXPONENT_NOMINAL), fromCoefficient(1, -1));
+        assertMultiply(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 300), fromCoefficient(7, 300));
+    }
+
+    @Test
+    public void specialValues() {
+        final long one = Decimal64Bid.fromDpd(fromCoefficient(1, 0));
+        final long inf = Decimal64Bid.INF;
+        final long negInf = inf | Decimal64.SIGN_BIT_MASK;
+        assertTrue("NaN + 1", Decimal64Bid.isNaN(Bid.add(Decimal64Bid.NAN, one)));
+        assertTrue("1 - sNaN", Decimal64Bid.isQuietNaN(Bid.subtract(one, Decimal64Bid.SNAN)));
+        assertTrue("Inf - Inf", Decimal64Bid.isNaN(Bid.subtract(inf, inf)));
+        assertEquals("Inf + Inf", inf, Bid.add(inf, inf));
+        assertEquals("1 - Inf", negInf, Bid.subtract(one, inf));
+        assertTrue("Inf * 0", Decimal64Bid.isNaN(Bid.multiply(inf, Decimal64Bid.ZERO)));
+        assertEquals("-Inf * -1", inf, Bid.multiply(negInf, one | Decimal64.SIGN_BIT_MASK));
+        assertEquals("compare(NaN, NaN)", 0, Bid.compare(Decimal64Bid.NAN, Decimal64Bid.SNAN));
+        assertEquals("compare(NaN, Inf)", 1, Bid.compare(Decimal64Bid.NAN, inf));
+        assertEquals("compare(Inf, NaN)", -1, Bid.compare(inf, Decimal64Bid.NAN));
+        assertEquals("compare(Inf, Inf)", 0, Bid.compare(inf, inf));
+        assertEquals("compare(-Inf, Inf)", -1, Bid.compare(negInf, inf));
+        assertEquals("compare(Inf, -Inf)", 1, Bid.compare(inf, negInf));
+        assertEquals("compare(Inf, 1)", 1, Bid.compare(inf, one));
+        assertEquals("compare(-Inf, 1)", -1, Bid.compare(negInf, one));
+        assertEquals("compare(1, -Inf)", 1, Bid.compare(one, negInf));
+        assertEquals("compare(-0, 0)", 0, Bid.compare(Decimal64Bid.zero(Decimal64.SIGN_BIT_MASK, 5), Decimal64Bid.ZERO));
+    }
+
+    @Test
+    public void compare() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-20, 20);
+            final long q = Quantum.quantize(a, fromCoefficient(1, Decimal64.getExponent(a) - RND.nextInt(3)));
+            final long b = RND.nextBoolean() | Decimal64.isNaN(q) ? randomDecimal64(-20, 20) : q;
+            final int expected = toBigDecimal(a).compareTo(toBigDecimal(b));
+            assertEquals("compare(" + toDebugString(a) + ", " + toDebugString(b) + ")", expected,
+                    Integer.signum(Bid.compare(Decimal64Bid.fromDpd(a), Decimal64Bid.fromDpd(b))));
+        }
+    }
+
+    private static void assertAdd(final long a, final long b) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final BigDecimal exact = toBigDecimal(a).add(toBigDecimal(b));
+            final long expected;
+            if (exact.signum() == 0) {
+                final long sign = (a ^ b) >= 0 ? a : rd == RoundingDirection.TowardNegative ? Decimal64.SIGN_BIT_MASK : 0;
+                expected = Decimal64.zero(sign, Math.min(Decimal64.getExponent(a), Decimal64.getExponent(b)));
+            } else {
+                expected = round(exact, exact.signum() < 0 ? Decimal64.SIGN_BIT_MASK : 0, rd);
+            }
+            final long actual = Bid.add(Decimal64Bid.fromDpd(a), Decimal64Bid.fromDpd(b), rd);
+            assertEquals(rd + ": " + toDebugString(a) + " + " + toDebugString(b) + " = " + toDebugString(expected) + " but was " + toDebugString(Decimal64Bid.toDpd(actual)),
+                    expected, Decimal64Bid.toDpd(actual));
+            final long difference = Bid.subtract(Decimal64Bid.fromDpd(a), Decimal64Bid.fromDpd(Sign.flipSign(b)), rd);
+            assertEquals(rd + ": " + toDebugString(a) + " - " + toDebugString(Sign.flipSign(b)), expected, Decimal64Bid.toDpd(difference));
+        }
+    }
+
+    private static void assertMultiply(final long a, final long b) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final BigDecimal exact = toBigDecimal(a).multiply(toBigDecimal(b));
+            final long expected = round(exact, (a ^ b) & Decimal64.SIGN_BIT_MASK, rd);
+            final long actual = Bid.multiply(Decimal64Bid.fromDpd(a), Decimal64Bid.fromDpd(b), rd);
+            assertEquals(rd + ": " + toDebugString(a) + " * " + toDebugString(b) + " = " + toDebugString(expected) + " but was " + toDebugString(Decimal64Bid.toDpd(actual)),
+                    expected, Decimal64Bid.toDpd(actual));
+        }
+    }
+}
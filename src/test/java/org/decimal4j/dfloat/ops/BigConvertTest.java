@@ -0,0 +1,180 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.round;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.roundingMode;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class BigConvertTest {
+
+    private static final int N = 100000;
+    private static final Random RND = new Random();
+
+    private static final DynamicAttributes THROW = new DynamicAttributes();
+    static {
+        THROW.setExceptionHandler(ExceptionHandlers.ThrowException);
+    }
+
+    @Test
+    public void fromBigDecimalExact() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            final BigDecimal value = toBigDecimal(x);
+            final long expected = value.signum() == 0 ? x & ~Decimal64.SIGN_BIT_MASK : x;
+            assertEquals("fromBigDecimal(" + value + ")", toDebugString(expected), toDebugString(BigConvert.fromBigDecimal(value, THROW)));
+            assertEquals("fromBigDecimal(" + value + ")", expected, BigConvert.fromBigDecimal(value));
+            assertEquals("toBigDecimal(" + toDebugString(x) + ")", value, BigConvert.toBigDecimal(x, THROW));
+        }
+        assertEquals(fromCoefficient(0, Decimal64.MIN_EXPONENT_NOMINAL), BigConvert.fromBigDecimal(BigDecimal.valueOf(0, Integer.MAX_VALUE)));
+        assertEquals(fromCoefficient(0, Decimal64.MAX_EXPONENT_NOMINAL), BigConvert.fromBigDecimal(BigDecimal.valueOf(0, Integer.MIN_VALUE)));
+        assertEquals(fromCoefficient(1000000000000000L, 3), BigConvert.fromBigDecimal(new BigDecimal("1000000000000000000"), THROW));
+        assertEquals(fromCoefficient(-123, 4), BigConvert.fromBigDecimal(new BigDecimal("-1.23E+6"), THROW));
+    }
+
+    @Test
+    public void fromBigDecimalRounded() {
+        for (int i = 0; i < N; i++) {
+            final int digits = 1 + RND.nextInt(RND.nextBoolean() ? 19 : 60);
+            final BigInteger unscaled = randomUnscaled(digits);
+            final BigDecimal value = new BigDecimal(unscaled, -(Decimal64.MIN_EXPONENT_NOMINAL - 40 + RND.nextInt(Decimal64.MAX_EXPONENT - Decimal64.MIN_EXPONENT_NOMINAL + 60)));
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertFromBigDecimal(rd, value);
+            }
+        }
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            assertFromBigDecimal(rd, new BigDecimal("99999999999999995"));
+            assertFromBigDecimal(rd, new BigDecimal("-12345678901234565"));
+            assertFromBigDecimal(rd, new BigDecimal(Long.MAX_VALUE));
+            assertFromBigDecimal(rd, new BigDecimal(Long.MIN_VALUE));
+            assertFromBigDecimal(rd, new BigDecimal("1234567890123456500000000000000000000000000001"));
+            assertFromBigDecimal(rd, new BigDecimal("9.999999999999999999E384"));
+            assertFromBigDecimal(rd, new BigDecimal("-1E385"));
+            assertFromBigDecimal(rd, new BigDecimal("15E-399"));
+        }
+        final BigDecimal tiny = BigDecimal.ONE.scaleByPowerOfTen(-999999999);
+        assertEquals(fromCoefficient(0, Decimal64.MIN_EXPONENT_NOMINAL), BigConvert.fromBigDecimal(tiny));
+        assertEquals(fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL), BigConvert.fromBigDecimal(tiny, RoundingDirection.TowardPositive));
+        assertEquals(Decimal64.INF, BigConvert.fromBigDecimal(BigDecimal.ONE.scaleByPowerOfTen(999999999)));
+    }
+
+    @Test
+    public void fromBigInteger() {
+        for (int i = 0; i < N; i++) {
+            final BigInteger value = randomUnscaled(1 + RND.nextInt(40));
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                final long expected = round(new BigDecimal(value), value.signum() < 0 ? Decimal64.SIGN_BIT_MASK : 0, rd);
+                assertEquals(rd + ": fromBigInteger(" + value + ")", toDebugString(expected), toDebugString(BigConvert.fromBigInteger(value, rd)));
+            }
+        }
+        assertEquals(fromCoefficient(0, 0), BigConvert.fromBigInteger(BigInteger.ZERO));
+        assertEquals(Decimal64.INF, BigConvert.fromBigInteger(BigInteger.TEN.pow(385)));
+        assertEquals(fromCoefficient(-1000000000000000L, 369), BigConvert.fromBigInteger(BigInteger.TEN.pow(384).negate(), THROW));
+    }
+
+    @Test
+    public void toBigDecimalWithScale() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            final BigDecimal exact = toBigDecimal(x);
+            final int scale = -Decimal64.getExponent(x) - 25 + RND.nextInt(40);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                final BigDecimal expected = exact.setScale(scale, roundingMode(rd));
+                assertEquals(rd + ": toBigDecimal(" + toDebugString(x) + ", " + scale + ")", expected, BigConvert.toBigDecimal(x, scale, rd));
+            }
+        }
+        assertEquals(new BigDecimal("0.00"), BigConvert.toBigDecimal(Decimal64.zero(Decimal64.SIGN_BIT_MASK, -5), 2));
+        assertEquals(new BigDecimal("-1.24"), BigConvert.toBigDecimal(fromCoefficient(-12350, -4), 2));
+        assertEquals(new BigDecimal("-1.23"), BigConvert.toBigDecimal(fromCoefficient(-12350, -4), 2, RoundingDirection.TowardZero));
+        assertEquals(new BigDecimal("1.0000000000000000000000"), BigConvert.toBigDecimal(fromCoefficient(1, 0), 22, THROW));
+        assertEquals(BigDecimal.valueOf(1, Integer.MIN_VALUE), BigConvert.toBigDecimal(fromCoefficient(9999999999999999L, Decimal64.MAX_EXPONENT_NOMINAL), Integer.MIN_VALUE, RoundingDirection.TowardPositive));
+        assertEquals(BigDecimal.valueOf(0, Integer.MIN_VALUE), BigConvert.toBigDecimal(fromCoefficient(9999999999999999L, Decimal64.MAX_EXPONENT_NOMINAL), Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void signals() {
+        assertSignal(Flag.Inexact, fromCoefficient(12345, -4), 2, 123);
+        assertSignal(Flag.InvalidOperation, Decimal64.NAN, 2, Decimal64.NAN);
+        assertSignal(Flag.InvalidOperation, Decimal64.INF | Decimal64.SIGN_BIT_MASK, 0, Decimal64.INF | Decimal64.SIGN_BIT_MASK);
+        for (final long x : new long[] {Decimal64.NAN, Decimal64.SNAN, Decimal64.INF, Decimal64.INF | Decimal64.SIGN_BIT_MASK}) {
+            try {
+                BigConvert.toBigDecimal(x);
+                fail("toBigDecimal(" + toDebugString(x) + ") should throw an ArithmeticException");
+            } catch (final ArithmeticException e) {
+                //expected
+            }
+        }
+        try {
+            BigConvert.fromBigDecimal(new BigDecimal("12345678901234567"), THROW);
+            fail("fromBigDecimal(12345678901234567) should signal Inexact");
+        } catch (final RaisedFlagException e) {
+            assertEquals("fromBigDecimal(12345678901234567) flag", Flag.Inexact, e.getFlag());
+            assertEquals("fromBigDecimal(12345678901234567)", fromCoefficient(1234567890123457L, 1), e.getResult());
+        }
+    }
+
+    private static BigInteger randomUnscaled(final int digits) {
+        BigInteger value = BigInteger.ZERO;
+        final int zeroRun = RND.nextInt(digits);
+        for (int i = 0; i < digits; i++) {
+            //runs of zeros and nines hit exact ties and carries
+            final int digit = i >= zeroRun ? (RND.nextInt(4) == 0 ? 5 : RND.nextBoolean() ? 0 : 9) : RND.nextInt(10);
+            value = value.multiply(BigInteger.TEN).add(BigInteger.valueOf(digit));
+        }
+        return RND.nextBoolean() ? value.negate() : value;
+    }
+
+    private static void assertFromBigDecimal(final RoundingDirection rd, final BigDecimal value) {
+        final long expected = round(value, value.signum() < 0 ? Decimal64.SIGN_BIT_MASK : 0, rd);
+        assertEquals(rd + ": fromBigDecimal(" + value + ")", toDebugString(expected), toDebugString(BigConvert.fromBigDecimal(value, rd)));
+        assertEquals(rd + ": fromBigDecimal(" + value + ")", expected, BigConvert.fromBigDecimal(value, rd));
+    }
+
+    private static void assertSignal(final Flag flag, final long x, final int scale, final long expected) {
+        try {
+            BigConvert.toBigDecimal(x, scale, THROW);
+            fail("toBigDecimal(" + toDebugString(x) + ", " + scale + ") should signal " + flag);
+        } catch (final RaisedFlagException e) {
+            assertEquals("toBigDecimal(" + toDebugString(x) + ", " + scale + ") flag", flag, e.getFlag());
+            assertEquals("toBigDecimal(" + toDebugString(x) + ", " + scale + ")", expected, e.getResult());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompareTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 100000;
+
+    private static final long NEG_NAN = Decimal64.NAN | Decimal64.SIGN_BIT_MASK;
+    private static final long NEG_SNAN = Decimal64.SNAN | Decimal64.SIGN_BIT_MASK;
+    private static final long NEG_INF = Decimal64.INF | Decimal64.SIGN_BIT_MASK;
+
+    @Test
+    public void compare() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-20, 20);
+            final long b = RND.nextBoolean() ? randomDecimal64(-20, 20) : cohortMember(a);
+            assertCompare(a, b);
+        }
+    }
+
+    @Test
+    public void compareOverlappingMagnitudes() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-3, 3);
+            final long coeff = RND.nextInt(1000);
+            final long b = fromCoefficient(a < 0 ? -coeff : coeff, Decimal64.getExponent(a) + RND.nextInt(5) - 2);
+            assertCompare(a, b);
+        }
+        assertCompare(fromCoefficient(15, -1), fromCoefficient(150, -2));
+        assertCompare(fromCoefficient(15, -1), fromCoefficient(151, -2));
+        assertCompare(fromCoefficient(-15, -1), fromCoefficient(-149, -2));
+        assertCompare(fromCoefficient(9999999999999999L, 0), fromCoefficient(1, 16));
+    }
+
+    @Test
+    public void compareSpecialValues() {
+        final long one = fromCoefficient(1, 0);
+        final long[] ordered = {NEG_INF, fromCoefficient(-1, 369), fromCoefficient(-1, 0), Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0),
+                fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL), one, fromCoefficient(9999999999999999L, 369), Decimal64.INF};
+        for (int i = 0; i < ordered.length; i++) {
+            for (int j = 0; j < ordered.length; j++) {
+                assertEquals("compare(" + toDebugString(ordered[i]) + ", " + toDebugString(ordered[j]) + ")",
+                        Integer.signum(Integer.compare(i, j)), Integer.signum(Compare.compare(ordered[i], ordered[j])));
+            }
+            assertEquals("compare(" + toDebugString(ordered[i]) + ", NaN)", -1, Integer.signum(Compare.compare(ordered[i], Decimal64.NAN)));
+            assertEquals("compare(NaN, " + toDebugString(ordered[i]) + ")", 1, Integer.signum(Compare.compare(NEG_NAN, ordered[i])));
+        }
+        assertEquals("compare(-0, 0)", 0, Compare.compare(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 5), Decimal64.zero(0, -5)));
+        assertEquals("compare(NaN, NaN)", 0, Compare.compare(Decimal64.NAN, NEG_SNAN));
+    }
+
+    @Test
+    public void totalOrder() {
+        final long[] ordered = {NEG_NAN, NEG_SNAN, NEG_INF, fromCoefficient(-1, 0), fromCoefficient(-10, -1), fromCoefficient(-100, -2),
+                Decimal64.zero(Decimal64.SIGN_BIT_MASK, 2), Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0), Decimal64.zero(0, 0), Decimal64.zero(0, 2),
+                fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL), fromCoefficient(100, -2), fromCoefficient(10, -1), fromCoefficient(1, 0),
+                fromCoefficient(15, -1), Decimal64.INF, Decimal64.SNAN, Decimal64.NAN};
+        for (int i = 0; i < ordered.length; i++) {
+            for (int j = 0; j < ordered.length; j++) {
+                assertEquals("totalOrder(" + toDebugString(ordered[i]) + ", " + toDebugString(ordered[j]) + ")",
+                        i <= j, Compare.totalOrder(ordered[i], ordered[j]));
+            }
+        }
+        assertTrue("totalOrderMag(-1, 2)", Compare.totalOrderMag(fromCoefficient(-1, 0), fromCoefficient(2, 0)));
+        assertFalse("totalOrderMag(-2, 1)", Compare.totalOrderMag(fromCoefficient(-2, 0), fromCoefficient(1, 0)));
+    }
+
+    @Test
+    public void totalOrderRandom() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-20, 20);
+            final long b = RND.nextBoolean() ? randomDecimal64(-20, 20) : cohortMember(a);
+            final int cmp = toBigDecimal(a).compareTo(toBigDecimal(b));
+            final boolean expected = cmp != 0 ? cmp < 0 :
+                    (a ^ b) < 0 ? a < 0 :
+                    a < 0 ? Decimal64.getExponent(a) >= Decimal64.getExponent(b) : Decimal64.getExponent(a) <= Decimal64.getExponent(b);
+            assertEquals("totalOrder(" + toDebugString(a) + ", " + toDebugString(b) + ")", expected, Compare.totalOrder(a, b));
+        }
+    }
+
+    private static void assertCompare(final long a, final long b) {
+        final int expected = toBigDecimal(a).compareTo(toBigDecimal(b));
+        assertEquals("compare(" + toDebugString(a) + ", " + toDebugString(b) + ")", expected, Integer.signum(Compare.compare(a, b)));
+        assertEquals("compare(" + toDebugString(b) + ", " + toDebugString(a) + ")", -expected, Integer.signum(Compare.compare(b, a)));
+    }
+
+    //returns a value with the same numerical value but possibly a different exponent
+    private static long cohortMember(final long a) {
+        final long reduced = Quantum.reduce(a);
+        final int exp = Decimal64.getExponent(reduced) - RND.nextInt(16);
+        final long member = Quantum.quantize(reduced, fromCoefficient(1, exp));
+        return Decimal64.isNaN(member) ? a : member;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal32;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.roundingMode;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ConvertTest {
+
+    private static final int N = 100000;
+
+    private static final DynamicAttributes THROW = new DynamicAttributes();
+    static {
+        THROW.setExceptionHandler(ExceptionHandlers.ThrowException);
+    }
+
+    @Test
+    public void toDecimal32() {
+        for (int i = 0; i < N; i++) {
+            assertToDecimal32(randomDecimal64(Decimal32.MIN_EXPONENT_NOMINAL - 20, Decimal32.MAX_EXPONENT_NOMINAL + 10));
+        }
+        assertToDecimal32(fromCoefficient(12345675, 0));
+        assertToDecimal32(fromCoefficient(-12345685, 0));
+        assertToDecimal32(fromCoefficient(99999995, 0));
+        assertToDecimal32(fromCoefficient(9999999999999999L, Decimal32.MAX_EXPONENT_NOMINAL - 9));
+        assertToDecimal32(fromCoefficient(-9999999999999999L, Decimal32.MAX_EXPONENT_NOMINAL - 9));
+        assertToDecimal32(fromCoefficient(1, Decimal32.MAX_EXPONENT_NOMINAL + 6));
+        assertToDecimal32(fromCoefficient(1, Decimal32.MAX_EXPONENT_NOMINAL + 7));
+        assertToDecimal32(fromCoefficient(0, Decimal64.MAX_EXPONENT_NOMINAL));
+        assertToDecimal32(fromCoefficient(5, Decimal32.MIN_EXPONENT_NOMINAL - 1));
+        assertToDecimal32(fromCoefficient(-51, Decimal32.MIN_EXPONENT_NOMINAL - 2));
+        assertToDecimal32(fromCoefficient(9999999999999999L, Decimal64.MIN_EXPONENT_NOMINAL));
+    }
+
+    @Test
+    public void roundTrip() {
+        for (int i = 0; i < N; i++) {
+            final long x = Convert.toDecimal64(Convert.toDecimal32(randomDecimal64(Decimal32.MIN_EXPONENT_NOMINAL - 5, Decimal32.MAX_EXPONENT_NOMINAL)));
+            if (Decimal64.isFinite(x)) {
+                assertEquals("toDecimal64(toDecimal32(" + toDebugString(x) + "))", x, Convert.toDecimal64(Convert.toDecimal32(x, THROW)));
+            }
+        }
+    }
+
+    @Test
+    public void toDecimal32Signals() {
+        assertSignal(Flag.Inexact, fromCoefficient(12345675, 0), Decimal32.encodeCoefficient(0, 1, 1234568));
+        assertSignal(Flag.Underflow, fromCoefficient(15, Decimal32.MIN_EXPONENT_NOMINAL - 1), Decimal32.encodeCoefficient(0, Decimal32.MIN_EXPONENT_NOMINAL, 2));
+        assertSignal(Flag.Overflow, fromCoefficient(1, Decimal32.MAX_EXPONENT_NOMINAL + 7), Decimal32.INF);
+        assertSignal(Flag.Overflow, fromCoefficient(-1, Decimal32.MAX_EXPONENT_NOMINAL + 7), Decimal32.INF | Decimal32.SIGN_BIT_MASK);
+    }
+
+    @Test
+    public void toDecimal32SpecialValues() {
+        assertEquals("toDecimal32(-Inf)", Decimal32.INF | Decimal32.SIGN_BIT_MASK, Convert.toDecimal32(Decimal64.INF | Decimal64.SIGN_BIT_MASK));
+        assertEquals("toDecimal32(NaN(123))", Decimal32.NAN | 0xa3, Convert.toDecimal32(Decimal64.NAN | 0xa3));
+        assertEquals("toDecimal32(-sNaN(123))", Decimal32.NAN | Decimal32.SIGN_BIT_MASK | 0xa3, Convert.toDecimal32(Decimal64.SNAN | Decimal64.SIGN_BIT_MASK | 0xa3));
+        assertEquals("toDecimal32(NaN(1000000))", Decimal32.NAN, Convert.toDecimal32(Decimal64.NAN | (1L << 20)));
+        assertEquals("toDecimal32(-0E-398)", Decimal32.zero(Decimal32.SIGN_BIT_MASK, Decimal32.MIN_EXPONENT_NOMINAL),
+                Convert.toDecimal32(Decimal64.zero(Decimal64.SIGN_BIT_MASK, Decimal64.MIN_EXPONENT_NOMINAL)));
+    }
+
+    private static void assertSignal(final Flag flag, final long x, final int expected) {
+        try {
+            Convert.toDecimal32(x, THROW);
+            fail("toDecimal32(" + toDebugString(x) + ") should signal " + flag);
+        } catch (final RaisedFlagException e) {
+            assertEquals("toDecimal32(" + toDebugString(x) + ") flag", flag, e.getFlag());
+            assertEquals("toDecimal32(" + toDebugString(x) + ")", expected, (int)e.getResult());
+        }
+    }
+
+    private static void assertToDecimal32(final long x) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            assertEquals(rd + ": toDecimal32(" + toDebugString(x) + ")", expected(x, rd), Convert.toDecimal32(x, rd));
+        }
+    }
+
+    private static int expected(final long x, final RoundingDirection rd) {
+        final BigDecimal exact = toBigDecimal(x);
+        final int sign = x < 0 ? Decimal32.SIGN_BIT_MASK : 0;
+        BigDecimal rounded = exact.round(new MathContext(Decimal32.MAX_PRECISION, roundingMode(rd)));
+        if (-rounded.scale() < Decimal32.MIN_EXPONENT_NOMINAL) {
+            rounded = exact.setScale(-Decimal32.MIN_EXPONENT_NOMINAL, roundingMode(rd));
+        }
+        if (-rounded.scale() > Decimal32.MAX_EXPONENT_NOMINAL) {
+            if (rounded.signum() == 0 || rounded.precision() - rounded.scale() - Decimal32.MAX_EXPONENT_NOMINAL <= Decimal32.MAX_PRECISION) {
+                rounded = rounded.setScale(-Decimal32.MAX_EXPONENT_NOMINAL);
+            } else {
+                final boolean infinity = rd == RoundingDirection.TowardPositive ? sign == 0 :
+                        rd == RoundingDirection.TowardNegative ? sign != 0 : rd != RoundingDirection.TowardZero;
+                return sign | (infinity ? Decimal32.INF : Decimal32.MAX_NORMAL);
+            }
+        }
+        final BigInteger coefficient = rounded.unscaledValue().abs();
+        if (coefficient.bitLength() >= Integer.SIZE) {
+            throw new ArithmeticException("Coefficient out of int range: " + rounded);
+        }
+        return Decimal32.encodeCoefficient(sign, -rounded.scale(), coefficient.intValue());
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.round;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DivTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 100000;
+
+    private static final MathContext EXACT_DIGITS = new MathContext(40, RoundingMode.DOWN);
+
+    @Test
+    public void divide() {
+        for (int i = 0; i < N; i++) {
+            final long b = randomDecimal64(-20, 20);
+            if (!Decimal64.isZero(b)) {
+                assertDivide(randomDecimal64(-20, 20), b);
+            }
+        }
+    }
+
+    @Test
+    public void divideExact() {
+        for (int i = 0; i < N; i++) {
+            final long coeffB = 1 + RND.nextInt(10000);
+            final long coeffQ = randomCoefficient() / coeffB;
+            final long a = fromCoefficient(RND.nextBoolean() ? coeffQ * coeffB : -coeffQ * coeffB, RND.nextInt(41) - 20);
+            assertDivide(a, fromCoefficient(RND.nextBoolean() ? coeffB : -coeffB, RND.nextInt(41) - 20));
+        }
+        assertDivide(fromCoefficient(1, 0), fromCoefficient(4, 0));
+        assertDivide(fromCoefficient(100, 0), fromCoefficient(8, 0));
+        assertDivide(fromCoefficient(1, 0), fromCoefficient(1024, 0));
+        assertDivide(fromCoefficient(-1000, 5), fromCoefficient(25, 3));
+    }
+
+    @Test
+    public void divideUnderflowAndOverflow() {
+        for (int i = 0; i < N; i++) {
+            final long b = randomDecimal64(100, 369);
+            if (!Decimal64.isZero(b)) {
+                assertDivide(randomDecimal64(-398, -200), b);
+            }
+            final long c = randomDecimal64(-398, -200);
+            if (!Decimal64.isZero(c)) {
+                assertDivide(randomDecimal64(100, 369), c);
+            }
+        }
+        assertDivide(fromCoefficient(1, -398), fromCoefficient(2, 0));
+        assertDivide(fromCoefficient(3, -398), fromCoefficient(2, 0));
+        assertDivide(fromCoefficient(1, 369), fromCoefficient(1, -16));
+        assertDivide(fromCoefficient(1, 369), fromCoefficient(1, -15));
+    }
+
+    @Test
+    public void divideByLong() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-20, 20);
+            final long l = RND.nextBoolean() ? RND.nextLong() >> RND.nextInt(64) : RND.nextInt(1000) - 500;
+            if (l != 0) {
+                assertDivideByLong(a, l);
+            }
+        }
+        for (final long l : new long[] {1, -1, 3, 7, 10000000000000000L, -10000000000000000L, 10000000000000001L, 99999999999999999L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertDivideByLong(fromCoefficient(9999999999999999L, 0), l);
+            assertDivideByLong(fromCoefficient(-1, 0), l);
+            assertDivideByLong(fromCoefficient(1, 0), l);
+            assertDivideByLong(fromCoefficient(5000000000000000L, -398), l);
+            assertDivideByLong(fromCoefficient(9999999999999999L, 369), l);
+            assertDivideByLong(Decimal64.zero(0, 10), l);
+        }
+        assertDivideByLong(fromCoefficient(-1000000000000000L, 4), Long.MIN_VALUE);
+        assertDivideByLong(fromCoefficient(4611686018427387L, 3), 4611686018427387904L);
+    }
+
+    @Test
+    public void divideByPowerOf10() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-398, 369);
+            final int n = RND.nextInt(100) - 50;
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                final long expected = round(toBigDecimal(a).scaleByPowerOfTen(-n), a, rd);
+                final long actual = Div.divideByPowerOf10(a, n, rd);
+                assertEquals(rd + ": " + toDebugString(a) + " / 10^" + n + " = " + toDebugString(expected) + " but was " + toDebugString(actual),
+                        expected, actual);
+            }
+        }
+        assertTrue("NaN / 10^Integer.MIN_VALUE", Decimal64.isNaN(Div.divideByPowerOf10(Decimal64.NAN, Integer.MIN_VALUE)));
+        assertEquals("1 / 10^Integer.MIN_VALUE", Decimal64.INF, Div.divideByPowerOf10(fromCoefficient(1, 0), Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void invert() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-200, 200);
+            if (!Decimal64.isZero(a)) {
+                for (final RoundingDirection rd : RoundingDirection.values()) {
+                    final long expected = round(quotient(BigDecimal.ONE, toBigDecimal(a)), a, rd);
+                    final long actual = Div.invert(a, rd);
+                    assertEquals(rd + ": 1 / " + toDebugString(a) + " = " + toDebugString(expected) + " but was " + toDebugString(actual),
+                            expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void divideSpecialValues() {
+        final long one = fromCoefficient(1, 0);
+        final long minusOne = fromCoefficient(-1, 0);
+        final long minusZero = Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0);
+        assertTrue("NaN / 1", Decimal64.isNaN(Div.divide(Decimal64.NAN, one)));
+        assertTrue("1 / NaN", Decimal64.isNaN(Div.divide(one, Decimal64.NAN)));
+        assertTrue("Inf / Inf", Decimal64.isNaN(Div.divide(Decimal64.INF, Decimal64.INF)));
+        assertTrue("0 / 0", Decimal64.isNaN(Div.divide(minusZero, Decimal64.ZERO)));
+        assertTrue("0 / 0L", Decimal64.isNaN(Div.divideByLong(minusZero, 0)));
+        assertEquals("-1 / 0", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Div.divide(minusOne, Decimal64.ZERO));
+        assertEquals("1 / -0", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Div.divide(one, minusZero));
+        assertEquals("-1 / 0L", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Div.divideByLong(minusOne, 0));
+        assertEquals("1 / -0 (invert)", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Div.invert(minusZero));
+        assertEquals("-Inf / 1", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Div.divide(Decimal64.INF | Decimal64.SIGN_BIT_MASK, one));
+        assertEquals("Inf / -0", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Div.divide(Decimal64.INF, minusZero));
+        assertEquals("-1 / Inf", Decimal64.zero(Decimal64.SIGN_BIT_MASK, Decimal64.MIN_EXPONENT_NOMINAL), Div.divide(minusOne, Decimal64.INF));
+        assertEquals("1 / Inf (invert)", Decimal64.zero(0, Decimal64.MIN_EXPONENT_NOMINAL), Div.invert(Decimal64.INF));
+    }
+
+    private static void assertDivide(final long a, final long b) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final long expected = round(quotient(toBigDecimal(a), toBigDecimal(b)), a ^ b, rd);
+            final long actual = Div.divide(a, b, rd);
+            assertEquals(rd + ": " + toDebugString(a) + " / " + toDebugString(b) + " = " + toDebugString(expected) + " but was " + toDebugString(actual),
+                    expected, actual);
+        }
+    }
+
+    private static void assertDivideByLong(final long a, final long l) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final long expected = round(quotient(toBigDecimal(a), BigDecimal.valueOf(l)), a ^ l, rd);
+            final long actual = Div.divideByLong(a, l, rd);
+            assertEquals(rd + ": " + toDebugString(a) + " / " + l + " = " + toDebugString(expected) + " but was " + toDebugString(actual),
+                    expected, actual);
+        }
+    }
+
+    /**
+     * Returns the exact quotient with preferred scale if it has at most 40 digits, and otherwise the quotient
+     * truncated to 40 digits plus one unit in the 41st digit to keep it distinguishable from an exact result.
+     */
+    private static BigDecimal quotient(final BigDecimal a, final BigDecimal b) {
+        final BigDecimal q = a.divide(b, EXACT_DIGITS);
+        if (q.multiply(b).compareTo(a) == 0) {
+            return q;
+        }
+        final BigDecimal tail = BigDecimal.valueOf(q.signum(), q.scale() + 1);
+        return q.add(tail);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.round;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FmaTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 100000;
+
+    @Test
+    public void fma() {
+        for (int i = 0; i < N; i++) {
+            assertFma(randomDecimal64(-20, 20), randomDecimal64(-20, 20), randomDecimal64(-40, 40));
+        }
+    }
+
+    @Test
+    public void fmaSimilarExponents() {
+        for (int i = 0; i < N; i++) {
+            final int exp = RND.nextInt(11) - 5;
+            assertFma(randomDecimal64(exp, exp), randomDecimal64(-2, 0), randomDecimal64(exp - 4, exp + 2));
+        }
+    }
+
+    @Test
+    public void fmaCancellation() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-10, 10);
+            final long b = randomDecimal64(-10, 10);
+            final long p = Mul.multiply(a, b, RoundingDirection.values()[RND.nextInt(RoundingDirection.values().length)]);
+            assertFma(a, b, Sign.flipSign(p));
+        }
+        assertFma(fromCoefficient(9999999999999999L, 0), fromCoefficient(9999999999999999L, 0), fromCoefficient(-9999999999999998L, 16));
+        assertFma(fromCoefficient(1, 0), fromCoefficient(1, 0), fromCoefficient(-1, -60));
+        assertFma(fromCoefficient(1, 60), fromCoefficient(1, 0), fromCoefficient(-1, 0));
+        assertFma(fromCoefficient(1000000000000000L, 0), fromCoefficient(1, 0), fromCoefficient(-5, -32));
+    }
+
+    @Test
+    public void fmaUnderflowAndOverflow() {
+        for (int i = 0; i < N; i++) {
+            assertFma(randomDecimal64(-398, -190), randomDecimal64(-210, -150), randomDecimal64(-398, -360));
+            assertFma(randomDecimal64(150, 369), randomDecimal64(0, 230), randomDecimal64(300, 369));
+        }
+    }
+
+    @Test
+    public void fmaZero() {
+        final long zero = Decimal64.zero(0, 0);
+        final long minusZero = Decimal64.zero(Decimal64.SIGN_BIT_MASK, 3);
+        assertFma(zero, randomDecimal64(-5, 5), minusZero);
+        assertFma(minusZero, fromCoefficient(5, 0), minusZero);
+        assertFma(zero, fromCoefficient(5, -2), fromCoefficient(-123, 2));
+        assertFma(fromCoefficient(3, 3), fromCoefficient(-2, 3), fromCoefficient(6, 6));
+        assertFma(fromCoefficient(3, 3), fromCoefficient(-2, -30), fromCoefficient(6, -27));
+    }
+
+    @Test
+    public void fmaSpecialValues() {
+        final long one = fromCoefficient(1, 0);
+        final long minusInf = Decimal64.INF | Decimal64.SIGN_BIT_MASK;
+        assertTrue("NaN * 1 + 1", Decimal64.isNaN(Fma.fma(Decimal64.NAN, one, one)));
+        assertTrue("1 * 1 + NaN", Decimal64.isNaN(Fma.fma(one, one, Decimal64.NAN)));
+        assertTrue("Inf * 0 + 1", Decimal64.isNaN(Fma.fma(Decimal64.INF, Decimal64.ZERO, one)));
+        assertTrue("Inf * 0 + NaN", Decimal64.isNaN(Fma.fma(Decimal64.INF, Decimal64.ZERO, Decimal64.NAN)));
+        assertTrue("Inf * 1 - Inf", Decimal64.isNaN(Fma.fma(Decimal64.INF, one, minusInf)));
+        assertEquals("Inf * -1 - Inf", minusInf, Fma.fma(Decimal64.INF, Sign.flipSign(one), minusInf));
+        assertEquals("1 * 1 - Inf", minusInf, Fma.fma(one, one, minusInf));
+    }
+
+    private static void assertFma(final long a, final long b, final long c) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final BigDecimal exact = toBigDecimal(a).multiply(toBigDecimal(b)).add(toBigDecimal(c));
+            final long productSign = (a ^ b) & Decimal64.SIGN_BIT_MASK;
+            final long sign = exact.signum() != 0 ? exact.signum() < 0 ? Decimal64.SIGN_BIT_MASK : 0 :
+                    productSign == (c & Decimal64.SIGN_BIT_MASK) ? productSign :
+                    rd == RoundingDirection.TowardNegative ? Decimal64.SIGN_BIT_MASK : 0;
+            final long expected = round(exact, sign, rd);
+            final long actual = Fma.fma(a, b, c, rd);
+            assertEquals(rd + ": " + toDebugString(a) + " * " + toDebugString(b) + " + " + toDebugString(c) + " = " + toDebugString(expected) + " but was " + toDebugString(actual),
+                    expected, actual);
+        }
+    }
+}
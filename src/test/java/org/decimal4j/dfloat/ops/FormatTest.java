@@ -0,0 +1,141 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FormatTest {
+
+    private static final int N = 100000;
+    private static final Random RND = new Random();
+
+    @Test
+    public void toScientificString() throws IOException {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            final String expected = (x < 0 ? "-" : "") + toBigDecimal(x).abs().toString();
+            assertFormat(x, true, expected);
+            assertEquals("parse(" + expected + ")", x, Parse.parse(expected));
+        }
+        assertFormat(fromCoefficient(0, 0), true, "0");
+        assertFormat(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0), true, "-0");
+        assertFormat(fromCoefficient(0, 3), true, "0E+3");
+        assertFormat(fromCoefficient(0, -7), true, "0E-7");
+        assertFormat(fromCoefficient(0, -6), true, "0.000000");
+        assertFormat(fromCoefficient(123, -1), true, "12.3");
+        assertFormat(fromCoefficient(-123, -3), true, "-0.123");
+        assertFormat(fromCoefficient(123, -5), true, "0.00123");
+        assertFormat(fromCoefficient(123, -9), true, "1.23E-7");
+        assertFormat(fromCoefficient(123, 1), true, "1.23E+3");
+        assertFormat(fromCoefficient(5, 2), true, "5E+2");
+        assertFormat(fromCoefficient(-1234567890123456L, -21), true, "-0.000001234567890123456");
+        assertFormat(fromCoefficient(-1234567890123456L, Decimal64.MIN_EXPONENT_NOMINAL), true, "-1.234567890123456E-383");
+        assertFormat(fromCoefficient(9999999999999999L, Decimal64.MAX_EXPONENT_NOMINAL), true, "9.999999999999999E+384");
+        assertFormat(fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL), true, "1E-398");
+        assertEquals(Format.MAX_SCIENTIFIC_STRING_LENGTH, Format.scientificStringLength(fromCoefficient(-1234567890123456L, -21)));
+    }
+
+    @Test
+    public void toPlainString() throws IOException {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            final BigDecimal abs = toBigDecimal(x).abs();
+            final String expected = (x < 0 ? "-" : "") + abs.toPlainString();
+            assertFormat(x, false, expected);
+            if (!Decimal64.isZero(x)) {
+                assertEquals("parse(" + expected + ")", 0, toBigDecimal(x).compareTo(toBigDecimal(Parse.parse(expected))));
+            }
+        }
+        assertFormat(fromCoefficient(0, 3), false, "0");
+        assertFormat(fromCoefficient(0, -3), false, "0.000");
+        assertFormat(fromCoefficient(12, 3), false, "12000");
+        assertFormat(fromCoefficient(-123, -5), false, "-0.00123");
+        assertFormat(fromCoefficient(123, -9), false, "0.000000123");
+        final long longest = fromCoefficient(-1234567890123456L, Decimal64.MIN_EXPONENT_NOMINAL);
+        assertEquals(Format.MAX_PLAIN_STRING_LENGTH, Format.plainStringLength(longest));
+        assertFormat(longest, false, "-" + toBigDecimal(longest).abs().toPlainString());
+        for (int exp = Decimal64.MIN_EXPONENT_NOMINAL; exp <= Decimal64.MAX_EXPONENT_NOMINAL; exp++) {
+            assertTrue(Format.plainStringLength(fromCoefficient(-9999999999999999L, exp)) <= Format.MAX_PLAIN_STRING_LENGTH);
+            assertTrue(Format.scientificStringLength(fromCoefficient(-9999999999999999L, exp)) <= Format.MAX_SCIENTIFIC_STRING_LENGTH);
+        }
+    }
+
+    @Test
+    public void toStringSpecialValues() throws IOException {
+        for (final boolean scientific : new boolean[] {true, false}) {
+            assertFormat(Decimal64.INF, scientific, "Infinity");
+            assertFormat(Decimal64.INF | Decimal64.SIGN_BIT_MASK, scientific, "-Infinity");
+            assertFormat(Decimal64.NAN, scientific, "NaN");
+            assertFormat(Decimal64.NAN | Decimal64.SIGN_BIT_MASK, scientific, "-NaN");
+            assertFormat(Decimal64.SNAN, scientific, "sNaN");
+            assertFormat(Decimal64.NAN | Dpd.longToDpd(123), scientific, "NaN123");
+            assertFormat(Decimal64.SNAN | Decimal64.SIGN_BIT_MASK | Dpd.longToDpd(999999999999999L), scientific, "-sNaN999999999999999");
+        }
+    }
+
+    private static void assertFormat(final long x, final boolean scientific, final String expected) throws IOException {
+        final String name = (scientific ? "toScientificString(" : "toPlainString(") + expected + ")";
+        final int length = expected.length();
+        assertEquals(name, expected, scientific ? Format.toScientificString(x) : Format.toPlainString(x));
+        assertEquals(name, length, scientific ? Format.scientificStringLength(x) : Format.plainStringLength(x));
+
+        final StringBuilder sb = new StringBuilder("abc");
+        assertEquals(name, length, scientific ? Format.toScientificString(x, sb) : Format.toPlainString(x, sb));
+        assertEquals(name, "abc" + expected, sb.toString());
+
+        final StringWriter writer = new StringWriter();
+        assertEquals(name, length, scientific ? Format.toScientificString(x, writer) : Format.toPlainString(x, writer));
+        assertEquals(name, expected, writer.toString());
+
+        final int offset = RND.nextInt(10);
+        final byte[] bytes = new byte[offset + length];
+        assertEquals(name, length, scientific ? Format.toScientificString(x, bytes, offset) : Format.toPlainString(x, bytes, offset));
+        assertEquals(name, expected, new String(bytes, offset, length, StandardCharsets.US_ASCII));
+
+        for (final ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.allocate(offset + length), ByteBuffer.allocateDirect(offset + length)}) {
+            buffer.position(offset);
+            assertEquals(name, length, scientific ? Format.toScientificString(x, buffer) : Format.toPlainString(x, buffer));
+            assertEquals(name, 0, buffer.remaining());
+            buffer.position(offset);
+            final byte[] written = new byte[length];
+            buffer.get(written);
+            assertEquals(name, expected, new String(written, StandardCharsets.US_ASCII));
+        }
+    }
+}
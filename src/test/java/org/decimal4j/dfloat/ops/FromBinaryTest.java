@@ -0,0 +1,282 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.round;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class FromBinaryTest {
+
+    private static final int N = 20000;
+    private static final Random RND = new Random();
+
+    private static final DynamicAttributes THROW = new DynamicAttributes();
+    static {
+        THROW.setExceptionHandler(ExceptionHandlers.ThrowException);
+    }
+
+    @Test
+    public void fromDoubleShortest() {
+        for (int i = 0; i < N; i++) {
+            assertShortest(randomDouble());
+        }
+        final double[] values = {
+                0.1, 0.2, 0.3, 1.0 / 3, 2.0 / 3, 1, 10, 100, 1e15, 1e16, 1e17, 1e22, 1e23, 123456.789, 9007199254740991.0,
+                9007199254740992.0, 9007199254740994.0, 1.7976931348623157e308, Double.MIN_NORMAL, Double.MIN_VALUE,
+                2 * Double.MIN_VALUE, 3 * Double.MIN_VALUE, 2.0000000000000004, 5e-324, 1e-323, 4.35e-322,
+                Math.ulp(1.0), Math.PI, Math.E, 0.5, 0.25, 0.125, 1e-5, 2.5e-300
+        };
+        for (final double v : values) {
+            assertShortest(v);
+            assertShortest(-v);
+        }
+        for (int i = 0; i < 2000; i++) {
+            assertShortest(RND.nextInt(100000) / 1000.0);
+            assertShortest(Math.scalb(1.0, -1074 + RND.nextInt(2098)));
+            assertShortest(Double.longBitsToDouble(RND.nextInt(1 << 20)));
+        }
+        assertEquals(fromCoefficient(1, -1), FromBinary.fromDouble(0.1));
+        assertEquals(fromCoefficient(100, 0), FromBinary.fromDouble(100.0));
+        assertEquals(fromCoefficient(1, 22), FromBinary.fromDouble(1e22));
+        assertEquals(fromCoefficient(-15, 16), FromBinary.fromDouble(-1.5e17));
+        assertEquals(fromCoefficient(49, -325), FromBinary.fromDouble(Double.MIN_VALUE));
+    }
+
+    @Test
+    public void fromFloatShortest() {
+        for (int i = 0; i < N; i++) {
+            assertShortest(Float.intBitsToFloat(RND.nextInt()));
+        }
+        final float[] values = {
+                0.1f, 0.2f, 0.3f, 1f / 3, 1, 10, 1e7f, 1e10f, 16777215f, 16777216f, Float.MAX_VALUE, Float.MIN_NORMAL,
+                Float.MIN_VALUE, 2 * Float.MIN_VALUE, 7 * Float.MIN_VALUE, 8 * Float.MIN_VALUE, 1.0000001f, 3.4e38f
+        };
+        for (final float v : values) {
+            assertShortest(v);
+            assertShortest(-v);
+        }
+        assertEquals(fromCoefficient(1, -1), FromBinary.fromFloat(0.1f));
+        assertEquals(fromCoefficient(14, -46), FromBinary.fromFloat(Float.MIN_VALUE));
+    }
+
+    @Test
+    public void fromDoubleExact() {
+        for (int i = 0; i < N; i++) {
+            final double v = randomDouble();
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertExact(v, rd);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            //values with few digits hit exact results and ties
+            final double v = (RND.nextInt(2000000) - 1000000) * Math.scalb(1.0, RND.nextInt(120) - 60);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertExact(v, rd);
+                assertExact((float) v, rd);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            final float v = (float) randomDouble();
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertExact(Float.isInfinite(v) ? Float.MAX_VALUE : v, rd);
+            }
+        }
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            assertExact(Double.MAX_VALUE, rd);
+            assertExact(Double.MIN_VALUE, rd);
+            assertExact(Double.MIN_NORMAL, rd);
+            assertExact(9999999999999999.0, rd);
+            assertExact(99999999999999995.0, rd);
+            assertExact(1e23, rd);
+            assertExact(0x1p-1074 * 1000000000000000L, rd);
+        }
+        assertEquals(fromCoefficient(1000000000000000L, -16), FromBinary.fromDoubleExact(0.1));
+        assertEquals(fromCoefficient(5, -1), FromBinary.fromDoubleExact(0.5));
+        assertEquals(fromCoefficient(1000000014901161L, -16), FromBinary.fromFloatExact(0.1f));
+    }
+
+    @Test
+    public void fromSpecialValues() {
+        assertEquals(Decimal64.NAN, FromBinary.fromDouble(Double.NaN));
+        assertEquals(Decimal64.INF, FromBinary.fromDouble(Double.POSITIVE_INFINITY));
+        assertEquals(Decimal64.INF | Decimal64.SIGN_BIT_MASK, FromBinary.fromDouble(Double.NEGATIVE_INFINITY));
+        assertEquals(Decimal64.zero(0, 0), FromBinary.fromDouble(0.0));
+        assertEquals(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0), FromBinary.fromDouble(-0.0));
+        assertEquals(Decimal64.NAN, FromBinary.fromFloat(Float.NaN));
+        assertEquals(Decimal64.INF | Decimal64.SIGN_BIT_MASK, FromBinary.fromFloat(Float.NEGATIVE_INFINITY));
+        assertEquals(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0), FromBinary.fromFloat(-0.0f));
+        assertEquals(Decimal64.NAN, FromBinary.fromDoubleExact(Double.NaN));
+        assertEquals(Decimal64.INF, FromBinary.fromDoubleExact(Double.POSITIVE_INFINITY));
+        assertEquals(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0), FromBinary.fromFloatExact(-0.0f));
+    }
+
+    @Test
+    public void fromDoubleSignals() {
+        assertEquals(fromCoefficient(1, -1), FromBinary.fromDouble(0.1, THROW));
+        assertEquals(fromCoefficient(5, -1), FromBinary.fromDoubleExact(0.5, THROW));
+        assertSignal(0.1, true, fromCoefficient(1000000000000000L, -16));
+        assertSignal(2.0000000000000004, false, fromCoefficient(2000000000000000L, -15));
+        assertEquals(fromCoefficient(2000000000000001L, -15), FromBinary.fromDouble(2.0000000000000004, RoundingDirection.TowardPositive));
+    }
+
+    @Test
+    public void compareExact() {
+        for (int i = 0; i < N; i++) {
+            final long x = RND.nextLong() >>> (1 + RND.nextInt(63));
+            final long y = RND.nextLong() >>> (1 + RND.nextInt(63));
+            final int pow5 = RND.nextInt(120) - 60;
+            final int pow2 = RND.nextInt(400) - 200;
+            assertCompareExact(x + 1, y + 1, pow2, pow5);
+            //equal values
+            final BigInteger yy = BigInteger.valueOf(y + 1).multiply(BigInteger.valueOf(5).pow(Math.abs(pow5 % 20)));
+            if (yy.bitLength() < 63) {
+                final int shift = RND.nextInt(63 - yy.bitLength());
+                assertCompareExact(yy.longValue() << shift, y + 1, shift, Math.abs(pow5 % 20));
+                assertCompareExact((yy.longValue() << shift) + 1, y + 1, shift, Math.abs(pow5 % 20));
+                assertCompareExact((yy.longValue() << shift) - 1, y + 1, shift, Math.abs(pow5 % 20));
+            }
+        }
+    }
+
+    private static double randomDouble() {
+        double v;
+        do {
+            v = Double.longBitsToDouble(RND.nextLong());
+        } while (Double.isNaN(v) || Double.isInfinite(v));
+        return v;
+    }
+
+    //shortest decimal converting back to v, the closest one if there are several; length 2 is tried too if 1 suffices
+    private static BigDecimal shortest(final BigDecimal exact, final double v, final boolean isFloat) {
+        for (int n = 1; n <= 17; n++) {
+            BigDecimal best = null;
+            for (int m = n; m <= (n == 1 ? 2 : n); m++) {
+                for (final RoundingMode mode : new RoundingMode[] {RoundingMode.FLOOR, RoundingMode.CEILING}) {
+                    final BigDecimal d = exact.round(new MathContext(m, mode));
+                    final boolean roundTrip = isFloat ? Float.parseFloat(d.toString()) == (float) v : Double.parseDouble(d.toString()) == v;
+                    if (roundTrip) {
+                        if (best == null) {
+                            best = d;
+                        } else {
+                            final int cmp = d.subtract(exact).abs().compareTo(best.subtract(exact).abs());
+                            if (cmp < 0 || (cmp == 0 && !d.unscaledValue().testBit(0))) {
+                                best = d;
+                            }
+                        }
+                    }
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+        throw new AssertionError("no shortest decimal for " + v);
+    }
+
+    private static long reduced(final BigDecimal value) {
+        BigDecimal d = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        if (d.scale() < 0 && d.precision() - d.scale() <= Decimal64.MAX_PRECISION) {
+            d = d.setScale(0);
+        }
+        return fromCoefficient(d.unscaledValue().longValue(), -d.scale());
+    }
+
+    private static void assertShortest(final double v) {
+        final long actual = FromBinary.fromDouble(v);
+        if (v == 0) {
+            assertEquals("fromDouble(" + v + ")", fromCoefficient(0, 0) | (1 / v < 0 ? Decimal64.SIGN_BIT_MASK : 0), actual);
+            return;
+        }
+        final BigDecimal exact = new BigDecimal(v);
+        final BigDecimal shortest = shortest(exact, v, false);
+        final long expected = shortest.precision() <= Decimal64.MAX_PRECISION ? reduced(shortest)
+                : round(exact, v < 0 ? Decimal64.SIGN_BIT_MASK : 0, RoundingDirection.DEFAULT);
+        assertEquals("fromDouble(" + v + ")", toDebugString(expected), toDebugString(actual));
+    }
+
+    private static void assertShortest(final float v) {
+        final long actual = FromBinary.fromFloat(v);
+        if (Float.isNaN(v) || Float.isInfinite(v) || v == 0) {
+            return;
+        }
+        final long expected = reduced(shortest(new BigDecimal(v), v, true));
+        assertEquals("fromFloat(" + v + ")", toDebugString(expected), toDebugString(actual));
+    }
+
+    private static void assertExact(final double v, final RoundingDirection rd) {
+        final BigDecimal exact = new BigDecimal(v);
+        final long sign = Double.doubleToRawLongBits(v) & Decimal64.SIGN_BIT_MASK;
+        final long expected = exact.stripTrailingZeros().precision() <= Decimal64.MAX_PRECISION ? reduced(exact) | sign : round(exact, sign, rd);
+        assertEquals(rd + ": fromDoubleExact(" + v + ")", toDebugString(expected), toDebugString(FromBinary.fromDoubleExact(v, rd)));
+    }
+
+    private static void assertExact(final float v, final RoundingDirection rd) {
+        final BigDecimal exact = new BigDecimal(v);
+        final long sign = Float.floatToRawIntBits(v) < 0 ? Decimal64.SIGN_BIT_MASK : 0;
+        final long expected = exact.stripTrailingZeros().precision() <= Decimal64.MAX_PRECISION ? reduced(exact) | sign : round(exact, sign, rd);
+        assertEquals(rd + ": fromFloatExact(" + v + ")", toDebugString(expected), toDebugString(FromBinary.fromFloatExact(v, rd)));
+    }
+
+    private static void assertSignal(final double v, final boolean exact, final long expected) {
+        try {
+            if (exact) {
+                FromBinary.fromDoubleExact(v, THROW);
+            } else {
+                FromBinary.fromDouble(v, THROW);
+            }
+            fail("fromDouble" + (exact ? "Exact(" : "(") + v + ") should signal " + Flag.Inexact);
+        } catch (final RaisedFlagException e) {
+            assertEquals("fromDouble(" + v + ") flag", Flag.Inexact, e.getFlag());
+            assertEquals("fromDouble(" + v + ")", expected, e.getResult());
+        }
+    }
+
+    private static void assertCompareExact(final long x, final long y, final int pow2, final int pow5) {
+        BigDecimal right = new BigDecimal(BigInteger.valueOf(y).multiply(BigInteger.valueOf(5).pow(Math.abs(pow5))));
+        if (pow5 < 0) {
+            right = new BigDecimal(BigInteger.valueOf(y)).divide(new BigDecimal(BigInteger.valueOf(5).pow(-pow5)));
+        }
+        right = pow2 >= 0 ? right.multiply(new BigDecimal(BigInteger.ONE.shiftLeft(pow2)))
+                : right.divide(new BigDecimal(BigInteger.ONE.shiftLeft(-pow2)));
+        final int expected = new BigDecimal(x).compareTo(right);
+        assertEquals("compareExact(" + x + ", " + y + ", " + pow2 + ", " + pow5 + ")", expected, BinaryPow10.compareExact(x, y, pow2, pow5));
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.roundingMode;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IntegralTest {
+
+    private static final int N = 100000;
+
+    private static final BigInteger MIN_LONG = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private static final DynamicAttributes THROW = new DynamicAttributes();
+    static {
+        THROW.setExceptionHandler(ExceptionHandlers.ThrowException);
+    }
+
+    @Test
+    public void roundToIntegral() {
+        for (int i = 0; i < N; i++) {
+            assertRoundToIntegral(randomDecimal64(-20, 5));
+        }
+        assertRoundToIntegral(fromCoefficient(25, -1));
+        assertRoundToIntegral(fromCoefficient(-35, -1));
+        assertRoundToIntegral(fromCoefficient(-4, -1));
+        assertRoundToIntegral(fromCoefficient(9999999999999999L, -1));
+        assertRoundToIntegral(fromCoefficient(9999999999999999L, -16));
+        assertRoundToIntegral(fromCoefficient(5000000000000000L, -16));
+        assertRoundToIntegral(fromCoefficient(5, Decimal64.MIN_EXPONENT_NOMINAL));
+        assertEquals("roundToIntegralTiesToEven(2.5)", fromCoefficient(2, 0), Integral.roundToIntegralTiesToEven(fromCoefficient(25, -1)));
+        assertEquals("roundToIntegralTiesToAway(2.5)", fromCoefficient(3, 0), Integral.roundToIntegralTiesToAway(fromCoefficient(25, -1)));
+        assertEquals("roundToIntegralTowardZero(-2.7)", fromCoefficient(-2, 0), Integral.roundToIntegralTowardZero(fromCoefficient(-27, -1)));
+        assertEquals("roundToIntegralTowardPositive(-2.7)", fromCoefficient(-2, 0), Integral.roundToIntegralTowardPositive(fromCoefficient(-27, -1)));
+        assertEquals("roundToIntegralTowardNegative(-2.7)", fromCoefficient(-3, 0), Integral.roundToIntegralTowardNegative(fromCoefficient(-27, -1)));
+    }
+
+    @Test
+    public void roundToIntegralSpecialValues() {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            assertEquals(rd + ": roundToIntegral(-0.3)", Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0) | (rd == RoundingDirection.TowardNegative ? 1 : 0),
+                    Integral.roundToIntegral(fromCoefficient(-3, -1), rd));
+            assertEquals(rd + ": roundToIntegral(-Inf)", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Integral.roundToIntegral(Decimal64.INF | Decimal64.SIGN_BIT_MASK, rd));
+            assertTrue(rd + ": roundToIntegral(NaN)", Decimal64.isNaN(Integral.roundToIntegral(Decimal64.NAN, rd)));
+        }
+        assertEquals("roundToIntegral(1E+3)", fromCoefficient(1, 3), Integral.roundToIntegralTiesToEven(fromCoefficient(1, 3)));
+        assertEquals("roundToIntegral(-0E-5)", Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0), Integral.roundToIntegralTiesToEven(Decimal64.zero(Decimal64.SIGN_BIT_MASK, -5)));
+    }
+
+    @Test
+    public void roundToIntegralExact() {
+        assertEquals("roundToIntegralExact(2.00)", fromCoefficient(2, 0), Integral.roundToIntegralExact(fromCoefficient(200, -2), THROW));
+        try {
+            Integral.roundToIntegralExact(fromCoefficient(250, -2), THROW);
+            fail("roundToIntegralExact(2.50) should signal inexact");
+        } catch (final RaisedFlagException e) {
+            assertEquals("roundToIntegralExact(2.50) flag", Flag.Inexact, e.getFlag());
+            assertEquals("roundToIntegralExact(2.50)", fromCoefficient(2, 0), e.getResult());
+        }
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-20, 5);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertEquals(rd + ": roundToIntegralExact(" + toDebugString(x) + ")", Integral.roundToIntegral(x, rd), Integral.roundToIntegralExact(x, rd));
+            }
+        }
+    }
+
+    @Test
+    public void convertToInteger() {
+        for (int i = 0; i < N; i++) {
+            assertConvertToInteger(randomDecimal64(-20, 5));
+        }
+        assertConvertToInteger(fromCoefficient(25, -1));
+        assertConvertToInteger(fromCoefficient(-35, -1));
+        assertConvertToInteger(fromCoefficient(9999999999999999L, -1));
+        assertConvertToInteger(fromCoefficient(9999999999999999L, 2));
+        assertConvertToInteger(fromCoefficient(-9999999999999999L, 3));
+        assertConvertToInteger(fromCoefficient(922337203685477L, 4));
+        assertConvertToInteger(fromCoefficient(922337203685478L, 4));
+        assertConvertToInteger(fromCoefficient(-922337203685478L, 4));
+        assertConvertToInteger(fromCoefficient(1, 18));
+        assertConvertToInteger(fromCoefficient(1, 19));
+        assertConvertToInteger(fromCoefficient(-1, 300));
+        assertConvertToInteger(Decimal64.zero(0, 300));
+        assertEquals("convertToIntegerTiesToEven(2.5)", 2, Integral.convertToIntegerTiesToEven(fromCoefficient(25, -1)));
+        assertEquals("convertToIntegerTiesToAway(2.5)", 3, Integral.convertToIntegerTiesToAway(fromCoefficient(25, -1)));
+        assertEquals("convertToIntegerTowardZero(-2.7)", -2, Integral.convertToIntegerTowardZero(fromCoefficient(-27, -1)));
+        assertEquals("convertToIntegerTowardPositive(-2.7)", -2, Integral.convertToIntegerTowardPositive(fromCoefficient(-27, -1)));
+        assertEquals("convertToIntegerTowardNegative(-2.7)", -3, Integral.convertToIntegerTowardNegative(fromCoefficient(-27, -1)));
+    }
+
+    @Test
+    public void convertToIntegerSpecialValues() {
+        assertEquals("convertToInteger(NaN)", 0, Integral.convertToIntegerTiesToEven(Decimal64.NAN));
+        assertEquals("convertToInteger(-Inf)", Long.MIN_VALUE, Integral.convertToIntegerTiesToEven(Decimal64.INF | Decimal64.SIGN_BIT_MASK));
+        assertEquals("convertToInteger(Inf)", Long.MAX_VALUE, Integral.convertToIntegerTiesToEven(Decimal64.INF));
+        assertEquals("convertToInteger(1E+19)", Long.MAX_VALUE, Integral.convertToIntegerTiesToEven(fromCoefficient(1, 19)));
+        assertSignal("convertToInteger(NaN)", Flag.InvalidOperation, Decimal64.NAN, false);
+        assertSignal("convertToInteger(-Inf)", Flag.InvalidOperation, Decimal64.INF | Decimal64.SIGN_BIT_MASK, false);
+        assertSignal("convertToInteger(1E+19)", Flag.InvalidOperation, fromCoefficient(1, 19), false);
+        assertSignal("convertToInteger(-7.5)", null, fromCoefficient(-75, -1), false);
+        assertSignal("convertToIntegerExact(-7.0)", null, fromCoefficient(-70, -1), true);
+        assertSignal("convertToIntegerExact(-7.5)", Flag.Inexact, fromCoefficient(-75, -1), true);
+    }
+
+    private static void assertSignal(final String message, final Flag expected, final long x, final boolean exact) {
+        Flag flag = null;
+        try {
+            if (exact) {
+                Integral.convertToIntegerExact(x, THROW);
+            } else {
+                Integral.convertToInteger(x, THROW);
+            }
+        } catch (final RaisedFlagException e) {
+            flag = e.getFlag();
+        }
+        assertEquals(message + " flag", expected, flag);
+    }
+
+    private static void assertRoundToIntegral(final long x) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final BigDecimal value = toBigDecimal(x);
+            final BigDecimal expected = value.scale() <= 0 ? value : value.setScale(0, roundingMode(rd));
+            final long expectedValue = (x & Decimal64.SIGN_BIT_MASK) | fromBigDecimal(expected.abs());
+            assertEquals(rd + ": roundToIntegral(" + toDebugString(x) + ") = " + expected, expectedValue, Integral.roundToIntegral(x, rd));
+        }
+    }
+
+    private static void assertConvertToInteger(final long x) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final BigInteger value = toBigDecimal(x).setScale(0, roundingMode(rd)).toBigInteger();
+            final long expected = value.compareTo(MAX_LONG) > 0 ? Long.MAX_VALUE : value.compareTo(MIN_LONG) < 0 ? Long.MIN_VALUE : value.longValue();
+            assertEquals(rd + ": convertToInteger(" + toDebugString(x) + ")", expected, Integral.convertToInteger(x, rd));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.round;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MulTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 100000;
+
+    @Test
+    public void multiply() {
+        for (int i = 0; i < N; i++) {
+            assertMultiply(randomDecimal64(-20, 20), randomDecimal64(-20, 20));
+        }
+    }
+
+    @Test
+    public void multiplyUnderflow() {
+        for (int i = 0; i < N; i++) {
+            assertMultiply(randomDecimal64(-398, -180), randomDecimal64(-240, -150));
+        }
+        assertMultiply(fromCoefficient(5, -398), fromCoefficient(1, -1));
+        assertMultiply(fromCoefficient(15, -398), fromCoefficient(-1, -1));
+        assertMultiply(fromCoefficient(9999999999999999L, -383), fromCoefficient(9999999999999999L, -31));
+        assertMultiply(fromCoefficient(9999999999999999L, -398), fromCoefficient(9999999999999999L, -16));
+    }
+
+    @Test
+    public void multiplyOverflow() {
+        for (int i = 0; i < N; i++) {
+            assertMultiply(randomDecimal64(150, 369), randomDecimal64(0, 230));
+        }
+        assertMultiply(fromCoefficient(1, 369), fromCoefficient(1, 15));
+        assertMultiply(fromCoefficient(-1, 369), fromCoefficient(1, 16));
+        assertMultiply(fromCoefficient(9999999999999999L, 369), fromCoefficient(9999999999999999L, -16));
+        assertMultiply(Decimal64.zero(0, 369), fromCoefficient(-1, 300));
+    }
+
+    @Test
+    public void multiplyByLong() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-20, 20);
+            final long l = RND.nextBoolean() ? RND.nextLong() >> RND.nextInt(64) : RND.nextInt(1000) - 500;
+            assertMultiplyByLong(a, l);
+        }
+        for (final long l : new long[] {0, 1, -1, 10000000000000000L, -10000000000000000L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertMultiplyByLong(fromCoefficient(9999999999999999L, 0), l);
+            assertMultiplyByLong(fromCoefficient(-1, 0), l);
+            assertMultiplyByLong(fromCoefficient(5000000000000000L, -398), l);
+            assertMultiplyByLong(fromCoefficient(9999999999999999L, 369), l);
+        }
+    }
+
+    @Test
+    public void multiplySpecialValues() {
+        final long one = fromCoefficient(1, 0);
+        final long minusZero = Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0);
+        assertTrue("NaN * 1", Decimal64.isNaN(Mul.multiply(Decimal64.NAN, one)));
+        assertTrue("1 * NaN", Decimal64.isNaN(Mul.multiply(one, Decimal64.NAN)));
+        assertTrue("Inf * 0", Decimal64.isNaN(Mul.multiply(Decimal64.INF, minusZero)));
+        assertTrue("0 * Inf", Decimal64.isNaN(Mul.multiply(minusZero, Decimal64.INF)));
+        assertTrue("Inf * 0L", Decimal64.isNaN(Mul.multiplyByLong(Decimal64.INF, 0)));
+        assertEquals("Inf * -1", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Mul.multiply(Decimal64.INF, Sign.flipSign(one)));
+        assertEquals("-Inf * -Inf", Decimal64.INF, Mul.multiply(Decimal64.INF | Decimal64.SIGN_BIT_MASK, Decimal64.INF | Decimal64.SIGN_BIT_MASK));
+        assertEquals("-Inf * -1L", Decimal64.INF, Mul.multiplyByLong(Decimal64.INF | Decimal64.SIGN_BIT_MASK, -1));
+        assertEquals("1 * -0", minusZero, Mul.multiply(one, minusZero));
+    }
+
+    private static void assertMultiply(final long a, final long b) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final long expected = round(toBigDecimal(a).multiply(toBigDecimal(b)), a ^ b, rd);
+            final long actual = Mul.multiply(a, b, rd);
+            assertEquals(rd + ": " + toDebugString(a) + " * " + toDebugString(b) + " = " + toDebugString(expected) + " but was " + toDebugString(actual),
+                    expected, actual);
+        }
+    }
+
+    private static void assertMultiplyByLong(final long a, final long l) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final long expected = round(toBigDecimal(a).multiply(BigDecimal.valueOf(l)), a ^ l, rd);
+            final long actual = Mul.multiplyByLong(a, l, rd);
+            assertEquals(rd + ": " + toDebugString(a) + " * " + l + " = " + toDebugString(expected) + " but was " + toDebugString(actual),
+                    expected, actual);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NextTest {
+
+    private static final int N = 100000;
+
+    private static final long MIN_SUBNORMAL = fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL);
+    private static final long NEG_INF = Decimal64.INF | Decimal64.SIGN_BIT_MASK;
+    private static final long NEG_MAX = Decimal64.MAX_NORMAL | Decimal64.SIGN_BIT_MASK;
+    private static final BigDecimal MAX = toBigDecimal(Decimal64.MAX_NORMAL);
+
+    @Test
+    public void nextUpAndDown() {
+        for (int i = 0; i < N; i++) {
+            assertNext(randomDecimal64(-20, 20));
+            assertNext(randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL));
+        }
+        assertNext(fromCoefficient(1, 0));
+        assertNext(fromCoefficient(-1, 0));
+        assertNext(fromCoefficient(1000000000000000L, -5));
+        assertNext(fromCoefficient(9999999999999999L, 7));
+        assertNext(fromCoefficient(-9999999999999999L, 7));
+        assertNext(MIN_SUBNORMAL);
+        assertNext(fromCoefficient(10, Decimal64.MIN_EXPONENT_NOMINAL));
+        assertNext(Decimal64.MAX_NORMAL);
+        assertNext(NEG_MAX);
+        assertNext(Decimal64.MIN_NORMAL);
+        assertNext(Decimal64.zero(0, 109));
+        assertEquals("nextUp(1)", fromCoefficient(1000000000000001L, -15), Next.nextUp(fromCoefficient(1, 0)));
+        assertEquals("nextDown(1)", fromCoefficient(9999999999999999L, -16), Next.nextDown(fromCoefficient(1, 0)));
+        assertEquals("nextUp(9999999999999999)", fromCoefficient(1000000000000000L, 1), Next.nextUp(fromCoefficient(9999999999999999L, 0)));
+        assertEquals("nextDown(-1.0)", fromCoefficient(-1000000000000001L, -15), Next.nextDown(fromCoefficient(-10, -1)));
+    }
+
+    @Test
+    public void nextUpAndDownSpecialValues() {
+        assertEquals("MAX_NORMAL", 0, new BigDecimal("9.999999999999999E+384").compareTo(MAX));
+        assertEquals("MIN_NORMAL", 0, new BigDecimal("1E-383").compareTo(toBigDecimal(Decimal64.MIN_NORMAL)));
+        assertEquals("nextUp(0)", MIN_SUBNORMAL, Next.nextUp(Decimal64.zero(0, 5)));
+        assertEquals("nextUp(-0)", MIN_SUBNORMAL, Next.nextUp(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0)));
+        assertEquals("nextDown(0)", MIN_SUBNORMAL | Decimal64.SIGN_BIT_MASK, Next.nextDown(Decimal64.zero(0, 0)));
+        assertEquals("nextDown(1E-398)", Decimal64.zero(0, Decimal64.MIN_EXPONENT_NOMINAL), Next.nextDown(MIN_SUBNORMAL));
+        assertEquals("nextUp(-1E-398)", Decimal64.zero(Decimal64.SIGN_BIT_MASK, Decimal64.MIN_EXPONENT_NOMINAL), Next.nextUp(MIN_SUBNORMAL | Decimal64.SIGN_BIT_MASK));
+        assertEquals("nextUp(MAX)", Decimal64.INF, Next.nextUp(Decimal64.MAX_NORMAL));
+        assertEquals("nextDown(-MAX)", NEG_INF, Next.nextDown(NEG_MAX));
+        assertEquals("nextUp(Inf)", Decimal64.INF, Next.nextUp(Decimal64.INF));
+        assertEquals("nextDown(Inf)", Decimal64.MAX_NORMAL, Next.nextDown(Decimal64.INF));
+        assertEquals("nextUp(-Inf)", NEG_MAX, Next.nextUp(NEG_INF));
+        assertEquals("nextDown(-Inf)", NEG_INF, Next.nextDown(NEG_INF));
+        assertTrue("nextUp(NaN)", Decimal64.isNaN(Next.nextUp(Decimal64.NAN)));
+        assertTrue("nextDown(NaN)", Decimal64.isNaN(Next.nextDown(Decimal64.SNAN)));
+    }
+
+    @Test
+    public void nextAfter() {
+        final long one = fromCoefficient(1, 0);
+        final long two = fromCoefficient(2, 0);
+        assertEquals("nextAfter(1, 2)", Next.nextUp(one), Next.nextAfter(one, two));
+        assertEquals("nextAfter(2, 1)", Next.nextDown(two), Next.nextAfter(two, one));
+        assertEquals("nextAfter(1, 1.0)", fromCoefficient(10, -1), Next.nextAfter(one, fromCoefficient(10, -1)));
+        assertEquals("nextAfter(0, -0)", Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0), Next.nextAfter(Decimal64.zero(0, 0), Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0)));
+        assertEquals("nextAfter(MAX, Inf)", Decimal64.INF, Next.nextAfter(Decimal64.MAX_NORMAL, Decimal64.INF));
+        assertTrue("nextAfter(1, NaN)", Decimal64.isNaN(Next.nextAfter(one, Decimal64.NAN)));
+        assertTrue("nextAfter(NaN, 1)", Decimal64.isNaN(Next.nextAfter(Decimal64.NAN, one)));
+    }
+
+    @Test
+    public void ulp() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            if (!Decimal64.isZero(x)) {
+                assertEquals("ulp(" + toDebugString(x) + ")", 0, ulp(toBigDecimal(x)).compareTo(toBigDecimal(Next.ulp(x))));
+            }
+        }
+        assertEquals("ulp(1.0)", fromCoefficient(1, -15), Next.ulp(fromCoefficient(-10, -1)));
+        assertEquals("ulp(0)", MIN_SUBNORMAL, Next.ulp(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 100)));
+        assertEquals("ulp(-Inf)", Decimal64.INF, Next.ulp(NEG_INF));
+        assertTrue("ulp(NaN)", Decimal64.isNaN(Next.ulp(Decimal64.NAN)));
+    }
+
+    private static void assertNext(final long x) {
+        final BigDecimal value = toBigDecimal(x);
+        final long up = Next.nextUp(x);
+        final long down = Next.nextDown(x);
+        //nextUp: the value one ulp above x, with the least possible exponent
+        final BigDecimal expectedUp = value.signum() >= 0 ? value.add(ulp(value)) : value.add(ulp(toBigDecimal(Next.nextUp(x))));
+        if (expectedUp.compareTo(MAX) > 0) {
+            assertEquals("nextUp(" + toDebugString(x) + ")", Decimal64.INF, up);
+        } else {
+            assertEquals("nextUp(" + toDebugString(x) + ") = " + expectedUp, 0, expectedUp.compareTo(toBigDecimal(up)));
+            assertLeastExponent("nextUp(" + toDebugString(x) + ")", up);
+        }
+        assertEquals("nextDown(" + toDebugString(x) + ")", Sign.flipSign(Next.nextUp(Sign.flipSign(x))), down);
+        if (Decimal64.isFinite(up) && !Decimal64.isZero(up)) {
+            assertEquals("nextDown(nextUp(" + toDebugString(x) + "))", 0, value.compareTo(toBigDecimal(Next.nextDown(up))));
+        }
+        if (Decimal64.isFinite(down) && !Decimal64.isZero(down)) {
+            assertEquals("nextUp(nextDown(" + toDebugString(x) + "))", 0, value.compareTo(toBigDecimal(Next.nextUp(down))));
+        }
+    }
+
+    private static void assertLeastExponent(final String message, final long x) {
+        final boolean sixteenDigits = Decimal64.getCombinationMSD(x) > 0;
+        assertTrue(message + " should have 16 digits or the minimum exponent: " + toDebugString(x),
+                sixteenDigits || Decimal64.getExponent(x) == Decimal64.MIN_EXPONENT_NOMINAL || Dpd.isZero(x));
+    }
+
+    //one unit in the last place of the 16 digit coefficient
+    private static BigDecimal ulp(final BigDecimal value) {
+        if (value.signum() == 0) {
+            return toBigDecimal(MIN_SUBNORMAL);
+        }
+        final int adjustedExponent = value.precision() - value.scale() - 1;
+        return BigDecimal.ONE.scaleByPowerOfTen(Math.max(adjustedExponent - 15, Decimal64.MIN_EXPONENT_NOMINAL));
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+
+public class ParseAsciiTest {
+
+    private static final int N = 100000;
+    private static final Random RND = new Random();
+
+    @Test
+    public void parseExact() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            final String s = toBigDecimal(x).toString();
+            assertParse(RoundingDirection.DEFAULT, s);
+            assertParse(RoundingDirection.DEFAULT, toBigDecimal(x).unscaledValue() + "e" + (-toBigDecimal(x).scale()));
+        }
+        final String[] strings = {
+                "0", ".000", "+0.000", ".5", "5.", "-123.45", "-123.45E-6", "1.000e+5", "9999999999999999",
+                "0.0000001234567890123456", "00000000000000001234567890.12345600", "12345678.12345678",
+                "0E+999999999999", "-0E-999999999999", "1E-398", "1E+370"
+        };
+        for (final String s : strings) {
+            assertParse(RoundingDirection.DEFAULT, s);
+        }
+    }
+
+    @Test
+    public void parseRounded() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < N; i++) {
+            sb.setLength(0);
+            if (RND.nextBoolean()) {
+                sb.append('-');
+            }
+            final int digits = 1 + RND.nextInt(40);
+            final int point = RND.nextInt(digits + 1);
+            for (int j = 0; j < digits; j++) {
+                if (j == point) {
+                    sb.append('.');
+                }
+                sb.append((char)('0' + (j < 3 && RND.nextBoolean() ? 0 : RND.nextInt(10))));
+            }
+            if (RND.nextBoolean()) {
+                sb.append('E').append(Decimal64.MIN_EXPONENT_NOMINAL - 40 + RND.nextInt(Decimal64.MAX_EXPONENT - Decimal64.MIN_EXPONENT_NOMINAL + 60));
+            }
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertParse(rd, sb.toString());
+            }
+        }
+    }
+
+    @Test
+    public void parseSpecialAndInvalid() {
+        final String[] strings = {
+                "Inf", "+INFINITY", "-inf", "-Infinity", "NaN", "-nan", "sNaN", "-SNAN", "NaN123", "NaN0000123",
+                "-sNaN999999999999999", "NaN000000000000000000001000",
+                "", "-", "+", ".", "-.", "e5", "1e", "1e+", "1E-", "1.2.3", "1e2.5", "1e5e5", " 1", "1 ", "1,5", "--1",
+                "0x10", "In", "Infinit", "Infinityy", "NaN12a", "sNaN-1", "snan1234567890123456", "qNaN", "ss",
+                "12345678:", "1234567/", "\u00b9"
+        };
+        for (final String s : strings) {
+            assertParse(RoundingDirection.DEFAULT, s);
+        }
+    }
+
+    @Test
+    public void parseTokens() {
+        assertTokens("123.45,-6E+7;NaN 12345678901234561234|Inf", fromCoefficient(12345, -2), fromCoefficient(-6, 7),
+                Decimal64.NAN, fromCoefficient(1234567890123456L, 4), Decimal64.INF);
+        assertPrefix("1e", 1, fromCoefficient(1, 0));
+        assertPrefix("1E+", 1, fromCoefficient(1, 0));
+        assertPrefix("1.2.3", 3, fromCoefficient(12, -1));
+        assertPrefix("-.5.", 3, fromCoefficient(-5, -1));
+        assertPrefix("Infinit", 3, Decimal64.INF);
+        assertPrefix("12a", 2, fromCoefficient(12, 0));
+        assertPrefix("NaN12a", 5, Decimal64.NAN | Dpd.longToDpd(12));
+        assertPrefix("123456781234567812345678e", 24, fromCoefficient(1234567812345678L, 8));
+        for (final String s : new String[] {"", "-", "+.", ",1", "e5", "In", "-s", "qNaN"}) {
+            assertPrefix(s, 0, Decimal64.NAN);
+        }
+    }
+
+    private static void assertPrefix(final String s, final int consumed, final long expected) {
+        final byte[] bytes = s.getBytes(StandardCharsets.US_ASCII);
+        final long[] result = new long[1];
+        assertEquals("consumed(" + s + ")", consumed, ParseAscii.parse(bytes, 0, bytes.length, result, 0));
+        assertEquals("parse(" + s + ")", toDebugString(expected), toDebugString(result[0]));
+        for (final ByteBuffer buffer : buffers(bytes, 0)) {
+            assertEquals("parse(" + s + ")", expected, ParseAscii.parse(buffer));
+            assertEquals("position(" + s + ")", consumed, buffer.position());
+        }
+    }
+
+    private static void assertTokens(final String s, final long... expected) {
+        final byte[] bytes = s.getBytes(StandardCharsets.US_ASCII);
+        final long[] result = new long[expected.length];
+        int offset = 0;
+        for (int i = 0; i < expected.length; i++) {
+            offset += ParseAscii.parse(bytes, offset, bytes.length - offset, result, i);
+            offset++;
+        }
+        assertEquals("consumed(" + s + ")", bytes.length + 1, offset);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("token " + i + " of " + s, toDebugString(expected[i]), toDebugString(result[i]));
+        }
+        for (final ByteBuffer buffer : buffers(bytes, 0)) {
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals("token " + i + " of " + s, expected[i], ParseAscii.parse(buffer));
+                if (buffer.hasRemaining()) {
+                    buffer.get();
+                }
+            }
+            assertEquals("remaining(" + s + ")", 0, buffer.remaining());
+        }
+    }
+
+    private static void assertParse(final RoundingDirection rd, final String s) {
+        final long expected = Parse.parse(s, rd);
+        final byte[] ascii = s.getBytes(StandardCharsets.US_ASCII);
+        final int offset = RND.nextInt(10);
+        final int padding = RND.nextInt(10);
+        final byte[] bytes = new byte[offset + ascii.length + padding];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte)(i < offset ? 'x' : i < offset + ascii.length ? ascii[i - offset] : '0' + RND.nextInt(10));
+        }
+        final String msg = rd + ": parse(" + s + ")";
+        assertEquals(msg, toDebugString(expected), toDebugString(ParseAscii.parse(bytes, offset, ascii.length, rd)));
+        //tokenizer consumes the whole string if it is a valid number
+        final long[] result = new long[2];
+        if (padding > 0) {
+            bytes[offset + ascii.length] = ',';
+        }
+        final int consumed = ParseAscii.parse(bytes, offset, bytes.length - offset, result, 1, rd);
+        if (expected != Decimal64.NAN | s.matches("[+-]?[sS]?[nN][aA][nN][0-9]*")) {
+            assertEquals(msg + " consumed", ascii.length, consumed);
+            assertEquals(msg, expected, result[1]);
+        }
+        for (final ByteBuffer buffer : buffers(bytes, offset)) {
+            buffer.limit(buffer.position() + ascii.length);
+            final long value = ParseAscii.parse(buffer, rd);
+            if (buffer.position() == offset + ascii.length) {
+                assertEquals(msg + " " + buffer, expected, value);
+            } else {
+                assertEquals(msg + " " + buffer, Decimal64.NAN, expected);
+            }
+        }
+    }
+
+    private static ByteBuffer[] buffers(final byte[] bytes, final int offset) {
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).position(offset);
+        final ByteBuffer bigEndian = direct.duplicate().order(ByteOrder.BIG_ENDIAN);
+        final ByteBuffer littleEndian = direct.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer sliced = ByteBuffer.allocate(bytes.length + 3);
+        sliced.position(3);
+        final ByteBuffer heap = sliced.slice();
+        heap.put(bytes).position(offset);
+        return new ByteBuffer[] {bigEndian, littleEndian, heap, heap.asReadOnlyBuffer()};
+    }
+}
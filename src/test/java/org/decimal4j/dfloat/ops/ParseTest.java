@@ -0,0 +1,208 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.dpd.Dpd;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.round;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ParseTest {
+
+    private static final int N = 100000;
+    private static final Random RND = new Random();
+
+    private static final DynamicAttributes THROW = new DynamicAttributes();
+    static {
+        THROW.setExceptionHandler(ExceptionHandlers.ThrowException);
+    }
+
+    @Test
+    public void parseExact() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            final BigDecimal abs = toBigDecimal(x).abs();
+            final String sign = x < 0 ? "-" : RND.nextBoolean() ? "+" : "";
+            assertParse(x, sign + abs);
+            if (abs.scale() >= 0) {
+                assertParse(x, sign + "000" + abs.toPlainString());
+            }
+            assertParse(x, sign + abs.unscaledValue() + "e" + (-abs.scale()));
+        }
+        assertParse(fromCoefficient(0, 0), "0");
+        assertParse(fromCoefficient(0, -3), ".000");
+        assertParse(fromCoefficient(0, -3), "+0.000");
+        assertParse(fromCoefficient(5, -1), ".5");
+        assertParse(fromCoefficient(5, 0), "5.");
+        assertParse(fromCoefficient(-12345, -2), "-123.45");
+        assertParse(fromCoefficient(-12345, -8), "-123.45E-6");
+        assertParse(fromCoefficient(1000, 2), "1.000e+5");
+        assertParse(fromCoefficient(9999999999999999L, 0), "9999999999999999");
+        assertParse(fromCoefficient(1234567890123456L, -22), "0.0000001234567890123456");
+        assertParse(fromCoefficient(0, Decimal64.MAX_EXPONENT_NOMINAL), "0E+999999999999");
+        assertParse(fromCoefficient(0, Decimal64.MIN_EXPONENT_NOMINAL), "0E-999999999999");
+        assertParse(Decimal64.zero(Decimal64.SIGN_BIT_MASK, Decimal64.MIN_EXPONENT_NOMINAL), "-0E-999999999999");
+        assertParse(fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL), "1E-398");
+        assertParse(fromCoefficient(10, Decimal64.MAX_EXPONENT_NOMINAL), "1E+370");
+    }
+
+    @Test
+    public void parseRounded() {
+        for (int i = 0; i < N; i++) {
+            final String s = randomString(17 + RND.nextInt(30), Decimal64.MIN_EXPONENT_NOMINAL - 40, Decimal64.MAX_EXPONENT + 20);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertParse(rd, s);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            final String s = randomString(1 + RND.nextInt(16), Decimal64.MIN_EXPONENT_NOMINAL - 20, Decimal64.MAX_EXPONENT + 20);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertParse(rd, s);
+            }
+        }
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            assertParse(rd, "99999999999999995");
+            assertParse(rd, "-99999999999999995");
+            assertParse(rd, "12345678901234565");
+            assertParse(rd, "12345678901234575");
+            assertParse(rd, "1234567890123456500000000000000000000000000001");
+            assertParse(rd, "9.999999999999999999E384");
+            assertParse(rd, "1E385");
+            assertParse(rd, "-1E385");
+            assertParse(rd, "15E-399");
+            assertParse(rd, "-5E-399");
+        }
+    }
+
+    @Test
+    public void parseSubSequence() {
+        final String s = "[123.45,-6E+7,NaN]";
+        assertEquals("parse(" + s + ", 1, 7)", fromCoefficient(12345, -2), Parse.parse(s, 1, 7));
+        assertEquals("parse(" + s + ", 8, 13)", fromCoefficient(-6, 7), Parse.parse(s, 8, 13));
+        assertEquals("parse(" + s + ", 14, 17)", Decimal64.NAN, Parse.parse(s, 14, 17));
+        assertEquals("parse(" + s + ", 14, 17)", Decimal64.NAN, Parse.parse(new StringBuilder(s), 14, 17));
+    }
+
+    @Test
+    public void parseSpecialValues() {
+        assertParse(Decimal64.INF, "Inf");
+        assertParse(Decimal64.INF, "+INFINITY");
+        assertParse(Decimal64.INF | Decimal64.SIGN_BIT_MASK, "-inf");
+        assertParse(Decimal64.INF | Decimal64.SIGN_BIT_MASK, "-Infinity");
+        assertParse(Decimal64.NAN, "NaN");
+        assertParse(Decimal64.NAN | Decimal64.SIGN_BIT_MASK, "-nan");
+        assertParse(Decimal64.SNAN, "sNaN");
+        assertParse(Decimal64.SNAN | Decimal64.SIGN_BIT_MASK, "-SNAN");
+        assertParse(Decimal64.NAN | Dpd.longToDpd(123), "NaN123");
+        assertParse(Decimal64.NAN | Dpd.longToDpd(123), "NaN0000123");
+        assertParse(Decimal64.SNAN | Decimal64.SIGN_BIT_MASK | Dpd.longToDpd(999999999999999L), "-sNaN999999999999999");
+        assertParse(Decimal64.NAN | Dpd.longToDpd(1000), "NaN000000000000000000001000");
+    }
+
+    @Test
+    public void parseInvalid() {
+        final String[] invalid = {
+                "", "-", "+", ".", "-.", "e5", "1e", "1e+", "1E-", "1.2.3", "1e2.5", "1e5e5", " 1", "1 ", "1,5", "--1",
+                "0x10", "In", "Infinit", "Infinityy", "NaN12a", "sNaN-1", "snan1234567890123456", "qNaN", "ss",
+                "\u0661"
+        };
+        for (final String s : invalid) {
+            assertEquals("parse(" + s + ")", Decimal64.NAN, Parse.parse(s));
+            assertSignal(Flag.InvalidOperation, s, Decimal64.NAN);
+        }
+    }
+
+    @Test
+    public void parseSignals() {
+        assertSignal(Flag.Inexact, "12345678901234565", fromCoefficient(1234567890123456L, 1));
+        assertSignal(Flag.Inexact, "1.0000000000000000001", fromCoefficient(1000000000000000L, -15));
+        assertSignal(Flag.Overflow, "1E385", Decimal64.INF);
+        assertSignal(Flag.Overflow, "-1E385", Decimal64.INF | Decimal64.SIGN_BIT_MASK);
+        assertSignal(Flag.Underflow, "15E-399", fromCoefficient(2, Decimal64.MIN_EXPONENT_NOMINAL));
+        assertSignal(Flag.Underflow, "1E-999999999999", fromCoefficient(0, Decimal64.MIN_EXPONENT_NOMINAL));
+        assertEquals("parse(1E-999999999999)", fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL), Parse.parse("1E-999999999999", RoundingDirection.TowardPositive));
+        assertEquals("parse(1E+999999999999)", Decimal64.INF, Parse.parse("1E+999999999999"));
+        assertEquals("parse(1E-398)", fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL), Parse.parse("1E-398", THROW));
+        assertEquals("parse(1000000000000000000000)", fromCoefficient(1000000000000000L, 6), Parse.parse("1000000000000000000000", THROW));
+    }
+
+    private static String randomString(final int digits, final int minExp, final int maxExp) {
+        final StringBuilder sb = new StringBuilder();
+        if (RND.nextBoolean()) {
+            sb.append('-');
+        }
+        final int leadingZeros = RND.nextInt(4);
+        for (int i = 0; i < leadingZeros; i++) {
+            sb.append('0');
+        }
+        final int point = RND.nextInt(digits + 1);
+        final int zeroRun = RND.nextInt(digits);
+        for (int i = 0; i < digits; i++) {
+            if (i == point && RND.nextBoolean()) {
+                sb.append('.');
+            }
+            //runs of zeros and nines hit exact ties and carries
+            sb.append(i >= zeroRun ? (RND.nextInt(4) == 0 ? '5' : RND.nextBoolean() ? '0' : '9') : (char)('0' + RND.nextInt(10)));
+        }
+        sb.append(RND.nextBoolean() ? 'e' : 'E').append(minExp + RND.nextInt(maxExp - minExp + 1));
+        return sb.toString();
+    }
+
+    private static void assertParse(final long expected, final String s) {
+        assertEquals("parse(" + s + ")", toDebugString(expected), toDebugString(Parse.parse(s)));
+        assertEquals("parse(" + s + ")", expected, Parse.parse(s));
+    }
+
+    private static void assertParse(final RoundingDirection rd, final String s) {
+        final long sign = s.startsWith("-") ? Decimal64.SIGN_BIT_MASK : 0;
+        final long expected = round(new BigDecimal(s), sign, rd);
+        assertEquals(rd + ": parse(" + s + ")", toDebugString(expected), toDebugString(Parse.parse(s, rd)));
+        assertEquals(rd + ": parse(" + s + ")", expected, Parse.parse(s, rd));
+    }
+
+    private static void assertSignal(final Flag flag, final String s, final long expected) {
+        try {
+            Parse.parse(s, THROW);
+            fail("parse(" + s + ") should signal " + flag);
+        } catch (final RaisedFlagException e) {
+            assertEquals("parse(" + s + ") flag", flag, e.getFlag());
+            assertEquals("parse(" + s + ")", expected, e.getResult());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PowTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 100000;
+    private static final MathContext EXACT = new MathContext(60);
+
+    @Test
+    public void powExact() {
+        for (int i = 0; i < N; i++) {
+            final long x = fromCoefficient(RND.nextInt(2001) - 1000, RND.nextInt(7) - 3);
+            final int n = RND.nextInt(6);
+            final BigDecimal expected = toBigDecimal(x).pow(n);
+            assertEquals("pow(" + toDebugString(x) + ", " + n + ")", fromBigDecimal(expected), Pow.pow(x, n));
+        }
+        assertEquals("pow(2, 53)", fromCoefficient(9007199254740992L, 0), Pow.pow(fromCoefficient(2, 0), 53));
+        assertEquals("pow(0.5, -3)", fromCoefficient(8, 0), Pow.pow(fromCoefficient(5, -1), -3));
+        assertEquals("pow(-10, -3)", fromCoefficient(-1, -3), Pow.pow(fromCoefficient(-10, 0), -3));
+        assertEquals("pow(1.0, 3)", fromCoefficient(1000, -3), Pow.pow(fromCoefficient(10, -1), 3));
+    }
+
+    @Test
+    public void powRounded() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-5, 5);
+            final int n = RND.nextInt(41) - 20;
+            assertPow(x, n);
+        }
+        assertPow(fromCoefficient(3, 0), -1);
+        assertPow(fromCoefficient(-7, -1), 33);
+        assertPow(fromCoefficient(1000000000000001L, -15), Integer.MAX_VALUE / 1000000);
+        assertPow(fromCoefficient(9999999999999999L, -16), -1000);
+    }
+
+    @Test
+    public void powSpecialValues() {
+        final long one = fromCoefficient(1, 0);
+        final long negZero = Decimal64.zero(Decimal64.SIGN_BIT_MASK, -2);
+        assertEquals("pow(NaN, 0)", one, Pow.pow(Decimal64.NAN, 0));
+        assertEquals("pow(-Inf, 0)", one, Pow.pow(Decimal64.INF | Decimal64.SIGN_BIT_MASK, 0));
+        assertTrue("pow(NaN, 2)", Decimal64.isNaN(Pow.pow(Decimal64.NAN, 2)));
+        assertEquals("pow(-Inf, 3)", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Pow.pow(Decimal64.INF | Decimal64.SIGN_BIT_MASK, 3));
+        assertEquals("pow(-Inf, 2)", Decimal64.INF, Pow.pow(Decimal64.INF | Decimal64.SIGN_BIT_MASK, 2));
+        assertEquals("pow(-Inf, -3)", Decimal64.zero(Decimal64.SIGN_BIT_MASK, Decimal64.MIN_EXPONENT_NOMINAL), Pow.pow(Decimal64.INF | Decimal64.SIGN_BIT_MASK, -3));
+        assertEquals("pow(-0E-2, 3)", Decimal64.zero(Decimal64.SIGN_BIT_MASK, -6), Pow.pow(negZero, 3));
+        assertEquals("pow(-0E-2, -3)", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Pow.pow(negZero, -3));
+        assertEquals("pow(-0E-2, -2)", Decimal64.INF, Pow.pow(negZero, -2));
+        assertEquals("pow(10, 385)", Decimal64.INF, Pow.pow(fromCoefficient(10, 0), 385));
+        assertEquals("pow(10, 385) toward zero", Decimal64.MAX_NORMAL, Pow.pow(fromCoefficient(10, 0), 385, RoundingDirection.TowardZero));
+        assertEquals("pow(10, -399)", Decimal64.zero(0, Decimal64.MIN_EXPONENT_NOMINAL), Pow.pow(fromCoefficient(10, 0), -399));
+        assertEquals("pow(-1, MIN_VALUE)", one, Pow.pow(fromCoefficient(-1, 0), Integer.MIN_VALUE));
+        assertEquals("pow(-1, MAX_VALUE)", fromCoefficient(-1, 0), Pow.pow(fromCoefficient(-1, 0), Integer.MAX_VALUE));
+    }
+
+    private static void assertPow(final long x, final int n) {
+        if (n < 0 & Decimal64.isZero(x)) {
+            return;
+        }
+        final BigDecimal bx = toBigDecimal(x);
+        final BigDecimal exact = n >= 0 ? bx.pow(n, EXACT) : BigDecimal.ONE.divide(bx.pow(-n, EXACT), EXACT);
+        final long result = Pow.pow(x, n);
+        if (exact.signum() == 0 || exact.abs().compareTo(BigDecimal.ONE.scaleByPowerOfTen(Decimal64.MIN_EXPONENT)) < 0 ||
+                exact.abs().compareTo(BigDecimal.ONE.scaleByPowerOfTen(Decimal64.MAX_EXPONENT + 1)) >= 0) {
+            //zero, or underflow or overflow somewhere in the chain
+            return;
+        }
+        final String msg = "pow(" + toDebugString(x) + ", " + n + ")";
+        final BigDecimal error = toBigDecimal(result).subtract(exact).abs().divide(exact.abs(), EXACT);
+        assertTrue(msg + " relative error " + error, error.compareTo(BigDecimal.valueOf(2L * Math.max(1, Math.abs((long)n)), 15)) < 0);
+        assertTrue(msg + " toward negative", toBigDecimal(Pow.pow(x, n, RoundingDirection.TowardNegative)).compareTo(exact) <= 0);
+        assertTrue(msg + " toward positive", toBigDecimal(Pow.pow(x, n, RoundingDirection.TowardPositive)).compareTo(exact) >= 0);
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal128;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal128.fromBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal128.randomDecimal128;
+import static org.decimal4j.dfloat.encode.RandomDecimal128.round;
+import static org.decimal4j.dfloat.encode.RandomDecimal128.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal128.toDebugString;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class QuadTest {
+
+    private static final int N = 50000;
+
+    private static final DynamicAttributes THROW = new DynamicAttributes();
+    static {
+        THROW.setExceptionHandler(ExceptionHandlers.ThrowException);
+    }
+
+    private final long[] result = new long[3];
+
+    @Test
+    public void add() {
+        for (int i = 0; i < N; i++) {
+            final long[] a = randomDecimal128(-100, 100);
+            final long[] b = randomDecimal128(-150, 150);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                Quad.add(a[0], a[1], b[0], b[1], result, 1, rd);
+                assertResult(rd + ": " + toDebugString(a[0], a[1]) + " + " + toDebugString(b[0], b[1]),
+                        toBigDecimal(a[0], a[1]).add(toBigDecimal(b[0], b[1])), sumSign(a[0], b[0], rd), rd);
+                Quad.subtract(a[0], a[1], b[0], b[1], result, 1, rd);
+                assertResult(rd + ": " + toDebugString(a[0], a[1]) + " - " + toDebugString(b[0], b[1]),
+                        toBigDecimal(a[0], a[1]).subtract(toBigDecimal(b[0], b[1])), sumSign(a[0], ~b[0], rd), rd);
+            }
+        }
+    }
+
+    @Test
+    public void addSpecialValues() {
+        final long[] max = {Decimal128.MAX_NORMAL_HI, Decimal128.MAX_NORMAL_LO};
+        Quad.add(max[0], max[1], max[0], max[1], result, 0);
+        assertEquals("MAX + MAX", Decimal128.INF, result[0]);
+        Quad.add(max[0], max[1], max[0], max[1], result, 0, RoundingDirection.TowardZero);
+        assertArrayEquals("MAX + MAX", new long[] {max[0], max[1], 0}, result);
+        Quad.add(Decimal128.INF, 0, Decimal128.INF | Decimal128.SIGN_BIT_MASK, 0, result, 0);
+        assertTrue("Inf - Inf", Decimal128.isNaN(result[0]));
+        Quad.subtract(Decimal128.INF, 0, Decimal128.INF, 0, result, 0);
+        assertTrue("Inf - Inf", Decimal128.isNaN(result[0]));
+        Quad.add(Decimal128.NAN | 7, 3, Decimal128.INF, 0, result, 0);
+        assertArrayEquals("NaN + Inf", new long[] {Decimal128.NAN | 7, 3, 0}, result);
+        final long[] one = fromBigDecimal(BigDecimal.ONE);
+        Quad.subtract(one[0], one[1], one[0], one[1], result, 0, RoundingDirection.TowardNegative);
+        assertArrayEquals("1 - 1", new long[] {Decimal128.zero(Decimal128.SIGN_BIT_MASK, 0), 0, 0}, result);
+        final long[] tiny = fromBigDecimal(new BigDecimal("1E-500"));
+        Quad.subtract(one[0], one[1], tiny[0], tiny[1], result, 0, RoundingDirection.TowardZero);
+        assertEquals("1 - 1E-500", new BigDecimal("0.9999999999999999999999999999999999"), toBigDecimal(result[0], result[1]));
+        try {
+            Quad.add(one[0], one[1], tiny[0], tiny[1], result, 0, THROW);
+            fail("1 + 1E-500 should signal inexact");
+        } catch (final RaisedFlagException e) {
+            assertEquals("1 + 1E-500 flag", Flag.Inexact, e.getFlag());
+        }
+    }
+
+    @Test
+    public void multiply() {
+        for (int i = 0; i < N; i++) {
+            final long[] a = randomDecimal128(-3100, 3100);
+            final long[] b = randomDecimal128(-3100, 3100);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                Quad.multiply(a[0], a[1], b[0], b[1], result, 1, rd);
+                assertResult(rd + ": " + toDebugString(a[0], a[1]) + " * " + toDebugString(b[0], b[1]),
+                        toBigDecimal(a[0], a[1]).multiply(toBigDecimal(b[0], b[1])), (a[0] ^ b[0]), rd);
+            }
+        }
+        Quad.multiply(Decimal128.ZERO_HI, 0, Decimal128.INF, 0, result, 0);
+        assertTrue("0 * Inf", Decimal128.isNaN(result[0]));
+        Quad.multiply(Decimal128.INF, 0, Decimal128.MIN_NORMAL_HI | Decimal128.SIGN_BIT_MASK, 0, result, 0);
+        assertEquals("Inf * -MIN_NORMAL", Decimal128.INF | Decimal128.SIGN_BIT_MASK, result[0]);
+    }
+
+    @Test
+    public void compare() {
+        for (int i = 0; i < N; i++) {
+            final long[] a = randomDecimal128(-40, 40);
+            final BigDecimal valueA = toBigDecimal(a[0], a[1]);
+            final long[] b = i % 3 == 0 && valueA.precision() < Decimal128.MAX_PRECISION ? fromBigDecimal(valueA.setScale(valueA.scale() + 1)) : randomDecimal128(-40, 40);
+            final int expected = toBigDecimal(a[0], a[1]).compareTo(toBigDecimal(b[0], b[1]));
+            assertEquals(toDebugString(a[0], a[1]) + " <> " + toDebugString(b[0], b[1]), expected, Integer.signum(Quad.compare(a[0], a[1], b[0], b[1])));
+        }
+        assertEquals("NaN <> Inf", 1, Quad.compare(Decimal128.NAN, 0, Decimal128.INF, 0));
+        assertEquals("-0 <> 0", 0, Quad.compare(Decimal128.zero(Decimal128.SIGN_BIT_MASK, 5), 0, Decimal128.ZERO_HI, 0));
+    }
+
+    @Test
+    public void convert() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            Quad.fromDecimal64(x, result, 0);
+            assertEquals("fromDecimal64", org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal(x), toBigDecimal(result[0], result[1]));
+            assertEquals("toDecimal64", x, Quad.toDecimal64(result[0], result[1], THROW));
+        }
+        for (int i = 0; i < N; i++) {
+            final long[] a = randomDecimal128(-420, 400);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                final BigDecimal exact = toBigDecimal(a[0], a[1]);
+                assertEquals(rd + ": toDecimal64(" + toDebugString(a[0], a[1]) + ")",
+                        org.decimal4j.dfloat.encode.RandomDecimal64.round(exact, a[0], rd), Quad.toDecimal64(a[0], a[1], rd));
+            }
+        }
+        Quad.fromDecimal64(Decimal64.SNAN | Decimal64.SIGN_BIT_MASK | 0xa3, result, 0);
+        assertArrayEquals("fromDecimal64(-sNaN)", new long[] {Decimal128.SNAN | Decimal128.SIGN_BIT_MASK, 0xa3, 0}, result);
+        assertEquals("toDecimal64(NaN)", Decimal64.NAN | 0xa3, Quad.toDecimal64(Decimal128.NAN, 0xa3));
+        assertEquals("toDecimal64(NaN)", Decimal64.NAN, Quad.toDecimal64(Decimal128.NAN | 1, 0));
+    }
+
+    //sign of an exact zero sum, ignored for non-zero results
+    private static long sumSign(final long a, final long b, final RoundingDirection rd) {
+        return (a ^ b) >= 0 ? a : rd == RoundingDirection.TowardNegative ? Decimal128.SIGN_BIT_MASK : 0;
+    }
+
+    private void assertResult(final String message, final BigDecimal exact, final long sign, final RoundingDirection rd) {
+        final long[] expected = round(exact, exact.signum() == 0 ? sign : exact.signum() < 0 ? Decimal128.SIGN_BIT_MASK : 0, rd);
+        final long[] actual = {result[1], result[2]};
+        if (expected[0] != actual[0] | expected[1] != actual[1]) {
+            fail(message + ": expected " + toDebugString(expected[0], expected[1]) + " but was " + toDebugString(actual[0], actual[1]));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.roundingMode;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QuantumTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 100000;
+
+    @Test
+    public void quantize() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-30, 30);
+            final long y = fromCoefficient(RND.nextInt(1000), Decimal64.getExponent(x) + RND.nextInt(41) - 20);
+            assertQuantize(x, y);
+        }
+        assertQuantize(fromCoefficient(15, -1), fromCoefficient(1, -2));
+        assertQuantize(fromCoefficient(1500, -3), fromCoefficient(1, -2));
+        assertQuantize(fromCoefficient(-1550, -3), fromCoefficient(1, -1));
+        assertQuantize(fromCoefficient(9999999999999999L, -3), fromCoefficient(1, 0));
+        assertQuantize(fromCoefficient(999999999999999L, -3), fromCoefficient(1, -4));
+        assertQuantize(fromCoefficient(5, 0), fromCoefficient(1, 1));
+        assertQuantize(fromCoefficient(5, -20), fromCoefficient(1, 1));
+        assertQuantize(fromCoefficient(9999999999999999L, Decimal64.MIN_EXPONENT_NOMINAL), fromCoefficient(1, Decimal64.MAX_EXPONENT_NOMINAL));
+    }
+
+    @Test
+    public void quantizeSpecialValues() {
+        final long one = fromCoefficient(1, 0);
+        assertTrue("quantize(NaN, 1)", Decimal64.isNaN(Quantum.quantize(Decimal64.NAN, one)));
+        assertTrue("quantize(1, NaN)", Decimal64.isNaN(Quantum.quantize(one, Decimal64.NAN)));
+        assertTrue("quantize(Inf, 1)", Decimal64.isNaN(Quantum.quantize(Decimal64.INF, one)));
+        assertTrue("quantize(1, Inf)", Decimal64.isNaN(Quantum.quantize(one, Decimal64.INF)));
+        assertEquals("quantize(-Inf, Inf)", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Quantum.quantize(Decimal64.INF | Decimal64.SIGN_BIT_MASK, Decimal64.INF));
+        assertEquals("quantize(-0, 1E-5)", Decimal64.zero(Decimal64.SIGN_BIT_MASK, -5), Quantum.quantize(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 3), fromCoefficient(1, -5)));
+    }
+
+    @Test
+    public void round() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-30, 30);
+            assertRound(x, RND.nextInt(61) - 30);
+        }
+        assertRound(fromCoefficient(9999999999999999L, -3), 0);
+        assertRound(fromCoefficient(-9999999999999999L, -3), 2);
+        assertRound(fromCoefficient(15, -1), 0);
+        assertRound(fromCoefficient(-25, -1), 0);
+        assertRound(fromCoefficient(4, -1), 0);
+        assertRound(fromCoefficient(-123456, -40), 2);
+        assertRound(fromCoefficient(123456, 0), -3);
+        assertRound(fromCoefficient(123, -2), 5);
+        assertRound(Decimal64.zero(Decimal64.SIGN_BIT_MASK, -5), 2);
+        assertEquals("round(MAX_NORMAL, -385)", Decimal64.INF, Quantum.round(Decimal64.MAX_NORMAL, -Decimal64.MAX_EXPONENT - 1));
+        assertEquals("round(MAX_NORMAL, -370) toward zero", fromCoefficient(9999999999999990L, Decimal64.MAX_EXPONENT_NOMINAL),
+                Quantum.round(Decimal64.MAX_NORMAL, -Decimal64.MAX_EXPONENT_NOMINAL - 1, RoundingDirection.TowardZero));
+        assertEquals("round(4E+384, -385)", fromCoefficient(0, Decimal64.MAX_EXPONENT_NOMINAL), Quantum.round(fromCoefficient(4000000000000000L, Decimal64.MAX_EXPONENT_NOMINAL), -Decimal64.MAX_EXPONENT - 1));
+        assertEquals("round(5.000000000000001E+384, -384)", fromCoefficient(5000000000000000L, Decimal64.MAX_EXPONENT_NOMINAL), Quantum.round(fromCoefficient(5000000000000001L, Decimal64.MAX_EXPONENT_NOMINAL), -Decimal64.MAX_EXPONENT));
+        assertEquals("round(-1E+380, -382)", Decimal64.zero(Decimal64.SIGN_BIT_MASK, Decimal64.MAX_EXPONENT_NOMINAL), Quantum.round(fromCoefficient(-100000000000L, Decimal64.MAX_EXPONENT_NOMINAL), -382));
+        assertEquals("round(-1E+380, -382) toward negative", fromCoefficient(-10000000000000L, Decimal64.MAX_EXPONENT_NOMINAL), Quantum.round(fromCoefficient(-100000000000L, Decimal64.MAX_EXPONENT_NOMINAL), -382, RoundingDirection.TowardNegative));
+        assertEquals("round(1, MIN_VALUE)", fromCoefficient(0, Decimal64.MAX_EXPONENT_NOMINAL), Quantum.round(fromCoefficient(1, 0), Integer.MIN_VALUE));
+        assertEquals("round(1, MAX_VALUE)", fromCoefficient(1, 0), Quantum.round(fromCoefficient(1, 0), Integer.MAX_VALUE));
+        assertTrue("round(NaN, 2)", Decimal64.isNaN(Quantum.round(Decimal64.NAN, 2)));
+        assertEquals("round(-Inf, 2)", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Quantum.round(Decimal64.INF | Decimal64.SIGN_BIT_MASK, 2));
+    }
+
+    @Test
+    public void sameQuantum() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-5, 5);
+            final long y = randomDecimal64(-5, 5);
+            assertEquals("sameQuantum(" + toDebugString(x) + ", " + toDebugString(y) + ")",
+                    toBigDecimal(x).scale() == toBigDecimal(y).scale(), Quantum.sameQuantum(x, y));
+        }
+        assertTrue("sameQuantum(NaN, NaN)", Quantum.sameQuantum(Decimal64.NAN, Decimal64.NAN));
+        assertTrue("sameQuantum(Inf, -Inf)", Quantum.sameQuantum(Decimal64.INF, Decimal64.INF | Decimal64.SIGN_BIT_MASK));
+        assertFalse("sameQuantum(Inf, NaN)", Quantum.sameQuantum(Decimal64.INF, Decimal64.NAN));
+        assertFalse("sameQuantum(1, NaN)", Quantum.sameQuantum(fromCoefficient(1, 0), Decimal64.NAN));
+        assertFalse("sameQuantum(Inf, 1)", Quantum.sameQuantum(Decimal64.INF, fromCoefficient(1, 0)));
+    }
+
+    @Test
+    public void reduce() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            final BigDecimal value = toBigDecimal(x);
+            final long expected;
+            if (value.signum() == 0) {
+                expected = Decimal64.zero(x, 0);
+            } else {
+                final BigDecimal stripped = value.stripTrailingZeros();
+                expected = fromBigDecimal(stripped.scale() >= -Decimal64.MAX_EXPONENT_NOMINAL ? stripped : stripped.setScale(-Decimal64.MAX_EXPONENT_NOMINAL));
+            }
+            assertEquals("reduce(" + toDebugString(x) + ")", expected, Quantum.reduce(x));
+        }
+        assertEquals("reduce(1.500)", fromCoefficient(15, -1), Quantum.reduce(fromCoefficient(1500, -3)));
+        assertEquals("reduce(1000000000000000E0)", fromCoefficient(1, 15), Quantum.reduce(fromCoefficient(1000000000000000L, 0)));
+        assertEquals("reduce(-Inf)", Decimal64.INF | Decimal64.SIGN_BIT_MASK, Quantum.reduce(Decimal64.INF | Decimal64.SIGN_BIT_MASK));
+    }
+
+    private static void assertRound(final long x, final int precision) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final BigDecimal value = toBigDecimal(x);
+            final long expected = value.scale() <= precision ? x :
+                    (x & Decimal64.SIGN_BIT_MASK) | fromBigDecimal(value.setScale(precision, roundingMode(rd)).abs());
+            final long actual = Quantum.round(x, precision, rd);
+            assertEquals(rd + ": round(" + toDebugString(x) + ", " + precision + ") = " + toDebugString(expected) + " but was " + toDebugString(actual),
+                    expected, actual);
+        }
+    }
+
+    private static void assertQuantize(final long x, final long y) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final BigDecimal expected = toBigDecimal(x).setScale(toBigDecimal(y).scale(), roundingMode(rd));
+            final long actual = Quantum.quantize(x, y, rd);
+            if (expected.unscaledValue().abs().bitLength() > 63 || expected.unscaledValue().abs().longValue() > 9999999999999999L) {
+                assertTrue(rd + ": quantize(" + toDebugString(x) + ", " + toDebugString(y) + ") should be NaN but was " + toDebugString(actual),
+                        Decimal64.isNaN(actual));
+            } else {
+                final long expectedValue = (x & Decimal64.SIGN_BIT_MASK) | fromBigDecimal(expected.abs());
+                assertEquals(rd + ": quantize(" + toDebugString(x) + ", " + toDebugString(y) + ") = " + expected + " but was " + toDebugString(actual),
+                        expectedValue, actual);
+            }
+        }
+    }
+}
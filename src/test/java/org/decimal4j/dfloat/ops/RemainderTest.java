@@ -86,6 +86,30 @@ public class RemainderTest {
         }
     }
 
+    @Test
+    public void complement() throws Exception {
+        for (int n = 1; n < 10; n++) {
+            final long pow10 = POW10[n];
+            for (final long val : new long[] {0, 1, pow10/2 - 1, pow10/2, pow10/2 + 1, pow10 - 1}) {
+                final long complement = (pow10 - val) % pow10;
+                assertEquals("ofPow10(" + val + ", " + n + ").complement()", Remainder.ofPow10(complement, n), Remainder.ofPow10(val, n).complement());
+            }
+        }
+    }
+
+    @Test
+    public void withTail() throws Exception {
+        for (int n = 1; n < 10; n++) {
+            final long pow10 = POW10[n];
+            for (final long val : new long[] {0, 1, pow10/2 - 1, pow10/2, pow10/2 + 1, pow10 - 1}) {
+                //tail is the digit 1 appended to the truncated part
+                final Remainder expected = Remainder.ofPow10(val * 10 + 1, n + 1);
+                assertEquals("ofPow10(" + val + ", " + n + ").withTail(false)", Remainder.ofPow10(val, n), Remainder.ofPow10(val, n).withTail(false));
+                assertEquals("ofPow10(" + val + ", " + n + ").withTail(true)", expected, Remainder.ofPow10(val, n).withTail(true));
+            }
+        }
+    }
+
     @Test
     public void ofDigit() throws Exception {
         for (int digit = 0; digit <= 9; digit++) {
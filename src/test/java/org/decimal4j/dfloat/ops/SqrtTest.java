@@ -0,0 +1,123 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.mathContext;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SqrtTest {
+
+    private static final Random RND = new Random();
+    private static final int N = 100000;
+
+    @Test
+    public void sqrt() {
+        for (int i = 0; i < N; i++) {
+            final long a = Sign.clearSign(randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL));
+            if (!Decimal64.isZero(a)) {
+                assertSqrt(a);
+            }
+        }
+    }
+
+    @Test
+    public void sqrtExact() {
+        for (int i = 0; i < N; i++) {
+            final long root = 1 + randomCoefficient() % 99999999L;
+            assertSqrt(fromCoefficient(root * root, RND.nextInt(201) - 100));
+        }
+        assertSqrt(fromCoefficient(1, 0));
+        assertSqrt(fromCoefficient(4, -1));
+        assertSqrt(fromCoefficient(100, 0));
+        assertSqrt(fromCoefficient(100, -3));
+        assertSqrt(fromCoefficient(9999999999999999L, 0));
+        assertSqrt(fromCoefficient(9999999999999999L, 1));
+    }
+
+    @Test
+    public void sqrtZeroAndSpecialValues() {
+        assertEquals("sqrt(0E-3)", Decimal64.zero(0, -2), Sqrt.sqrt(Decimal64.zero(0, -3)));
+        assertEquals("sqrt(-0E5)", Decimal64.zero(Decimal64.SIGN_BIT_MASK, 2), Sqrt.sqrt(Decimal64.zero(Decimal64.SIGN_BIT_MASK, 5)));
+        assertEquals("sqrt(Inf)", Decimal64.INF, Sqrt.sqrt(Decimal64.INF));
+        assertTrue("sqrt(-Inf)", Decimal64.isNaN(Sqrt.sqrt(Decimal64.INF | Decimal64.SIGN_BIT_MASK)));
+        assertTrue("sqrt(-1)", Decimal64.isNaN(Sqrt.sqrt(fromCoefficient(-1, 0))));
+        assertTrue("sqrt(NaN)", Decimal64.isNaN(Sqrt.sqrt(Decimal64.NAN)));
+    }
+
+    private static void assertSqrt(final long a) {
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            final long expected = fromBigDecimal(sqrt(toBigDecimal(a), Decimal64.getExponent(a) >> 1).round(mathContext(rd)));
+            final long actual = Sqrt.sqrt(a, rd);
+            assertEquals(rd + ": sqrt(" + toDebugString(a) + ") = " + toDebugString(expected) + " but was " + toDebugString(actual),
+                    expected, actual);
+        }
+    }
+
+    /**
+     * Returns the exact square root with the preferred exponent if it is exact, and otherwise the square root
+     * truncated to at least 40 digits plus one unit in the next digit.
+     */
+    private static BigDecimal sqrt(final BigDecimal value, final int preferredExponent) {
+        int scale = value.scale() + 80;
+        if ((scale & 1) != 0) {
+            scale++;
+        }
+        final BigInteger n = value.setScale(scale).unscaledValue();
+        final BigInteger root = isqrt(n);
+        if (root.multiply(root).equals(n)) {
+            BigDecimal exact = new BigDecimal(root, scale / 2);
+            while (exact.scale() > -preferredExponent && exact.unscaledValue().mod(BigInteger.TEN).signum() == 0) {
+                exact = exact.setScale(exact.scale() - 1);
+            }
+            return exact;
+        }
+        return new BigDecimal(root.multiply(BigInteger.TEN).add(BigInteger.ONE), scale / 2 + 1);
+    }
+
+    private static BigInteger isqrt(final BigInteger n) {
+        BigInteger x = BigInteger.ONE.shiftLeft(n.bitLength() / 2 + 1);
+        while (true) {
+            final BigInteger y = x.add(n.divide(x)).shiftRight(1);
+            if (y.compareTo(x) >= 0) {
+                return x;
+            }
+            x = y;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingAttributes;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ToBinaryTest {
+
+    private static final int N = 20000;
+    private static final Random RND = new Random();
+
+    private static final BigDecimal DOUBLE_INFINITY = new BigDecimal(BigInteger.ONE.shiftLeft(1024));
+    private static final BigDecimal FLOAT_INFINITY = new BigDecimal(BigInteger.ONE.shiftLeft(128));
+
+    private static final DynamicAttributes THROW = new DynamicAttributes();
+    static {
+        THROW.setExceptionHandler(ExceptionHandlers.ThrowException);
+    }
+
+    @Test
+    public void toDoubleRandom() {
+        for (int i = 0; i < N; i++) {
+            final long x = RND.nextInt(4) == 0
+                    ? randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL)
+                    : randomDecimal64(-345, 310);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertToDouble(x, rd);
+                assertToFloat(x, rd);
+            }
+        }
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-70, 40);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertToFloat(x, rd);
+            }
+        }
+    }
+
+    @Test
+    public void toDoubleExactAndTies() {
+        for (int i = 0; i < N; i++) {
+            //exact binary values with a short decimal expansion
+            final double d = Math.scalb((double) RND.nextInt(1 << 20), -RND.nextInt(15)) * (RND.nextBoolean() ? 1 : -1);
+            final BigDecimal exact = new BigDecimal(d).stripTrailingZeros();
+            final long x = fromCoefficient(exact.unscaledValue().longValue(), -exact.scale());
+            assertEquals("toDouble(" + toDebugString(x) + ")", d, ToBinary.toDouble(x, THROW), 0);
+            //double ties between 2^53 and 10^16, float ties of integral floats
+            final long m = (1L << 52) + (long) (RND.nextDouble() * (5e15 - (1L << 52)));
+            final long f = (1L << 23) | RND.nextInt(1 << 23);
+            final long floatTie = ((f << 1) + 1) << RND.nextInt(28);
+            for (final long tie : new long[] {(m << 1) + 1, floatTie}) {
+                for (int delta = -1; delta <= 1; delta++) {
+                    for (final RoundingDirection rd : RoundingDirection.values()) {
+                        assertToDouble(fromCoefficient(tie + delta, 0), rd);
+                        assertToDouble(fromCoefficient(-tie - delta, 0), rd);
+                        assertToFloat(fromCoefficient(tie + delta, 0), rd);
+                        assertToFloat(fromCoefficient(-tie - delta, 0), rd);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void toDoubleBoundaries() {
+        //decimals right below and above powers of two, the binary limits and the smallest decimals
+        final BigDecimal[] values = new BigDecimal[2 * (1024 + 1074) + 6];
+        int n = 0;
+        for (int k = -1074; k < 1024; k++) {
+            final BigDecimal pow2 = new BigDecimal(Math.scalb(1.0, k));
+            values[n++] = pow2.round(new MathContext(16, RoundingMode.FLOOR));
+            values[n++] = pow2.round(new MathContext(16, RoundingMode.CEILING));
+        }
+        values[n++] = new BigDecimal(Double.MAX_VALUE).round(new MathContext(16, RoundingMode.CEILING));
+        values[n++] = new BigDecimal(Double.MAX_VALUE).add(new BigDecimal(Math.ulp(Double.MAX_VALUE) / 2)).round(new MathContext(16, RoundingMode.FLOOR));
+        values[n++] = new BigDecimal(Float.MAX_VALUE).add(new BigDecimal(Math.ulp(Float.MAX_VALUE) / 2)).round(new MathContext(16, RoundingMode.CEILING));
+        values[n++] = new BigDecimal(Double.MIN_VALUE / 2).round(new MathContext(16, RoundingMode.CEILING));
+        values[n++] = new BigDecimal(Double.MIN_VALUE / 2).round(new MathContext(16, RoundingMode.FLOOR));
+        values[n++] = new BigDecimal(Float.MIN_VALUE).divide(BigDecimal.valueOf(2)).round(new MathContext(16, RoundingMode.FLOOR));
+        for (final BigDecimal value : values) {
+            final long x = fromCoefficient(value.unscaledValue().longValue(), -value.scale());
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertToDouble(x, rd);
+                assertToDouble(x | Decimal64.SIGN_BIT_MASK, rd);
+                assertToFloat(x, rd);
+            }
+        }
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            assertToDouble(fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL), rd);
+            assertToDouble(fromCoefficient(9999999999999999L, Decimal64.MAX_EXPONENT_NOMINAL), rd);
+            assertToFloat(fromCoefficient(-9999999999999999L, Decimal64.MAX_EXPONENT_NOMINAL), rd);
+        }
+    }
+
+    @Test
+    public void toDoubleSpecialValues() {
+        assertEquals(Double.POSITIVE_INFINITY, ToBinary.toDouble(Decimal64.INF), 0);
+        assertEquals(Double.NEGATIVE_INFINITY, ToBinary.toDouble(Decimal64.INF | Decimal64.SIGN_BIT_MASK), 0);
+        assertEquals(Float.NEGATIVE_INFINITY, ToBinary.toFloat(Decimal64.INF | Decimal64.SIGN_BIT_MASK), 0);
+        assertEquals(Double.doubleToRawLongBits(Double.NaN), Double.doubleToRawLongBits(ToBinary.toDouble(Decimal64.NAN)));
+        assertEquals(Float.floatToRawIntBits(Float.NaN), Float.floatToRawIntBits(ToBinary.toFloat(Decimal64.SNAN)));
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(ToBinary.toDouble(fromCoefficient(0, 5) | Decimal64.SIGN_BIT_MASK)));
+        assertEquals(Float.floatToRawIntBits(0f), Float.floatToRawIntBits(ToBinary.toFloat(fromCoefficient(0, -5))));
+    }
+
+    @Test
+    public void toDoubleSignals() {
+        assertEquals(0.5, ToBinary.toDouble(fromCoefficient(5, -1), THROW), 0);
+        assertEquals(123.0f, ToBinary.toFloat(fromCoefficient(123, 0), THROW), 0);
+        assertSignal(Flag.Inexact, fromCoefficient(1, -1), 0.1);
+        assertSignal(Flag.Overflow, fromCoefficient(1, 309), Double.POSITIVE_INFINITY);
+        assertSignal(Flag.Underflow, fromCoefficient(1, -320), 1e-320);
+        assertSignal(Flag.Underflow, fromCoefficient(-1, -398), -0.0);
+        assertSignal(Flag.InvalidOperation, Decimal64.SNAN, Double.NaN);
+        //the binary rounding direction applies, not the decimal one
+        final RoundingAttributes binaryDown = new RoundingAttributes(RoundingDirection.TowardNegative, RoundingDirection.TowardPositive);
+        assertEquals(Math.nextAfter(0.1, Double.NEGATIVE_INFINITY), ToBinary.toDouble(fromCoefficient(1, -1), binaryDown), 0);
+        assertEquals(Double.MAX_VALUE, ToBinary.toDouble(fromCoefficient(1, 309), RoundingDirection.TowardZero), 0);
+        assertEquals(Double.MIN_VALUE, ToBinary.toDouble(fromCoefficient(1, -398), RoundingDirection.TowardPositive), 0);
+    }
+
+    //the binary value closest to exact in the rounding direction, with infinity as 2^(maxExponent + 1)
+    private static BigDecimal round(final BigDecimal exact, final RoundingDirection rd, final boolean isFloat) {
+        final double nearest = isFloat ? exact.floatValue() : exact.doubleValue();
+        final BigDecimal max = new BigDecimal(isFloat ? Float.MAX_VALUE : Double.MAX_VALUE);
+        final BigDecimal inf = isFloat ? FLOAT_INFINITY : DOUBLE_INFINITY;
+        final BigDecimal abs = exact.abs();
+        BigDecimal lower;
+        BigDecimal upper;
+        if (abs.compareTo(max) > 0) {
+            lower = max;
+            upper = inf;
+        } else {
+            final double a = Math.abs(nearest);
+            final BigDecimal n = Double.isInfinite(a) ? inf : new BigDecimal(a);
+            final int cmp = n.compareTo(abs);
+            if (cmp == 0) {
+                return exact.signum() < 0 ? n.negate() : n;
+            }
+            lower = cmp < 0 ? n : new BigDecimal(isFloat ? Math.nextAfter((float) a, Double.NEGATIVE_INFINITY) : Math.nextAfter(a, Double.NEGATIVE_INFINITY));
+            upper = cmp > 0 ? n : new BigDecimal(isFloat ? Math.nextUp((float) a) : Math.nextUp(a));
+            if (upper.compareTo(max) > 0) {
+                upper = inf;
+            }
+        }
+        final boolean negative = exact.signum() < 0;
+        final BigDecimal result;
+        switch (rd) {
+            case TowardZero:
+                result = lower;
+                break;
+            case TowardPositive:
+                result = negative ? lower : upper;
+                break;
+            case TowardNegative:
+                result = negative ? upper : lower;
+                break;
+            default:
+                final int cmp = abs.subtract(lower).compareTo(upper.subtract(abs));
+                if (cmp != 0) {
+                    result = cmp < 0 ? lower : upper;
+                } else if (rd == RoundingDirection.NearestTiesToAway) {
+                    result = upper;
+                } else {
+                    final double l = lower.doubleValue();
+                    final boolean even = isFloat ? (Float.floatToRawIntBits((float) l) & 1) == 0 : (Double.doubleToRawLongBits(l) & 1) == 0;
+                    result = even ? lower : upper;
+                }
+        }
+        return negative ? result.negate() : result;
+    }
+
+    private static void assertToDouble(final long x, final RoundingDirection rd) {
+        final BigDecimal exact = toBigDecimal(x);
+        double expected = exact.signum() == 0 ? 0.0 : round(exact, rd, false).doubleValue();
+        if (x < 0 && expected == 0) {
+            expected = -0.0;
+        }
+        final double actual = ToBinary.toDouble(x, rd);
+        assertEquals(rd + ": toDouble(" + toDebugString(x) + ")", Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+    }
+
+    private static void assertToFloat(final long x, final RoundingDirection rd) {
+        final BigDecimal exact = toBigDecimal(x);
+        final BigDecimal rounded = exact.signum() == 0 ? BigDecimal.ZERO : round(exact, rd, true);
+        float expected = rounded.floatValue();
+        if (x < 0 && expected == 0) {
+            expected = -0.0f;
+        }
+        final float actual = ToBinary.toFloat(x, rd);
+        assertEquals(rd + ": toFloat(" + toDebugString(x) + ")", Float.floatToRawIntBits(expected), Float.floatToRawIntBits(actual));
+    }
+
+    private static void assertSignal(final Flag flag, final long x, final double expected) {
+        try {
+            ToBinary.toDouble(x, THROW);
+            fail("toDouble(" + toDebugString(x) + ") should signal " + flag);
+        } catch (final RaisedFlagException e) {
+            assertEquals("toDouble(" + toDebugString(x) + ") flag", flag, e.getFlag());
+            assertEquals("toDouble(" + toDebugString(x) + ")", Double.doubleToRawLongBits(expected), e.getResult());
+        }
+    }
+}
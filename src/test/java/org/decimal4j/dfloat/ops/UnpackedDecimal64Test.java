@@ -0,0 +1,203 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class UnpackedDecimal64Test {
+
+    private static final int N = 100000;
+
+    private static final DynamicAttributes THROW = new DynamicAttributes();
+    static {
+        THROW.setExceptionHandler(ExceptionHandlers.ThrowException);
+    }
+
+    private final UnpackedDecimal64 acc = new UnpackedDecimal64();
+    private final UnpackedDecimal64 other = new UnpackedDecimal64();
+
+    @Test
+    public void setAndPack() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL, Decimal64.MAX_EXPONENT_NOMINAL);
+            assertEquals(toDebugString(x), x, acc.set(x).pack());
+        }
+        assertEquals("-Inf", Decimal64.INF | Decimal64.SIGN_BIT_MASK, acc.set(Decimal64.INF | Decimal64.SIGN_BIT_MASK).pack());
+        assertEquals("NaN", Decimal64.NAN | 123, acc.set(Decimal64.NAN | 123).pack());
+    }
+
+    @Test
+    public void add() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-40, 20);
+            final long y = randomDecimal64(-40, 20);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                final String msg = rd + ": " + toDebugString(x) + " +/- " + toDebugString(y);
+                assertEquals(msg, Add.add(x, y, rd), acc.set(x).add(y, rd.asAttributes()).pack());
+                assertEquals(msg, Add.add(x, y, rd), acc.set(x).add(other.set(y), rd.asAttributes()).pack());
+                assertEquals(msg, Sub.subtract(x, y, rd), acc.set(x).subtract(y, rd.asAttributes()).pack());
+                assertEquals(msg, Sub.subtract(x, y, rd), acc.set(x).subtract(other.set(y), rd.asAttributes()).pack());
+            }
+        }
+    }
+
+    @Test
+    public void multiply() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL / 2 - 10, Decimal64.MAX_EXPONENT_NOMINAL / 2 + 10);
+            final long y = randomDecimal64(Decimal64.MIN_EXPONENT_NOMINAL / 2 - 10, Decimal64.MAX_EXPONENT_NOMINAL / 2 + 10);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                final String msg = rd + ": " + toDebugString(x) + " * " + toDebugString(y);
+                assertEquals(msg, Mul.multiply(x, y, rd), acc.set(x).multiply(y, rd.asAttributes()).pack());
+                assertEquals(msg, Mul.multiply(x, y, rd), acc.set(x).multiply(other.set(y), rd.asAttributes()).pack());
+            }
+        }
+    }
+
+    @Test
+    public void fma() {
+        for (int i = 0; i < N; i++) {
+            final long a = randomDecimal64(-30, 10);
+            final long b = randomDecimal64(-30, 10);
+            final long c = randomDecimal64(-60, 20);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                final String msg = rd + ": " + toDebugString(a) + " * " + toDebugString(b) + " + " + toDebugString(c);
+                assertEquals(msg, Fma.fma(a, b, c, rd), acc.set(c).fma(a, b, rd.asAttributes()).pack());
+                assertEquals(msg, Fma.fma(a, b, c, rd), acc.set(c).fma(other.set(a), new UnpackedDecimal64(b), rd.asAttributes()).pack());
+            }
+        }
+    }
+
+    @Test
+    public void chain() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-20, 5);
+            final long y = randomDecimal64(-20, 5);
+            final long z = randomDecimal64(-20, 5);
+            long expected = Add.add(x, y);
+            expected = Mul.multiply(expected, z);
+            expected = Fma.fma(x, z, expected);
+            expected = Sub.subtract(expected, y);
+            assertEquals(toDebugString(x) + ", " + toDebugString(y) + ", " + toDebugString(z), expected,
+                    acc.set(x).add(y).multiply(z).fma(x, z).subtract(y).pack());
+        }
+    }
+
+    @Test
+    public void specialValues() {
+        assertEquals("Inf + -Inf", Add.add(Decimal64.INF, Decimal64.INF | Decimal64.SIGN_BIT_MASK),
+                acc.set(Decimal64.INF).add(Decimal64.INF | Decimal64.SIGN_BIT_MASK).pack());
+        assertEquals("NaN * 2", Mul.multiply(Decimal64.NAN | 5, fromCoefficient(2, 0)),
+                acc.set(fromCoefficient(2, 0)).multiply(Decimal64.NAN | 5).pack());
+        assertEquals("MAX * 10", Decimal64.INF, acc.set(Decimal64.MAX_NORMAL).multiply(fromCoefficient(10, 0)).pack());
+        assertEquals("1 - 1", Decimal64.zero(Decimal64.SIGN_BIT_MASK, 0),
+                acc.set(fromCoefficient(1, 0)).subtract(fromCoefficient(1, 0), RoundingDirection.TowardNegative.asAttributes()).pack());
+    }
+
+    @Test
+    public void signals() {
+        try {
+            acc.set(fromCoefficient(1, -1)).multiply(fromCoefficient(1, -398), THROW);
+            fail("0.1 * 1E-398 should signal underflow");
+        } catch (final RaisedFlagException e) {
+            assertEquals("flag", Flag.Underflow, e.getFlag());
+            assertEquals("result", Mul.multiply(fromCoefficient(1, -1), fromCoefficient(1, -398)), e.getResult());
+        }
+        try {
+            acc.set(fromCoefficient(9999999999999999L, 0)).add(fromCoefficient(5, -1), THROW);
+            fail("9999999999999999 + 0.5 should signal inexact");
+        } catch (final RaisedFlagException e) {
+            assertEquals("flag", Flag.Inexact, e.getFlag());
+            assertEquals("result", fromCoefficient(1000000000000000L, 1), e.getResult());
+        }
+    }
+
+    @Test
+    public void signalOperands() {
+        for (int i = 0; i < N / 10; i++) {
+            final long x = randomDecimal64(-40, 20);
+            final long y = randomDecimal64(-40, 20);
+            final String msg = toDebugString(x) + ", " + toDebugString(y);
+            assertSignal(msg + ": add", raised(new Runnable() {
+                public void run() {Add.add(x, y, THROW);}
+            }), raised(new Runnable() {
+                public void run() {acc.set(x).add(other.set(y), THROW);}
+            }));
+            assertSignal(msg + ": subtract", raised(new Runnable() {
+                public void run() {Sub.subtract(x, y, THROW);}
+            }), raised(new Runnable() {
+                public void run() {acc.set(x).subtract(y, THROW);}
+            }));
+            assertSignal(msg + ": multiply", raised(new Runnable() {
+                public void run() {Mul.multiply(x, y, THROW);}
+            }), raised(new Runnable() {
+                public void run() {acc.set(x).multiply(other.set(y), THROW);}
+            }));
+            //the accumulator as both operands
+            assertSignal(msg + ": square", raised(new Runnable() {
+                public void run() {Mul.multiply(x, x, THROW);}
+            }), raised(new Runnable() {
+                public void run() {acc.set(x).multiply(acc, THROW);}
+            }));
+            assertSignal(msg + ": fma", raised(new Runnable() {
+                public void run() {Fma.fma(x, y, x, THROW);}
+            }), raised(new Runnable() {
+                public void run() {acc.set(x).fma(acc, other.set(y), THROW);}
+            }));
+        }
+    }
+
+    private static void assertSignal(final String msg, final RaisedFlagException expected, final RaisedFlagException actual) {
+        if (expected == null || actual == null) {
+            assertEquals(msg + ": signalled", expected == null, actual == null);
+            return;
+        }
+        assertEquals(msg + ": operation", expected.getOperation(), actual.getOperation());
+        assertEquals(msg + ": first operand", expected.getFirstOperand(), actual.getFirstOperand());
+        assertEquals(msg + ": second operand", expected.getSecondOperand(), actual.getSecondOperand());
+        assertEquals(msg + ": result", expected.getResult(), actual.getResult());
+        assertEquals(msg + ": flag", expected.getFlag(), actual.getFlag());
+    }
+
+    private static RaisedFlagException raised(final Runnable operation) {
+        try {
+            operation.run();
+            return null;
+        } catch (final RaisedFlagException e) {
+            return e;
+        }
+    }
+}
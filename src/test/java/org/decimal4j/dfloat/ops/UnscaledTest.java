@@ -0,0 +1,208 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 decimal4j (tools4j), Marco Terzer
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.decimal4j.dfloat.ops;
+
+import org.decimal4j.dfloat.attribute.DynamicAttributes;
+import org.decimal4j.dfloat.attribute.ExceptionHandlers;
+import org.decimal4j.dfloat.attribute.Flag;
+import org.decimal4j.dfloat.attribute.RaisedFlagException;
+import org.decimal4j.dfloat.attribute.RoundingDirection;
+import org.decimal4j.dfloat.encode.Decimal64;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.decimal4j.dfloat.encode.RandomDecimal64.fromCoefficient;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.randomDecimal64;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.round;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.roundingMode;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toBigDecimal;
+import static org.decimal4j.dfloat.encode.RandomDecimal64.toDebugString;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class UnscaledTest {
+
+    private static final int N = 100000;
+    private static final Random RND = new Random();
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private static final DynamicAttributes THROW = new DynamicAttributes();
+    static {
+        THROW.setExceptionHandler(ExceptionHandlers.ThrowException);
+    }
+
+    @Test
+    public void fromUnscaled() {
+        for (int i = 0; i < N; i++) {
+            final long unscaled = randomUnscaled();
+            final int scale = RND.nextBoolean() ? RND.nextInt(19) : -Decimal64.MAX_EXPONENT - 20 + RND.nextInt(Decimal64.MAX_EXPONENT - Decimal64.MIN_EXPONENT_NOMINAL + 40);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertFromUnscaled(rd, unscaled, scale);
+            }
+        }
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            assertFromUnscaled(rd, Long.MIN_VALUE, 0);
+            assertFromUnscaled(rd, Long.MAX_VALUE, 8);
+            assertFromUnscaled(rd, -9999999999999999L, 4);
+            assertFromUnscaled(rd, 99999999999999995L, 2);
+            assertFromUnscaled(rd, 15, -Decimal64.MIN_EXPONENT_NOMINAL + 1);
+        }
+        assertEquals(fromCoefficient(0, Decimal64.MIN_EXPONENT_NOMINAL), Unscaled.fromUnscaled(0, Integer.MAX_VALUE));
+        assertEquals(Decimal64.INF | Decimal64.SIGN_BIT_MASK, Unscaled.fromUnscaled(-1, Integer.MIN_VALUE));
+        assertEquals(fromCoefficient(12345, -2), Unscaled.fromUnscaled(12345, 2, THROW));
+    }
+
+    @Test
+    public void toUnscaled() {
+        for (int i = 0; i < N; i++) {
+            final long x = randomDecimal64(-30, 20);
+            final int scale = -Decimal64.getExponent(x) - 20 + RND.nextInt(40);
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                assertToUnscaled(rd, x, scale);
+            }
+        }
+        for (final RoundingDirection rd : RoundingDirection.values()) {
+            assertToUnscaled(rd, fromCoefficient(-12345, -3), 2);
+            assertToUnscaled(rd, fromCoefficient(9223372036854775L, 3), 0);
+            assertToUnscaled(rd, fromCoefficient(9223372036854776L, 3), 0);
+            assertToUnscaled(rd, fromCoefficient(-9223372036854775L, 0), 3);
+            assertToUnscaled(rd, fromCoefficient(5, -1), 0);
+            assertToUnscaled(rd, fromCoefficient(9999999999999999L, Decimal64.MIN_EXPONENT_NOMINAL), 8);
+        }
+        assertEquals(0, Unscaled.toUnscaled(fromCoefficient(1, Decimal64.MAX_EXPONENT_NOMINAL), Integer.MIN_VALUE));
+        assertEquals(1, Unscaled.toUnscaled(fromCoefficient(1, Decimal64.MAX_EXPONENT_NOMINAL), Integer.MIN_VALUE, RoundingDirection.TowardPositive));
+        assertEquals(Long.MAX_VALUE, Unscaled.toUnscaled(fromCoefficient(1, Decimal64.MIN_EXPONENT_NOMINAL), Integer.MAX_VALUE));
+        assertEquals(0, Unscaled.toUnscaled(fromCoefficient(0, Decimal64.MAX_EXPONENT_NOMINAL), 8, THROW));
+        assertEquals(0, Unscaled.toUnscaled(Decimal64.NAN, 2));
+        assertEquals(Long.MIN_VALUE, Unscaled.toUnscaled(Decimal64.INF | Decimal64.SIGN_BIT_MASK, 2));
+        assertEquals(Long.MAX_VALUE, Unscaled.toUnscaled(Decimal64.INF, 2));
+    }
+
+    @Test
+    public void bulk() {
+        for (final int scale : new int[] {0, 2, 4, 8, 18, -2, 400}) {
+            final long[] unscaled = new long[1000];
+            for (int i = 0; i < unscaled.length; i++) {
+                unscaled[i] = RND.nextInt(10) == 0 ? randomUnscaled() : RND.nextLong() % 10000000000L;
+            }
+            unscaled[0] = Long.MIN_VALUE;
+            unscaled[1] = 0;
+            for (final RoundingDirection rd : RoundingDirection.values()) {
+                final long[] expected = new long[unscaled.length];
+                for (int i = 0; i < unscaled.length; i++) {
+                    expected[i] = Unscaled.fromUnscaled(unscaled[i], scale, rd);
+                }
+                final long[] dFloats = new long[unscaled.length + 2];
+                Unscaled.fromUnscaled(unscaled, 0, dFloats, 2, unscaled.length, scale, rd);
+                assertArrayEquals(rd + ": fromUnscaled(scale=" + scale + ")", expected, Arrays.copyOfRange(dFloats, 2, dFloats.length));
+
+                final long[] inPlace = unscaled.clone();
+                Unscaled.fromUnscaled(inPlace, 0, inPlace, 0, inPlace.length, scale, rd);
+                assertArrayEquals(rd + ": fromUnscaled in place (scale=" + scale + ")", expected, inPlace);
+
+                for (final int toScale : new int[] {scale, scale - 1, scale + 3}) {
+                    final long[] expectedUnscaled = new long[expected.length];
+                    for (int i = 0; i < expected.length; i++) {
+                        expectedUnscaled[i] = Unscaled.toUnscaled(expected[i], toScale, rd);
+                    }
+                    Unscaled.toUnscaled(inPlace, 0, inPlace, 0, inPlace.length, toScale, rd);
+                    assertArrayEquals(rd + ": toUnscaled in place (scale=" + toScale + ")", expectedUnscaled, inPlace);
+                    System.arraycopy(expected, 0, inPlace, 0, expected.length);
+                }
+            }
+        }
+        final long[] values = {-12345, 0, 7};
+        final long[] dFloats = new long[values.length];
+        Unscaled.fromUnscaled(values, dFloats, 4);
+        assertArrayEquals("fromUnscaled(values, dFloats, 4)", new long[] {fromCoefficient(-12345, -4), fromCoefficient(0, -4), fromCoefficient(7, -4)}, dFloats);
+        final long[] back = new long[values.length];
+        Unscaled.toUnscaled(dFloats, back, 4);
+        assertArrayEquals("toUnscaled(dFloats, back, 4)", values, back);
+        try {
+            Unscaled.fromUnscaled(values, 1, dFloats, 0, 3, 2, THROW);
+            fail("range exceeding source array should throw an IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void signals() {
+        assertSignal(Flag.Inexact, fromCoefficient(12345, -4), 2, 123);
+        assertSignal(Flag.InvalidOperation, fromCoefficient(1, 19), 0, Long.MAX_VALUE);
+        assertSignal(Flag.InvalidOperation, Decimal64.NAN, 2, 0);
+        try {
+            Unscaled.fromUnscaled(12345678901234567L, 0, THROW);
+            fail("fromUnscaled(12345678901234567, 0) should signal Inexact");
+        } catch (final RaisedFlagException e) {
+            assertEquals("fromUnscaled(12345678901234567, 0) flag", Flag.Inexact, e.getFlag());
+            assertEquals("fromUnscaled(12345678901234567, 0)", fromCoefficient(1234567890123457L, 1), e.getResult());
+        }
+        try {
+            Unscaled.toUnscaled(new long[] {fromCoefficient(1, 0), fromCoefficient(15, -1)}, 0, new long[2], 0, 2, 0, THROW);
+            fail("toUnscaled(1.5, 0) should signal Inexact");
+        } catch (final RaisedFlagException e) {
+            assertEquals("toUnscaled(1.5, 0) flag", Flag.Inexact, e.getFlag());
+            assertEquals("toUnscaled(1.5, 0)", 2, e.getResult());
+        }
+    }
+
+    private static long randomUnscaled() {
+        final long value = RND.nextLong() >> RND.nextInt(64);
+        //runs of nines and exact ties
+        switch (RND.nextInt(4)) {
+            case 0:
+                return value / 1000 * 1000 + (RND.nextBoolean() ? 999 : 500);
+            default:
+                return value;
+        }
+    }
+
+    private static void assertFromUnscaled(final RoundingDirection rd, final long unscaled, final int scale) {
+        final long expected = round(BigDecimal.valueOf(unscaled, scale), unscaled < 0 ? Decimal64.SIGN_BIT_MASK : 0, rd);
+        assertEquals(rd + ": fromUnscaled(" + unscaled + ", " + scale + ")", toDebugString(expected), toDebugString(Unscaled.fromUnscaled(unscaled, scale, rd)));
+    }
+
+    private static void assertToUnscaled(final RoundingDirection rd, final long x, final int scale) {
+        final BigDecimal exact = toBigDecimal(x).scaleByPowerOfTen(scale).setScale(0, roundingMode(rd));
+        final long expected = exact.compareTo(LONG_MIN) < 0 ? Long.MIN_VALUE : exact.compareTo(LONG_MAX) > 0 ? Long.MAX_VALUE : exact.longValue();
+        assertEquals(rd + ": toUnscaled(" + toDebugString(x) + ", " + scale + ")", expected, Unscaled.toUnscaled(x, scale, rd));
+    }
+
+    private static void assertSignal(final Flag flag, final long x, final int scale, final long expected) {
+        try {
+            Unscaled.toUnscaled(x, scale, THROW);
+            fail("toUnscaled(" + toDebugString(x) + ", " + scale + ") should signal " + flag);
+        } catch (final RaisedFlagException e) {
+            assertEquals("toUnscaled(" + toDebugString(x) + ", " + scale + ") flag", flag, e.getFlag());
+            assertEquals("toUnscaled(" + toDebugString(x) + ", " + scale + ")", expected, e.getResult());
+        }
+    }
+}